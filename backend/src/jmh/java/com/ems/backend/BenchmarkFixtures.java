@@ -0,0 +1,89 @@
+package com.ems.backend;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.ems.backend.modules.auth.entities.User;
+import com.ems.backend.modules.booking.entities.Seat;
+import com.ems.backend.modules.booking.entities.SeatStatus;
+import com.ems.backend.modules.event.entities.Event;
+import com.ems.backend.modules.event.entities.EventStatus;
+
+/**
+ * Entities shaped like production data, shared by the JMH benchmarks.
+ */
+public final class BenchmarkFixtures {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2030, 6, 1, 20, 0);
+
+    private BenchmarkFixtures() {
+    }
+
+    public static User organizer() {
+        return User.builder()
+                .id(1L)
+                .username("organizer")
+                .password("{noop}org123")
+                .email("organizer@ems.com")
+                .fullName("Organizador Teste")
+                .role(User.Role.ORGANIZER)
+                .enabled(true)
+                .build();
+    }
+
+    public static List<Event> events(int count) {
+        User organizer = organizer();
+        List<Event> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Event event = Event.builder()
+                    .id((long) i + 1)
+                    .title("Concerto de Jazz " + i)
+                    .description("Uma noite com artistas convidados, música ao vivo e muita animação para toda a família.")
+                    .category("Música")
+                    .startTime(T0.plusHours(i))
+                    .endTime(T0.plusHours(i + 3))
+                    .location("Lisboa")
+                    .hasSeating(true)
+                    .capacity(500)
+                    .seatRows(20)
+                    .seatColumns(25)
+                    .ticketPrice(new BigDecimal("25.00"))
+                    .status(EventStatus.PUBLISHED)
+                    .organizer(organizer)
+                    .build();
+            event.setCreatedAt(T0.minusDays(30));
+            event.setUpdatedAt(T0.minusDays(1));
+            events.add(event);
+        }
+        return events;
+    }
+
+    /*
+        A mid-sale seat map: mostly available, some held and some booked
+    */
+    public static List<Seat> seats(long eventId, int rows, int columns) {
+        List<Seat> seats = new ArrayList<>(rows * columns);
+        long id = eventId * 100_000;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                int kind = (r * columns + c) % 10;
+                SeatStatus status = kind < 6 ? SeatStatus.AVAILABLE : kind < 8 ? SeatStatus.LOCKED : SeatStatus.BOOKED;
+                seats.add(Seat.builder()
+                        .id(id++)
+                        .seatNumber((char) ('A' + r % 26) + String.valueOf(c + 1))
+                        .rowIndex(r)
+                        .columnIndex(c)
+                        .status(status)
+                        .lockedBy(status == SeatStatus.AVAILABLE ? null : "user" + (r * columns + c) % 997)
+                        .lockExpiresAt(status == SeatStatus.LOCKED ? T0.minusMinutes(5) : null)
+                        .eventId(eventId)
+                        .version(3L)
+                        .changeSequence(1_700_000_000_000L + r * columns + c)
+                        .build());
+            }
+        }
+        return seats;
+    }
+}
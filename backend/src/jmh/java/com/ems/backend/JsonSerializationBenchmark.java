@@ -0,0 +1,84 @@
+package com.ems.backend;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.ems.backend.modules.booking.entities.Seat;
+import com.ems.backend.modules.event.dtos.EventResponse;
+import com.ems.backend.modules.event.entities.Event;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Jackson serialization of the two largest JSON bodies: the seat map
+ * (List of Seat entities) and event lists (List of EventResponse).
+ * The mapper is configured like Spring MVC's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({ "500", "20000" })
+    private int seats;
+
+    @Param({ "20", "500" })
+    private int events;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private List<Seat> seatList;
+    private List<EventResponse> eventList;
+
+    @Setup
+    public void setUp() {
+        seatList = BenchmarkFixtures.seats(1L, seats / 100, 100);
+        eventList = BenchmarkFixtures.events(events).stream().map(JsonSerializationBenchmark::toResponse).toList();
+    }
+
+    @Benchmark
+    public byte[] seatList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(seatList);
+    }
+
+    @Benchmark
+    public byte[] eventResponseList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(eventList);
+    }
+
+    private static EventResponse toResponse(Event event) {
+        return EventResponse.builder()
+                .id(event.getId())
+                .title(event.getTitle())
+                .description(event.getDescription())
+                .category(event.getCategory())
+                .startTime(event.getStartTime())
+                .endTime(event.getEndTime())
+                .location(event.getLocation())
+                .hasSeating(event.getHasSeating())
+                .capacity(event.getCapacity())
+                .seatRows(event.getSeatRows())
+                .seatColumns(event.getSeatColumns())
+                .ticketPrice(event.getTicketPrice())
+                .status(event.getStatus())
+                .organizerName(event.getOrganizer().getFullName())
+                .createdAt(event.getCreatedAt())
+                .updatedAt(event.getUpdatedAt())
+                .build();
+    }
+}
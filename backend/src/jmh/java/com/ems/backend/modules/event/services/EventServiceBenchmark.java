@@ -0,0 +1,66 @@
+package com.ems.backend.modules.event.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ems.backend.BenchmarkFixtures;
+import com.ems.backend.modules.booking.services.SeatBulkWriter;
+import com.ems.backend.modules.event.dtos.EventResponse;
+import com.ems.backend.modules.event.entities.Event;
+
+/**
+ * Entity to DTO mapping of event lists and encoding of the seat grid COPY on event creation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventServiceBenchmark {
+
+    @Param({ "20", "500" })
+    private int events;
+
+    // Seat grid of generateSeats
+    @Param({ "10x20", "26x100", "200x500" })
+    private String grid;
+
+    private List<Event> eventList;
+    private Event event;
+    private int rows;
+    private int columns;
+
+    @Setup
+    public void setUp() {
+        eventList = BenchmarkFixtures.events(events);
+        event = eventList.get(0);
+        String[] size = grid.split("x");
+        rows = Integer.parseInt(size[0]);
+        columns = Integer.parseInt(size[1]);
+    }
+
+    @Benchmark
+    public List<EventResponse> toResponse() {
+        return eventList.stream().map(EventService::toResponse).toList();
+    }
+
+    @Benchmark
+    public int generateSeats() throws IOException {
+        return SeatBulkWriter.writeRows(event.getId(), rows, columns, OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,56 @@
+package com.ems.backend.modules.notification;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ems.backend.BenchmarkFixtures;
+import com.ems.backend.modules.booking.dtos.SeatBatchUpdateMessage;
+import com.ems.backend.modules.booking.entities.Seat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Building (and serializing) the WebSocket batch of a seat transition:
+ * one seat, a multi-seat hold, and the release of a large expired chunk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SeatNotificationBenchmark {
+
+    @Param({ "1", "10", "500" })
+    private int seats;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<Seat> seatList;
+
+    @Setup
+    public void setUp() {
+        seatList = BenchmarkFixtures.seats(1L, 1, seats);
+    }
+
+    @Benchmark
+    public SeatBatchUpdateMessage buildBatch() {
+        return SeatNotificationService.toBatch(1L, seatList, "Assentos bloqueados por user1");
+    }
+
+    @Benchmark
+    public byte[] buildAndSerializeBatch() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(SeatNotificationService.toBatch(1L, seatList, "Assentos bloqueados por user1"));
+    }
+}
@@ -0,0 +1,135 @@
+package com.ems.backend.core.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * In-process LRU cache with a size bound and a time-to-live per entry.
+ * Values are loaded outside the lock; a value whose load overlapped an
+ * invalidation is returned to its caller but not cached, so a reader that
+ * started before a commit can never put the pre-commit state back.
+ */
+public class BoundedCache<K, V> {
+
+    public record Stats(String name, int size, long hits, long misses, long evictions, long invalidations) {
+        @JsonProperty
+        public double hitRate() {
+            long requests = hits + misses;
+            return requests > 0 ? (double) hits / requests : 0;
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+
+    private final LinkedHashMap<K, Entry<V>> entries;
+    // Bumped by every invalidation; loads that saw an older generation are not cached
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public BoundedCache(String name, int maxSize, long ttlMillis) {
+        this(name, maxSize, ttlMillis, System::currentTimeMillis);
+    }
+
+    public BoundedCache(String name, int maxSize, long ttlMillis, LongSupplier clock) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        // Access order: the eldest entry is the least recently used
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > BoundedCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Cached value of {@code key}, or the result of {@code loader} (null results are not cached).
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt() > clock.getAsLong()) {
+                    hits.increment();
+                    return entry.value();
+                }
+                entries.remove(key);
+                evictions.increment();
+            }
+            misses.increment();
+            loadGeneration = generation;
+        }
+
+        V value = loader.apply(key);
+        if (value != null) {
+            synchronized (this) {
+                if (generation == loadGeneration) {
+                    entries.put(key, new Entry<>(value, clock.getAsLong() + ttlMillis));
+                }
+            }
+        }
+        return value;
+    }
+
+    public synchronized void invalidate(K key) {
+        generation++;
+        if (entries.remove(key) != null) {
+            invalidations.increment();
+        }
+    }
+
+    /**
+     * Removes the entries matching {@code predicate}; returns how many were removed.
+     */
+    public synchronized int invalidateIf(BiPredicate<? super K, ? super V> predicate) {
+        generation++;
+        int removed = 0;
+        for (Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<K, Entry<V>> entry = it.next();
+            if (predicate.test(entry.getKey(), entry.getValue().value())) {
+                it.remove();
+                removed++;
+            }
+        }
+        invalidations.add(removed);
+        return removed;
+    }
+
+    public synchronized void clear() {
+        generation++;
+        invalidations.add(entries.size());
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public Stats stats() {
+        return new Stats(name, size(), hits.sum(), misses.sum(), evictions.sum(), invalidations.sum());
+    }
+}
@@ -0,0 +1,11 @@
+package com.ems.backend.core.cache;
+
+import java.util.List;
+
+/**
+ * Invalidation sent to the other nodes: which entries of {@code region} changed.
+ * {@code origin} is the node that committed the change (it has already
+ * invalidated its own cache).
+ */
+public record CacheInvalidation(String origin, String region, List<String> keys) {
+}
@@ -0,0 +1,14 @@
+package com.ems.backend.core.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts cache invalidations to every node (including the sender).
+ * Implementations are picked with {@code ems.cache.invalidation.channel}.
+ */
+public interface CacheInvalidationChannel {
+
+    void publish(CacheInvalidation invalidation);
+
+    void subscribe(Consumer<CacheInvalidation> listener);
+}
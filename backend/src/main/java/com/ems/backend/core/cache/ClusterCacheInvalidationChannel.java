@@ -0,0 +1,33 @@
+package com.ems.backend.core.cache;
+
+import java.util.function.Consumer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.ems.backend.core.cluster.ClusterBus;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Invalidations over the cluster bus, so every node evicts its copy.
+ */
+@Component
+@ConditionalOnProperty(name = "ems.cache.invalidation.channel", havingValue = "cluster")
+@RequiredArgsConstructor
+public class ClusterCacheInvalidationChannel implements CacheInvalidationChannel {
+
+    public static final String TOPIC = "cache-invalidation";
+
+    private final ClusterBus clusterBus;
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        clusterBus.publish(TOPIC, invalidation);
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        clusterBus.subscribe(TOPIC, CacheInvalidation.class, listener);
+    }
+}
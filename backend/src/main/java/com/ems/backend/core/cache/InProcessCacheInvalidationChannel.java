@@ -0,0 +1,39 @@
+package com.ems.backend.core.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Delivers invalidations synchronously to the listeners of this JVM: enough
+ * for a single node, and for tests that share one instance between several
+ * caches acting as nodes.
+ */
+@Component
+@ConditionalOnProperty(name = "ems.cache.invalidation.channel", havingValue = "in-process", matchIfMissing = true)
+@Slf4j
+public class InProcessCacheInvalidationChannel implements CacheInvalidationChannel {
+
+    private final List<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        for (Consumer<CacheInvalidation> listener : listeners) {
+            try {
+                listener.accept(invalidation);
+            } catch (RuntimeException e) {
+                log.error("Cache invalidation listener failed for {}", invalidation, e);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,102 @@
+package com.ems.backend.core.cluster;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Subscriptions, local delivery and per-transaction batching shared by the
+ * bus implementations; subclasses only ship the batches to the other nodes.
+ */
+@Slf4j
+public abstract class AbstractClusterBus implements ClusterBus {
+
+    private record Listener<T>(Class<T> type, Consumer<T> consumer) {
+    }
+
+    protected final ObjectMapper objectMapper;
+
+    private final ConcurrentHashMap<String, List<Listener<?>>> listeners = new ConcurrentHashMap<>();
+
+    protected AbstractClusterBus(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void publish(String topic, Object payload) {
+        ClusterMessage message = new ClusterMessage(topic, payload);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatch(List.of(message));
+            return;
+        }
+        // One batch per transaction, bound as a transaction resource
+        @SuppressWarnings("unchecked")
+        List<ClusterMessage> batch = (List<ClusterMessage>) TransactionSynchronizationManager.getResource(this);
+        if (batch == null) {
+            List<ClusterMessage> messages = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, messages);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(messages);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AbstractClusterBus.this);
+                }
+            });
+            batch = messages;
+        }
+        batch.add(message);
+    }
+
+    @Override
+    public <T> void subscribe(String topic, Class<T> type, Consumer<T> listener) {
+        listeners.computeIfAbsent(topic, t -> new CopyOnWriteArrayList<>()).add(new Listener<>(type, listener));
+    }
+
+    /*
+        Ships a committed batch to the other nodes
+    */
+    protected abstract void send(List<ClusterMessage> batch);
+
+    /*
+        Hands a message to the subscribers of this node; payloads received from
+        other nodes arrive as plain JSON structures and are converted here
+    */
+    protected void deliver(ClusterMessage message) {
+        for (Listener<?> listener : listeners.getOrDefault(message.topic(), List.of())) {
+            try {
+                accept(listener, message.payload());
+            } catch (RuntimeException e) {
+                log.error("Cluster bus listener of topic {} failed", message.topic(), e);
+            }
+        }
+    }
+
+    private void dispatch(List<ClusterMessage> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        // Local subscribers first, without a round trip through the other nodes' transport
+        batch.forEach(this::deliver);
+        send(batch);
+    }
+
+    private <T> void accept(Listener<T> listener, Object payload) {
+        T value = listener.type().isInstance(payload)
+                ? listener.type().cast(payload)
+                : objectMapper.convertValue(payload, listener.type());
+        listener.consumer().accept(value);
+    }
+}
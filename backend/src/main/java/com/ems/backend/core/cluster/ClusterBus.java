@@ -0,0 +1,17 @@
+package com.ems.backend.core.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * Publish/subscribe between the backend nodes. A message reaches the
+ * subscribers of its topic on every node, this one included. Publications
+ * made inside a transaction are held until it commits and then travel
+ * together; rolled-back ones are dropped.
+ * Implementations are picked with {@code ems.cluster.bus}.
+ */
+public interface ClusterBus {
+
+    void publish(String topic, Object payload);
+
+    <T> void subscribe(String topic, Class<T> type, Consumer<T> listener);
+}
@@ -0,0 +1,7 @@
+package com.ems.backend.core.cluster;
+
+/**
+ * One publication on the bus; {@code payload} is serialized as JSON between nodes.
+ */
+public record ClusterMessage(String topic, Object payload) {
+}
@@ -0,0 +1,42 @@
+package com.ems.backend.core.cluster;
+
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@code convertAndSend} to the broker of every node: each node re-emits the
+ * message on its own simple broker, where its WebSocket clients are.
+ * User destinations travel unresolved and are resolved by every node.
+ */
+@Component
+@RequiredArgsConstructor
+public class ClusterMessagingTemplate {
+
+    public static final String TOPIC = "broker";
+
+    public record BrokerMessage(String destination, Object payload) {
+    }
+
+    private final ClusterBus clusterBus;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @PostConstruct
+    void init() {
+        clusterBus.subscribe(TOPIC, BrokerMessage.class,
+                message -> messagingTemplate.convertAndSend(message.destination(), message.payload()));
+    }
+
+    public void convertAndSend(String destination, Object payload) {
+        clusterBus.publish(TOPIC, new BrokerMessage(destination, payload));
+    }
+
+    /*
+        Same as SimpMessagingTemplate.convertAndSendToUser: each node resolves the user's own sessions
+    */
+    public void convertAndSendToUser(String user, String destination, Object payload) {
+        convertAndSend(messagingTemplate.getUserDestinationPrefix() + user.replace("/", "%2F") + destination, payload);
+    }
+}
@@ -0,0 +1,156 @@
+package com.ems.backend.core.cluster;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Picks the one node that runs the cluster-wide jobs (e.g. the expiry sweep)
+ * with a session-level PostgreSQL advisory lock on a dedicated connection:
+ * the lock is freed by the database as soon as the leader's connection
+ * dies, and the next node to try takes over. The leader writes a heartbeat
+ * to {@code cluster_leader}; the gap between the previous leader's last
+ * heartbeat and the takeover is reported as the failover time.
+ */
+@Component
+@Slf4j
+public class LeaderElection {
+
+    public static final String ROLE = "scheduler";
+
+    // pg_advisory_lock key of the scheduler role ("EMSLEAD")
+    static final long LOCK_KEY = 0x454d534c454144L;
+
+    public record Stats(String nodeId, boolean leader, Instant leaderSince, long acquisitions,
+            long losses, Long lastFailoverMillis) {
+    }
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private Connection connection;
+    private volatile boolean leader;
+    private volatile Instant leaderSince;
+    private volatile Long lastFailoverMillis;
+    private final AtomicLong acquisitions = new AtomicLong();
+    private final AtomicLong losses = new AtomicLong();
+
+    public boolean isLeader() {
+        return leader;
+    }
+
+    /*
+        Followers try to take the lock; the leader proves its connection is still alive
+    */
+    @Scheduled(fixedDelayString = "${ems.cluster.leader.check-ms:5000}")
+    public synchronized void check() {
+        try {
+            if (connection == null) {
+                connection = DriverManager.getConnection(url, username, password);
+            }
+            if (leader) {
+                heartbeat();
+            } else if (tryAcquire()) {
+                takeOver();
+            }
+        } catch (SQLException e) {
+            if (leader) {
+                log.warn("Lost scheduler leadership: {}", e.getMessage());
+                losses.incrementAndGet();
+            } else {
+                log.debug("Leader election unavailable: {}", e.getMessage());
+            }
+            leader = false;
+            leaderSince = null;
+            close();
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(nodeId, leader, leaderSince, acquisitions.get(), losses.get(), lastFailoverMillis);
+    }
+
+    @PreDestroy
+    public synchronized void resign() {
+        // Closing the session releases the advisory lock right away
+        leader = false;
+        close();
+    }
+
+    // ====== Auxiliares ======
+
+    private boolean tryAcquire() throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            ps.setLong(1, LOCK_KEY);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private void takeOver() throws SQLException {
+        // Time since the previous leader's last heartbeat, on the database clock
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT node_id, (EXTRACT(EPOCH FROM (now() - heartbeat_at)) * 1000)::bigint "
+                        + "FROM cluster_leader WHERE name = ?")) {
+            ps.setString(1, ROLE);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next() && !nodeId.equals(rs.getString(1))) {
+                    lastFailoverMillis = rs.getLong(2);
+                }
+            }
+        }
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO cluster_leader (name, node_id, acquired_at, heartbeat_at) VALUES (?, ?, now(), now()) "
+                        + "ON CONFLICT (name) DO UPDATE SET node_id = EXCLUDED.node_id, "
+                        + "acquired_at = EXCLUDED.acquired_at, heartbeat_at = EXCLUDED.heartbeat_at")) {
+            ps.setString(1, ROLE);
+            ps.setString(2, nodeId);
+            ps.executeUpdate();
+        }
+        leader = true;
+        leaderSince = Instant.now();
+        acquisitions.incrementAndGet();
+        log.info("Node {} is now the scheduler leader (failover gap {} ms)", nodeId, lastFailoverMillis);
+    }
+
+    private void heartbeat() throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "UPDATE cluster_leader SET heartbeat_at = now() WHERE name = ? AND node_id = ?")) {
+            ps.setString(1, ROLE);
+            ps.setString(2, nodeId);
+            ps.executeUpdate();
+        }
+    }
+
+    private void close() {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                log.debug("Error closing leader election connection", e);
+            }
+            connection = null;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.ems.backend.core.cluster;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Single-node bus: publications only reach the subscribers of this JVM.
+ */
+@Component
+@ConditionalOnProperty(name = "ems.cluster.bus", havingValue = "local", matchIfMissing = true)
+public class LocalClusterBus extends AbstractClusterBus {
+
+    public LocalClusterBus(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void send(List<ClusterMessage> batch) {
+        // No other nodes
+    }
+}
@@ -0,0 +1,313 @@
+package com.ems.backend.core.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bus between nodes sharing the PostgreSQL database, over LISTEN/NOTIFY on
+ * {@code ems_broadcast}. Committed batches go to an outbox drained by one
+ * sender thread, which packs everything waiting into as few notifications
+ * as fit and sends them in one transaction. A batch too large for a
+ * notification payload (8000 bytes) is written to
+ * {@code cluster_broadcast_spill} and only its id is notified. A listener
+ * thread on its own connection re-delivers the other nodes' batches here.
+ * Both threads hold dedicated connections outside the pool: LISTEN needs
+ * a connection that stays open.
+ */
+@Component
+@ConditionalOnProperty(name = "ems.cluster.bus", havingValue = "postgres")
+@Slf4j
+public class PostgresClusterBus extends AbstractClusterBus {
+
+    static final String CHANNEL = "ems_broadcast";
+
+    // Below the 8000-byte NOTIFY limit, leaving room for the frame itself
+    static final int MAX_PAYLOAD_BYTES = 7800;
+
+    private static final long POLL_MILLIS = 500;
+    private static final long RECONNECT_MILLIS = 2000;
+
+    /*
+        What travels in a notification: the batches of one node, or the id of a spilled batch
+    */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record Frame(String origin, List<ClusterMessage> messages, Long spill) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    @Value("${ems.cluster.bus.outbox-capacity:10000}")
+    private int outboxCapacity;
+
+    @Value("${ems.cluster.bus.spill-retention-seconds:300}")
+    private int spillRetentionSeconds;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private BlockingQueue<List<ClusterMessage>> outbox;
+    private volatile boolean running;
+    private Thread sender;
+    private Thread listener;
+
+    public PostgresClusterBus(ObjectMapper objectMapper, JdbcTemplate jdbcTemplate) {
+        super(objectMapper);
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void start() {
+        outbox = new LinkedBlockingQueue<>(outboxCapacity);
+        running = true;
+        sender = Thread.ofPlatform().daemon().name("cluster-bus-sender").start(this::sendLoop);
+        listener = Thread.ofPlatform().daemon().name("cluster-bus-listener").start(this::listenLoop);
+        log.info("Cluster bus on PostgreSQL channel {} (node {})", CHANNEL, nodeId);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        sender.interrupt();
+        listener.interrupt();
+        sender.join(RECONNECT_MILLIS);
+        listener.join(RECONNECT_MILLIS);
+    }
+
+    @Override
+    protected void send(List<ClusterMessage> batch) {
+        if (!outbox.offer(batch)) {
+            // The other nodes miss it; their clients catch up with ?since= on the next resync
+            log.warn("Cluster bus outbox full, dropping {} messages", batch.size());
+        }
+    }
+
+    /*
+        Spilled batches are read within seconds of their notification
+    */
+    @Scheduled(fixedDelayString = "${ems.cluster.bus.spill-cleanup-ms:60000}")
+    public void deleteOldSpills() {
+        if (!running) {
+            return;
+        }
+        int deleted = jdbcTemplate.update(
+                "DELETE FROM cluster_broadcast_spill WHERE created_at < now() - make_interval(secs => ?)",
+                spillRetentionSeconds);
+        if (deleted > 0) {
+            log.debug("Deleted {} spilled cluster bus batches", deleted);
+        }
+    }
+
+    // ====== Envio ======
+
+    private void sendLoop() {
+        Connection connection = null;
+        while (running) {
+            List<List<ClusterMessage>> batches = new ArrayList<>();
+            try {
+                List<ClusterMessage> first = outbox.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batches.add(first);
+                outbox.drainTo(batches);
+                if (connection == null) {
+                    connection = connect();
+                    connection.setAutoCommit(false);
+                }
+                sendAll(connection, batches);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (SQLException | JsonProcessingException | RuntimeException e) {
+                log.error("Cluster bus failed to send {} batches", batches.size(), e);
+                closeQuietly(connection);
+                connection = null;
+                pause();
+            }
+        }
+        closeQuietly(connection);
+    }
+
+    /*
+        Packs the batches into frames in order, never splitting a batch
+    */
+    private void sendAll(Connection connection, List<List<ClusterMessage>> batches)
+            throws SQLException, JsonProcessingException {
+        try (PreparedStatement notify = connection.prepareStatement("SELECT pg_notify(?, ?)");
+                PreparedStatement spill = connection.prepareStatement(
+                        "INSERT INTO cluster_broadcast_spill (payload) VALUES (?) RETURNING id")) {
+            List<ClusterMessage> frame = new ArrayList<>();
+            int frameBytes = 0;
+            for (List<ClusterMessage> batch : batches) {
+                String json = objectMapper.writeValueAsString(batch);
+                int bytes = json.getBytes(StandardCharsets.UTF_8).length;
+                if (bytes > MAX_PAYLOAD_BYTES) {
+                    frameBytes = flush(notify, frame);
+                    notify(notify, new Frame(nodeId, null, insertSpill(spill, json)));
+                    continue;
+                }
+                if (frameBytes + bytes > MAX_PAYLOAD_BYTES) {
+                    frameBytes = flush(notify, frame);
+                }
+                frame.addAll(batch);
+                frameBytes += bytes;
+            }
+            flush(notify, frame);
+            // Notifications (and spilled rows) become visible to the listeners together, at commit
+            connection.commit();
+        } catch (SQLException | JsonProcessingException e) {
+            connection.rollback();
+            throw e;
+        }
+    }
+
+    private int flush(PreparedStatement notify, List<ClusterMessage> frame) throws SQLException, JsonProcessingException {
+        if (!frame.isEmpty()) {
+            notify(notify, new Frame(nodeId, List.copyOf(frame), null));
+            frame.clear();
+        }
+        return 0;
+    }
+
+    private void notify(PreparedStatement notify, Frame frame) throws SQLException, JsonProcessingException {
+        notify.setString(1, CHANNEL);
+        notify.setString(2, objectMapper.writeValueAsString(frame));
+        notify.execute();
+    }
+
+    private long insertSpill(PreparedStatement spill, String json) throws SQLException {
+        spill.setString(1, json);
+        try (ResultSet rs = spill.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    // ====== Receção ======
+
+    private void listenLoop() {
+        Connection connection = null;
+        boolean reconnecting = false;
+        while (running) {
+            try {
+                if (connection == null) {
+                    connection = connect();
+                    try (Statement st = connection.createStatement()) {
+                        st.execute("LISTEN " + CHANNEL);
+                    }
+                    if (reconnecting) {
+                        log.warn("Cluster bus listener reconnected; notifications sent meanwhile were missed");
+                    }
+                }
+                PGNotification[] notifications = connection.unwrap(PGConnection.class)
+                        .getNotifications((int) POLL_MILLIS);
+                if (notifications != null) {
+                    for (PGNotification notification : notifications) {
+                        receive(connection, notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    break;
+                }
+                log.error("Cluster bus listener lost its connection", e);
+                closeQuietly(connection);
+                connection = null;
+                reconnecting = true;
+                pause();
+            }
+        }
+        closeQuietly(connection);
+    }
+
+    private void receive(Connection connection, String payload) throws SQLException {
+        List<ClusterMessage> messages;
+        try {
+            Frame frame = objectMapper.readValue(payload, Frame.class);
+            if (nodeId.equals(frame.origin())) {
+                return; // already delivered locally when published
+            }
+            messages = frame.spill() != null ? loadSpill(connection, frame.spill()) : frame.messages();
+        } catch (JsonProcessingException e) {
+            log.error("Ignoring malformed cluster bus notification", e);
+            return;
+        }
+        if (messages != null) {
+            messages.forEach(this::deliver);
+        }
+    }
+
+    private List<ClusterMessage> loadSpill(Connection connection, long id) throws SQLException, JsonProcessingException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT payload FROM cluster_broadcast_spill WHERE id = ?")) {
+            ps.setLong(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    log.warn("Spilled cluster bus batch {} is gone", id);
+                    return null;
+                }
+                return objectMapper.readValue(rs.getString(1), new TypeReference<List<ClusterMessage>>() { });
+            }
+        }
+    }
+
+    // ====== Auxiliares ======
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(url, username, password);
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(RECONNECT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                log.debug("Error closing cluster bus connection", e);
+            }
+        }
+    }
+}
@@ -1,18 +1,35 @@
 package com.ems.backend.core.config;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+
+import com.ems.backend.modules.notification.SeatUpdateStream;
+
+import lombok.RequiredArgsConstructor;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+    // Looked up per connection: the stream itself depends on the broker channels configured here
+    private final ObjectProvider<SeatUpdateStream> seatUpdateStream;
+    private final JwtChannelInterceptor jwtChannelInterceptor;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         // Prefix for subscriptions (client receives messages from these topics)
-        config.enableSimpleBroker("/topic");
+        config.enableSimpleBroker("/topic", "/queue");
+        // Per-user messages (/user/queue/...), for sessions authenticated on CONNECT
+        config.setUserDestinationPrefix("/user");
         // Prefix for messages sent from client to server
         config.setApplicationDestinationPrefixes("/app");
     }
@@ -24,4 +41,20 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
             .setAllowedOriginPatterns("*")  // ✅ Ou configurar via application.properties
             .withSockJS();
     }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(jwtChannelInterceptor);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // Lets the seat stream see when a session has actually written its frames (slow-consumer conflation)
+        registration.addDecoratorFactory(handler -> new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                super.afterConnectionEstablished(seatUpdateStream.getObject().track(session));
+            }
+        });
+    }
 }
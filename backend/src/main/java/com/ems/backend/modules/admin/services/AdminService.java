@@ -30,7 +30,7 @@ import com.ems.backend.modules.admin.repositories.SystemLogRepository;
 import com.ems.backend.modules.auth.entities.User;
 import com.ems.backend.modules.auth.entities.User.Role;
 import com.ems.backend.modules.auth.repositories.UserRepository;
-import com.ems.backend.modules.booking.repositories.SeatRepository;
+import com.ems.backend.modules.booking.repositories.BookingRepository;
 import com.ems.backend.modules.event.repositories.EventRepository;
 
 import jakarta.transaction.Transactional;
@@ -42,7 +42,7 @@ public class AdminService {
 
     private final UserRepository userRepository;
     private final EventRepository eventRepository;
-    private final SeatRepository seatRepository;
+    private final BookingRepository bookingRepository;
     private final SystemLogRepository systemLogRepository;
     private final EventCategoryRepository eventCategoryRepository;
     private final SystemConfigRepository systemConfigRepository;
@@ -69,7 +69,7 @@ public class AdminService {
         // other stats
         Long pendingReports = contentReportRepository.countPending();
         Long errorsToday = systemLogRepository.countByLevelAfter(LogLevel.ERROR, todayStart);
-        Long bookingsToday = seatRepository.countBookedAfter(todayStart);
+        Long bookingsToday = bookingRepository.countByBookedAtAfter(todayStart);
 
         return AdminDashboardStats.builder()
                 .totalUsers(totalUsers)
@@ -107,7 +107,7 @@ public class AdminService {
 
     private UserManagementDTO toUserManagementDTO(User user) {
         Long eventsCreated = eventRepository.countByOrganizerId(user.getId());
-        Long bookingsMade = seatRepository.countBookedByUsername(user.getUsername());
+        Long bookingsMade = bookingRepository.countByUserId(user.getId());
 
         return UserManagementDTO.builder()
                 .id(user.getId())
@@ -0,0 +1,240 @@
+package com.ems.backend.modules.booking.allocation;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.ems.backend.core.cluster.ClusterBus;
+import com.ems.backend.modules.booking.dtos.BestAvailableResponse;
+import com.ems.backend.modules.booking.entities.Seat;
+import com.ems.backend.modules.booking.entities.SeatStatus;
+import com.ems.backend.modules.booking.services.BookingService;
+import com.ems.backend.modules.booking.services.SeatConflictException;
+import com.ems.backend.modules.booking.services.SeatMaterializer;
+import com.ems.backend.modules.booking.services.SeatTransitions;
+import com.ems.backend.modules.booking.services.SeatsChangedEvent;
+import com.ems.backend.modules.event.entities.Event;
+import com.ems.backend.modules.event.repositories.EventRepository;
+import com.ems.backend.modules.event.services.EventService;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * "Best N adjacent seats" for seated events.
+ * Keeps one {@link SeatGrid} per event, updated from seat transitions, and
+ * holds the chosen block through the all-or-nothing multi-seat lock.
+ * Transitions that land while a grid is being built are buffered and
+ * replayed on it (older seat versions than the snapshot's are skipped).
+ * Grids of cancelled events, and grids nobody asked for in a while, are
+ * dropped.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BestAvailableAllocator {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final EventRepository eventRepository;
+    private final SeatTransitions seatTransitions;
+    private final BookingService bookingService;
+    private final SeatMaterializer seatMaterializer;
+    private final ClusterBus clusterBus;
+
+    private final ConcurrentHashMap<Long, SeatGrid> grids = new ConcurrentHashMap<>();
+    // Transitions seen while the grid of the event is being read
+    private final ConcurrentHashMap<Long, List<Seat>> building = new ConcurrentHashMap<>();
+
+    // Best point as a fraction of the grid (0,0 = first row, first column)
+    @Value("${ems.booking.best-available.row-ratio:0.3}")
+    private double bestRowRatio;
+
+    @Value("${ems.booking.best-available.column-ratio:0.5}")
+    private double bestColumnRatio;
+
+    @Value("${ems.booking.max-seats-per-request:10}")
+    private int maxSeatsPerRequest;
+
+    @Value("${ems.booking.best-available.grid-idle-minutes:30}")
+    private long gridIdleMinutes;
+
+    @PostConstruct
+    void init() {
+        clusterBus.subscribe(EventService.CLOSED_TOPIC, Long.class, grids::remove);
+    }
+
+    /*
+        Finds and holds the best block of quantity seats; splits the group
+        across blocks when no row has enough adjacent free seats
+    */
+    public BestAvailableResponse holdBestAvailable(Long eventId, int quantity, String username) {
+        if (quantity < 1) {
+            throw new RuntimeException("Quantidade inválida");
+        }
+        if (quantity > maxSeatsPerRequest) {
+            throw new RuntimeException("Máximo de " + maxSeatsPerRequest + " assentos por pedido");
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            SeatGrid grid = gridFor(eventId);
+            double bestRow = bestRowRatio * (grid.rows() - 1);
+            double bestColumn = bestColumnRatio * (grid.columns() - 1);
+
+            List<SeatGrid.Block> blocks = new ArrayList<>();
+            List<Long> seatIds = new ArrayList<>(quantity);
+            boolean contiguous;
+            synchronized (grid) {
+                if (grid.freeCount() < quantity) {
+                    throw new RuntimeException("Não há assentos suficientes disponíveis");
+                }
+                SeatGrid.Block block = grid.findBest(quantity, bestRow, bestColumn);
+                contiguous = block != null;
+                if (contiguous) {
+                    blocks.add(block);
+                    seatIds.addAll(grid.take(block));
+                } else {
+                    // Fallback: largest remaining blocks closest to the best point
+                    int remaining = quantity;
+                    while (remaining > 0) {
+                        SeatGrid.Block part = grid.findBest(Math.min(remaining, grid.longestRun()), bestRow, bestColumn);
+                        blocks.add(part);
+                        seatIds.addAll(grid.take(part));
+                        remaining -= part.length();
+                    }
+                }
+            }
+
+            try {
+                List<Seat> seats = bookingService.lockSeats(materialize(eventId, grid, blocks, seatIds), username);
+                return BestAvailableResponse.builder()
+                        .seats(seats)
+                        .contiguous(contiguous)
+                        .build();
+            } catch (SeatConflictException e) {
+                // Index was stale or another buyer won the race: rebuild and retry
+                grids.remove(eventId, grid);
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Best-available attempt {} for event {} failed: {}", attempt, eventId, e.getMessage());
+            } catch (RuntimeException e) {
+                // Nothing was locked: the seats are still free
+                blocks.forEach(grid::restore);
+                throw e;
+            }
+        }
+    }
+
+    @EventListener
+    public void onSeatsChanged(SeatsChangedEvent change) {
+        Long eventId = change.getEventId();
+        SeatGrid grid = eventId != null ? grids.get(eventId) : null;
+        if (grid == null) {
+            List<Seat> buffer = eventId != null ? building.get(eventId) : null;
+            if (buffer != null) {
+                synchronized (buffer) {
+                    if (building.get(eventId) == buffer) {
+                        buffer.addAll(change.getSeats());
+                        return;
+                    }
+                }
+            }
+            // Replayed and published meanwhile
+            grid = eventId != null ? grids.get(eventId) : null;
+            if (grid == null) {
+                return;
+            }
+        }
+        apply(grid, change.getSeats());
+    }
+
+    /*
+        Drops the grids nobody used for a while (past events, finished on-sales)
+    */
+    @Scheduled(fixedDelayString = "${ems.booking.best-available.grid-idle-minutes:30}", timeUnit = TimeUnit.MINUTES)
+    public void evictIdle() {
+        long idleSince = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(gridIdleMinutes);
+        grids.entrySet().removeIf(entry -> entry.getValue().lastUsed() < idleSince);
+    }
+
+    // ====== Auxiliares ======
+
+    /*
+        Seats of a lazily stored event that have no row yet (id 0 in the grid) get one before the lock
+    */
+    private List<Long> materialize(Long eventId, SeatGrid grid, List<SeatGrid.Block> blocks, List<Long> seatIds) {
+        List<int[]> missing = new ArrayList<>();
+        int k = 0;
+        for (SeatGrid.Block block : blocks) {
+            for (int c = block.start(); c < block.start() + block.length(); c++, k++) {
+                if (seatIds.get(k) == 0L) {
+                    missing.add(new int[] { block.row(), c });
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return seatIds;
+        }
+        Iterator<Long> created = seatMaterializer.materialize(eventId, missing).iterator();
+        List<Long> ids = new ArrayList<>(seatIds.size());
+        k = 0;
+        for (SeatGrid.Block block : blocks) {
+            for (int c = block.start(); c < block.start() + block.length(); c++, k++) {
+                long id = seatIds.get(k);
+                if (id == 0L) {
+                    id = created.next();
+                    grid.bind(block.row(), c, id);
+                }
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private SeatGrid gridFor(Long eventId) {
+        List<Seat> buffer = new ArrayList<>();
+        SeatGrid grid = grids.computeIfAbsent(eventId, id -> {
+            Event event = eventRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Event not found"));
+            if (!Boolean.TRUE.equals(event.getHasSeating())
+                    || event.getSeatRows() == null || event.getSeatColumns() == null
+                    || event.getSeatRows() < 1 || event.getSeatColumns() < 1) {
+                throw new RuntimeException("Este evento não tem lugares marcados");
+            }
+            // From here on, transitions are kept until the snapshot is in the map
+            building.put(id, buffer);
+            try {
+                SeatGrid built = SeatGrid.of(event.getSeatRows(), event.getSeatColumns(), seatTransitions.findEventSeats(id));
+                log.debug("Built seat grid for event {} ({} free seats)", id, built.freeCount());
+                return built;
+            } catch (RuntimeException e) {
+                building.remove(id, buffer);
+                throw e;
+            }
+        });
+        if (building.get(eventId) == buffer) {
+            // Built by this call: replay what changed while the snapshot was read
+            synchronized (buffer) {
+                apply(grid, buffer);
+                building.remove(eventId, buffer);
+            }
+        }
+        grid.touch();
+        return grid;
+    }
+
+    private static void apply(SeatGrid grid, List<Seat> seats) {
+        for (Seat seat : seats) {
+            grid.update(seat, seat.getStatus() == SeatStatus.AVAILABLE);
+        }
+    }
+}
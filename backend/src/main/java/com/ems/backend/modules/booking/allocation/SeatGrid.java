@@ -0,0 +1,270 @@
+package com.ems.backend.modules.booking.allocation;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.ems.backend.modules.booking.entities.Seat;
+import com.ems.backend.modules.booking.entities.SeatStatus;
+
+/**
+ * Free-seat index of a seated event laid out as a rows x columns grid.
+ * Each row keeps a bitmap of free seats and the length of its longest free
+ * run, so a block search only visits rows that can fit the group and only
+ * the free runs inside them. Each cell also keeps the row version of its
+ * seat, so a transition older than the state already in the grid is ignored.
+ */
+public class SeatGrid {
+
+    /**
+     * A contiguous block of {@code length} seats starting at {@code start} in {@code row}.
+     */
+    public record Block(int row, int start, int length, double score) {
+    }
+
+    private final int rows;
+    private final int columns;
+    private final long[] seatIds; // row * columns + column, 0 = no seat or no row yet
+    private final long[] versions;
+    private final BitSet[] free;
+    private final int[] longestRun;
+    private final Map<Long, Integer> positions;
+    private int freeCount;
+    private volatile long lastUsed = System.currentTimeMillis();
+
+    private SeatGrid(int rows, int columns) {
+        this.rows = rows;
+        this.columns = columns;
+        this.seatIds = new long[rows * columns];
+        this.versions = new long[rows * columns];
+        this.free = new BitSet[rows];
+        this.longestRun = new int[rows];
+        this.positions = new HashMap<>();
+        for (int r = 0; r < rows; r++) {
+            free[r] = new BitSet(columns);
+        }
+    }
+
+    public static SeatGrid of(int rows, int columns, List<Seat> seats) {
+        SeatGrid grid = new SeatGrid(rows, columns);
+        for (Seat seat : seats) {
+            int[] position = positionOf(seat);
+            if (position == null || position[0] < 0 || position[1] < 0
+                    || position[0] >= rows || position[1] >= columns) {
+                continue;
+            }
+            int flat = position[0] * columns + position[1];
+            // Lazily stored seats without a row yet have no id: the cell stays 0 until bound
+            if (seat.getId() != null) {
+                grid.seatIds[flat] = seat.getId();
+                grid.positions.put(seat.getId(), flat);
+            }
+            if (seat.getVersion() != null) {
+                grid.versions[flat] = seat.getVersion();
+            }
+            if (isFree(seat)) {
+                grid.free[position[0]].set(position[1]);
+                grid.freeCount++;
+            }
+        }
+        for (int r = 0; r < rows; r++) {
+            grid.recomputeRun(r);
+        }
+        return grid;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int columns() {
+        return columns;
+    }
+
+    public long lastUsed() {
+        return lastUsed;
+    }
+
+    public void touch() {
+        lastUsed = System.currentTimeMillis();
+    }
+
+    public synchronized int freeCount() {
+        return freeCount;
+    }
+
+    public synchronized int longestRun() {
+        int max = 0;
+        for (int run : longestRun) {
+            max = Math.max(max, run);
+        }
+        return max;
+    }
+
+    public synchronized void update(Seat seat, boolean isFree) {
+        Integer flat = positions.get(seat.getId());
+        if (flat == null) {
+            // First transition of a seat created on another path: its cell still has no id
+            int[] position = positionOf(seat);
+            if (seat.getId() == null || position == null || position[0] < 0 || position[1] < 0
+                    || position[0] >= rows || position[1] >= columns || seatIds[position[0] * columns + position[1]] != 0) {
+                return;
+            }
+            bind(position[0], position[1], seat.getId());
+            flat = position[0] * columns + position[1];
+        }
+        if (seat.getVersion() != null) {
+            if (seat.getVersion() < versions[flat]) {
+                return; // the grid already has a later state of this seat
+            }
+            versions[flat] = seat.getVersion();
+        }
+        int r = flat / columns;
+        int c = flat % columns;
+        if (free[r].get(c) == isFree) {
+            return;
+        }
+        free[r].set(c, isFree);
+        freeCount += isFree ? 1 : -1;
+        recomputeRun(r);
+    }
+
+    /**
+     * Finds the block of {@code n} adjacent free seats whose centre is closest
+     * to ({@code bestRow}, {@code bestColumn}), or null if no row can fit it.
+     * Rows are visited outwards from the best row, so the search stops as soon
+     * as the row distance alone can no longer beat the current best block.
+     */
+    public synchronized Block findBest(int n, double bestRow, double bestColumn) {
+        Block best = null;
+        int below = (int) Math.floor(bestRow);
+        int above = below + 1;
+
+        while (below >= 0 || above < rows) {
+            int r;
+            if (above >= rows || (below >= 0 && bestRow - below <= above - bestRow)) {
+                r = below--;
+            } else {
+                r = above++;
+            }
+            double rowDistance = (r - bestRow) * (r - bestRow);
+            if (best != null && rowDistance >= best.score()) {
+                break;
+            }
+            if (longestRun[r] < n) {
+                continue;
+            }
+            Block candidate = bestInRow(r, n, bestColumn, rowDistance);
+            if (candidate != null && (best == null || candidate.score() < best.score())) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Records the id of a seat created after the grid was built.
+     */
+    public synchronized void bind(int row, int column, long seatId) {
+        int flat = row * columns + column;
+        seatIds[flat] = seatId;
+        positions.put(seatId, flat);
+    }
+
+    /**
+     * Marks the seats of {@code block} as taken and returns their ids
+     * (0 for a free position that has no seat row yet).
+     */
+    public synchronized List<Long> take(Block block) {
+        List<Long> ids = new ArrayList<>(block.length());
+        for (int c = block.start(); c < block.start() + block.length(); c++) {
+            ids.add(seatIds[block.row() * columns + c]);
+        }
+        free[block.row()].clear(block.start(), block.start() + block.length());
+        freeCount -= block.length();
+        recomputeRun(block.row());
+        return ids;
+    }
+
+    /**
+     * Gives back the seats of a block taken for a hold that failed before locking anything.
+     */
+    public synchronized void restore(Block block) {
+        BitSet row = free[block.row()];
+        for (int c = block.start(); c < block.start() + block.length(); c++) {
+            if (!row.get(c)) {
+                row.set(c);
+                freeCount++;
+            }
+        }
+        recomputeRun(block.row());
+    }
+
+    // ====== Auxiliares ======
+
+    private Block bestInRow(int r, int n, double bestColumn, double rowDistance) {
+        Block best = null;
+        BitSet row = free[r];
+        for (int start = row.nextSetBit(0); start >= 0; start = row.nextSetBit(start)) {
+            int end = row.nextClearBit(start); // exclusive
+            if (end - start >= n) {
+                // Block start that puts the block centre closest to the best column
+                int ideal = (int) Math.round(bestColumn - (n - 1) / 2.0);
+                int s = Math.max(start, Math.min(ideal, end - n));
+                double centre = s + (n - 1) / 2.0;
+                double score = rowDistance + (centre - bestColumn) * (centre - bestColumn);
+                if (best == null || score < best.score()) {
+                    best = new Block(r, s, n, score);
+                }
+            }
+            start = end;
+        }
+        return best;
+    }
+
+    private void recomputeRun(int r) {
+        int max = 0;
+        BitSet row = free[r];
+        for (int start = row.nextSetBit(0); start >= 0; start = row.nextSetBit(start)) {
+            int end = row.nextClearBit(start);
+            max = Math.max(max, end - start);
+            start = end;
+        }
+        longestRun[r] = max;
+    }
+
+    private static boolean isFree(Seat seat) {
+        return seat.getStatus() == SeatStatus.AVAILABLE
+                || (seat.getStatus() == SeatStatus.LOCKED && seat.isLockExpired());
+    }
+
+    /*
+        Grid position of a seat: the stored indexes, or parsed from the
+        seat number ("A1" -> row 0, column 0; "AA3" -> row 26, column 2)
+    */
+    static int[] positionOf(Seat seat) {
+        if (seat.getRowIndex() != null && seat.getColumnIndex() != null) {
+            return new int[] { seat.getRowIndex(), seat.getColumnIndex() };
+        }
+        String number = seat.getSeatNumber();
+        if (number == null) {
+            return null;
+        }
+        int i = 0;
+        int row = 0;
+        while (i < number.length() && Character.isLetter(number.charAt(i))) {
+            row = row * 26 + (Character.toUpperCase(number.charAt(i)) - 'A' + 1);
+            i++;
+        }
+        if (i == 0 || i == number.length()) {
+            return null;
+        }
+        try {
+            return new int[] { row - 1, Integer.parseInt(number.substring(i)) - 1 };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.ems.backend.modules.booking.changes;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.ems.backend.modules.booking.dtos.SeatUpdateMessage;
+import com.ems.backend.modules.booking.entities.Seat;
+import com.ems.backend.modules.booking.services.SeatsChangedEvent;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Per-event sequence of seat transitions, with the most recent changes kept
+ * in a bounded ring buffer so clients can catch up with a delta
+ * ({@code GET /api/events/{id}/seats?since=}) instead of the whole map.
+ * Each node numbers the transitions in the order they reach it (its own and
+ * the ones relayed by {@code SeatChangeRelay}) with a local counter, so no
+ * transition waits on the database for its number. Positions carry the
+ * node's epoch, one {@code seat_change_epoch_seq} value per start, in their
+ * high bits: a position or ETag issued by another node (or an earlier run of
+ * this one) is recognised and answered with the full map.
+ */
+@Component
+@RequiredArgsConstructor
+public class SeatChangeLog {
+
+    /**
+     * Seats changed after a position, latest state per seat, up to {@code sequence}.
+     */
+    public record Delta(long sequence, List<SeatUpdateMessage> changes) {
+    }
+
+    // Positions are epoch << COUNTER_BITS | counter; 2^21 epochs stay within JavaScript's safe integers
+    static final int COUNTER_BITS = 32;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // First position of this run (counter 0): every change before it is already in the
+    // database, and none of them is in this node's buffers
+    private long base;
+    private final AtomicLong counter = new AtomicLong();
+
+    @Value("${ems.booking.changes.buffer-size:1024}")
+    private int bufferSize;
+
+    private final ConcurrentHashMap<Long, ChangeBuffer> buffers = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        long epoch = jdbcTemplate.queryForObject("SELECT nextval('seat_change_epoch_seq')", Long.class);
+        base = epoch << COUNTER_BITS;
+    }
+
+    /*
+        Numbers a transition as it reaches this node (after its commit), so a map
+        read at a position holds every change numbered up to it
+    */
+    @EventListener
+    public void onSeatsChanged(SeatsChangedEvent change) {
+        if (change.getEventId() == null || change.getSeats().isEmpty()) {
+            return;
+        }
+        bufferFor(change.getEventId()).append(change.getSeats(), counter);
+    }
+
+    public long sequence(Long eventId) {
+        ChangeBuffer buffer = buffers.get(eventId);
+        return buffer != null ? buffer.sequence() : base;
+    }
+
+    /*
+        Read before loading the seats: the body is then at least as new as the tag
+    */
+    public String etag(Long eventId) {
+        return "\"seats-" + eventId + "-" + sequence(eventId) + "\"";
+    }
+
+    // Tag of another representation of the same map (e.g. binary, per viewer)
+    public String etag(Long eventId, String variant) {
+        return "\"seats-" + variant + "-" + eventId + "-" + sequence(eventId) + "\"";
+    }
+
+    /**
+     * Changes after {@code since}, or null if that position is no longer in
+     * the buffer (or was never issued here) and a full snapshot is needed.
+     */
+    public Delta since(Long eventId, long since) {
+        if (since >>> COUNTER_BITS != base >>> COUNTER_BITS) {
+            return null; // another node's (or run's) numbering
+        }
+        ChangeBuffer buffer = buffers.get(eventId);
+        if (buffer == null) {
+            return since == base ? new Delta(base, List.of()) : null;
+        }
+        return buffer.since(since);
+    }
+
+    private ChangeBuffer bufferFor(Long eventId) {
+        return buffers.computeIfAbsent(eventId, id -> new ChangeBuffer(base, bufferSize));
+    }
+
+    /*
+        Ring of the last seat changes of one event, in arrival (= position) order
+    */
+    private static final class ChangeBuffer {
+        private final long base;
+        private final SeatUpdateMessage[] changes;
+        private int next;     // slot of the next change
+        private int size;
+        private long sequence;
+        // Highest sequence that left the ring: positions below it may miss changes
+        private long evicted;
+
+        ChangeBuffer(long base, int capacity) {
+            this.base = base;
+            this.changes = new SeatUpdateMessage[capacity];
+            this.sequence = base;
+            this.evicted = base;
+        }
+
+        synchronized long sequence() {
+            return sequence;
+        }
+
+        // One position per transition, taken under the buffer's lock so the ring stays in position order
+        synchronized void append(List<Seat> seats, AtomicLong counter) {
+            sequence = base + counter.incrementAndGet();
+            long stamp = sequence;
+            for (Seat seat : seats) {
+                seat.setChangeSequence(stamp);
+                if (size == changes.length) {
+                    evicted = Math.max(evicted, changes[next].getSequence());
+                }
+                changes[next] = SeatUpdateMessage.builder()
+                        .seatId(seat.getId())
+                        .seatNumber(seat.getSeatNumber())
+                        .status(seat.getStatus())
+                        .lockedBy(seat.getLockedBy())
+                        .sequence(stamp)
+                        .version(seat.getVersion())
+                        .build();
+                next = (next + 1) % changes.length;
+                size = Math.min(size + 1, changes.length);
+            }
+        }
+
+        synchronized Delta since(long since) {
+            // Not issued yet, or older than what is still in the ring
+            if (since > sequence || since < evicted) {
+                return null;
+            }
+            int oldest = (next - size + changes.length) % changes.length;
+            Map<Long, SeatUpdateMessage> latest = new LinkedHashMap<>();
+            for (int i = 0; i < size; i++) {
+                SeatUpdateMessage change = changes[(oldest + i) % changes.length];
+                if (change.getSequence() > since) {
+                    SeatUpdateMessage current = latest.remove(change.getSeatId());
+                    latest.put(change.getSeatId(), current != null && change.precedes(current) ? current : change);
+                }
+            }
+            return new Delta(sequence, new ArrayList<>(latest.values()));
+        }
+    }
+}
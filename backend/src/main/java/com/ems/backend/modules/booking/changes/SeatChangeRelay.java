@@ -0,0 +1,84 @@
+package com.ems.backend.modules.booking.changes;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.ems.backend.core.cluster.ClusterBus;
+import com.ems.backend.modules.booking.entities.Seat;
+import com.ems.backend.modules.booking.entities.SeatStatus;
+import com.ems.backend.modules.booking.services.SeatsChangedEvent;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Carries every committed seat transition to all the nodes. The node that
+ * made it publishes the seats on the cluster bus; each node, this one
+ * included, re-publishes them as a local {@link SeatsChangedEvent}, so the
+ * change log, counters, best-available grids and expiry timers of every node
+ * see the same transitions. Each node's change log numbers them on arrival;
+ * the seat version orders the states of one seat across nodes.
+ */
+@Component
+@RequiredArgsConstructor
+public class SeatChangeRelay {
+
+    public static final String TOPIC = "seat-changes";
+
+    /*
+        What travels between nodes: the seats' state after the transition
+    */
+    public record SeatChange(Long id, String seatNumber, Integer rowIndex, Integer columnIndex,
+            SeatStatus status, SeatStatus previousStatus, String lockedBy, LocalDateTime lockExpiresAt,
+            Long version) {
+    }
+
+    public record SeatChangeBatch(String origin, Long eventId, List<SeatChange> seats) {
+    }
+
+    private final ClusterBus clusterBus;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @PostConstruct
+    void init() {
+        clusterBus.subscribe(TOPIC, SeatChangeBatch.class, this::onBatch);
+    }
+
+    /*
+        Sends the seats to every node (no database round trip: each node numbers them on arrival)
+    */
+    public void publish(Long eventId, List<Seat> seats) {
+        List<SeatChange> changes = seats.stream()
+                .map(seat -> new SeatChange(seat.getId(), seat.getSeatNumber(), seat.getRowIndex(), seat.getColumnIndex(),
+                        seat.getStatus(), seat.getPreviousStatus(), seat.getLockedBy(), seat.getLockExpiresAt(),
+                        seat.getVersion()))
+                .toList();
+        clusterBus.publish(TOPIC, new SeatChangeBatch(nodeId, eventId, changes));
+    }
+
+    // ====== Auxiliares ======
+
+    private void onBatch(SeatChangeBatch batch) {
+        List<Seat> seats = batch.seats().stream()
+                .map(change -> Seat.builder()
+                        .id(change.id())
+                        .seatNumber(change.seatNumber())
+                        .rowIndex(change.rowIndex())
+                        .columnIndex(change.columnIndex())
+                        .eventId(batch.eventId())
+                        .status(change.status())
+                        .previousStatus(change.previousStatus())
+                        .lockedBy(change.lockedBy())
+                        .lockExpiresAt(change.lockExpiresAt())
+                        .version(change.version())
+                        .build())
+                .toList();
+        eventPublisher.publishEvent(new SeatsChangedEvent(batch.eventId(), seats, !nodeId.equals(batch.origin())));
+    }
+}
@@ -3,10 +3,16 @@ package com.ems.backend.modules.booking.controllers;
 import java.security.Principal;
 import java.util.List;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.ems.backend.modules.booking.allocation.BestAvailableAllocator;
+import com.ems.backend.modules.booking.dtos.SeatSelectionRequest;
 import com.ems.backend.modules.booking.entities.Seat;
+import com.ems.backend.modules.booking.ga.GaTicketService;
+import com.ems.backend.modules.booking.queue.QueueAdmissionException;
+import com.ems.backend.modules.booking.queue.WaitingRoomService;
 import com.ems.backend.modules.booking.services.BookingService;
 
 import lombok.RequiredArgsConstructor;
@@ -17,16 +23,48 @@ import lombok.RequiredArgsConstructor;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BestAvailableAllocator bestAvailableAllocator;
+    private final WaitingRoomService waitingRoomService;
+    private final GaTicketService gaTicketService;
 
     /**
      * Bloqueia um assento temporariamente (10 min)
      * POST /api/bookings/seats/{seatId}/lock
+     * Com fila de espera aberta, exige um ticket admitido em X-Queue-Token
      */
     @PostMapping("/seats/{seatId}/lock")
-    public ResponseEntity<?> lockSeat(@PathVariable Long seatId, Principal principal) {
+    public ResponseEntity<?> lockSeat(
+            @PathVariable Long seatId,
+            @RequestHeader(value = "X-Queue-Token", required = false) String queueToken,
+            Principal principal) {
         try {
+            waitingRoomService.checkSeatAdmission(List.of(seatId), queueToken, principal.getName());
             Seat seat = bookingService.lockSeat(seatId, principal.getName());
             return ResponseEntity.ok(seat);
+        } catch (QueueAdmissionException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Bloqueia o assento numa posição da grelha (lugares ainda sem id num evento lazy)
+     * POST /api/bookings/events/{eventId}/seats/{row}/{column}/lock
+     */
+    @PostMapping("/events/{eventId}/seats/{row}/{column}/lock")
+    public ResponseEntity<?> lockSeatAt(
+            @PathVariable Long eventId,
+            @PathVariable int row,
+            @PathVariable int column,
+            @RequestHeader(value = "X-Queue-Token", required = false) String queueToken,
+            Principal principal) {
+        try {
+            waitingRoomService.checkAdmission(eventId, queueToken, principal.getName());
+            Seat seat = bookingService.lockSeatAt(eventId, row, column, principal.getName());
+            return ResponseEntity.ok(seat);
+        } catch (QueueAdmissionException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -60,6 +98,133 @@ public class BookingController {
         }
     }
 
+    /**
+     * Bloqueia vários assentos de uma só vez (tudo ou nada)
+     * POST /api/bookings/seats/lock  { "seatIds": [1, 2, 3] }
+     */
+    @PostMapping("/seats/lock")
+    public ResponseEntity<?> lockSeats(
+            @RequestBody SeatSelectionRequest request,
+            @RequestHeader(value = "X-Queue-Token", required = false) String queueToken,
+            Principal principal) {
+        try {
+            waitingRoomService.checkSeatAdmission(request.getSeatIds(), queueToken, principal.getName());
+            List<Seat> seats = bookingService.lockSeats(request.getSeatIds(), principal.getName());
+            return ResponseEntity.ok(seats);
+        } catch (QueueAdmissionException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Confirma a reserva de vários assentos (tudo ou nada)
+     * POST /api/bookings/seats/confirm  { "seatIds": [1, 2, 3] }
+     */
+    @PostMapping("/seats/confirm")
+    public ResponseEntity<?> confirmBookings(@RequestBody SeatSelectionRequest request, Principal principal) {
+        try {
+            List<Seat> seats = bookingService.confirmBookings(request.getSeatIds(), principal.getName());
+            return ResponseEntity.ok(seats);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Liberta os locks de vários assentos (tudo ou nada)
+     * POST /api/bookings/seats/release  { "seatIds": [1, 2, 3] }
+     */
+    @PostMapping("/seats/release")
+    public ResponseEntity<?> releaseLocks(@RequestBody SeatSelectionRequest request, Principal principal) {
+        try {
+            List<Seat> seats = bookingService.releaseLocks(request.getSeatIds(), principal.getName());
+            return ResponseEntity.ok(seats);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Bloqueia os melhores N assentos adjacentes de um evento com lugares marcados
+     * POST /api/bookings/events/{eventId}/best-available?quantity=4
+     */
+    @PostMapping("/events/{eventId}/best-available")
+    public ResponseEntity<?> holdBestAvailable(
+            @PathVariable Long eventId,
+            @RequestParam("quantity") int quantity,
+            @RequestHeader(value = "X-Queue-Token", required = false) String queueToken,
+            Principal principal) {
+        try {
+            waitingRoomService.checkAdmission(eventId, queueToken, principal.getName());
+            return ResponseEntity.ok(bestAvailableAllocator.holdBestAvailable(eventId, quantity, principal.getName()));
+        } catch (QueueAdmissionException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Reserva bilhetes de um evento de entrada livre (10 min)
+     * POST /api/bookings/events/{eventId}/tickets/hold?quantity=2
+     */
+    @PostMapping("/events/{eventId}/tickets/hold")
+    public ResponseEntity<?> holdTickets(
+            @PathVariable Long eventId,
+            @RequestParam("quantity") int quantity,
+            @RequestHeader(value = "X-Queue-Token", required = false) String queueToken,
+            Principal principal) {
+        try {
+            waitingRoomService.checkAdmission(eventId, queueToken, principal.getName());
+            return ResponseEntity.ok(gaTicketService.hold(eventId, quantity, principal.getName()));
+        } catch (QueueAdmissionException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Confirma a compra dos bilhetes reservados (HELD → CONFIRMED)
+     * POST /api/bookings/tickets/{ticketId}/confirm
+     */
+    @PostMapping("/tickets/{ticketId}/confirm")
+    public ResponseEntity<?> confirmTickets(@PathVariable Long ticketId, Principal principal) {
+        try {
+            return ResponseEntity.ok(gaTicketService.confirm(ticketId, principal.getName()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Liberta os bilhetes reservados (voltam ao inventário)
+     * POST /api/bookings/tickets/{ticketId}/release
+     */
+    @PostMapping("/tickets/{ticketId}/release")
+    public ResponseEntity<?> releaseTickets(@PathVariable Long ticketId, Principal principal) {
+        try {
+            return ResponseEntity.ok(gaTicketService.release(ticketId, principal.getName()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Bilhetes ainda disponíveis de um evento de entrada livre
+     * GET /api/bookings/events/{eventId}/tickets
+     */
+    @GetMapping("/events/{eventId}/tickets")
+    public ResponseEntity<?> getTicketAvailability(@PathVariable Long eventId) {
+        try {
+            return ResponseEntity.ok(gaTicketService.availability(eventId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     /**
      * Criar assento (para testes)
      */
@@ -0,0 +1,41 @@
+package com.ems.backend.modules.booking.controllers;
+
+import java.security.Principal;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.ems.backend.modules.booking.queue.WaitingRoomService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/queue")
+@RequiredArgsConstructor
+public class QueueController {
+
+    private final WaitingRoomService waitingRoomService;
+
+    /**
+     * Entra na fila de espera do evento (ou devolve o ticket atual)
+     * POST /api/queue/events/{eventId}/join
+     * As posições seguintes chegam por STOMP em /topic/queue/{eventId}
+     */
+    @PostMapping("/events/{eventId}/join")
+    public ResponseEntity<?> join(@PathVariable Long eventId, Principal principal) {
+        return ResponseEntity.ok(waitingRoomService.join(eventId, principal.getName()));
+    }
+
+    /**
+     * Posição atual de um ticket
+     * GET /api/queue/events/{eventId}?token=...
+     */
+    @GetMapping("/events/{eventId}")
+    public ResponseEntity<?> status(@PathVariable Long eventId, @RequestParam("token") String token) {
+        try {
+            return ResponseEntity.ok(waitingRoomService.status(eventId, token));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -1,6 +1,13 @@
 package com.ems.backend.modules.booking.controllers;
 
+import java.util.List;
+import java.util.Map;
+
+import com.ems.backend.core.cache.BoundedCache;
+import com.ems.backend.core.cluster.LeaderElection;
+import com.ems.backend.modules.booking.scheduler.LockExpirationScheduler;
 import com.ems.backend.modules.booking.services.BookingService;
+import com.ems.backend.modules.event.cache.EventCatalogCache;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -8,6 +15,7 @@ import lombok.RequiredArgsConstructor;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 
 /**
@@ -20,6 +28,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 public class SystemController {
 
     private final BookingService bookingService;
+    private final EventCatalogCache catalogCache;
+    private final LeaderElection leaderElection;
+    private final LockExpirationScheduler lockExpirationScheduler;
     /*
      * Forces the release of expired locks (manual trigger)
     */
@@ -29,5 +40,25 @@ public class SystemController {
        int released = bookingService.releaseExpiredLocks();
        return ResponseEntity.ok("Released " + released + " expired locks.");
    }
+
+   /*
+    * Hit/miss/eviction counters of the catalog caches
+   */
+   @GetMapping("/cache-stats")
+   @PreAuthorize("hasAnyRole('SYSTEM', 'ADMIN')")
+   public ResponseEntity<List<BoundedCache.Stats>> cacheStats() {
+       return ResponseEntity.ok(catalogCache.stats());
+   }
+
+   /*
+    * Scheduler leadership of this node (failover gap) and throughput of its expiry sweeps
+   */
+   @GetMapping("/expiry-sweep-stats")
+   @PreAuthorize("hasAnyRole('SYSTEM', 'ADMIN')")
+   public ResponseEntity<Map<String, Object>> expirySweepStats() {
+       return ResponseEntity.ok(Map.of(
+               "leader", leaderElection.stats(),
+               "sweep", lockExpirationScheduler.sweepStats()));
+   }
    
 }
@@ -0,0 +1,54 @@
+package com.ems.backend.modules.booking.controllers;
+
+import java.security.Principal;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.ems.backend.modules.booking.waitlist.WaitlistService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/bookings/events/{eventId}/waitlist")
+@RequiredArgsConstructor
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    /**
+     * Entra na lista de espera de um evento esgotado (ou devolve a inscrição atual)
+     * POST /api/bookings/events/{eventId}/waitlist
+     * Quando um lugar é reservado para o utilizador, o aviso chega por STOMP em /user/queue/waitlist
+     */
+    @PostMapping
+    public ResponseEntity<?> join(@PathVariable Long eventId, Principal principal) {
+        try {
+            return ResponseEntity.ok(waitlistService.join(eventId, principal.getName()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Sai da lista de espera
+     * DELETE /api/bookings/events/{eventId}/waitlist
+     */
+    @DeleteMapping
+    public ResponseEntity<?> leave(@PathVariable Long eventId, Principal principal) {
+        try {
+            return ResponseEntity.ok(waitlistService.leave(eventId, principal.getName()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Posição atual na lista de espera
+     * GET /api/bookings/events/{eventId}/waitlist
+     */
+    @GetMapping
+    public ResponseEntity<?> status(@PathVariable Long eventId, Principal principal) {
+        return ResponseEntity.ok(waitlistService.status(eventId, principal.getName()));
+    }
+}
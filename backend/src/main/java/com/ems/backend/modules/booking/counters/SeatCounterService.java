@@ -0,0 +1,236 @@
+package com.ems.backend.modules.booking.counters;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.ems.backend.core.cluster.LeaderElection;
+import com.ems.backend.modules.booking.entities.EventSeatCounter;
+import com.ems.backend.modules.booking.entities.Seat;
+import com.ems.backend.modules.booking.entities.SeatStatus;
+import com.ems.backend.modules.booking.repositories.EventSeatCounterRepository;
+import com.ems.backend.modules.booking.services.SeatTransitions;
+import com.ems.backend.modules.booking.services.SeatsChangedEvent;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-event seat counters kept up to date from every seat transition
+ * (including the expiry scheduler), so stats are O(1) reads instead of
+ * COUNT queries. Every node keeps its own view, fed by the transitions of
+ * all the nodes; {@code event_seat_counters} is shared, so each node only
+ * writes the deltas of the transitions it made itself
+ * ({@code available = available + ?}), never a snapshot over the others'.
+ * A row is first written from a count of the seats and only ever inserted
+ * once. Views and the stored rows are periodically reconciled against the
+ * seat states.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeatCounterService {
+
+    private static final String SEED_SQL =
+            "INSERT INTO event_seat_counters (event_id, available, locked, booked, updated_at) VALUES (?, ?, ?, ?, ?) "
+                    + "ON CONFLICT (event_id) DO NOTHING";
+
+    // No row yet: whoever seeds it counts the seats, these transitions included
+    private static final String ADD_SQL =
+            "UPDATE event_seat_counters SET available = available + ?, locked = locked + ?, booked = booked + ?, "
+                    + "updated_at = ? WHERE event_id = ?";
+
+    private final EventSeatCounterRepository counterRepository;
+    private final SeatTransitions seatTransitions;
+    private final JdbcTemplate jdbcTemplate;
+    private final LeaderElection leaderElection;
+
+    // This node's view of every event it has read or seen change
+    private final ConcurrentHashMap<Long, SeatCounters> counters = new ConcurrentHashMap<>();
+    // Deltas of this node's own transitions not written yet
+    private final ConcurrentHashMap<Long, SeatCounters> pending = new ConcurrentHashMap<>();
+    // Drift seen by the previous reconciliation, per event (this node's view / stored row)
+    private final ConcurrentHashMap<Long, SeatCounters.Snapshot> suspectedDrift = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, SeatCounters.Snapshot> suspectedStoredDrift = new ConcurrentHashMap<>();
+
+    public SeatCounters.Snapshot snapshot(Long eventId) {
+        return countersFor(eventId).snapshot();
+    }
+
+    /*
+        Seats were just generated for a new event (committed): all of them start available
+    */
+    public void initialize(Long eventId, long totalSeats) {
+        counters.put(eventId, SeatCounters.of(totalSeats, 0, 0));
+        seed(eventId, new SeatCounters.Snapshot(totalSeats, 0, 0));
+    }
+
+    @EventListener
+    public void onSeatsChanged(SeatsChangedEvent change) {
+        if (change.getEventId() == null) {
+            return;
+        }
+        boolean[] loadedFromSeats = new boolean[1];
+        SeatCounters eventCounters = counters.computeIfAbsent(change.getEventId(),
+                id -> load(id, loadedFromSeats));
+        // Counted straight from the seats, so this change is already included (in the seeded row too)
+        if (loadedFromSeats[0]) {
+            return;
+        }
+        for (Seat seat : change.getSeats()) {
+            eventCounters.move(seat.getPreviousStatus(), seat.getStatus());
+        }
+        if (change.isRemote()) {
+            return; // written by the node that made it
+        }
+        // compute, not computeIfAbsent + move: flush removes the entry atomically with respect to this
+        pending.compute(change.getEventId(), (id, delta) -> {
+            SeatCounters next = delta != null ? delta : new SeatCounters();
+            for (Seat seat : change.getSeats()) {
+                next.move(seat.getPreviousStatus(), seat.getStatus());
+            }
+            return next;
+        });
+    }
+
+    /*
+        Adds this node's deltas to event_seat_counters
+    */
+    @Scheduled(fixedDelayString = "${ems.booking.counters.flush-interval-ms:1000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        Map<Long, SeatCounters.Snapshot> deltas = new HashMap<>();
+        List<Object[]> rows = new ArrayList<>(pending.size());
+        for (Long eventId : pending.keySet()) {
+            SeatCounters delta = pending.remove(eventId);
+            if (delta == null) {
+                continue;
+            }
+            SeatCounters.Snapshot d = delta.snapshot();
+            if (d.available() == 0 && d.locked() == 0 && d.booked() == 0) {
+                continue;
+            }
+            deltas.put(eventId, d);
+            rows.add(new Object[] { d.available(), d.locked(), d.booked(), now, eventId });
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate(ADD_SQL, rows);
+        } catch (DataAccessException e) {
+            // The batch rolled back as a whole: every delta goes back for the next flush
+            deltas.forEach((eventId, d) -> pending.compute(eventId, (id, delta) -> {
+                SeatCounters next = delta != null ? delta : new SeatCounters();
+                next.add(d);
+                return next;
+            }));
+            log.error("Failed to persist seat counters of {} events, will retry", deltas.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /*
+        Compares this node's view with the seat states and corrects drift; the
+        leader also corrects the stored rows. A transition can land between the
+        count and the comparison, so only a difference seen twice in a row is
+        treated as real drift
+    */
+    @Scheduled(fixedDelayString = "${ems.booking.counters.reconcile-interval-ms:300000}",
+            initialDelayString = "${ems.booking.counters.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        boolean leader = leaderElection.isLeader();
+        int corrected = 0;
+        for (Map.Entry<Long, SeatCounters> entry : counters.entrySet()) {
+            Long eventId = entry.getKey();
+            SeatCounters.Snapshot truth = SeatCounters.of(seatTransitions.countEventSeats(eventId)).snapshot();
+            SeatCounters.Snapshot seen = entry.getValue().snapshot();
+            if (confirmedDrift(suspectedDrift, eventId, seen, truth)) {
+                log.warn("Seat counters of event {} drifted (counted {}, seats {}), correcting", eventId, seen, truth);
+                entry.getValue().adjust(seen, truth);
+                corrected++;
+            }
+            if (leader) {
+                reconcileStored(eventId, truth);
+            }
+        }
+        if (corrected > 0) {
+            log.info("Reconciliation corrected the seat counters of {} events", corrected);
+        }
+    }
+
+    // ====== Auxiliares ======
+
+    private SeatCounters countersFor(Long eventId) {
+        return counters.computeIfAbsent(eventId, id -> load(id, new boolean[1]));
+    }
+
+    private SeatCounters load(Long eventId, boolean[] loadedFromSeats) {
+        EventSeatCounter stored = counterRepository.findById(eventId).orElse(null);
+        if (stored != null) {
+            return SeatCounters.of(stored.getAvailable(), stored.getLocked(), stored.getBooked());
+        }
+        Map<SeatStatus, Long> counts = seatTransitions.countEventSeats(eventId);
+        loadedFromSeats[0] = true;
+        SeatCounters loaded = SeatCounters.of(counts);
+        seed(eventId, loaded.snapshot());
+        return loaded;
+    }
+
+    // First row of an event; if another node got there first its row stands
+    private void seed(Long eventId, SeatCounters.Snapshot snapshot) {
+        try {
+            jdbcTemplate.update(SEED_SQL, eventId, snapshot.available(), snapshot.locked(), snapshot.booked(),
+                    new Timestamp(System.currentTimeMillis()));
+        } catch (DataAccessException e) {
+            // The next node (or this one after a restart) that finds no row counts the seats again
+            log.error("Failed to store the seat counters of event {}", eventId, e);
+        }
+    }
+
+    private void reconcileStored(Long eventId, SeatCounters.Snapshot truth) {
+        EventSeatCounter stored = counterRepository.findById(eventId).orElse(null);
+        if (stored == null) {
+            return;
+        }
+        SeatCounters.Snapshot seen = new SeatCounters.Snapshot(stored.getAvailable(), stored.getLocked(), stored.getBooked());
+        if (confirmedDrift(suspectedStoredDrift, eventId, seen, truth)) {
+            log.warn("Stored seat counters of event {} drifted ({}, seats {}), correcting", eventId, seen, truth);
+            // Relative, like every other write: deltas flushed meanwhile are kept
+            jdbcTemplate.update(ADD_SQL, truth.available() - seen.available(), truth.locked() - seen.locked(),
+                    truth.booked() - seen.booked(), new Timestamp(System.currentTimeMillis()), eventId);
+        }
+    }
+
+    private static boolean confirmedDrift(Map<Long, SeatCounters.Snapshot> suspected, Long eventId,
+            SeatCounters.Snapshot seen, SeatCounters.Snapshot truth) {
+        if (seen.equals(truth)) {
+            suspected.remove(eventId);
+            return false;
+        }
+        SeatCounters.Snapshot drift = new SeatCounters.Snapshot(
+                truth.available() - seen.available(), truth.locked() - seen.locked(), truth.booked() - seen.booked());
+        if (drift.equals(suspected.put(eventId, drift))) {
+            suspected.remove(eventId);
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,87 @@
+package com.ems.backend.modules.booking.counters;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.ems.backend.modules.booking.entities.SeatStatus;
+
+/**
+ * Available / locked / booked counters of one event.
+ * Transitions only add deltas, so concurrent updates never contend on a
+ * single memory word; reads sum the cells.
+ */
+public class SeatCounters {
+
+    /**
+     * Point-in-time values of the counters.
+     */
+    public record Snapshot(long available, long locked, long booked) {
+        public long total() {
+            return available + locked + booked;
+        }
+    }
+
+    private final LongAdder available = new LongAdder();
+    private final LongAdder locked = new LongAdder();
+    private final LongAdder booked = new LongAdder();
+
+    public static SeatCounters of(long available, long locked, long booked) {
+        SeatCounters counters = new SeatCounters();
+        counters.available.add(available);
+        counters.locked.add(locked);
+        counters.booked.add(booked);
+        return counters;
+    }
+
+    public static SeatCounters of(Map<SeatStatus, Long> counts) {
+        return of(counts.getOrDefault(SeatStatus.AVAILABLE, 0L),
+                counts.getOrDefault(SeatStatus.LOCKED, 0L),
+                counts.getOrDefault(SeatStatus.BOOKED, 0L));
+    }
+
+    /**
+     * One seat moved from {@code from} to {@code to}; null {@code from} = new seat.
+     */
+    public void move(SeatStatus from, SeatStatus to) {
+        if (from == to) {
+            return;
+        }
+        if (from != null) {
+            adder(from).decrement();
+        }
+        if (to != null) {
+            adder(to).increment();
+        }
+    }
+
+    /**
+     * Brings the counters to {@code target} by adding the difference, so
+     * transitions applied concurrently are not lost.
+     */
+    public void adjust(Snapshot seen, Snapshot target) {
+        available.add(target.available() - seen.available());
+        locked.add(target.locked() - seen.locked());
+        booked.add(target.booked() - seen.booked());
+    }
+
+    /**
+     * Adds {@code delta} to each counter.
+     */
+    public void add(Snapshot delta) {
+        available.add(delta.available());
+        locked.add(delta.locked());
+        booked.add(delta.booked());
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(available.sum(), locked.sum(), booked.sum());
+    }
+
+    private LongAdder adder(SeatStatus status) {
+        return switch (status) {
+            case AVAILABLE -> available;
+            case LOCKED -> locked;
+            case BOOKED -> booked;
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package com.ems.backend.modules.booking.dtos;
+
+import java.util.List;
+
+import com.ems.backend.modules.booking.entities.Seat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BestAvailableResponse {
+    private List<Seat> seats;
+    private Boolean contiguous; // false = o grupo foi dividido por vários blocos
+}
@@ -0,0 +1,18 @@
+package com.ems.backend.modules.booking.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GaAvailabilityResponse {
+    private Long eventId;
+    private Integer capacity;
+    private Long remaining; // soma dos shards: capacidade menos reservas pendentes e bilhetes vendidos
+    private Long sold;
+    private Integer shards;
+}
@@ -0,0 +1,17 @@
+package com.ems.backend.modules.booking.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueueStatusMessage {
+    private Long eventId;
+    private Boolean open;
+    private Long admittedUpTo; // tickets com sequence <= admittedUpTo podem reservar
+    private Long waiting;
+}
@@ -0,0 +1,18 @@
+package com.ems.backend.modules.booking.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueueTicketResponse {
+    private Long eventId;
+    private String token;      // enviar em X-Queue-Token nos pedidos de reserva
+    private Long sequence;     // lugar na fila (posição = sequence - admittedUpTo)
+    private Long position;     // pessoas à frente; 0 quando admitido
+    private Boolean admitted;
+}
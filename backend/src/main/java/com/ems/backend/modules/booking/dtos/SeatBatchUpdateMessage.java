@@ -0,0 +1,19 @@
+package com.ems.backend.modules.booking.dtos;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatBatchUpdateMessage {
+    private Long eventId;
+    private List<SeatUpdateMessage> updates;
+    private String message;
+    private Long sequence; // highest sequence among the updates
+}
@@ -0,0 +1,26 @@
+package com.ems.backend.modules.booking.dtos;
+
+import java.util.List;
+
+import com.ems.backend.modules.booking.entities.Seat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+    Answer to GET /api/events/{id}/seats?since=: only the seats changed after
+    `since`, or the full map (full = true) when that position is too old
+*/
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatMapDeltaResponse {
+    private Long eventId;
+    private long sequence;               // position to send as `since` next time
+    private boolean full;
+    private List<SeatUpdateMessage> changes; // full = false
+    private List<Seat> seats;                // full = true
+}
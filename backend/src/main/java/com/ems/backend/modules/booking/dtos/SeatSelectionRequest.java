@@ -0,0 +1,16 @@
+package com.ems.backend.modules.booking.dtos;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatSelectionRequest {
+    private List<Long> seatIds;
+}
@@ -17,4 +17,17 @@ public class SeatUpdateMessage {
     private SeatStatus status;
     private String lockedBy;
     private String message;
+    private Long sequence; // position of the transition in the change log of the node that sent it
+    private Long version;  // seat row version after that transition
+
+    /*
+        Whether this state came before `other` for the same seat: the row version
+        orders the transitions of one seat exactly; the sequence is the fallback
+    */
+    public boolean precedes(SeatUpdateMessage other) {
+        if (version != null && other.version != null && !version.equals(other.version)) {
+            return version < other.version;
+        }
+        return sequence != null && other.sequence != null && sequence < other.sequence;
+    }
 }
@@ -0,0 +1,21 @@
+package com.ems.backend.modules.booking.dtos;
+
+import com.ems.backend.modules.booking.entities.WaitlistStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistStatusResponse {
+    private Long eventId;
+    private Long entryId;
+    private WaitlistStatus status;
+    private Long position; // 1 = próximo a ser promovido; null fora da fila
+    private Long waiting;
+    private Long seatId;   // assento reservado na promoção
+}
@@ -0,0 +1,244 @@
+package com.ems.backend.modules.booking.encoding;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.ems.backend.modules.booking.entities.Seat;
+import com.ems.backend.modules.booking.entities.SeatStatus;
+
+/**
+ * Compact seat map: the event grid with 2 bits of status per cell instead of
+ * one JSON object per seat. Locks only say "locked"; the viewer learns which
+ * of them are its own, never who holds the others.
+ *
+ * <pre>
+ * header   'S' 'M' version flags          (flags bit 0: body deflated)
+ * body     eventId:int64 sequence:int64 rows:int32 columns:int32
+ *          statuses: 2 bits per cell, row-major, first cell in the high bits
+ *                    0 available, 1 locked, 2 booked, 3 no seat
+ *          seat ids: zigzag varint delta per cell that has a seat; a delta
+ *                    of 0 is a seat with no row yet (lazy storage, id 0),
+ *                    which leaves the running id where it was
+ *          own locks: count:varint, then cell index deltas:varint
+ * </pre>
+ * Numbers are big-endian. Seat ids of a generated grid are consecutive, so
+ * the id deltas are mostly 1 and deflate to almost nothing.
+ */
+public final class BinarySeatMap {
+
+    public static final String MEDIA_TYPE = "application/vnd.ems.seatmap";
+
+    public static final int AVAILABLE = 0;
+    public static final int LOCKED = 1;
+    public static final int BOOKED = 2;
+    public static final int NO_SEAT = 3;
+
+    private static final byte VERSION = 1;
+    private static final int FLAG_DEFLATED = 1;
+    private static final int HEADER = 4;
+    // Below this the deflate header costs more than it saves
+    private static final int MIN_DEFLATE_SIZE = 256;
+
+    /**
+     * Decoded form, used by tests and benchmarks.
+     */
+    public record Decoded(long eventId, long sequence, int rows, int columns, int[] statuses, long[] seatIds,
+            int[] ownLocks) {
+    }
+
+    private BinarySeatMap() {
+    }
+
+    /**
+     * Encodes the seats placed on a rows x columns grid; seats without a grid
+     * position are left out. {@code viewer} may be null (anonymous).
+     */
+    public static byte[] encode(long eventId, long sequence, int rows, int columns, List<Seat> seats,
+            String viewer, boolean compress) {
+        int cells = rows * columns;
+        Seat[] grid = new Seat[cells];
+        for (Seat seat : seats) {
+            Integer row = seat.getRowIndex();
+            Integer column = seat.getColumnIndex();
+            if (row != null && column != null && row < rows && column < columns) {
+                grid[row * columns + column] = seat;
+            }
+        }
+
+        byte[] statuses = new byte[(cells + 3) / 4];
+        ByteArrayOutputStream ids = new ByteArrayOutputStream(cells + 16);
+        ByteArrayOutputStream own = new ByteArrayOutputStream();
+        long previousId = 0;
+        int ownCount = 0;
+        int previousOwn = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            Seat seat = grid[cell];
+            int code = seat == null ? NO_SEAT : code(seat.getStatus());
+            statuses[cell >> 2] |= (byte) (code << (6 - 2 * (cell & 3)));
+            if (seat == null) {
+                continue;
+            }
+            if (seat.getId() == null) {
+                writeVarint(ids, 0);
+                continue;
+            }
+            writeVarint(ids, zigzag(seat.getId() - previousId));
+            previousId = seat.getId();
+            if (code == LOCKED && viewer != null && viewer.equals(seat.getLockedBy())) {
+                writeVarint(own, cell - previousOwn);
+                previousOwn = cell;
+                ownCount++;
+            }
+        }
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream(24 + statuses.length + ids.size() + own.size() + 5);
+        ByteBuffer fixed = ByteBuffer.allocate(24)
+                .putLong(eventId)
+                .putLong(sequence)
+                .putInt(rows)
+                .putInt(columns);
+        body.writeBytes(fixed.array());
+        body.writeBytes(statuses);
+        body.writeBytes(ids.toByteArray());
+        writeVarint(body, ownCount);
+        body.writeBytes(own.toByteArray());
+
+        byte[] raw = body.toByteArray();
+        byte[] payload = raw;
+        int flags = 0;
+        if (compress && raw.length >= MIN_DEFLATE_SIZE) {
+            byte[] deflated = deflate(raw);
+            if (deflated.length < raw.length) {
+                payload = deflated;
+                flags |= FLAG_DEFLATED;
+            }
+        }
+        byte[] out = new byte[HEADER + payload.length];
+        out[0] = 'S';
+        out[1] = 'M';
+        out[2] = VERSION;
+        out[3] = (byte) flags;
+        System.arraycopy(payload, 0, out, HEADER, payload.length);
+        return out;
+    }
+
+    public static Decoded decode(byte[] data) {
+        if (data.length < HEADER || data[0] != 'S' || data[1] != 'M' || data[2] != VERSION) {
+            throw new IllegalArgumentException("Not a seat map");
+        }
+        byte[] body = Arrays.copyOfRange(data, HEADER, data.length);
+        if ((data[3] & FLAG_DEFLATED) != 0) {
+            body = inflate(body);
+        }
+        ByteBuffer in = ByteBuffer.wrap(body);
+        long eventId = in.getLong();
+        long sequence = in.getLong();
+        int rows = in.getInt();
+        int columns = in.getInt();
+        int cells = rows * columns;
+
+        int[] statuses = new int[cells];
+        byte[] packed = new byte[(cells + 3) / 4];
+        in.get(packed);
+        for (int cell = 0; cell < cells; cell++) {
+            statuses[cell] = (packed[cell >> 2] >> (6 - 2 * (cell & 3))) & 3;
+        }
+        long[] seatIds = new long[cells];
+        long previousId = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            if (statuses[cell] != NO_SEAT) {
+                long delta = unzigzag(readVarint(in));
+                if (delta != 0) {
+                    previousId += delta;
+                    seatIds[cell] = previousId;
+                }
+            }
+        }
+        int[] ownLocks = new int[(int) readVarint(in)];
+        int previousOwn = 0;
+        for (int i = 0; i < ownLocks.length; i++) {
+            previousOwn += (int) readVarint(in);
+            ownLocks[i] = previousOwn;
+        }
+        return new Decoded(eventId, sequence, rows, columns, statuses, seatIds, ownLocks);
+    }
+
+    // ====== Auxiliares ======
+
+    private static int code(SeatStatus status) {
+        return switch (status) {
+            case AVAILABLE -> AVAILABLE;
+            case LOCKED -> LOCKED;
+            case BOOKED -> BOOKED;
+        };
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 64);
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] deflated) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(deflated);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(deflated.length * 4);
+            byte[] chunk = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(chunk);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Truncated seat map");
+                }
+                out.write(chunk, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt seat map", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
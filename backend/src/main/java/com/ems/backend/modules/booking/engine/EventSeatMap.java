@@ -0,0 +1,382 @@
+package com.ems.backend.modules.booking.engine;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.ems.backend.modules.booking.entities.Seat;
+import com.ems.backend.modules.booking.entities.SeatStatus;
+import com.ems.backend.modules.booking.services.SeatConflictException;
+
+/**
+ * Compact in-memory seat map of a single event.
+ * Seats are addressed by index (ordered by seat id); every read and transition
+ * runs under the event lock, so contention is confined to one event.
+ */
+public class EventSeatMap {
+
+    /**
+     * The map is being evicted: the caller waits for the eviction and looks the seats up again.
+     */
+    public static class RetiredException extends RuntimeException {
+        RetiredException(Long eventId) {
+            super("Seat map of event " + eventId + " was evicted");
+        }
+    }
+
+    private static final SeatStatus[] STATUSES = SeatStatus.values();
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final Long eventId;
+    private final long[] seatIds;
+    private final String[] seatNumbers;
+    private final int[] rowIndexes;    // -1 = sem posição na grelha
+    private final int[] columnIndexes;
+    private final byte[] status;
+    private final String[] holders;
+    private final long[] expiresAt; // epoch millis, 0 = no expiry
+    private final long[] versions;  // row version: one step per transition, written back as is
+    private final BitSet dirty;
+    private final ReentrantLock mutex = new ReentrantLock();
+    private boolean retired; // guarded by mutex
+
+    private EventSeatMap(Long eventId, int size) {
+        this.eventId = eventId;
+        this.seatIds = new long[size];
+        this.seatNumbers = new String[size];
+        this.rowIndexes = new int[size];
+        this.columnIndexes = new int[size];
+        this.status = new byte[size];
+        this.holders = new String[size];
+        this.expiresAt = new long[size];
+        this.versions = new long[size];
+        this.dirty = new BitSet(size);
+    }
+
+    public static EventSeatMap of(Long eventId, List<Seat> seats) {
+        List<Seat> sorted = new ArrayList<>(seats);
+        sorted.sort(Comparator.comparing(Seat::getId));
+
+        EventSeatMap map = new EventSeatMap(eventId, sorted.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            Seat seat = sorted.get(i);
+            map.seatIds[i] = seat.getId();
+            map.seatNumbers[i] = seat.getSeatNumber();
+            map.rowIndexes[i] = seat.getRowIndex() != null ? seat.getRowIndex() : -1;
+            map.columnIndexes[i] = seat.getColumnIndex() != null ? seat.getColumnIndex() : -1;
+            map.status[i] = (byte) seat.getStatus().ordinal();
+            map.holders[i] = seat.getLockedBy() != null ? seat.getLockedBy().intern() : null;
+            map.expiresAt[i] = toMillis(seat.getLockExpiresAt());
+            map.versions[i] = seat.getVersion() != null ? seat.getVersion() : 0L;
+        }
+        return map;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public long[] seatIds() {
+        return seatIds;
+    }
+
+    /**
+     * Holds every seat in {@code seatIds} for {@code username}, or none of them.
+     */
+    public List<Seat> lock(List<Long> seatIds, String username, long now, long until) {
+        int[] idx = requireIndexes(seatIds);
+        mutex.lock();
+        try {
+            checkOpen();
+            for (int i : idx) {
+                SeatStatus current = STATUSES[status[i]];
+                if (current == SeatStatus.LOCKED && username.equals(holders[i])) {
+                    continue; // renewal
+                }
+                if (current == SeatStatus.LOCKED && !isExpired(i, now)) {
+                    throw new SeatConflictException("Assento " + seatNumbers[i] + " já está bloqueado por outro utilizador");
+                }
+                if (current == SeatStatus.BOOKED) {
+                    throw new SeatConflictException("Assento " + seatNumbers[i] + " já foi reservado");
+                }
+            }
+            String holder = username.intern();
+            List<Seat> result = new ArrayList<>(idx.length);
+            for (int i : idx) {
+                SeatStatus previous = STATUSES[status[i]];
+                set(i, SeatStatus.LOCKED, holder, until);
+                result.add(toSeat(i, previous));
+            }
+            return result;
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    /**
+     * Books every seat in {@code seatIds}. If any hold of the caller has
+     * expired the whole request is rejected.
+     */
+    public List<Seat> confirm(List<Long> seatIds, String username, long now) {
+        int[] idx = requireIndexes(seatIds);
+        mutex.lock();
+        try {
+            checkOpen();
+            boolean expired = false;
+            for (int i : idx) {
+                if (STATUSES[status[i]] != SeatStatus.LOCKED) {
+                    throw new RuntimeException("Assento " + seatNumbers[i] + " não está bloqueado");
+                }
+                if (!username.equals(holders[i])) {
+                    throw new RuntimeException("O assento " + seatNumbers[i] + " está bloqueado por outro utilizador");
+                }
+                expired |= isExpired(i, now);
+            }
+            if (expired) {
+                // Os locks expirados ficam para o scheduler, que publica a libertação
+                throw new RuntimeException("O tempo de reserva expirou. Tente novamente.");
+            }
+            List<Seat> result = new ArrayList<>(idx.length);
+            for (int i : idx) {
+                SeatStatus previous = STATUSES[status[i]];
+                set(i, SeatStatus.BOOKED, holders[i], 0L);
+                result.add(toSeat(i, previous));
+            }
+            return result;
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    public List<Seat> release(List<Long> seatIds, String username) {
+        int[] idx = requireIndexes(seatIds);
+        mutex.lock();
+        try {
+            checkOpen();
+            for (int i : idx) {
+                if (STATUSES[status[i]] != SeatStatus.LOCKED) {
+                    throw new RuntimeException("Assento " + seatNumbers[i] + " não está bloqueado");
+                }
+                if (!username.equals(holders[i])) {
+                    throw new RuntimeException("Não podes libertar um assento bloqueado por outro utilizador");
+                }
+            }
+            List<Seat> result = new ArrayList<>(idx.length);
+            for (int i : idx) {
+                SeatStatus previous = STATUSES[status[i]];
+                set(i, SeatStatus.AVAILABLE, null, 0L);
+                result.add(toSeat(i, previous));
+            }
+            return result;
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    /**
+     * Releases every expired hold and returns the seats that changed.
+     */
+    public List<Seat> releaseExpired(long now) {
+        List<Seat> released = new ArrayList<>();
+        mutex.lock();
+        try {
+            if (retired) {
+                return released; // its event is no longer held here
+            }
+            for (int i = 0; i < seatIds.length; i++) {
+                if (STATUSES[status[i]] == SeatStatus.LOCKED && isExpired(i, now)) {
+                    set(i, SeatStatus.AVAILABLE, null, 0L);
+                    released.add(toSeat(i, SeatStatus.LOCKED));
+                }
+            }
+        } finally {
+            mutex.unlock();
+        }
+        return released;
+    }
+
+    /**
+     * Releases the holds of {@code seatIds} that are still expired at {@code now}.
+     */
+    public List<Seat> releaseExpired(List<Long> seatIds, long now) {
+        List<Seat> released = new ArrayList<>();
+        mutex.lock();
+        try {
+            if (retired) {
+                return released; // its event is no longer held here
+            }
+            for (Long seatId : seatIds) {
+                int i = indexOf(seatId);
+                if (i >= 0 && STATUSES[status[i]] == SeatStatus.LOCKED && isExpired(i, now)) {
+                    set(i, SeatStatus.AVAILABLE, null, 0L);
+                    released.add(toSeat(i, SeatStatus.LOCKED));
+                }
+            }
+        } finally {
+            mutex.unlock();
+        }
+        return released;
+    }
+
+    public List<Seat> snapshot() {
+        mutex.lock();
+        try {
+            List<Seat> seats = new ArrayList<>(seatIds.length);
+            for (int i = 0; i < seatIds.length; i++) {
+                seats.add(toSeat(i, null));
+            }
+            return seats;
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    public Map<SeatStatus, Long> countByStatus() {
+        long[] counts = new long[STATUSES.length];
+        mutex.lock();
+        try {
+            for (byte b : status) {
+                counts[b]++;
+            }
+        } finally {
+            mutex.unlock();
+        }
+        Map<SeatStatus, Long> result = new EnumMap<>(SeatStatus.class);
+        for (SeatStatus s : STATUSES) {
+            if (counts[s.ordinal()] > 0) {
+                result.put(s, counts[s.ordinal()]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Collects the pending writes as {@code (status, locked_by, lock_expires_at, version, id)}
+     * rows and clears the dirty marks.
+     */
+    public List<Object[]> drainDirty() {
+        mutex.lock();
+        try {
+            List<Object[]> rows = new ArrayList<>(dirty.cardinality());
+            for (int i = dirty.nextSetBit(0); i >= 0; i = dirty.nextSetBit(i + 1)) {
+                rows.add(new Object[] {
+                        STATUSES[status[i]].name(),
+                        holders[i],
+                        expiresAt[i] == 0L ? null : new Timestamp(expiresAt[i]),
+                        versions[i],
+                        seatIds[i]
+                });
+            }
+            dirty.clear();
+            return rows;
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    /**
+     * Marks seats as dirty again after a failed flush.
+     */
+    public void markDirty(List<Object[]> rows) {
+        mutex.lock();
+        try {
+            for (Object[] row : rows) {
+                int i = indexOf((Long) row[4]);
+                if (i >= 0) {
+                    dirty.set(i);
+                }
+            }
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    /**
+     * Stops every transition (they throw {@link RetiredException}) so the
+     * pending writes can be flushed before the map is dropped.
+     */
+    public void retire() {
+        mutex.lock();
+        try {
+            retired = true;
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    /**
+     * Takes transitions again after an eviction whose flush failed.
+     */
+    public void reopen() {
+        mutex.lock();
+        try {
+            retired = false;
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    // ====== Métodos auxiliares ======
+
+    private void checkOpen() {
+        if (retired) {
+            throw new RetiredException(eventId);
+        }
+    }
+
+    private void set(int i, SeatStatus newStatus, String holder, long expiry) {
+        status[i] = (byte) newStatus.ordinal();
+        holders[i] = holder;
+        expiresAt[i] = expiry;
+        versions[i]++;
+        dirty.set(i);
+    }
+
+    private boolean isExpired(int i, long now) {
+        return expiresAt[i] != 0L && now > expiresAt[i];
+    }
+
+    private int indexOf(Long seatId) {
+        return seatId == null ? -1 : Arrays.binarySearch(seatIds, seatId);
+    }
+
+    private int[] requireIndexes(List<Long> seatIds) {
+        int[] idx = new int[seatIds.size()];
+        for (int k = 0; k < idx.length; k++) {
+            idx[k] = indexOf(seatIds.get(k));
+            if (idx[k] < 0) {
+                throw new RuntimeException("Assento não encontrado");
+            }
+        }
+        return idx;
+    }
+
+    private Seat toSeat(int i, SeatStatus previous) {
+        return Seat.builder()
+                .id(seatIds[i])
+                .seatNumber(seatNumbers[i])
+                .rowIndex(rowIndexes[i] >= 0 ? rowIndexes[i] : null)
+                .columnIndex(columnIndexes[i] >= 0 ? columnIndexes[i] : null)
+                .eventId(eventId)
+                .status(STATUSES[status[i]])
+                .previousStatus(previous)
+                .lockedBy(holders[i])
+                .lockExpiresAt(expiresAt[i] == 0L ? null
+                        : LocalDateTime.ofInstant(Instant.ofEpochMilli(expiresAt[i]), ZONE))
+                .version(versions[i])
+                .build();
+    }
+
+    static long toMillis(LocalDateTime time) {
+        return time == null ? 0L : time.atZone(ZONE).toInstant().toEpochMilli();
+    }
+}
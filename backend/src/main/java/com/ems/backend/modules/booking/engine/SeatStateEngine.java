@@ -0,0 +1,304 @@
+package com.ems.backend.modules.booking.engine;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.ems.backend.core.cluster.ClusterBus;
+import com.ems.backend.modules.booking.entities.Seat;
+import com.ems.backend.modules.booking.entities.SeatStatus;
+import com.ems.backend.modules.booking.ledger.BookingLedger;
+import com.ems.backend.modules.booking.repositories.SeatRepository;
+import com.ems.backend.modules.booking.services.SeatMaterializer;
+import com.ems.backend.modules.booking.services.SeatTransitions;
+import com.ems.backend.modules.event.entities.Event;
+import com.ems.backend.modules.event.entities.EventStatus;
+import com.ems.backend.modules.event.repositories.EventRepository;
+import com.ems.backend.modules.event.services.EventService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory seat state engine (ems.booking.transition-mode=memory).
+ * Transitions are decided against per-event {@link EventSeatMap}s and
+ * written behind to the seats table in JDBC batches.
+ * The maps are the source of truth, so this mode is single-node only: with a
+ * cluster bus other than {@code local} the application refuses to start.
+ */
+@Service
+@ConditionalOnProperty(name = "ems.booking.transition-mode", havingValue = "memory")
+@RequiredArgsConstructor
+@Slf4j
+public class SeatStateEngine implements SeatTransitions {
+
+    private static final String FLUSH_SQL =
+            "UPDATE seats SET status = ?, locked_by = ?, lock_expires_at = ?, version = ? WHERE id = ?";
+
+    private final SeatRepository seatRepository;
+    private final EventRepository eventRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final BookingLedger bookingLedger;
+    private final SeatMaterializer seatMaterializer;
+    private final ClusterBus clusterBus;
+
+    private final ConcurrentHashMap<Long, EventSeatMap> events = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, EventSeatMap> seatIndex = new ConcurrentHashMap<>();
+    private final Set<EventSeatMap> pendingFlush = ConcurrentHashMap.newKeySet();
+
+    @Value("${ems.cluster.bus:local}")
+    private String clusterBusMode;
+
+    @PostConstruct
+    void init() {
+        // Each node would decide from its own arrays and the blind write-behind would let the last flush win
+        if (!"local".equals(clusterBusMode)) {
+            throw new IllegalStateException("ems.booking.transition-mode=memory is single-node only (ems.cluster.bus="
+                    + clusterBusMode + "); use pessimistic or conditional with more than one node");
+        }
+        clusterBus.subscribe(EventService.CLOSED_TOPIC, Long.class, this::evict);
+    }
+
+    /*
+        Rebuilds the in-memory state of published events from the seats table
+    */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        List<Long> eventIds = eventRepository.findByStatus(EventStatus.PUBLISHED).stream()
+                .map(event -> event.getId())
+                .toList();
+        eventIds.forEach(this::loadEvent);
+        log.info("Seat engine recovered {} events ({} seats)", events.size(), seatIndex.size());
+    }
+
+    @Override
+    public List<Seat> lock(List<Long> seatIds, String username, LocalDateTime expiresAt) {
+        long until = EventSeatMap.toMillis(expiresAt);
+        return transition(seatIds, map -> map.lock(seatIds, username, System.currentTimeMillis(), until));
+    }
+
+    @Override
+    public List<Seat> confirm(List<Long> seatIds, String username) {
+        return transition(seatIds, map -> map.confirm(seatIds, username, System.currentTimeMillis()));
+    }
+
+    @Override
+    public List<Seat> release(List<Long> seatIds, String username) {
+        return transition(seatIds, map -> map.release(seatIds, username));
+    }
+
+    @Override
+    public List<Seat> releaseExpiredChunk(int limit) {
+        // Estado em memória deste nó: uma passagem liberta tudo, sem linhas a disputar
+        long nowMillis = System.currentTimeMillis();
+        List<Seat> released = new ArrayList<>();
+        for (EventSeatMap map : events.values()) {
+            List<Seat> seats = map.releaseExpired(nowMillis);
+            if (!seats.isEmpty()) {
+                pendingFlush.add(map);
+                released.addAll(seats);
+            }
+        }
+        return released;
+    }
+
+    @Override
+    public List<Seat> releaseExpired(List<Long> seatIds, LocalDateTime now) {
+        Map<EventSeatMap, List<Long>> byEvent = new HashMap<>();
+        for (Long seatId : seatIds) {
+            EventSeatMap map = seatIndex.get(seatId);
+            if (map != null) {
+                byEvent.computeIfAbsent(map, m -> new ArrayList<>()).add(seatId);
+            }
+        }
+        long nowMillis = EventSeatMap.toMillis(now);
+        List<Seat> released = new ArrayList<>();
+        byEvent.forEach((map, ids) -> {
+            List<Seat> seats = map.releaseExpired(ids, nowMillis);
+            if (!seats.isEmpty()) {
+                pendingFlush.add(map);
+                released.addAll(seats);
+            }
+        });
+        return released;
+    }
+
+    @Override
+    public List<Seat> findEventSeats(Long eventId) {
+        return loadEvent(eventId).snapshot();
+    }
+
+    @Override
+    public Map<SeatStatus, Long> countEventSeats(Long eventId) {
+        return loadEvent(eventId).countByStatus();
+    }
+
+    /*
+        Writes pending transitions to the seats table
+    */
+    @Scheduled(fixedDelayString = "${ems.booking.engine.flush-interval-ms:200}")
+    public synchronized void flush() {
+        for (EventSeatMap map : pendingFlush) {
+            pendingFlush.remove(map);
+            flush(map);
+        }
+    }
+
+    /*
+        Drops the maps of events that started or are no longer on sale;
+        a late request reloads them from the (flushed) seats table
+    */
+    @Scheduled(fixedDelayString = "${ems.booking.engine.evict-interval-ms:600000}")
+    public void evictPastEvents() {
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> current = new HashSet<>();
+        for (Event event : eventRepository.findAllById(List.copyOf(events.keySet()))) {
+            if (event.getStatus() == EventStatus.PUBLISHED
+                    && (event.getStartTime() == null || event.getStartTime().isAfter(now))) {
+                current.add(event.getId());
+            }
+        }
+        events.keySet().stream()
+                .filter(eventId -> !current.contains(eventId))
+                .toList()
+                .forEach(this::evict);
+    }
+
+    /*
+        Forgets one event once its pending transitions are written: the map stops
+        taking transitions first, so a reload always reads the final rows. If the
+        write fails the map stays (and takes transitions again) until the next try
+    */
+    public synchronized void evict(Long eventId) {
+        EventSeatMap map = events.get(eventId);
+        if (map == null) {
+            return;
+        }
+        map.retire();
+        pendingFlush.remove(map);
+        if (!flush(map)) {
+            map.reopen();
+            return;
+        }
+        for (long seatId : map.seatIds()) {
+            seatIndex.remove(seatId, map);
+        }
+        events.remove(eventId, map);
+        log.info("Seat engine evicted event {} ({} seats)", eventId, map.seatIds().length);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // ====== Métodos auxiliares ======
+
+    // Transição no mapa do evento; se o mapa estiver a ser descartado, espera pelo fim e volta a procurá-lo
+    private List<Seat> transition(List<Long> seatIds, Function<EventSeatMap, List<Seat>> change) {
+        while (true) {
+            EventSeatMap map = mapForSeats(seatIds);
+            try {
+                return change.apply(map);
+            } catch (EventSeatMap.RetiredException e) {
+                awaitEviction();
+            } finally {
+                pendingFlush.add(map);
+            }
+        }
+    }
+
+    // evict corre com o monitor: quando o obtemos, o mapa já saiu (ou foi reaberto)
+    private synchronized void awaitEviction() {
+    }
+
+    // Escreve as transições pendentes de um mapa; false (e as linhas voltam a ficar por escrever) se falhar
+    private boolean flush(EventSeatMap map) {
+        List<Object[]> rows = map.drainDirty();
+        if (rows.isEmpty()) {
+            return true;
+        }
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, rows);
+            // Confirmations reach the ledger with their seat rows; retried together on failure
+            bookingLedger.record(bookedEntries(rows), LocalDateTime.now());
+            log.debug("Flushed {} seat changes for event {}", rows.size(), map.getEventId());
+            return true;
+        } catch (DataAccessException e) {
+            log.error("Seat flush failed for event {}: {}", map.getEventId(), e.getMessage());
+            map.markDirty(rows);
+            pendingFlush.add(map);
+            return false;
+        }
+    }
+
+    // Linhas do flush que passaram a BOOKED: (status, holder, expiresAt, version, id)
+    private static List<BookingLedger.Entry> bookedEntries(List<Object[]> rows) {
+        List<BookingLedger.Entry> entries = new ArrayList<>();
+        for (Object[] row : rows) {
+            if (SeatStatus.BOOKED.name().equals(row[0]) && row[1] != null) {
+                entries.add(new BookingLedger.Entry((String) row[1], (Long) row[4]));
+            }
+        }
+        return entries;
+    }
+
+    private EventSeatMap mapForSeats(List<Long> seatIds) {
+        EventSeatMap map = mapForSeat(seatIds.get(0));
+        for (Long seatId : seatIds) {
+            if (mapForSeat(seatId) != map) {
+                throw new RuntimeException("Os assentos têm de pertencer ao mesmo evento");
+            }
+        }
+        return map;
+    }
+
+    private EventSeatMap mapForSeat(Long seatId) {
+        EventSeatMap map = seatIndex.get(seatId);
+        if (map != null) {
+            return map;
+        }
+        Seat seat = seatRepository.findById(seatId)
+                .orElseThrow(() -> new RuntimeException("Assento não encontrado"));
+        if (seat.getEvent() == null) {
+            throw new RuntimeException("Assento não pertence a nenhum evento");
+        }
+        return loadEvent(seat.getEvent().getId());
+    }
+
+    private EventSeatMap loadEvent(Long eventId) {
+        EventSeatMap map = events.get(eventId);
+        if (map != null) {
+            return map;
+        }
+        // Loaded outside the map (up to the whole grid): concurrent loads of one event keep the first one stored.
+        // The arrays hold every seat and are written back by id: lazily stored events get all their rows first
+        seatMaterializer.materializeAll(eventId);
+        EventSeatMap loaded = EventSeatMap.of(eventId, seatRepository.findByEventId(eventId));
+        map = events.putIfAbsent(eventId, loaded);
+        if (map != null) {
+            return map;
+        }
+        for (long seatId : loaded.seatIds()) {
+            seatIndex.put(seatId, loaded);
+        }
+        return loaded;
+    }
+}
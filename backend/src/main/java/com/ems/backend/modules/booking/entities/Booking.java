@@ -0,0 +1,67 @@
+package com.ems.backend.modules.booking.entities;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.ems.backend.modules.auth.entities.User;
+import com.ems.backend.modules.event.entities.Event;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Ledger of confirmed bookings: one row per booked seat, written in the
+ * same transaction as the confirmation (see {@code BookingLedger}).
+ * Per-user and per-event reads go through this table instead of scanning
+ * {@code seats} by {@code locked_by}.
+ */
+@Entity
+@Table(name = "bookings", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_bookings_seat", columnNames = "seat_id")
+}, indexes = {
+    @Index(name = "idx_bookings_user_booked_at", columnList = "user_id, booked_at"),
+    @Index(name = "idx_bookings_event", columnList = "event_id"),
+    @Index(name = "idx_bookings_booked_at", columnList = "booked_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Booking {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    private Event event;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "seat_id", nullable = false)
+    private Seat seat;
+
+    @Column(name = "booked_at", nullable = false)
+    private LocalDateTime bookedAt;
+
+    // Ticket price at the time of booking
+    private BigDecimal pricePaid;
+}
@@ -0,0 +1,41 @@
+package com.ems.backend.modules.booking.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Contadores de assentos por evento, escritos a partir dos contadores em memória.
+ */
+@Entity
+@Table(name = "event_seat_counters")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventSeatCounter {
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(nullable = false)
+    private Long available;
+
+    @Column(nullable = false)
+    private Long locked;
+
+    @Column(nullable = false)
+    private Long booked;
+
+    private LocalDateTime updatedAt;
+}
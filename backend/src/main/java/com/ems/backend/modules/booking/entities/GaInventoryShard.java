@@ -0,0 +1,38 @@
+package com.ems.backend.modules.booking.entities;
+
+import org.hibernate.annotations.Check;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Uma fatia do inventário por vender de um evento de entrada livre.
+ * A capacidade é repartida por vários shards para que compradores em
+ * simultâneo atualizem linhas diferentes; a soma dos shards é o que resta.
+ */
+@Entity
+@Table(name = "ga_inventory_shards", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_ga_inventory_shards_event_shard", columnNames = {"event_id", "shard"})
+})
+// A base de dados recusa qualquer escrita que venda mais do que a capacidade
+@Check(constraints = "remaining >= 0")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GaInventoryShard {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(nullable = false)
+    private Integer shard;
+
+    @Column(nullable = false)
+    private Long remaining;
+}
@@ -0,0 +1,55 @@
+package com.ems.backend.modules.booking.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Bilhetes de um evento de entrada livre (hasSeating = false), retirados da
+ * capacidade do evento através de um dos seus shards de inventário.
+ */
+@Entity
+@Table(name = "ga_tickets", indexes = {
+    @Index(name = "idx_ga_tickets_status_expires", columnList = "status, hold_expires_at"),
+    @Index(name = "idx_ga_tickets_event", columnList = "event_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GaTicket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    // Shard de onde saiu o inventário; é para lá que volta ao libertar
+    @Column(nullable = false)
+    private Integer shard;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private GaTicketStatus status;
+
+    private LocalDateTime holdExpiresAt;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime confirmedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
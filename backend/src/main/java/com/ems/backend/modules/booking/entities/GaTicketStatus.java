@@ -0,0 +1,11 @@
+package com.ems.backend.modules.booking.entities;
+
+/**
+ * Estado de um bilhete de entrada livre (sem lugar marcado).
+ */
+public enum GaTicketStatus {
+    HELD,
+    CONFIRMED,
+    RELEASED,
+    EXPIRED
+}
@@ -24,10 +24,24 @@ public class Seat {
     @Column(nullable = false)
     private String seatNumber;
 
+    // Posição na grelha do evento (0-based); null em assentos antigos sem grelha
+    private Integer rowIndex;
+    private Integer columnIndex;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private SeatStatus status;
 
+    // Estado antes da última transição (não persistido); usado para atualizar os contadores
+    @Transient
+    @JsonIgnore
+    private SeatStatus previousStatus;
+
+    // Número de sequência da última transição no evento (não persistido); vai nas mensagens WebSocket
+    @Transient
+    @JsonIgnore
+    private Long changeSequence;
+
     // Quem bloqueou o assento (username)
     private String lockedBy;
 
@@ -39,11 +53,24 @@ public class Seat {
     @JsonIgnore  // Evita erro de lazy loading na serialização
     private Event event;
 
+    // Mesmo FK, só de leitura: dá o id do evento sem carregar a associação lazy
+    @Column(name = "event_id", insertable = false, updatable = false)
+    private Long eventId;
+
     private LocalDateTime bookedAt;
 
     @Version
     private Long version;
 
+    // Letras da fila na grelha (0 -> "A", 25 -> "Z", 26 -> "AA"); o inverso está em SeatGrid.positionOf
+    public static String rowLabel(int rowIndex) {
+        StringBuilder label = new StringBuilder();
+        for (int n = rowIndex + 1; n > 0; n = (n - 1) / 26) {
+            label.append((char) ('A' + (n - 1) % 26));
+        }
+        return label.reverse().toString();
+    }
+
     // Método auxiliar para verificar se o lock expirou
     public boolean isLockExpired() {
         return lockExpiresAt != null && LocalDateTime.now().isAfter(lockExpiresAt);
@@ -0,0 +1,50 @@
+package com.ems.backend.modules.booking.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Inscrição na lista de espera de um evento. A ordem de chegada é o id:
+ * a cabeça da fila é a inscrição WAITING de menor id, lida pelo índice
+ * (event_id, status, id) sem percorrer as restantes.
+ */
+@Entity
+@Table(name = "waitlist_entries", indexes = {
+    @Index(name = "idx_waitlist_event_status_id", columnList = "event_id, status, id"),
+    @Index(name = "idx_waitlist_username", columnList = "username")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private WaitlistStatus status;
+
+    // Assento reservado ao promover
+    private Long seatId;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime promotedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
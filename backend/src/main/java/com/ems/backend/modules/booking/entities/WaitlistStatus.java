@@ -0,0 +1,10 @@
+package com.ems.backend.modules.booking.entities;
+
+/**
+ * Estado de uma inscrição na lista de espera de um evento esgotado.
+ */
+public enum WaitlistStatus {
+    WAITING,
+    PROMOTED,
+    LEFT
+}
@@ -0,0 +1,158 @@
+package com.ems.backend.modules.booking.ga;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ems.backend.modules.booking.entities.GaInventoryShard;
+import com.ems.backend.modules.booking.entities.GaTicket;
+import com.ems.backend.modules.booking.entities.GaTicketStatus;
+import com.ems.backend.modules.booking.repositories.GaInventoryShardRepository;
+import com.ems.backend.modules.booking.repositories.GaTicketRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Inventário de bilhetes de entrada livre repartido por shards
+ * ({@code ga_inventory_shards}). Cada compra tenta um UPDATE condicional
+ * ({@code remaining >= quantidade}) em shards ao acaso, pelo que compradores
+ * em simultâneo raramente disputam a mesma linha. Quando os shards tentados
+ * estão secos, bloqueia todos os shards do evento por ordem, confirma que a
+ * soma chega e redistribui o que sobra em partes iguais.
+ *
+ * Vender a mais é impossível: nenhum UPDATE deixa um shard abaixo de zero
+ * (e a BD recusa-o com {@code CHECK remaining >= 0}), e o bilhete é criado
+ * na mesma transação que retira o inventário.
+ */
+@Component
+@RequiredArgsConstructor
+class GaInventory {
+
+    // Shards tentados antes de redistribuir
+    private static final int PROBES = 2;
+
+    // Chave (evento, shard)
+    private static final Comparator<List<Long>> SHARD_ORDER =
+            Comparator.<List<Long>, Long>comparing(key -> key.get(0)).thenComparing(key -> key.get(1));
+
+    private final GaInventoryShardRepository shardRepository;
+    private final GaTicketRepository ticketRepository;
+
+    /*
+        Cria os shards de um evento com a capacidade repartida; idempotente entre nós
+    */
+    @Transactional
+    public int initialize(Long eventId, long capacity, int shards) {
+        int count = shardCount(capacity, shards);
+        long[] slices = split(capacity, count);
+        for (int shard = 0; shard < count; shard++) {
+            shardRepository.insertIfAbsent(eventId, shard, slices[shard]);
+        }
+        return shardRepository.countByEventId(eventId);
+    }
+
+    @Transactional
+    public GaTicket hold(Long eventId, int shards, int quantity, String username, LocalDateTime expiresAt) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(shards);
+        Integer taken = null;
+        for (int probe = 0; probe < Math.min(PROBES, shards) && taken == null; probe++) {
+            int shard = (first + probe * (1 + random.nextInt(Math.max(1, shards - 1)))) % shards;
+            if (shardRepository.take(eventId, shard, quantity) == 1) {
+                taken = shard;
+            }
+        }
+        if (taken == null) {
+            rebalance(eventId, quantity);
+            taken = first;
+        }
+        return ticketRepository.save(GaTicket.builder()
+                .eventId(eventId)
+                .username(username)
+                .quantity(quantity)
+                .shard(taken)
+                .status(GaTicketStatus.HELD)
+                .holdExpiresAt(expiresAt)
+                .build());
+    }
+
+    @Transactional
+    public GaTicket confirm(Long ticketId, String username) {
+        if (ticketRepository.confirmIfHeld(ticketId, username, LocalDateTime.now()) != 1) {
+            throw new RuntimeException("Reserva de bilhetes " + ticketId + " não existe, expirou ou pertence a outro utilizador");
+        }
+        return ticketRepository.findById(ticketId).orElseThrow();
+    }
+
+    @Transactional
+    public GaTicket release(Long ticketId, String username) {
+        GaTicket ticket = ticketRepository.findByIdWithLock(ticketId)
+                .orElseThrow(() -> new RuntimeException("Reserva de bilhetes não encontrada: " + ticketId));
+        if (!username.equals(ticket.getUsername())) {
+            throw new RuntimeException("Reserva de bilhetes " + ticketId + " pertence a outro utilizador");
+        }
+        if (ticket.getStatus() != GaTicketStatus.HELD) {
+            throw new RuntimeException("Reserva de bilhetes " + ticketId + " não está pendente");
+        }
+        ticket.setStatus(GaTicketStatus.RELEASED);
+        ticket.setHoldExpiresAt(null);
+        ticketRepository.save(ticket);
+        shardRepository.giveBack(ticket.getEventId(), ticket.getShard(), ticket.getQuantity());
+        return ticket;
+    }
+
+    /*
+        Um bloco do varrimento: as reservas expiradas devolvem a quantidade ao seu shard
+    */
+    @Transactional
+    public List<GaTicket> releaseExpiredChunk(int limit) {
+        List<GaTicket> expired = ticketRepository.findExpiredHoldsForUpdateSkipLocked(limit);
+        // Um UPDATE por shard, não por bilhete, por ordem (evento, shard): a mesma ordem em que
+        // a redistribuição bloqueia os shards, para não haver deadlocks entre as duas
+        Map<List<Long>, Long> returned = new TreeMap<>(SHARD_ORDER);
+        for (GaTicket ticket : expired) {
+            ticket.setStatus(GaTicketStatus.EXPIRED);
+            ticket.setHoldExpiresAt(null);
+            returned.merge(List.of(ticket.getEventId(), (long) ticket.getShard()), (long) ticket.getQuantity(), Long::sum);
+        }
+        ticketRepository.saveAll(expired);
+        returned.forEach((key, quantity) -> shardRepository.giveBack(key.get(0), key.get(1).intValue(), quantity));
+        return new ArrayList<>(expired);
+    }
+
+    // ====== Auxiliares ======
+
+    private void rebalance(Long eventId, int quantity) {
+        List<GaInventoryShard> locked = shardRepository.findByEventIdForUpdate(eventId);
+        long total = locked.stream().mapToLong(GaInventoryShard::getRemaining).sum();
+        if (total < quantity) {
+            throw new RuntimeException(total == 0 ? "Bilhetes esgotados"
+                    : "Só restam " + total + " bilhetes para este evento");
+        }
+        long[] slices = split(total - quantity, locked.size());
+        for (int i = 0; i < locked.size(); i++) {
+            locked.get(i).setRemaining(slices[i]);
+        }
+        shardRepository.saveAll(locked);
+    }
+
+    static int shardCount(long capacity, int shards) {
+        return (int) Math.max(1, Math.min(shards, capacity));
+    }
+
+    // Partes iguais; as primeiras ficam com o resto da divisão
+    static long[] split(long total, int parts) {
+        long[] slices = new long[parts];
+        for (int i = 0; i < parts; i++) {
+            slices[i] = total / parts + (i < total % parts ? 1 : 0);
+        }
+        return slices;
+    }
+}
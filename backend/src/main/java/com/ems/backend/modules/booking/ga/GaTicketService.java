@@ -0,0 +1,137 @@
+package com.ems.backend.modules.booking.ga;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.ems.backend.modules.booking.dtos.GaAvailabilityResponse;
+import com.ems.backend.modules.booking.entities.GaTicket;
+import com.ems.backend.modules.booking.repositories.GaInventoryShardRepository;
+import com.ems.backend.modules.booking.repositories.GaTicketRepository;
+import com.ems.backend.modules.event.entities.Event;
+import com.ems.backend.modules.event.repositories.EventRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bilhetes de eventos de entrada livre (hasSeating = false): reserva,
+ * confirmação e libertação contra a capacidade do evento, guardada em
+ * {@link GaInventory}. As reservas expiram como os locks de assentos e o
+ * varrimento do nó líder devolve-as ao inventário.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GaTicketService {
+
+    private final GaInventory inventory;
+    private final GaInventoryShardRepository shardRepository;
+    private final GaTicketRepository ticketRepository;
+    private final EventRepository eventRepository;
+
+    @Value("${ems.booking.ga.shards:16}")
+    private int shards;
+
+    @Value("${ems.booking.ga.hold-minutes:10}")
+    private int holdMinutes;
+
+    @Value("${ems.booking.ga.max-tickets-per-request:10}")
+    private int maxTicketsPerRequest;
+
+    @Value("${ems.booking.expiry.sweep-chunk-size:500}")
+    private int sweepChunkSize;
+
+    // Número de shards de cada evento (não muda depois de criados)
+    private final ConcurrentHashMap<Long, Integer> shardCounts = new ConcurrentHashMap<>();
+
+    /*
+        Evento acabado de criar: toda a capacidade fica disponível
+    */
+    public void initialize(Long eventId, int capacity) {
+        shardCounts.put(eventId, inventory.initialize(eventId, capacity, shards));
+    }
+
+    /**
+     * Reserva {@code quantity} bilhetes durante {@code ems.booking.ga.hold-minutes}
+     */
+    public GaTicket hold(Long eventId, int quantity, String username) {
+        if (quantity < 1 || quantity > maxTicketsPerRequest) {
+            throw new RuntimeException("Quantidade deve estar entre 1 e " + maxTicketsPerRequest);
+        }
+        int eventShards = shardsOf(eventId);
+        GaTicket ticket = inventory.hold(eventId, eventShards, quantity, username,
+                LocalDateTime.now().plusMinutes(holdMinutes));
+        log.info("{} GA tickets of event {} held by {} (ticket {})", quantity, eventId, username, ticket.getId());
+        return ticket;
+    }
+
+    public GaTicket confirm(Long ticketId, String username) {
+        GaTicket ticket = inventory.confirm(ticketId, username);
+        log.info("GA ticket {} confirmed by {}", ticketId, username);
+        return ticket;
+    }
+
+    public GaTicket release(Long ticketId, String username) {
+        GaTicket ticket = inventory.release(ticketId, username);
+        log.info("GA ticket {} released by {}", ticketId, username);
+        return ticket;
+    }
+
+    public GaAvailabilityResponse availability(Long eventId) {
+        Event event = gaEvent(eventId);
+        int eventShards = shardsOf(eventId);
+        return GaAvailabilityResponse.builder()
+                .eventId(eventId)
+                .capacity(event.getCapacity())
+                .remaining(shardRepository.sumRemaining(eventId))
+                .sold(ticketRepository.sumConfirmed(eventId))
+                .shards(eventShards)
+                .build();
+    }
+
+    /**
+     * Devolve ao inventário as reservas expiradas, em blocos (varrimento do nó líder)
+     */
+    public int releaseExpiredHolds() {
+        int total = 0;
+        List<GaTicket> released;
+        do {
+            released = inventory.releaseExpiredChunk(sweepChunkSize);
+            total += released.stream().mapToInt(GaTicket::getQuantity).sum();
+        } while (released.size() >= sweepChunkSize);
+        return total;
+    }
+
+    // ====== Auxiliares ======
+
+    // Eventos anteriores a esta funcionalidade recebem os shards no primeiro pedido
+    private int shardsOf(Long eventId) {
+        Integer cached = shardCounts.get(eventId);
+        if (cached != null) {
+            return cached;
+        }
+        int count = shardRepository.countByEventId(eventId);
+        if (count == 0) {
+            Event event = gaEvent(eventId);
+            count = inventory.initialize(eventId, event.getCapacity(), shards);
+        }
+        shardCounts.put(eventId, count);
+        return count;
+    }
+
+    private Event gaEvent(Long eventId) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new RuntimeException("Evento não encontrado: " + eventId));
+        if (!Boolean.FALSE.equals(event.getHasSeating())) {
+            throw new RuntimeException("O evento " + eventId + " tem lugares marcados");
+        }
+        if (event.getCapacity() == null || event.getCapacity() <= 0) {
+            throw new RuntimeException("O evento " + eventId + " não tem capacidade definida");
+        }
+        return event;
+    }
+}
@@ -0,0 +1,56 @@
+package com.ems.backend.modules.booking.ledger;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Writes confirmed seats to the {@code bookings} ledger. The statement joins
+ * the seat, its event (price) and the buyer by username in the database, so
+ * a confirmation adds one batched INSERT and no extra round trips. Called by
+ * each {@link com.ems.backend.modules.booking.services.SeatTransitions}
+ * inside its confirm transaction; {@code ON CONFLICT} makes retries and the
+ * backfill ({@code V4__bookings_backfill.sql}) idempotent.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingLedger {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO bookings (user_id, event_id, seat_id, booked_at, price_paid) "
+                    + "SELECT u.id, s.event_id, s.id, ?, e.ticket_price FROM seats s "
+                    + "JOIN events e ON e.id = s.event_id JOIN users u ON u.username = ? "
+                    + "WHERE s.id = ? ON CONFLICT (seat_id) DO NOTHING";
+
+    public record Entry(String username, Long seatId) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void record(Collection<Long> seatIds, String username, LocalDateTime bookedAt) {
+        List<Entry> entries = new ArrayList<>(seatIds.size());
+        for (Long seatId : seatIds) {
+            entries.add(new Entry(username, seatId));
+        }
+        record(entries, bookedAt);
+    }
+
+    public void record(List<Entry> entries, LocalDateTime bookedAt) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Timestamp at = Timestamp.valueOf(bookedAt);
+        List<Object[]> rows = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            rows.add(new Object[] { at, entry.username(), entry.seatId() });
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+}
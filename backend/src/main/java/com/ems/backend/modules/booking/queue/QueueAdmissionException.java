@@ -0,0 +1,10 @@
+package com.ems.backend.modules.booking.queue;
+
+/**
+ * The event has an open waiting room and the request has no admitted ticket.
+ */
+public class QueueAdmissionException extends RuntimeException {
+    public QueueAdmissionException(String message) {
+        super(message);
+    }
+}
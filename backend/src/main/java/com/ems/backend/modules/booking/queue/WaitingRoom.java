@@ -0,0 +1,174 @@
+package com.ems.backend.modules.booking.queue;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Virtual queue of one event, as seen by one node.
+ * Every visitor gets the next sequence number; admission only moves a
+ * watermark ({@code admittedUpTo}), so admitting a batch, checking a token and
+ * computing a position are all O(1) regardless of the queue length.
+ * Admitted shoppers keep their slot for a fixed session; sessions end in
+ * admission order, so they expire by moving a second watermark.
+ * Tokens carry their sequence and user and are signed with the room's
+ * secret: any node holding the secret and the watermarks checks them
+ * without looking anything up.
+ */
+public class WaitingRoom {
+
+    /**
+     * A place in the queue: {@code sequence} 1 is the first visitor.
+     */
+    public record Ticket(String token, String username, long sequence) {
+    }
+
+    // Sequences admitted in one tick and when their shopping session ends
+    private record Admission(long upTo, long expiresAt) {
+    }
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final Long eventId;
+    private final SecretKeySpec key;
+    private volatile long lastIssued;
+    private volatile long admittedUpTo;
+    private volatile long expiredUpTo;
+
+    // Ticking node only
+    private final ArrayDeque<Admission> sessions = new ArrayDeque<>();
+    private double admitCredit;
+
+    public WaitingRoom(Long eventId, String secret) {
+        this.eventId = eventId;
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+    }
+
+    public Long eventId() {
+        return eventId;
+    }
+
+    /**
+     * The ticket of {@code username} at {@code sequence} (same token every time).
+     */
+    public Ticket ticket(String username, long sequence) {
+        String payload = sequence + "." + ENCODER.encodeToString(username.getBytes(StandardCharsets.UTF_8));
+        return new Ticket(payload + "." + ENCODER.encodeToString(sign(payload)), username, sequence);
+    }
+
+    /**
+     * The ticket of a token signed by this room and not expired, otherwise null.
+     */
+    public Ticket find(String token) {
+        if (token == null) {
+            return null;
+        }
+        int signature = token.lastIndexOf('.');
+        int user = token.indexOf('.');
+        if (user <= 0 || signature <= user) {
+            return null;
+        }
+        try {
+            String payload = token.substring(0, signature);
+            if (!MessageDigest.isEqual(sign(payload), DECODER.decode(token.substring(signature + 1)))) {
+                return null;
+            }
+            long sequence = Long.parseLong(token.substring(0, user));
+            String username = new String(DECODER.decode(token.substring(user + 1, signature)), StandardCharsets.UTF_8);
+            return sequence > expiredUpTo ? new Ticket(token, username, sequence) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Visitors ahead of {@code ticket}; 0 once admitted.
+     */
+    public long position(Ticket ticket) {
+        return Math.max(0, ticket.sequence() - admittedUpTo);
+    }
+
+    public boolean isAdmitted(Ticket ticket) {
+        return ticket.sequence() <= admittedUpTo && ticket.sequence() > expiredUpTo;
+    }
+
+    public long admittedUpTo() {
+        return admittedUpTo;
+    }
+
+    public long expiredUpTo() {
+        return expiredUpTo;
+    }
+
+    public long lastIssued() {
+        return lastIssued;
+    }
+
+    public long waiting() {
+        return lastIssued - admittedUpTo;
+    }
+
+    public long active() {
+        return admittedUpTo - expiredUpTo;
+    }
+
+    /**
+     * Tickets up to {@code sequence} were issued (by any node).
+     */
+    public synchronized void issued(long sequence) {
+        lastIssued = Math.max(lastIssued, sequence);
+    }
+
+    /**
+     * Watermarks moved by the node that ticks the room; never moves them back.
+     */
+    public synchronized void apply(long issuedUpTo, long admitted, long expired) {
+        lastIssued = Math.max(lastIssued, issuedUpTo);
+        admittedUpTo = Math.max(admittedUpTo, admitted);
+        expiredUpTo = Math.max(expiredUpTo, expired);
+    }
+
+    /**
+     * Ends the sessions due at {@code now} and admits up to {@code ratePerTick}
+     * visitors (fractions carry over), never exceeding {@code maxActive}
+     * concurrent shoppers. Only the node that ticks the room calls this.
+     *
+     * @return true if the watermarks moved
+     */
+    public synchronized boolean tick(long now, double ratePerTick, long maxActive, long sessionMillis) {
+        // Admitted while another node ticked the room: their sessions start counting now
+        long tracked = sessions.isEmpty() ? expiredUpTo : sessions.peekLast().upTo();
+        if (admittedUpTo > tracked) {
+            sessions.addLast(new Admission(admittedUpTo, now + sessionMillis));
+        }
+        long expiredBefore = expiredUpTo;
+        while (!sessions.isEmpty() && sessions.peekFirst().expiresAt() <= now) {
+            expiredUpTo = Math.max(expiredUpTo, sessions.pollFirst().upTo());
+        }
+
+        admitCredit = Math.min(admitCredit + ratePerTick, Math.max(ratePerTick, 1));
+        long admit = Math.min((long) admitCredit, Math.min(maxActive - active(), waiting()));
+        if (admit > 0) {
+            admitCredit -= admit;
+            admittedUpTo += admit;
+            sessions.addLast(new Admission(admittedUpTo, now + sessionMillis));
+        }
+        return admit > 0 || expiredUpTo != expiredBefore;
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package com.ems.backend.modules.booking.queue;
+
+import java.security.SecureRandom;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.ems.backend.core.cluster.ClusterBus;
+import com.ems.backend.core.cluster.LeaderElection;
+import com.ems.backend.modules.booking.dtos.QueueStatusMessage;
+import com.ems.backend.modules.booking.dtos.QueueTicketResponse;
+import com.ems.backend.modules.booking.repositories.SeatRepository;
+import com.ems.backend.modules.notification.QueueNotificationService;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Admission control for high-demand on-sales.
+ * While an event has an open waiting room, seat maps and holds for that event
+ * are only served to tickets that have been admitted; everything else is
+ * rejected before it reaches the database. Rooms live in
+ * {@code waiting_rooms}, shared by every node: any node issues tickets and
+ * checks them from memory, while only the leader admits, relaying the new
+ * watermarks on the cluster bus. A join is one statement: the place comes
+ * from the room's own Postgres sequence ({@code waiting_room_seq_<eventId>},
+ * no row lock shared by the visitors) and the ticket upsert keeps a user's
+ * valid ticket. Open rooms are loaded again on startup, so no sticky routing
+ * is needed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WaitingRoomService {
+
+    public static final String TOPIC = "waiting-rooms";
+
+    /*
+        A room opened, moved its watermarks or closed
+    */
+    public record RoomState(Long eventId, boolean open, long lastIssued, long admittedUpTo, long expiredUpTo) {
+    }
+
+    private static final String OPEN_SQL =
+            "INSERT INTO waiting_rooms (event_id, secret, open, last_issued, admitted_up_to, expired_up_to, opened_at) "
+                    + "VALUES (?, ?, true, 0, 0, 0, now()) ON CONFLICT (event_id) DO UPDATE SET secret = EXCLUDED.secret, "
+                    + "open = true, last_issued = 0, admitted_up_to = 0, expired_up_to = 0, opened_at = EXCLUDED.opened_at "
+                    + "WHERE NOT waiting_rooms.open";
+
+    // Current ticket if still valid, otherwise a new place; concurrent joins of one user meet on the ticket row
+    private static final String JOIN_SQL =
+            "WITH current AS (SELECT sequence FROM waiting_room_tickets WHERE event_id = ? AND username = ? AND sequence > ?), "
+                    + "issued AS (INSERT INTO waiting_room_tickets (event_id, username, sequence) "
+                    + "SELECT ?, ?, nextval(CAST(? AS regclass)) WHERE NOT EXISTS (SELECT 1 FROM current) "
+                    + "ON CONFLICT (event_id, username) DO UPDATE SET sequence = CASE WHEN waiting_room_tickets.sequence > ? "
+                    + "THEN waiting_room_tickets.sequence ELSE EXCLUDED.sequence END RETURNING sequence) "
+                    + "SELECT sequence FROM current UNION ALL SELECT sequence FROM issued";
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final SeatRepository seatRepository;
+    private final QueueNotificationService queueNotificationService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ClusterBus clusterBus;
+    private final LeaderElection leaderElection;
+
+    private final ConcurrentHashMap<Long, WaitingRoom> rooms = new ConcurrentHashMap<>();
+
+    @Value("${ems.queue.tick-ms:1000}")
+    private long tickMillis;
+
+    @Value("${ems.queue.admit-rate-per-second:50}")
+    private double admitRatePerSecond;
+
+    @Value("${ems.queue.max-active:500}")
+    private long maxActive;
+
+    @Value("${ems.queue.session-minutes:15}")
+    private long sessionMinutes;
+
+    // Events with at least this capacity open a waiting room when published (0 = never)
+    @Value("${ems.queue.auto-open-capacity:5000}")
+    private int autoOpenCapacity;
+
+    @PostConstruct
+    void init() {
+        clusterBus.subscribe(TOPIC, RoomState.class, this::onRoomState);
+    }
+
+    /*
+        Rooms opened before this node started; upcoming published events that
+        qualify and never had a room (e.g. published before a restart) get one
+    */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRooms() {
+        if (autoOpenCapacity > 0) {
+            List<Long> eventIds = jdbcTemplate.queryForList(
+                    "SELECT e.id FROM events e WHERE e.status = 'PUBLISHED' AND e.capacity >= ? AND e.start_time > now() "
+                            + "AND NOT EXISTS (SELECT 1 FROM waiting_rooms w WHERE w.event_id = e.id)",
+                    Long.class, autoOpenCapacity);
+            eventIds.forEach(this::open);
+        }
+        jdbcTemplate.queryForList("SELECT event_id FROM waiting_rooms WHERE open", Long.class)
+                .forEach(this::load);
+        log.info("Waiting rooms: {} open", rooms.size());
+    }
+
+    public void open(Long eventId) {
+        if (jdbcTemplate.update(OPEN_SQL, eventId, newSecret()) == 0) {
+            return; // already open
+        }
+        // Kept across closes: a re-opened room starts numbering again
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequenceName(eventId));
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequenceName(eventId) + " RESTART");
+        jdbcTemplate.update("DELETE FROM waiting_room_tickets WHERE event_id = ?", eventId);
+        clusterBus.publish(TOPIC, new RoomState(eventId, true, 0, 0, 0));
+        log.info("Waiting room opened for event {}", eventId);
+    }
+
+    public void close(Long eventId) {
+        List<Long> lastIssued = jdbcTemplate.queryForList(
+                "UPDATE waiting_rooms SET open = false WHERE event_id = ? AND open RETURNING last_issued",
+                Long.class, eventId);
+        if (lastIssued.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM waiting_room_tickets WHERE event_id = ?", eventId);
+        clusterBus.publish(TOPIC, new RoomState(eventId, false, lastIssued.get(0), lastIssued.get(0), 0));
+    }
+
+    public boolean isOpen(Long eventId) {
+        return rooms.containsKey(eventId);
+    }
+
+    public void onEventPublished(Long eventId, Integer capacity) {
+        if (autoOpenCapacity > 0 && capacity != null && capacity >= autoOpenCapacity) {
+            open(eventId);
+        }
+    }
+
+    /*
+        Joins the queue, or returns the caller's current ticket while it is valid
+    */
+    public QueueTicketResponse join(Long eventId, String username) {
+        WaitingRoom room = rooms.get(eventId);
+        if (room == null) {
+            return QueueTicketResponse.builder().eventId(eventId).position(0L).admitted(true).build();
+        }
+        long expired = room.expiredUpTo();
+        long sequence = jdbcTemplate.queryForObject(JOIN_SQL, Long.class, eventId, username, expired,
+                eventId, username, sequenceName(eventId), expired);
+        room.issued(sequence);
+        return toResponse(room, room.ticket(username, sequence));
+    }
+
+    public QueueTicketResponse status(Long eventId, String token) {
+        WaitingRoom room = rooms.get(eventId);
+        if (room == null) {
+            return QueueTicketResponse.builder().eventId(eventId).token(token).position(0L).admitted(true).build();
+        }
+        WaitingRoom.Ticket ticket = room.find(token);
+        if (ticket == null) {
+            throw new QueueAdmissionException("Ticket inválido ou expirado. Entre novamente na fila.");
+        }
+        return toResponse(room, ticket);
+    }
+
+    /*
+        Rejects the request unless the event has no waiting room or the token
+        was admitted (and belongs to the caller, when authenticated)
+    */
+    public void checkAdmission(Long eventId, String token, String username) {
+        WaitingRoom room = eventId != null ? rooms.get(eventId) : null;
+        if (room == null) {
+            return;
+        }
+        WaitingRoom.Ticket ticket = room.find(token);
+        if (ticket == null || (username != null && !username.equals(ticket.username()))) {
+            throw new QueueAdmissionException("Este evento tem fila de espera. Entre na fila para continuar.");
+        }
+        if (!room.isAdmitted(ticket)) {
+            throw new QueueAdmissionException("Ainda não é a sua vez. Posição na fila: " + room.position(ticket));
+        }
+    }
+
+    public void checkSeatAdmission(List<Long> seatIds, String token, String username) {
+        // Nothing to resolve while no on-sale is queued
+        if (rooms.isEmpty() || seatIds == null || seatIds.isEmpty() || seatIds.get(0) == null) {
+            return;
+        }
+        // Mixed-event selections are rejected by the transition itself
+        seatRepository.findEventIdById(seatIds.get(0))
+                .ifPresent(eventId -> checkAdmission(eventId, token, username));
+    }
+
+    /*
+        Leader only: tickets are issued on every node, so it first reads how
+        far each queue got, then admits and relays the watermarks
+    */
+    @Scheduled(fixedRateString = "${ems.queue.tick-ms:1000}")
+    public void admit() {
+        if (rooms.isEmpty() || !leaderElection.isLeader()) {
+            return;
+        }
+        Map<String, Long> issued = new HashMap<>();
+        try {
+            jdbcTemplate.query("SELECT sequencename, last_value FROM pg_sequences WHERE sequencename LIKE 'waiting\\_room\\_seq\\_%'",
+                    rs -> { issued.put(rs.getString(1), rs.getLong(2)); });
+        } catch (DataAccessException e) {
+            log.warn("Failed to read the waiting rooms, skipping this tick: {}", e.getMessage());
+            return;
+        }
+        long now = System.currentTimeMillis();
+        double ratePerTick = admitRatePerSecond * tickMillis / 1000.0;
+        long sessionMillis = TimeUnit.MINUTES.toMillis(sessionMinutes);
+        for (WaitingRoom room : rooms.values()) {
+            room.issued(issued.getOrDefault(sequenceName(room.eventId()), 0L));
+            long expiredBefore = room.expiredUpTo();
+            if (!room.tick(now, ratePerTick, maxActive, sessionMillis)) {
+                continue;
+            }
+            clusterBus.publish(TOPIC, new RoomState(room.eventId(), true, room.lastIssued(), room.admittedUpTo(),
+                    room.expiredUpTo()));
+            try {
+                jdbcTemplate.update("UPDATE waiting_rooms SET last_issued = ?, admitted_up_to = ?, expired_up_to = ? "
+                        + "WHERE event_id = ? AND open", room.lastIssued(), room.admittedUpTo(), room.expiredUpTo(), room.eventId());
+                if (room.expiredUpTo() != expiredBefore) {
+                    jdbcTemplate.update("DELETE FROM waiting_room_tickets WHERE event_id = ? AND sequence <= ?",
+                            room.eventId(), room.expiredUpTo());
+                }
+            } catch (DataAccessException e) {
+                // Stored on a later tick; the other nodes already have the watermarks
+                log.warn("Failed to store the waiting room of event {}: {}", room.eventId(), e.getMessage());
+            }
+        }
+    }
+
+    // ====== Auxiliares ======
+
+    private void onRoomState(RoomState state) {
+        if (!state.open()) {
+            WaitingRoom room = rooms.remove(state.eventId());
+            if (room != null) {
+                log.info("Waiting room closed for event {} ({} still waiting)", state.eventId(), room.waiting());
+            }
+            queueNotificationService.notifyQueueStatus(QueueStatusMessage.builder()
+                    .eventId(state.eventId())
+                    .open(false)
+                    .admittedUpTo(state.admittedUpTo())
+                    .waiting(0L)
+                    .build());
+            return;
+        }
+        boolean opened = state.lastIssued() == 0 && state.admittedUpTo() == 0 && state.expiredUpTo() == 0;
+        WaitingRoom room = opened ? null : rooms.get(state.eventId());
+        if (room == null) {
+            // Opened (again, with a new secret) or missed: the secret is only read from the database
+            if (opened) {
+                rooms.remove(state.eventId());
+            }
+            room = load(state.eventId());
+            if (room == null) {
+                return;
+            }
+        }
+        room.apply(state.lastIssued(), state.admittedUpTo(), state.expiredUpTo());
+        if (!opened) {
+            queueNotificationService.notifyQueueStatus(QueueStatusMessage.builder()
+                    .eventId(room.eventId())
+                    .open(true)
+                    .admittedUpTo(room.admittedUpTo())
+                    .waiting(room.waiting())
+                    .build());
+        }
+    }
+
+    private WaitingRoom load(Long eventId) {
+        List<WaitingRoom> loaded = jdbcTemplate.query(
+                "SELECT secret, last_issued, admitted_up_to, expired_up_to FROM waiting_rooms WHERE event_id = ? AND open",
+                (rs, i) -> {
+                    WaitingRoom room = new WaitingRoom(eventId, rs.getString(1));
+                    room.apply(rs.getLong(2), rs.getLong(3), rs.getLong(4));
+                    return room;
+                }, eventId);
+        if (loaded.isEmpty()) {
+            return null;
+        }
+        // A state relayed meanwhile may have loaded it already
+        return rooms.computeIfAbsent(eventId, id -> loaded.get(0));
+    }
+
+    // Places of one room (event ids are numbers, so the name is safe to inline)
+    static String sequenceName(Long eventId) {
+        return "waiting_room_seq_" + eventId;
+    }
+
+    private static String newSecret() {
+        byte[] secret = new byte[32];
+        RANDOM.nextBytes(secret);
+        return HexFormat.of().formatHex(secret);
+    }
+
+    private QueueTicketResponse toResponse(WaitingRoom room, WaitingRoom.Ticket ticket) {
+        return QueueTicketResponse.builder()
+                .eventId(room.eventId())
+                .token(ticket.token())
+                .sequence(ticket.sequence())
+                .position(room.position(ticket))
+                .admitted(room.isAdmitted(ticket))
+                .build();
+    }
+}
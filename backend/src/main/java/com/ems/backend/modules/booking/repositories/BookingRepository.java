@@ -0,0 +1,54 @@
+package com.ems.backend.modules.booking.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.ems.backend.modules.auth.entities.User;
+import com.ems.backend.modules.booking.entities.Booking;
+import com.ems.backend.modules.event.dtos.ParticipantResponse;
+
+import jakarta.persistence.QueryHint;
+
+public interface BookingRepository extends JpaRepository<Booking, Long> {
+
+    // Participant's bookings with everything the list shows, in one query
+    @Query("SELECT b FROM Booking b JOIN FETCH b.seat JOIN FETCH b.event e JOIN FETCH e.organizer " +
+           "WHERE b.user.id = :userId ORDER BY b.bookedAt DESC")
+    List<Booking> findByUserIdWithEvent(@Param("userId") Long userId);
+
+    // Keyset page of an event's participants: bookings after afterId (0 = first page)
+    @Query("SELECT b FROM Booking b JOIN FETCH b.user JOIN FETCH b.seat " +
+           "WHERE b.event.id = :eventId AND b.id > :afterId ORDER BY b.id")
+    List<Booking> findParticipantPage(@Param("eventId") Long eventId, @Param("afterId") Long afterId, Pageable page);
+
+    long countByEventId(Long eventId);
+
+    // Export: DTO rows (nothing enters the persistence context) read through a
+    // server-side cursor; needs an open transaction so the driver keeps the cursor
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.ems.backend.modules.event.dtos.ParticipantResponse(" +
+           "u.id, u.username, u.fullName, u.email, s.seatNumber, b.bookedAt) " +
+           "FROM Booking b JOIN b.user u JOIN b.seat s WHERE b.event.id = :eventId ORDER BY b.id")
+    Stream<ParticipantResponse> streamParticipants(@Param("eventId") Long eventId);
+
+    // Each participant once, however many seats they booked
+    @Query("SELECT DISTINCT b.user FROM Booking b WHERE b.event.id = :eventId")
+    List<User> findParticipantsByEventId(@Param("eventId") Long eventId);
+
+    boolean existsByUserIdAndEventId(Long userId, Long eventId);
+
+    long countByUserId(Long userId);
+
+    long countByBookedAtAfter(LocalDateTime after);
+}
@@ -0,0 +1,8 @@
+package com.ems.backend.modules.booking.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.ems.backend.modules.booking.entities.EventSeatCounter;
+
+public interface EventSeatCounterRepository extends JpaRepository<EventSeatCounter, Long> {
+}
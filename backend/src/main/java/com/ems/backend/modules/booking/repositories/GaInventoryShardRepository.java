@@ -0,0 +1,43 @@
+package com.ems.backend.modules.booking.repositories;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.ems.backend.modules.booking.entities.GaInventoryShard;
+
+import jakarta.persistence.LockModeType;
+
+public interface GaInventoryShardRepository extends JpaRepository<GaInventoryShard, Long> {
+
+    int countByEventId(Long eventId);
+
+    @Query("SELECT COALESCE(SUM(s.remaining), 0) FROM GaInventoryShard s WHERE s.eventId = :eventId")
+    long sumRemaining(@Param("eventId") Long eventId);
+
+    // Compare-and-set num só shard: 1 se havia inventário suficiente, 0 se o shard está seco
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE GaInventoryShard s SET s.remaining = s.remaining - :quantity " +
+           "WHERE s.eventId = :eventId AND s.shard = :shard AND s.remaining >= :quantity")
+    int take(@Param("eventId") Long eventId, @Param("shard") int shard, @Param("quantity") long quantity);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE GaInventoryShard s SET s.remaining = s.remaining + :quantity " +
+           "WHERE s.eventId = :eventId AND s.shard = :shard")
+    int giveBack(@Param("eventId") Long eventId, @Param("shard") int shard, @Param("quantity") long quantity);
+
+    // Todos os shards do evento, bloqueados por ordem (redistribuição)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM GaInventoryShard s WHERE s.eventId = :eventId ORDER BY s.shard")
+    List<GaInventoryShard> findByEventIdForUpdate(@Param("eventId") Long eventId);
+
+    // Criação concorrente dos shards: quem chega depois não faz nada
+    @Modifying
+    @Query(value = "INSERT INTO ga_inventory_shards (event_id, shard, remaining) VALUES (:eventId, :shard, :remaining) " +
+                   "ON CONFLICT (event_id, shard) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("eventId") Long eventId, @Param("shard") int shard, @Param("remaining") long remaining);
+}
@@ -0,0 +1,35 @@
+package com.ems.backend.modules.booking.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.ems.backend.modules.booking.entities.GaTicket;
+
+import jakarta.persistence.LockModeType;
+
+public interface GaTicketRepository extends JpaRepository<GaTicket, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM GaTicket t WHERE t.id = :id")
+    Optional<GaTicket> findByIdWithLock(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE GaTicket t SET t.status = 'CONFIRMED', t.holdExpiresAt = null, t.confirmedAt = :now " +
+           "WHERE t.id = :id AND t.status = 'HELD' AND t.username = :username AND t.holdExpiresAt >= :now")
+    int confirmIfHeld(@Param("id") Long id, @Param("username") String username, @Param("now") LocalDateTime now);
+
+    // Bloco do varrimento, com o relógio da BD; linhas bloqueadas por outra transação ficam de fora
+    @Query(value = "SELECT * FROM ga_tickets WHERE status = 'HELD' AND hold_expires_at < LOCALTIMESTAMP " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<GaTicket> findExpiredHoldsForUpdateSkipLocked(@Param("limit") int limit);
+
+    @Query("SELECT COALESCE(SUM(t.quantity), 0) FROM GaTicket t WHERE t.eventId = :eventId AND t.status = 'CONFIRMED'")
+    long sumConfirmed(@Param("eventId") Long eventId);
+}
@@ -1,6 +1,7 @@
 package com.ems.backend.modules.booking.repositories;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,37 +22,87 @@ public interface SeatRepository extends JpaRepository<Seat, Long> {
     @Query("SELECT s FROM Seat s WHERE s.id = :id")
     Optional<Seat> findByIdWithLock(@Param("id") Long id);
 
+    // Locks adquiridos por ordem de id (evita deadlocks entre pedidos sobrepostos)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Seat s WHERE s.id IN :ids ORDER BY s.id")
+    List<Seat> findAllByIdWithLock(@Param("ids") Collection<Long> ids);
+
     Optional<Seat> findBySeatNumber(String seatNumber);
 
     List<Seat> findByEventId(Long eventId);
 
+    @Query("SELECT s.eventId FROM Seat s WHERE s.id = :id")
+    Optional<Long> findEventIdById(@Param("id") Long id);
+
     @Query("SELECT COUNT(s) FROM Seat s WHERE s.event.id = :eventId AND s.status = :status")
     Long countByEventIdAndStatus(@Param("eventId") Long eventId, @Param("status") SeatStatus status);
 
     Long countByEventId(Long eventId);
 
+    // Linhas (status, count) de um evento numa só query
+    @Query("SELECT s.status, COUNT(s) FROM Seat s WHERE s.eventId = :eventId GROUP BY s.status")
+    List<Object[]> countByEventIdGroupByStatus(@Param("eventId") Long eventId);
+
     @Query("SELECT s FROM Seat s WHERE s.status = :status AND s.lockExpiresAt < :now")
     List<Seat> findExpiredLocks(@Param("status") SeatStatus status, @Param("now") LocalDateTime now);
 
-    @Modifying
-    @Query("UPDATE Seat s SET s.status = 'AVAILABLE', s.lockedBy = null, s.lockExpiresAt = null " +
-           "WHERE s.status = 'LOCKED' AND s.lockExpiresAt < :now")
-    int releaseExpiredLocks(@Param("now") LocalDateTime now);
+    // Bloco do varrimento: relógio da BD (igual em todos os nós) e linhas já bloqueadas por outra transação ficam de fora
+    @Query(value = "SELECT * FROM seats WHERE status = 'LOCKED' AND lock_expires_at < LOCALTIMESTAMP " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Seat> findExpiredLocksForUpdateSkipLocked(@Param("limit") int limit);
 
-    @Query("SELECT s FROM Seat s WHERE s.event.id = :eventId AND s.status = 'BOOKED'")
-    List<Seat> findBookedSeatsByEventId(@Param("eventId") Long eventId);
+    @Query(value = "SELECT id FROM seats WHERE status = 'LOCKED' AND lock_expires_at < LOCALTIMESTAMP " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> findExpiredLockIdsForUpdateSkipLocked(@Param("limit") int limit);
 
-    // Novos métodos para o participante
-    @Query("SELECT s FROM Seat s WHERE s.lockedBy = :username AND s.status = 'BOOKED'")
-    List<Seat> findBookedSeatsByUsername(@Param("username") String username);
+    // Lugares livres de um evento, para a reconciliação da lista de espera (idx_seats_event_status)
+    @Query(value = "SELECT id FROM seats WHERE event_id = :eventId AND status = 'AVAILABLE' ORDER BY id LIMIT :limit",
+           nativeQuery = true)
+    List<Long> findAvailableIds(@Param("eventId") Long eventId, @Param("limit") int limit);
 
-    @Query("SELECT s FROM Seat s JOIN FETCH s.event WHERE s.lockedBy = :username AND s.status = 'BOOKED'")
-    List<Seat> findBookedSeatsWithEventByUsername(@Param("username") String username);
+    List<Seat> findByStatus(SeatStatus status);
 
-    // Admin queries - count bookings by a specific user (using lockedBy as the booker identifier)
-    @Query("SELECT COUNT(s) FROM Seat s WHERE s.lockedBy = :username AND s.status = 'BOOKED'")
-    Long countBookedByUsername(@Param("username") String username);
+    @Modifying
+    @Query("UPDATE Seat s SET s.status = 'AVAILABLE', s.lockedBy = null, s.lockExpiresAt = null " +
+           "WHERE s.status = 'LOCKED' AND s.lockExpiresAt < :now")
+    int releaseExpiredLocks(@Param("now") LocalDateTime now);
 
-    @Query("SELECT COUNT(s) FROM Seat s WHERE s.status = 'BOOKED' AND s.bookedAt > :after")
-    Long countBookedAfter(@Param("after") LocalDateTime after);
+    // Transições condicionais (compare-and-set): devolvem 1 se a linha mudou, 0 se o estado já não permitia
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Seat s SET s.status = 'LOCKED', s.lockedBy = :username, s.lockExpiresAt = :expiresAt, " +
+           "s.version = s.version + 1 " +
+           "WHERE s.id = :id AND s.status = 'AVAILABLE'")
+    int lockIfAvailable(@Param("id") Long id, @Param("username") String username,
+                        @Param("expiresAt") LocalDateTime expiresAt);
+
+    // Renovação pelo mesmo utilizador ou lock expirado de outro
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Seat s SET s.lockedBy = :username, s.lockExpiresAt = :expiresAt, s.version = s.version + 1 " +
+           "WHERE s.id = :id AND s.status = 'LOCKED' AND (s.lockedBy = :username OR s.lockExpiresAt < :now)")
+    int relockIfHeldOrExpired(@Param("id") Long id, @Param("username") String username,
+                              @Param("expiresAt") LocalDateTime expiresAt, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Seat s SET s.status = 'BOOKED', s.lockExpiresAt = null, s.version = s.version + 1 " +
+           "WHERE s.id = :id AND s.status = 'LOCKED' AND s.lockedBy = :username AND s.lockExpiresAt >= :now")
+    int confirmIfHeld(@Param("id") Long id, @Param("username") String username, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Seat s SET s.status = 'AVAILABLE', s.lockedBy = null, s.lockExpiresAt = null, " +
+           "s.version = s.version + 1 " +
+           "WHERE s.id = :id AND s.status = 'LOCKED' AND s.lockedBy = :username")
+    int releaseIfHeld(@Param("id") Long id, @Param("username") String username);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Seat s SET s.status = 'AVAILABLE', s.lockedBy = null, s.lockExpiresAt = null, " +
+           "s.version = s.version + 1 " +
+           "WHERE s.id = :id AND s.status = 'LOCKED' AND s.lockExpiresAt < :now")
+    int releaseIfExpired(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Linhas já bloqueadas pela transação (FOR UPDATE acima)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Seat s SET s.status = 'AVAILABLE', s.lockedBy = null, s.lockExpiresAt = null, " +
+           "s.version = s.version + 1 " +
+           "WHERE s.id IN :ids AND s.status = 'LOCKED'")
+    int releaseLocked(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,32 @@
+package com.ems.backend.modules.booking.repositories;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.ems.backend.modules.booking.entities.WaitlistEntry;
+import com.ems.backend.modules.booking.entities.WaitlistStatus;
+
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    Optional<WaitlistEntry> findFirstByEventIdAndUsernameAndStatusOrderByIdDesc(Long eventId, String username,
+            WaitlistStatus status);
+
+    Optional<WaitlistEntry> findFirstByEventIdAndUsernameOrderByIdDesc(Long eventId, String username);
+
+    // Cabeça da fila; uma promoção concorrente noutro nó salta para a inscrição seguinte
+    @Query(value = "SELECT * FROM waitlist_entries WHERE event_id = :eventId AND status = 'WAITING' " +
+                   "ORDER BY id LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<WaitlistEntry> findHeadForUpdateSkipLocked(@Param("eventId") Long eventId);
+
+    @Query("SELECT COUNT(w) FROM WaitlistEntry w WHERE w.eventId = :eventId AND w.status = 'WAITING' AND w.id < :id")
+    long countAhead(@Param("eventId") Long eventId, @Param("id") Long id);
+
+    long countByEventIdAndStatus(Long eventId, WaitlistStatus status);
+
+    @Query("SELECT DISTINCT w.eventId FROM WaitlistEntry w WHERE w.status = 'WAITING'")
+    List<Long> findEventIdsWithWaiting();
+}
@@ -1,10 +1,26 @@
 package com.ems.backend.modules.booking.scheduler;
 
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import com.ems.backend.core.cluster.LeaderElection;
+import com.ems.backend.modules.booking.entities.Seat;
+import com.ems.backend.modules.booking.entities.SeatStatus;
+import com.ems.backend.modules.booking.ga.GaTicketService;
+import com.ems.backend.modules.booking.repositories.SeatRepository;
 import com.ems.backend.modules.booking.services.BookingService;
+import com.ems.backend.modules.booking.services.SeatsChangedEvent;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -12,14 +28,133 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 @Slf4j
 public class LockExpirationScheduler {
+
+    public record SweepStats(long sweeps, long skipped, long releasedSeats, long lastReleased,
+            long lastDurationMillis, double lastSeatsPerSecond, long releasedGaTickets) {
+    }
+
     private final BookingService bookingService;
+    private final SeatRepository seatRepository;
+    private final LeaderElection leaderElection;
+    private final GaTicketService gaTicketService;
+
+    @Value("${ems.booking.expiry.tick-ms:100}")
+    private long tickMillis;
+
+    @Value("${ems.booking.expiry.wheel-size:1024}")
+    private int wheelSize;
+
+    // Holds taken on other nodes fire this much later here: their own node normally
+    // releases them first, this one takes over if that node is gone
+    @Value("${ems.booking.expiry.remote-grace-ms:2000}")
+    private long remoteGraceMillis;
+
+    // Due holds whose release failed fire again this much later
+    @Value("${ems.booking.expiry.retry-ms:1000}")
+    private long retryMillis;
 
-    // Executes every 30 seconds
-    @Scheduled(fixedRate = 30000)
+    private LockExpiryWheel wheel;
+
+    // Current deadline of every hold known to this node (seatId -> epoch millis)
+    private final ConcurrentHashMap<Long, Long> deadlines = new ConcurrentHashMap<>();
+
+    private final AtomicLong sweeps = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong releasedSeats = new AtomicLong();
+    private final AtomicLong releasedGaTickets = new AtomicLong();
+    private volatile long lastReleased;
+    private volatile long lastDurationMillis;
+
+    @PostConstruct
+    void init() {
+        wheel = new LockExpiryWheel(tickMillis, wheelSize, System.currentTimeMillis());
+    }
+
+    /*
+        Schedules the holds that already exist in the database (e.g. after a restart)
+    */
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleExistingLocks() {
+        List<Seat> locked = seatRepository.findByStatus(SeatStatus.LOCKED);
+        locked.forEach(seat -> track(seat, 0));
+        log.info("Scheduler: tracking {} existing seat locks", locked.size());
+    }
+
+    @EventListener
+    public void onSeatsChanged(SeatsChangedEvent change) {
+        long grace = change.isRemote() ? remoteGraceMillis : 0;
+        change.getSeats().forEach(seat -> track(seat, grace));
+    }
+
+    // Executes every tick: releases holds close to their exact expiry
+    @Scheduled(fixedRateString = "${ems.booking.expiry.tick-ms:100}")
+    public void releaseDueLocks() {
+        long now = System.currentTimeMillis();
+        List<LockExpiryWheel.Expiry> due = wheel.advance(now).stream()
+                // Skip holds that were renewed, confirmed or released since they were scheduled
+                .filter(expiry -> Objects.equals(deadlines.get(expiry.seatId()), expiry.deadline()))
+                .toList();
+        if (due.isEmpty()) {
+            return;
+        }
+        int releasedCount;
+        try {
+            releasedCount = bookingService.releaseExpiredSeats(due.stream().map(LockExpiryWheel.Expiry::seatId).toList());
+        } catch (RuntimeException e) {
+            // Keep tracking them: they fire again after the retry delay (the sweep still covers them on the leader)
+            due.forEach(expiry -> reschedule(expiry, now + retryMillis));
+            log.warn("Scheduler: Failed to release {} due seat locks, retrying in {} ms", due.size(), retryMillis, e);
+            return;
+        }
+        // Released ones are also untracked by their SeatsChangedEvent; this drops the rest (already free or sold)
+        due.forEach(expiry -> deadlines.remove(expiry.seatId(), expiry.deadline()));
+        log.debug("Scheduler: Released {} of {} due seat locks", releasedCount, due.size());
+    }
+
+    // Safety net for holds the timers missed (other nodes, failed releases); only on the leader node
+    @Scheduled(fixedRateString = "${ems.booking.expiry.sweep-interval-ms:60000}")
     public void releaseExpiredLocks() {
+        if (!leaderElection.isLeader()) {
+            skipped.incrementAndGet();
+            return;
+        }
+        long start = System.nanoTime();
         int releasedCount = bookingService.releaseExpiredLocks();
+        lastDurationMillis = (System.nanoTime() - start) / 1_000_000;
+        lastReleased = releasedCount;
+        sweeps.incrementAndGet();
+        releasedSeats.addAndGet(releasedCount);
         if (releasedCount > 0) {
-            log.info("Scheduler: Released {} expired seat locks", releasedCount);
+            log.info("Scheduler: Released {} expired seat locks in {} ms", releasedCount, lastDurationMillis);
+        }
+        // General-admission holds only expire here: they have no per-hold timer
+        int releasedTickets = gaTicketService.releaseExpiredHolds();
+        releasedGaTickets.addAndGet(releasedTickets);
+        if (releasedTickets > 0) {
+            log.info("Scheduler: Returned {} expired GA tickets to inventory", releasedTickets);
+        }
+    }
+
+    public SweepStats sweepStats() {
+        long duration = lastDurationMillis;
+        return new SweepStats(sweeps.get(), skipped.get(), releasedSeats.get(), lastReleased, duration,
+                duration > 0 ? lastReleased * 1000.0 / duration : 0, releasedGaTickets.get());
+    }
+
+    private void reschedule(LockExpiryWheel.Expiry expiry, long deadline) {
+        // Only if nothing newer (renewal, confirmation) was tracked in the meantime
+        if (deadlines.replace(expiry.seatId(), expiry.deadline(), deadline)) {
+            wheel.schedule(expiry.eventId(), expiry.seatId(), deadline);
+        }
+    }
+
+    private void track(Seat seat, long graceMillis) {
+        if (seat.getStatus() == SeatStatus.LOCKED && seat.getLockExpiresAt() != null) {
+            long deadline = seat.getLockExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() + graceMillis;
+            deadlines.put(seat.getId(), deadline);
+            wheel.schedule(seat.getEventId(), seat.getId(), deadline);
+        } else {
+            deadlines.remove(seat.getId());
         }
     }
 }
@@ -0,0 +1,93 @@
+package com.ems.backend.modules.booking.scheduler;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hashed timer wheel for seat hold expiry.
+ * Scheduling is lock-free (entries go to a pending queue); only the ticking
+ * thread touches the buckets. Deadlines further away than one revolution
+ * carry a round counter, so insertion and expiry are O(1) per hold.
+ */
+public class LockExpiryWheel {
+
+    /**
+     * A hold of {@code seatId} (event {@code eventId}) expiring at {@code deadline} (epoch millis).
+     */
+    public record Expiry(Long eventId, Long seatId, long deadline) {
+    }
+
+    private static final class Slot {
+        final Expiry expiry;
+        long rounds;
+
+        Slot(Expiry expiry, long rounds) {
+            this.expiry = expiry;
+            this.rounds = rounds;
+        }
+    }
+
+    private final long tickMillis;
+    private final int mask;
+    private final List<List<Slot>> buckets;
+    private final ConcurrentLinkedQueue<Expiry> pending = new ConcurrentLinkedQueue<>();
+    private final long startMillis;
+    private long currentTick; // ticking thread only
+
+    public LockExpiryWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.mask = wheelSize - 1;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        this.startMillis = startMillis;
+    }
+
+    /**
+     * Safe to call from any thread.
+     */
+    public void schedule(Long eventId, Long seatId, long deadline) {
+        pending.add(new Expiry(eventId, seatId, deadline));
+    }
+
+    /**
+     * Advances the wheel to {@code nowMillis} and returns the holds whose
+     * deadline has passed. Must always be called from the same thread.
+     */
+    public List<Expiry> advance(long nowMillis) {
+        transferPending();
+
+        List<Expiry> due = new ArrayList<>();
+        long targetTick = (nowMillis - startMillis) / tickMillis;
+        while (currentTick <= targetTick) {
+            Iterator<Slot> it = buckets.get((int) (currentTick & mask)).iterator();
+            while (it.hasNext()) {
+                Slot slot = it.next();
+                if (slot.rounds <= 0) {
+                    due.add(slot.expiry);
+                    it.remove();
+                } else {
+                    slot.rounds--;
+                }
+            }
+            currentTick++;
+        }
+        return due;
+    }
+
+    private void transferPending() {
+        Expiry expiry;
+        while ((expiry = pending.poll()) != null) {
+            // First tick strictly after the deadline, never in the past
+            long tick = Math.max(currentTick, (expiry.deadline() - startMillis) / tickMillis + 1);
+            long rounds = (tick - currentTick) / buckets.size();
+            buckets.get((int) (tick & mask)).add(new Slot(expiry, rounds));
+        }
+    }
+}
@@ -1,11 +1,17 @@
 package com.ems.backend.modules.booking.services;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.ems.backend.modules.booking.changes.SeatChangeRelay;
 import com.ems.backend.modules.booking.entities.Seat;
 import com.ems.backend.modules.booking.entities.SeatStatus;
 import com.ems.backend.modules.booking.repositories.SeatRepository;
@@ -20,78 +26,47 @@ import lombok.extern.slf4j.Slf4j;
 public class BookingService {
 
     private final SeatRepository seatRepository;
+    private final SeatTransitions seatTransitions;
+    private final SeatMaterializer seatMaterializer;
     private final SeatNotificationService notificationService;
+    private final SeatChangeRelay seatChangeRelay;
 
     // Tempo de lock em minutos
     private static final int LOCK_DURATION_MINUTES = 10;
 
+    @Value("${ems.booking.max-seats-per-request:10}")
+    private int maxSeatsPerRequest;
+
+    @Value("${ems.booking.expiry.sweep-chunk-size:500}")
+    private int sweepChunkSize;
+
     /**
      * Bloqueia temporariamente um assento para o utilizador (10 min)
      */
-    @Transactional
     public Seat lockSeat(Long seatId, String username) {
-        Seat seat = seatRepository.findByIdWithLock(seatId)
-                .orElseThrow(() -> new RuntimeException("Assento não encontrado"));
-
-        // Verificar se já está locked por este utilizador
-        if (seat.getStatus() == SeatStatus.LOCKED && username.equals(seat.getLockedBy())) {
-            // Renovar o lock
-            seat.setLockExpiresAt(LocalDateTime.now().plusMinutes(LOCK_DURATION_MINUTES));
-            Seat saved = seatRepository.save(seat);
-            notificationService.notifySeatUpdate(saved, "Lock renovado");
-            return saved;
-        }
-
-        // Verificar se está disponível (ou se o lock expirou)
-        if (seat.getStatus() == SeatStatus.LOCKED && !seat.isLockExpired()) {
-            throw new RuntimeException("Assento já está bloqueado por outro utilizador");
-        }
-
-        if (seat.getStatus() == SeatStatus.BOOKED) {
-            throw new RuntimeException("Assento já foi reservado");
-        }
-
-        // Bloquear o assento
-        seat.setStatus(SeatStatus.LOCKED);
-        seat.setLockedBy(username);
-        seat.setLockExpiresAt(LocalDateTime.now().plusMinutes(LOCK_DURATION_MINUTES));
-
-        Seat saved = seatRepository.save(seat);
+        Seat saved = seatTransitions.lock(List.of(seatId), username, lockExpiry()).get(0);
+        publishChanged(List.of(saved));
         notificationService.notifySeatUpdate(saved, "Assento bloqueado por " + username);
 
-        log.info("Seat {} locked by {} until {}", seatId, username, seat.getLockExpiresAt());
+        log.info("Seat {} locked by {} until {}", seatId, username, saved.getLockExpiresAt());
         return saved;
     }
 
+    /**
+     * Bloqueia o assento na posição (fila, coluna) de um evento de armazenamento
+     * lazy; a linha do assento é criada no primeiro toque
+     */
+    public Seat lockSeatAt(Long eventId, int row, int column, String username) {
+        Long seatId = seatMaterializer.materialize(eventId, List.of(new int[] { row, column })).get(0);
+        return lockSeat(seatId, username);
+    }
+
     /**
      * Confirma a reserva (transição LOCKED → BOOKED)
      */
-    @Transactional
     public Seat confirmBooking(Long seatId, String username) {
-        Seat seat = seatRepository.findByIdWithLock(seatId)
-                .orElseThrow(() -> new RuntimeException("Assento não encontrado"));
-
-        if (seat.getStatus() != SeatStatus.LOCKED) {
-            throw new RuntimeException("Assento não está bloqueado");
-        }
-
-        if (!username.equals(seat.getLockedBy())) {
-            throw new RuntimeException("Este assento está bloqueado por outro utilizador");
-        }
-
-        if (seat.isLockExpired()) {
-            seat.setStatus(SeatStatus.AVAILABLE);
-            seat.setLockedBy(null);
-            seat.setLockExpiresAt(null);
-            seatRepository.save(seat);
-            throw new RuntimeException("O tempo de reserva expirou. Tente novamente.");
-        }
-
-        // Confirmar reserva
-        seat.setStatus(SeatStatus.BOOKED);
-        seat.setLockExpiresAt(null); // Já não precisa de expiração
-
-        Seat saved = seatRepository.save(seat);
+        Seat saved = seatTransitions.confirm(List.of(seatId), username).get(0);
+        publishChanged(List.of(saved));
         notificationService.notifySeatUpdate(saved, "Reserva confirmada por " + username);
 
         log.info("Seat {} booked by {}", seatId, username);
@@ -101,42 +76,111 @@ public class BookingService {
     /**
      * Cancela o lock (utilizador desistiu)
      */
-    @Transactional
     public Seat releaseLock(Long seatId, String username) {
-        Seat seat = seatRepository.findByIdWithLock(seatId)
-                .orElseThrow(() -> new RuntimeException("Assento não encontrado"));
+        Seat saved = seatTransitions.release(List.of(seatId), username).get(0);
+        publishChanged(List.of(saved));
+        notificationService.notifySeatUpdate(saved, "Assento libertado");
 
-        if (seat.getStatus() != SeatStatus.LOCKED) {
-            throw new RuntimeException("Assento não está bloqueado");
-        }
+        log.info("Seat {} released by {}", seatId, username);
+        return saved;
+    }
 
-        if (!username.equals(seat.getLockedBy())) {
-            throw new RuntimeException("Não podes libertar um assento bloqueado por outro utilizador");
-        }
+    /**
+     * Bloqueia vários assentos de uma só vez (tudo ou nada)
+     */
+    public List<Seat> lockSeats(List<Long> seatIds, String username) {
+        List<Seat> saved = seatTransitions.lock(normalize(seatIds), username, lockExpiry());
+        publishChanged(saved);
+        notificationService.notifySeatsUpdate(saved, "Assentos bloqueados por " + username);
 
-        seat.setStatus(SeatStatus.AVAILABLE);
-        seat.setLockedBy(null);
-        seat.setLockExpiresAt(null);
+        log.info("Seats {} locked by {}", seatIds, username);
+        return saved;
+    }
 
-        Seat saved = seatRepository.save(seat);
-        notificationService.notifySeatUpdate(saved, "Assento libertado");
+    /**
+     * Confirma a reserva de vários assentos (tudo ou nada)
+     */
+    public List<Seat> confirmBookings(List<Long> seatIds, String username) {
+        List<Seat> saved = seatTransitions.confirm(normalize(seatIds), username);
+        publishChanged(saved);
+        notificationService.notifySeatsUpdate(saved, "Reserva confirmada por " + username);
 
-        log.info("Seat {} released by {}", seatId, username);
+        log.info("Seats {} booked by {}", seatIds, username);
         return saved;
     }
 
     /**
-     * Liberta todos os locks expirados (chamado pelo scheduler)
+     * Liberta os locks de vários assentos (tudo ou nada)
+     */
+    public List<Seat> releaseLocks(List<Long> seatIds, String username) {
+        List<Seat> saved = seatTransitions.release(normalize(seatIds), username);
+        publishChanged(saved);
+        notificationService.notifySeatsUpdate(saved, "Assentos libertados");
+
+        log.info("Seats {} released by {}", seatIds, username);
+        return saved;
+    }
+
+    /**
+     * Liberta todos os locks expirados (sweep de segurança do scheduler), em blocos
+     * de transações curtas; cada bloco é publicado, por evento, logo após o commit
      */
-    @Transactional
     public int releaseExpiredLocks() {
-        int released = seatRepository.releaseExpiredLocks(LocalDateTime.now());
-        notificationService.notifySeatsReleased(released);
-        return released;
+        int total = 0;
+        List<Seat> released;
+        do {
+            released = seatTransitions.releaseExpiredChunk(sweepChunkSize);
+            publishReleased(released);
+            total += released.size();
+        } while (released.size() >= sweepChunkSize);
+        return total;
+    }
+
+    /**
+     * Liberta os locks indicados que já expiraram (timer wheel do scheduler)
+     */
+    public int releaseExpiredSeats(List<Long> seatIds) {
+        List<Seat> released = seatTransitions.releaseExpired(seatIds, LocalDateTime.now());
+        publishReleased(released);
+        return released.size();
     }
 
     // ====== Métodos auxiliares ======
 
+    // SeatsChangedEvent em todos os nós (este incluído), com o número de sequência nos assentos
+    private void publishChanged(List<Seat> seats) {
+        seatChangeRelay.publish(seats.get(0).getEventId(), seats);
+    }
+
+    // Só os assentos afetados, agrupados por evento
+    private void publishReleased(List<Seat> released) {
+        Map<Long, List<Seat>> byEvent = new HashMap<>();
+        for (Seat seat : released) {
+            byEvent.computeIfAbsent(seat.getEventId(), id -> new ArrayList<>()).add(seat);
+        }
+        byEvent.forEach((eventId, seats) -> {
+            publishChanged(seats);
+            notificationService.notifySeatsReleased(eventId, seats);
+        });
+    }
+
+    private LocalDateTime lockExpiry() {
+        return LocalDateTime.now().plusMinutes(LOCK_DURATION_MINUTES);
+    }
+
+    // Ordem crescente de id = ordem de aquisição dos locks
+    private List<Long> normalize(List<Long> seatIds) {
+        List<Long> ordered = seatIds == null ? List.of()
+                : seatIds.stream().filter(Objects::nonNull).distinct().sorted().toList();
+        if (ordered.isEmpty()) {
+            throw new RuntimeException("Nenhum assento indicado");
+        }
+        if (ordered.size() > maxSeatsPerRequest) {
+            throw new RuntimeException("Máximo de " + maxSeatsPerRequest + " assentos por pedido");
+        }
+        return ordered;
+    }
+
     @Transactional
     public Seat createSeat(String seatNumber) {
         Seat seat = Seat.builder()
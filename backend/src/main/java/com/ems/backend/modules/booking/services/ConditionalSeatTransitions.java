@@ -0,0 +1,181 @@
+package com.ems.backend.modules.booking.services;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ems.backend.modules.booking.entities.Seat;
+import com.ems.backend.modules.booking.entities.SeatStatus;
+import com.ems.backend.modules.booking.ledger.BookingLedger;
+import com.ems.backend.modules.booking.repositories.SeatRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Transições compare-and-set: cada assento muda com um UPDATE condicional
+ * ({@code WHERE id = ? AND <estado esperado>}) e o número de linhas afetadas diz
+ * se a transição foi aceite. Não há SELECT ... FOR UPDATE nem read-modify-write.
+ *
+ * Pedidos com vários assentos correm numa transação, por ordem de id; se algum
+ * UPDATE não afetar a linha, a transação é revertida (tudo ou nada).
+ */
+@Service
+@ConditionalOnProperty(name = "ems.booking.transition-mode", havingValue = "conditional")
+@RequiredArgsConstructor
+public class ConditionalSeatTransitions implements SeatTransitions {
+
+    private final SeatRepository seatRepository;
+    private final BookingLedger bookingLedger;
+    private final SeatMaterializer seatMaterializer;
+
+    @Override
+    @Transactional
+    public List<Seat> lock(List<Long> seatIds, String username, LocalDateTime expiresAt) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, SeatStatus> previous = new HashMap<>();
+        for (Long seatId : seatIds) {
+            // Caso comum num único UPDATE; o segundo só corre para renovações e locks expirados
+            if (seatRepository.lockIfAvailable(seatId, username, expiresAt) == 1) {
+                previous.put(seatId, SeatStatus.AVAILABLE);
+            } else if (seatRepository.relockIfHeldOrExpired(seatId, username, expiresAt, now) == 1) {
+                previous.put(seatId, SeatStatus.LOCKED);
+            } else {
+                throw lockRejected(seatId);
+            }
+        }
+        List<Seat> seats = reload(seatIds);
+        seats.forEach(seat -> seat.setPreviousStatus(previous.get(seat.getId())));
+        return seats;
+    }
+
+    @Override
+    @Transactional
+    public List<Seat> confirm(List<Long> seatIds, String username) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Long seatId : seatIds) {
+            if (seatRepository.confirmIfHeld(seatId, username, now) == 0) {
+                throw confirmRejected(seatId, username);
+            }
+        }
+        bookingLedger.record(seatIds, username, now);
+        return fromLocked(reload(seatIds));
+    }
+
+    @Override
+    @Transactional
+    public List<Seat> release(List<Long> seatIds, String username) {
+        for (Long seatId : seatIds) {
+            if (seatRepository.releaseIfHeld(seatId, username) == 0) {
+                throw releaseRejected(seatId);
+            }
+        }
+        return fromLocked(reload(seatIds));
+    }
+
+    @Override
+    @Transactional
+    public List<Seat> releaseExpiredChunk(int limit) {
+        // As linhas ficam bloqueadas até ao commit; o UPDATE já não precisa de condição de tempo
+        List<Long> expired = seatRepository.findExpiredLockIdsForUpdateSkipLocked(limit);
+        if (expired.isEmpty()) {
+            return List.of();
+        }
+        seatRepository.releaseLocked(expired);
+        return fromLocked(seatRepository.findAllById(expired));
+    }
+
+    @Override
+    @Transactional
+    public List<Seat> releaseExpired(List<Long> seatIds, LocalDateTime now) {
+        // Renovados ou confirmados entretanto não passam a condição e ficam de fora
+        List<Long> released = new ArrayList<>(seatIds.size());
+        for (Long seatId : seatIds.stream().sorted().toList()) {
+            if (seatRepository.releaseIfExpired(seatId, now) == 1) {
+                released.add(seatId);
+            }
+        }
+        return released.isEmpty() ? List.of() : fromLocked(seatRepository.findAllById(released));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Seat> findEventSeats(Long eventId) {
+        return seatMaterializer.complete(eventId, seatRepository.findByEventId(eventId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<SeatStatus, Long> countEventSeats(Long eventId) {
+        Map<SeatStatus, Long> counts = new EnumMap<>(SeatStatus.class);
+        for (Object[] row : seatRepository.countByEventIdGroupByStatus(eventId)) {
+            counts.put((SeatStatus) row[0], (Long) row[1]);
+        }
+        return seatMaterializer.complete(eventId, counts);
+    }
+
+    // ====== Métodos auxiliares ======
+
+    private List<Seat> reload(List<Long> seatIds) {
+        List<Seat> seats = new ArrayList<>(seatRepository.findAllById(seatIds));
+        seats.sort(Comparator.comparing(Seat::getId));
+
+        if (seats.size() > 1) {
+            Long eventId = seats.get(0).getEventId();
+            boolean sameEvent = eventId != null && seats.stream().allMatch(seat -> eventId.equals(seat.getEventId()));
+            if (!sameEvent) {
+                throw new RuntimeException("Os assentos têm de pertencer ao mesmo evento");
+            }
+        }
+        return seats;
+    }
+
+    // Confirmar e libertar partem sempre de LOCKED
+    private List<Seat> fromLocked(List<Seat> seats) {
+        seats.forEach(seat -> seat.setPreviousStatus(SeatStatus.LOCKED));
+        return seats;
+    }
+
+    /*
+        O UPDATE só diz que a condição falhou; o motivo vem de uma leitura do
+        estado atual, apenas no caminho de erro
+    */
+    private SeatConflictException lockRejected(Long seatId) {
+        Seat seat = current(seatId);
+        if (seat.getStatus() == SeatStatus.BOOKED) {
+            return new SeatConflictException("Assento " + seat.getSeatNumber() + " já foi reservado");
+        }
+        return new SeatConflictException("Assento " + seat.getSeatNumber() + " já está bloqueado por outro utilizador");
+    }
+
+    private RuntimeException confirmRejected(Long seatId, String username) {
+        Seat seat = current(seatId);
+        if (seat.getStatus() != SeatStatus.LOCKED) {
+            return new RuntimeException("Assento " + seat.getSeatNumber() + " não está bloqueado");
+        }
+        if (!username.equals(seat.getLockedBy())) {
+            return new RuntimeException("O assento " + seat.getSeatNumber() + " está bloqueado por outro utilizador");
+        }
+        return new RuntimeException("O tempo de reserva expirou. Tente novamente.");
+    }
+
+    private RuntimeException releaseRejected(Long seatId) {
+        Seat seat = current(seatId);
+        if (seat.getStatus() != SeatStatus.LOCKED) {
+            return new RuntimeException("Assento " + seat.getSeatNumber() + " não está bloqueado");
+        }
+        return new RuntimeException("Não podes libertar um assento bloqueado por outro utilizador");
+    }
+
+    private Seat current(Long seatId) {
+        return seatRepository.findById(seatId)
+                .orElseThrow(() -> new RuntimeException("Assento não encontrado"));
+    }
+}
@@ -16,10 +16,11 @@ import com.ems.backend.modules.booking.dtos.EventFeedbackRequest;
 import com.ems.backend.modules.booking.dtos.EventFeedbackResponse;
 import com.ems.backend.modules.booking.dtos.MyBookingResponse;
 import com.ems.backend.modules.booking.dtos.NotificationResponse;
+import com.ems.backend.modules.booking.entities.Booking;
 import com.ems.backend.modules.booking.entities.EventFeedback;
 import com.ems.backend.modules.booking.entities.Seat;
+import com.ems.backend.modules.booking.repositories.BookingRepository;
 import com.ems.backend.modules.booking.repositories.EventFeedbackRepository;
-import com.ems.backend.modules.booking.repositories.SeatRepository;
 import com.ems.backend.modules.event.entities.Event;
 import com.ems.backend.modules.event.repositories.EventRepository;
 import com.ems.backend.modules.notification.entities.UserNotification;
@@ -33,7 +34,7 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class ParticipantService {
 
-    private final SeatRepository seatRepository;
+    private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final EventRepository eventRepository;
     private final EventFeedbackRepository eventFeedbackRepository;
@@ -44,17 +45,19 @@ public class ParticipantService {
     */
     @Transactional(readOnly = true)
     public List<MyBookingResponse> getMyBookings(String username) {
-        List<Seat> bookedSeats = seatRepository.findBookedSeatsWithEventByUsername(username);
+        User user = userRepository.findByUsername(username)
+            .orElseThrow(() -> new RuntimeException("User not found"));
+        List<Booking> bookings = bookingRepository.findByUserIdWithEvent(user.getId());
         
         LocalDate today = LocalDate.now();
         
-        return bookedSeats.stream()
-            .map(seat -> {
-                Event event = seat.getEvent();
+        return bookings.stream()
+            .map(booking -> {
+                Event event = booking.getEvent();
                 String status = determineBookingStatus(event.getStartTime(), today);
 
                 return MyBookingResponse.builder()
-                    .bookingId(seat.getId())
+                    .bookingId(booking.getId())
                     .eventId(event.getId())
                     .eventTitle(event.getTitle())
                     .eventDescription(event.getDescription())
@@ -64,8 +67,8 @@ public class ParticipantService {
                     .eventEndTime(event.getEndTime())
                     .eventLocation(event.getLocation())
                     .eventOnlineLink(event.getOnlineLink())
-                    .seatNumber(seat.getSeatNumber())
-                    .ticketPrice(event.getTicketPrice())
+                    .seatNumber(booking.getSeat().getSeatNumber())
+                    .ticketPrice(booking.getPricePaid())
                     .organizerName(event.getOrganizer().getFullName())
                     .status(status)
                     .build();
@@ -88,16 +91,16 @@ public class ParticipantService {
     */
     @Transactional(readOnly = true)
     public DigitalTicketResponse getDigitalTicket(Long bookingId, String username) {
-        Seat seat = seatRepository.findById(bookingId)
+        Booking booking = bookingRepository.findById(bookingId)
             .orElseThrow(() -> new RuntimeException("Booking not found"));
         
-        if(!username.equals(seat.getLockedBy())) {
+        User user = booking.getUser();
+        if(!username.equals(user.getUsername())) {
             throw new RuntimeException("Access denied to this booking");
         }
 
-        Event event = seat.getEvent();
-        User user = userRepository.findByUsername(username)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+        Seat seat = booking.getSeat();
+        Event event = booking.getEvent();
         
         String ticketCode = generateTicketCode(seat.getId(), event.getId());
 
@@ -124,9 +127,7 @@ public class ParticipantService {
             .orElseThrow(() -> new RuntimeException("Event not found"));
 
         //verify if the user participated in the event
-        boolean hasBooking = seatRepository.findBookedSeatsWithEventByUsername(username)
-            .stream()
-            .anyMatch(seat -> seat.getEvent().getId().equals(event.getId()));
+        boolean hasBooking = bookingRepository.existsByUserIdAndEventId(user.getId(), event.getId());
         if(!hasBooking){
             throw new RuntimeException("User has not participated in this event");
         };
@@ -0,0 +1,172 @@
+package com.ems.backend.modules.booking.services;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ems.backend.modules.booking.entities.Seat;
+import com.ems.backend.modules.booking.entities.SeatStatus;
+import com.ems.backend.modules.booking.ledger.BookingLedger;
+import com.ems.backend.modules.booking.repositories.SeatRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Transições com SELECT ... FOR UPDATE sobre as linhas dos assentos (modo por omissão).
+ * Os locks são adquiridos por ordem de id, por isso pedidos sobrepostos não entram em deadlock.
+ */
+@Service
+@ConditionalOnProperty(name = "ems.booking.transition-mode", havingValue = "pessimistic", matchIfMissing = true)
+@RequiredArgsConstructor
+public class PessimisticSeatTransitions implements SeatTransitions {
+
+    private final SeatRepository seatRepository;
+    private final BookingLedger bookingLedger;
+    private final SeatMaterializer seatMaterializer;
+
+    @Override
+    @Transactional
+    public List<Seat> lock(List<Long> seatIds, String username, LocalDateTime expiresAt) {
+        List<Seat> seats = lockRows(seatIds);
+
+        for (Seat seat : seats) {
+            // Já está locked por este utilizador: o lock é renovado
+            if (seat.getStatus() == SeatStatus.LOCKED && username.equals(seat.getLockedBy())) {
+                continue;
+            }
+
+            // Verificar se está disponível (ou se o lock expirou)
+            if (seat.getStatus() == SeatStatus.LOCKED && !seat.isLockExpired()) {
+                throw new SeatConflictException("Assento " + seat.getSeatNumber() + " já está bloqueado por outro utilizador");
+            }
+
+            if (seat.getStatus() == SeatStatus.BOOKED) {
+                throw new SeatConflictException("Assento " + seat.getSeatNumber() + " já foi reservado");
+            }
+        }
+
+        for (Seat seat : seats) {
+            seat.setPreviousStatus(seat.getStatus());
+            seat.setStatus(SeatStatus.LOCKED);
+            seat.setLockedBy(username);
+            seat.setLockExpiresAt(expiresAt);
+        }
+        return seatRepository.saveAll(seats);
+    }
+
+    @Override
+    @Transactional
+    public List<Seat> confirm(List<Long> seatIds, String username) {
+        List<Seat> seats = lockRows(seatIds);
+
+        for (Seat seat : seats) {
+            if (seat.getStatus() != SeatStatus.LOCKED) {
+                throw new RuntimeException("Assento " + seat.getSeatNumber() + " não está bloqueado");
+            }
+
+            if (!username.equals(seat.getLockedBy())) {
+                throw new RuntimeException("O assento " + seat.getSeatNumber() + " está bloqueado por outro utilizador");
+            }
+
+            if (seat.isLockExpired()) {
+                throw new RuntimeException("O tempo de reserva expirou. Tente novamente.");
+            }
+        }
+
+        for (Seat seat : seats) {
+            seat.setPreviousStatus(seat.getStatus());
+            seat.setStatus(SeatStatus.BOOKED);
+            seat.setLockExpiresAt(null); // Já não precisa de expiração
+        }
+        List<Seat> saved = seatRepository.saveAll(seats);
+        bookingLedger.record(seatIds, username, LocalDateTime.now());
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public List<Seat> release(List<Long> seatIds, String username) {
+        List<Seat> seats = lockRows(seatIds);
+
+        for (Seat seat : seats) {
+            if (seat.getStatus() != SeatStatus.LOCKED) {
+                throw new RuntimeException("Assento " + seat.getSeatNumber() + " não está bloqueado");
+            }
+
+            if (!username.equals(seat.getLockedBy())) {
+                throw new RuntimeException("Não podes libertar um assento bloqueado por outro utilizador");
+            }
+        }
+
+        return releaseAll(seats);
+    }
+
+    @Override
+    @Transactional
+    public List<Seat> releaseExpiredChunk(int limit) {
+        return releaseAll(seatRepository.findExpiredLocksForUpdateSkipLocked(limit));
+    }
+
+    @Override
+    @Transactional
+    public List<Seat> releaseExpired(List<Long> seatIds, LocalDateTime now) {
+        List<Seat> expired = seatRepository.findAllByIdWithLock(seatIds).stream()
+                .filter(seat -> seat.getStatus() == SeatStatus.LOCKED
+                        && seat.getLockExpiresAt() != null && seat.getLockExpiresAt().isBefore(now))
+                .toList();
+        return releaseAll(expired);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Seat> findEventSeats(Long eventId) {
+        return seatMaterializer.complete(eventId, seatRepository.findByEventId(eventId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<SeatStatus, Long> countEventSeats(Long eventId) {
+        Map<SeatStatus, Long> counts = new EnumMap<>(SeatStatus.class);
+        for (Object[] row : seatRepository.countByEventIdGroupByStatus(eventId)) {
+            counts.put((SeatStatus) row[0], (Long) row[1]);
+        }
+        return seatMaterializer.complete(eventId, counts);
+    }
+
+    // ====== Métodos auxiliares ======
+
+    private List<Seat> releaseAll(List<Seat> seats) {
+        for (Seat seat : seats) {
+            seat.setPreviousStatus(seat.getStatus());
+            seat.setStatus(SeatStatus.AVAILABLE);
+            seat.setLockedBy(null);
+            seat.setLockExpiresAt(null);
+        }
+        return seatRepository.saveAll(seats);
+    }
+
+    private List<Seat> lockRows(List<Long> seatIds) {
+        List<Seat> seats = seatRepository.findAllByIdWithLock(seatIds);
+        if (seats.size() != seatIds.size()) {
+            throw new RuntimeException("Assento não encontrado");
+        }
+
+        if (seats.size() > 1) {
+            Long eventId = eventIdOf(seats.get(0));
+            boolean sameEvent = eventId != null && seats.stream().allMatch(seat -> eventId.equals(eventIdOf(seat)));
+            if (!sameEvent) {
+                throw new RuntimeException("Os assentos têm de pertencer ao mesmo evento");
+            }
+        }
+        return seats;
+    }
+
+    private Long eventIdOf(Seat seat) {
+        return seat.getEvent() != null ? seat.getEvent().getId() : null;
+    }
+}
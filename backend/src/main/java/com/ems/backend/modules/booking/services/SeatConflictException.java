@@ -0,0 +1,11 @@
+package com.ems.backend.modules.booking.services;
+
+/**
+ * Um dos assentos pedidos já está bloqueado por outro utilizador ou reservado.
+ * Ao contrário dos erros de validação, repetir com outros assentos pode resultar.
+ */
+public class SeatConflictException extends RuntimeException {
+    public SeatConflictException(String message) {
+        super(message);
+    }
+}
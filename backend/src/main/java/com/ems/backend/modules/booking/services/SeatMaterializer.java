@@ -0,0 +1,212 @@
+package com.ems.backend.modules.booking.services;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.ems.backend.modules.booking.entities.Seat;
+import com.ems.backend.modules.booking.entities.SeatStatus;
+import com.ems.backend.modules.event.entities.SeatStorage;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Lazy seat storage ({@code ems.booking.seats.storage=lazy}). A LAZY event
+ * has no seats rows when it is created: a seat gets its row the first time
+ * it is held, and every position without one is AVAILABLE. Reads fill the
+ * grid back in with unsaved seats (no id) from {@code seatRows} x
+ * {@code seatColumns}; the lock path inserts the rows it needs first, with
+ * {@code ON CONFLICT} on (event_id, row_index, column_index) so two buyers
+ * touching the same seat get the same row. Rows stay once created, so seat
+ * ids never change under a client.
+ *
+ * The memory engine keeps every seat of an event in its arrays and writes
+ * back by id, so under {@code transition-mode=memory} new events are EAGER
+ * and LAZY events are fully materialised when the engine loads them.
+ */
+@Component
+@RequiredArgsConstructor
+public class SeatMaterializer {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO seats (event_id, seat_number, row_index, column_index, status, version) "
+                    + "SELECT ?, p.seat_number, p.row_index, p.column_index, 'AVAILABLE', 0 "
+                    + "FROM unnest(?::varchar[], ?::int[], ?::int[]) AS p(seat_number, row_index, column_index) "
+                    + "ON CONFLICT (event_id, row_index, column_index) DO NOTHING";
+
+    private static final String SELECT_IDS_SQL =
+            "SELECT s.id, s.row_index, s.column_index FROM seats s "
+                    + "JOIN unnest(?::int[], ?::int[]) AS p(row_index, column_index) "
+                    + "ON s.row_index = p.row_index AND s.column_index = p.column_index WHERE s.event_id = ?";
+
+    // One row of the grid per statement: label || column number, for every column
+    private static final String INSERT_ROW_SQL =
+            "INSERT INTO seats (event_id, seat_number, row_index, column_index, status, version) "
+                    + "SELECT ?, ? || (c + 1), ?, c, 'AVAILABLE', 0 FROM generate_series(0, ? - 1) AS c "
+                    + "ON CONFLICT (event_id, row_index, column_index) DO NOTHING";
+
+    /*
+        Grid of a LAZY event; EAGER events are remembered as empty
+    */
+    private record Grid(int rows, int columns) {
+        long size() {
+            return (long) rows * columns;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${ems.booking.seats.storage:eager}")
+    private String storage;
+
+    @Value("${ems.booking.transition-mode:pessimistic}")
+    private String transitionMode;
+
+    // The storage mode and grid of an event never change after creation
+    private final ConcurrentHashMap<Long, Optional<Grid>> grids = new ConcurrentHashMap<>();
+
+    /*
+        Storage mode for a new seated event
+    */
+    public SeatStorage storageForNewEvent() {
+        return "lazy".equalsIgnoreCase(storage) && !"memory".equalsIgnoreCase(transitionMode)
+                ? SeatStorage.LAZY : SeatStorage.EAGER;
+    }
+
+    public boolean isLazy(Long eventId) {
+        return gridOf(eventId).isPresent();
+    }
+
+    /*
+        The stored seats plus an unsaved AVAILABLE seat for every free position, row by row
+    */
+    public List<Seat> complete(Long eventId, List<Seat> stored) {
+        Optional<Grid> lazy = gridOf(eventId);
+        if (lazy.isEmpty()) {
+            return stored;
+        }
+        Grid grid = lazy.get();
+        Seat[] cells = new Seat[(int) grid.size()];
+        List<Seat> unplaced = new ArrayList<>();
+        for (Seat seat : stored) {
+            Integer row = seat.getRowIndex();
+            Integer column = seat.getColumnIndex();
+            if (row != null && column != null && row >= 0 && column >= 0 && row < grid.rows() && column < grid.columns()) {
+                cells[row * grid.columns() + column] = seat;
+            } else {
+                unplaced.add(seat);
+            }
+        }
+        List<Seat> seats = new ArrayList<>(cells.length + unplaced.size());
+        for (int r = 0; r < grid.rows(); r++) {
+            String label = Seat.rowLabel(r);
+            for (int c = 0; c < grid.columns(); c++) {
+                Seat seat = cells[r * grid.columns() + c];
+                seats.add(seat != null ? seat : Seat.builder()
+                        .seatNumber(label + (c + 1))
+                        .rowIndex(r)
+                        .columnIndex(c)
+                        .eventId(eventId)
+                        .status(SeatStatus.AVAILABLE)
+                        .build());
+            }
+        }
+        seats.addAll(unplaced);
+        return seats;
+    }
+
+    /*
+        Counts by status with the positions that have no row counted as AVAILABLE
+    */
+    public Map<SeatStatus, Long> complete(Long eventId, Map<SeatStatus, Long> stored) {
+        Optional<Grid> lazy = gridOf(eventId);
+        if (lazy.isEmpty()) {
+            return stored;
+        }
+        long rows = stored.values().stream().mapToLong(Long::longValue).sum();
+        Map<SeatStatus, Long> counts = new EnumMap<>(SeatStatus.class);
+        counts.putAll(stored);
+        long virtual = Math.max(0, lazy.get().size() - rows);
+        if (virtual > 0) {
+            counts.merge(SeatStatus.AVAILABLE, virtual, Long::sum);
+        }
+        return counts;
+    }
+
+    /*
+        Ids of the seats at positions ({row, column}), inserting the missing rows; in the order given
+    */
+    public List<Long> materialize(Long eventId, List<int[]> positions) {
+        Grid grid = gridOf(eventId).orElse(null);
+        if (grid == null) {
+            throw new RuntimeException("Os lugares deste evento não são identificados por posição");
+        }
+        int n = positions.size();
+        String[] numbers = new String[n];
+        int[] rows = new int[n];
+        int[] columns = new int[n];
+        for (int i = 0; i < n; i++) {
+            int[] position = positions.get(i);
+            if (position[0] < 0 || position[1] < 0 || position[0] >= grid.rows() || position[1] >= grid.columns()) {
+                throw new RuntimeException("Lugar fora da sala");
+            }
+            rows[i] = position[0];
+            columns[i] = position[1];
+            numbers[i] = Seat.rowLabel(position[0]) + (position[1] + 1);
+        }
+        jdbcTemplate.update(INSERT_SQL, eventId, numbers, rows, columns);
+
+        Map<Long, Long> idsByCell = new HashMap<>();
+        jdbcTemplate.query(SELECT_IDS_SQL, rs -> {
+            idsByCell.put(rs.getLong(2) * grid.columns() + rs.getLong(3), rs.getLong(1));
+        }, rows, columns, eventId);
+        List<Long> ids = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            ids.add(idsByCell.get((long) rows[i] * grid.columns() + columns[i]));
+        }
+        return ids;
+    }
+
+    /*
+        Inserts a row for every position still without one (memory engine)
+    */
+    public void materializeAll(Long eventId) {
+        Grid grid = gridOf(eventId).orElse(null);
+        if (grid == null) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(grid.rows());
+        for (int r = 0; r < grid.rows(); r++) {
+            rows.add(new Object[] { eventId, Seat.rowLabel(r), r, grid.columns() });
+        }
+        jdbcTemplate.batchUpdate(INSERT_ROW_SQL, rows);
+    }
+
+    // ====== Auxiliares ======
+
+    private Optional<Grid> gridOf(Long eventId) {
+        if (eventId == null) {
+            return Optional.empty();
+        }
+        // An event not found (yet) is not cached: its creation may not have committed
+        Optional<Grid> grid = grids.computeIfAbsent(eventId, id -> jdbcTemplate.query(
+                "SELECT seat_storage, seat_rows, seat_columns FROM events WHERE id = ?",
+                rs -> {
+                    if (!rs.next()) {
+                        return null;
+                    }
+                    return SeatStorage.LAZY.name().equals(rs.getString(1))
+                            ? Optional.of(new Grid(rs.getInt(2), rs.getInt(3)))
+                            : Optional.<Grid>empty();
+                }, id));
+        return grid != null ? grid : Optional.empty();
+    }
+}
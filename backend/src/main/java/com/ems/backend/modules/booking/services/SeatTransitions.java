@@ -0,0 +1,56 @@
+package com.ems.backend.modules.booking.services;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import com.ems.backend.modules.booking.entities.Seat;
+import com.ems.backend.modules.booking.entities.SeatStatus;
+
+/**
+ * Estratégia de transição de estado dos assentos.
+ * A implementação é escolhida por {@code ems.booking.transition-mode}.
+ *
+ * Todas as operações recebem um conjunto de assentos do mesmo evento, ordenado
+ * por id (ordem de aquisição dos locks), e aplicam-se a todos ou a nenhum.
+ */
+public interface SeatTransitions {
+
+    /**
+     * AVAILABLE → LOCKED (ou renovação do lock pelo mesmo utilizador)
+     */
+    List<Seat> lock(List<Long> seatIds, String username, LocalDateTime expiresAt);
+
+    /**
+     * LOCKED → BOOKED
+     */
+    List<Seat> confirm(List<Long> seatIds, String username);
+
+    /**
+     * LOCKED → AVAILABLE (utilizador desistiu)
+     */
+    List<Seat> release(List<Long> seatIds, String username);
+
+    /**
+     * Liberta até {@code limit} locks expirados segundo o relógio da base de dados
+     * e devolve os assentos libertados. Assentos que outra transação tenha bloqueado
+     * são saltados, por isso menos de {@code limit} não quer dizer que não haja mais.
+     */
+    List<Seat> releaseExpiredChunk(int limit);
+
+    /**
+     * Liberta os locks de {@code seatIds} que continuem expirados em {@code now}
+     * (renovados ou confirmados entretanto ficam como estão)
+     */
+    List<Seat> releaseExpired(List<Long> seatIds, LocalDateTime now);
+
+    /**
+     * Estado atual dos assentos de um evento
+     */
+    List<Seat> findEventSeats(Long eventId);
+
+    /**
+     * Número de assentos de um evento por estado (estados sem assentos ficam de fora)
+     */
+    Map<SeatStatus, Long> countEventSeats(Long eventId);
+}
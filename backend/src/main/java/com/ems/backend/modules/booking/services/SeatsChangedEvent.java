@@ -0,0 +1,26 @@
+package com.ems.backend.modules.booking.services;
+
+import java.util.List;
+
+import com.ems.backend.modules.booking.entities.Seat;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Estado final dos assentos afetados por uma transição já com commit.
+ * Chega a todos os nós pelo {@code SeatChangeRelay}: {@code remote} indica
+ * que a transição foi feita noutro nó (quem reage só no nó de origem, como a
+ * lista de espera, ignora-as).
+ */
+@Getter
+@AllArgsConstructor
+public class SeatsChangedEvent {
+    private final Long eventId;
+    private final List<Seat> seats;
+    private final boolean remote;
+
+    public SeatsChangedEvent(Long eventId, List<Seat> seats) {
+        this(eventId, seats, false);
+    }
+}
@@ -0,0 +1,91 @@
+package com.ems.backend.modules.booking.waitlist;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ems.backend.core.cluster.ClusterMessagingTemplate;
+import com.ems.backend.modules.auth.repositories.UserRepository;
+import com.ems.backend.modules.booking.entities.Seat;
+import com.ems.backend.modules.booking.entities.WaitlistEntry;
+import com.ems.backend.modules.booking.entities.WaitlistStatus;
+import com.ems.backend.modules.booking.repositories.WaitlistEntryRepository;
+import com.ems.backend.modules.booking.services.SeatTransitions;
+import com.ems.backend.modules.event.repositories.EventRepository;
+import com.ems.backend.modules.notification.entities.UserNotification;
+import com.ems.backend.modules.notification.repositories.UserNotificationRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Uma promoção numa só transação: cabeça da fila (FOR UPDATE SKIP LOCKED),
+ * lock do assento libertado em nome dela e inscrição marcada como PROMOTED.
+ * O lock passa pela mesma transição condicional de quem bloqueia diretamente:
+ * se alguém o apanhou primeiro, a transição falha, a transação é revertida e
+ * a inscrição continua à cabeça da fila.
+ */
+@Component
+@RequiredArgsConstructor
+class WaitlistPromoter {
+
+    static final String USER_DESTINATION = "/queue/waitlist";
+
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+
+    record Promotion(WaitlistEntry entry, Seat seat) {
+    }
+
+    private final WaitlistEntryRepository waitlistRepository;
+    private final SeatTransitions seatTransitions;
+    private final UserRepository userRepository;
+    private final EventRepository eventRepository;
+    private final UserNotificationRepository userNotificationRepository;
+    private final ClusterMessagingTemplate messagingTemplate;
+
+    /*
+        null quando a fila do evento está vazia
+    */
+    @Transactional
+    public Promotion promote(Long eventId, Long seatId, LocalDateTime expiresAt) {
+        WaitlistEntry head = waitlistRepository.findHeadForUpdateSkipLocked(eventId).orElse(null);
+        if (head == null) {
+            return null;
+        }
+        Seat seat = seatTransitions.lock(List.of(seatId), head.getUsername(), expiresAt).get(0);
+
+        head.setStatus(WaitlistStatus.PROMOTED);
+        head.setSeatId(seatId);
+        head.setPromotedAt(LocalDateTime.now());
+        waitlistRepository.save(head);
+
+        notify(head, seat);
+        return new Promotion(head, seat);
+    }
+
+    private void notify(WaitlistEntry entry, Seat seat) {
+        String until = seat.getLockExpiresAt() != null ? seat.getLockExpiresAt().format(TIME_FORMATTER) : "";
+        String message = "O lugar " + seat.getSeatNumber() + " ficou livre e está reservado para ti até " + until
+                + ". Confirma a reserva antes que expire.";
+        userRepository.findByUsername(entry.getUsername()).ifPresent(user ->
+                userNotificationRepository.save(UserNotification.builder()
+                        .user(user)
+                        .event(eventRepository.getReferenceById(entry.getEventId()))
+                        .type("WAITLIST_PROMOTED")
+                        .title("Lugar disponível")
+                        .message(message)
+                        .isRead(false)
+                        .build()));
+        // Sai depois do commit (bus do cluster), para o nó onde o utilizador estiver ligado
+        messagingTemplate.convertAndSendToUser(entry.getUsername(), USER_DESTINATION, Map.of(
+                "type", "WAITLIST_PROMOTED",
+                "eventId", entry.getEventId(),
+                "seatId", seat.getId(),
+                "seatNumber", seat.getSeatNumber(),
+                "lockExpiresAt", String.valueOf(seat.getLockExpiresAt()),
+                "message", message));
+    }
+}
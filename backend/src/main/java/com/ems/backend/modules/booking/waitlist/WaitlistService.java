@@ -0,0 +1,236 @@
+package com.ems.backend.modules.booking.waitlist;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ems.backend.core.cluster.ClusterBus;
+import com.ems.backend.core.cluster.LeaderElection;
+import com.ems.backend.modules.booking.changes.SeatChangeRelay;
+import com.ems.backend.modules.booking.counters.SeatCounterService;
+import com.ems.backend.modules.booking.dtos.WaitlistStatusResponse;
+import com.ems.backend.modules.booking.entities.Seat;
+import com.ems.backend.modules.booking.entities.SeatStatus;
+import com.ems.backend.modules.booking.entities.WaitlistEntry;
+import com.ems.backend.modules.booking.entities.WaitlistStatus;
+import com.ems.backend.modules.booking.repositories.SeatRepository;
+import com.ems.backend.modules.booking.repositories.WaitlistEntryRepository;
+import com.ems.backend.modules.booking.services.SeatsChangedEvent;
+import com.ems.backend.modules.event.entities.Event;
+import com.ems.backend.modules.event.repositories.EventRepository;
+import com.ems.backend.modules.notification.SeatNotificationService;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Lista de espera de eventos esgotados. Cada assento que volta a AVAILABLE
+ * (desistência, lock expirado) é entregue à cabeça da fila com um lock de
+ * {@code ems.booking.waitlist.hold-minutes}, e o utilizador é avisado por
+ * notificação e por STOMP em {@code /user/queue/waitlist}, em vez de ficar
+ * a atualizar o mapa de lugares.
+ *
+ * A fila vive na tabela {@code waitlist_entries}; a promoção lê só a cabeça
+ * pelo índice, uma leitura por assento libertado seja qual for o tamanho da
+ * fila. Os assentos libertados são recolhidos dos {@link SeatsChangedEvent}
+ * e promovidos fora do pedido que os libertou. A fila em memória é só o
+ * caminho rápido: no arranque e a cada {@code ems.booking.waitlist.reconcile-interval-ms}
+ * o nó líder volta a pôr na fila os lugares AVAILABLE dos eventos com
+ * inscrições WAITING, por isso nada se perde num reinício ou numa corrida.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WaitlistService {
+
+    static final String TOPIC = "waitlist";
+
+    private record FreedSeat(Long eventId, Long seatId) {
+    }
+
+    private final WaitlistEntryRepository waitlistRepository;
+    private final WaitlistPromoter promoter;
+    private final SeatCounterService seatCounterService;
+    private final EventRepository eventRepository;
+    private final SeatNotificationService seatNotificationService;
+    private final SeatChangeRelay seatChangeRelay;
+    private final ClusterBus clusterBus;
+    private final SeatRepository seatRepository;
+    private final LeaderElection leaderElection;
+
+    @Value("${ems.booking.waitlist.hold-minutes:5}")
+    private int holdMinutes;
+
+    // Eventos com alguém à espera: só os assentos destes eventos são recolhidos.
+    // Só a reconciliação retira eventos (quando a tabela já não tem ninguém à espera)
+    private final Set<Long> eventsWithWaitlist = ConcurrentHashMap.newKeySet();
+    private final ConcurrentLinkedQueue<FreedSeat> freed = new ConcurrentLinkedQueue<>();
+    private final Set<FreedSeat> queued = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void init() {
+        // Inscrições feitas noutros nós
+        clusterBus.subscribe(TOPIC, Long.class, eventsWithWaitlist::add);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadWaitlists() {
+        reconcile();
+        log.info("Waitlist: {} events with people waiting", eventsWithWaitlist.size());
+    }
+
+    /*
+        Volta a ler da BD quem está à espera e, no líder, põe na fila os lugares livres desses
+        eventos (libertados durante um reinício ou sem passar por este nó)
+    */
+    @Scheduled(fixedDelayString = "${ems.booking.waitlist.reconcile-interval-ms:30000}",
+            initialDelayString = "${ems.booking.waitlist.reconcile-interval-ms:30000}")
+    public void reconcile() {
+        Set<Long> waiting = new HashSet<>(waitlistRepository.findEventIdsWithWaiting());
+        eventsWithWaitlist.addAll(waiting);
+        eventsWithWaitlist.removeIf(eventId -> !waiting.contains(eventId));
+        if (!leaderElection.isLeader()) {
+            return;
+        }
+        for (Long eventId : waiting) {
+            int limit = (int) Math.min(Integer.MAX_VALUE, waitlistRepository.countByEventIdAndStatus(eventId, WaitlistStatus.WAITING));
+            seatRepository.findAvailableIds(eventId, limit)
+                    .forEach(seatId -> enqueue(new FreedSeat(eventId, seatId)));
+        }
+    }
+
+    /**
+     * Entra na lista de espera de um evento esgotado (ou devolve a inscrição atual)
+     */
+    @Transactional
+    public WaitlistStatusResponse join(Long eventId, String username) {
+        WaitlistEntry current = waitlistRepository
+                .findFirstByEventIdAndUsernameAndStatusOrderByIdDesc(eventId, username, WaitlistStatus.WAITING)
+                .orElse(null);
+        if (current != null) {
+            return toResponse(current);
+        }
+        // Quem ainda tem o lugar da última promoção confirma-o (ou deixa-o expirar) antes de voltar à fila
+        waitlistRepository.findFirstByEventIdAndUsernameAndStatusOrderByIdDesc(eventId, username, WaitlistStatus.PROMOTED)
+                .filter(promoted -> holdIsLive(promoted, username))
+                .ifPresent(promoted -> {
+                    throw new RuntimeException("Já tens um lugar reservado pela lista de espera. Confirma-o antes de voltar a entrar");
+                });
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new RuntimeException("Evento não encontrado: " + eventId));
+        if (!Boolean.TRUE.equals(event.getHasSeating())) {
+            throw new RuntimeException("O evento " + eventId + " não tem lugares marcados");
+        }
+        if (seatCounterService.snapshot(eventId).available() > 0) {
+            throw new RuntimeException("Ainda há lugares disponíveis para este evento");
+        }
+        WaitlistEntry entry = waitlistRepository.save(WaitlistEntry.builder()
+                .eventId(eventId)
+                .username(username)
+                .status(WaitlistStatus.WAITING)
+                .build());
+        eventsWithWaitlist.add(eventId);
+        clusterBus.publish(TOPIC, eventId);
+        log.info("{} joined the waitlist of event {} (entry {})", username, eventId, entry.getId());
+        return toResponse(entry);
+    }
+
+    @Transactional
+    public WaitlistStatusResponse leave(Long eventId, String username) {
+        WaitlistEntry entry = waitlistRepository
+                .findFirstByEventIdAndUsernameAndStatusOrderByIdDesc(eventId, username, WaitlistStatus.WAITING)
+                .orElseThrow(() -> new RuntimeException("Não estás na lista de espera deste evento"));
+        entry.setStatus(WaitlistStatus.LEFT);
+        return toResponse(waitlistRepository.save(entry));
+    }
+
+    @Transactional(readOnly = true)
+    public WaitlistStatusResponse status(Long eventId, String username) {
+        return waitlistRepository.findFirstByEventIdAndUsernameOrderByIdDesc(eventId, username)
+                .map(this::toResponse)
+                .orElseGet(() -> WaitlistStatusResponse.builder()
+                        .eventId(eventId)
+                        .waiting(waitlistRepository.countByEventIdAndStatus(eventId, WaitlistStatus.WAITING))
+                        .build());
+    }
+
+    @EventListener
+    public void onSeatsChanged(SeatsChangedEvent change) {
+        // Cada assento é promovido só pelo nó que o libertou
+        if (change.isRemote() || change.getEventId() == null || !eventsWithWaitlist.contains(change.getEventId())) {
+            return;
+        }
+        for (Seat seat : change.getSeats()) {
+            if (seat.getStatus() == SeatStatus.AVAILABLE) {
+                enqueue(new FreedSeat(change.getEventId(), seat.getId()));
+            }
+        }
+    }
+
+    /*
+        Cada assento libertado vai para a cabeça da fila do seu evento
+    */
+    @Scheduled(fixedDelayString = "${ems.booking.waitlist.promote-interval-ms:200}")
+    public void promoteFreedSeats() {
+        FreedSeat next;
+        while ((next = freed.poll()) != null) {
+            queued.remove(next);
+            try {
+                // É o promote que vê se a fila está vazia: o evento continua inscrito e os lugares libertados entretanto são recolhidos
+                WaitlistPromoter.Promotion promotion = promoter.promote(next.eventId(), next.seatId(),
+                        LocalDateTime.now().plusMinutes(holdMinutes));
+                if (promotion == null) {
+                    log.debug("Waitlist of event {} is empty", next.eventId());
+                    continue;
+                }
+                Seat seat = promotion.seat();
+                seatChangeRelay.publish(next.eventId(), List.of(seat));
+                seatNotificationService.notifySeatUpdate(seat, "Assento reservado para a lista de espera");
+                log.info("Seat {} of event {} held for waitlisted {} (entry {})", seat.getId(), next.eventId(),
+                        promotion.entry().getUsername(), promotion.entry().getId());
+            } catch (RuntimeException e) {
+                // Alguém bloqueou o assento primeiro: a inscrição fica à cabeça para o próximo
+                log.debug("Seat {} not promoted: {}", next.seatId(), e.getMessage());
+            }
+        }
+    }
+
+    // ====== Auxiliares ======
+
+    // Cada lugar entra uma vez na fila, venha do evento de mudança ou da reconciliação
+    private void enqueue(FreedSeat seat) {
+        if (queued.add(seat)) {
+            freed.add(seat);
+        }
+    }
+
+    private boolean holdIsLive(WaitlistEntry promoted, String username) {
+        return promoted.getSeatId() != null && seatRepository.findById(promoted.getSeatId())
+                .filter(seat -> seat.getStatus() == SeatStatus.LOCKED && username.equals(seat.getLockedBy())
+                        && !seat.isLockExpired())
+                .isPresent();
+    }
+
+    private WaitlistStatusResponse toResponse(WaitlistEntry entry) {
+        boolean waiting = entry.getStatus() == WaitlistStatus.WAITING;
+        return WaitlistStatusResponse.builder()
+                .eventId(entry.getEventId())
+                .entryId(entry.getId())
+                .status(entry.getStatus())
+                .position(waiting ? waitlistRepository.countAhead(entry.getEventId(), entry.getId()) + 1 : null)
+                .waiting(waitlistRepository.countByEventIdAndStatus(entry.getEventId(), WaitlistStatus.WAITING))
+                .seatId(entry.getSeatId())
+                .build();
+    }
+}
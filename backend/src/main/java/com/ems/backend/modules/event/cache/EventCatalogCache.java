@@ -0,0 +1,182 @@
+package com.ems.backend.modules.event.cache;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ems.backend.core.cache.BoundedCache;
+import com.ems.backend.core.cache.CacheInvalidation;
+import com.ems.backend.core.cache.CacheInvalidationChannel;
+import com.ems.backend.modules.event.dtos.EventCatalogFilter;
+import com.ems.backend.modules.event.dtos.EventCatalogPage;
+import com.ems.backend.modules.event.dtos.EventResponse;
+import com.ems.backend.modules.event.dtos.EventSummaryResponse;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Read-through cache of the public catalog pages and of single published events.
+ * A change to an event evicts that event and only the catalog pages whose
+ * keyset range covers its position (before or after the change): keyset pages
+ * further away keep the same rows. Evictions run after the writing
+ * transaction commits and are broadcast to the other nodes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventCatalogCache {
+
+    public static final String REGION = "events";
+
+    /**
+     * Keyset position of an event in the catalog order (startTime, id).
+     */
+    public record Position(LocalDateTime startTime, long id) implements Comparable<Position> {
+
+        private static final Comparator<Position> ORDER =
+                Comparator.comparing(Position::startTime).thenComparingLong(Position::id);
+
+        @Override
+        public int compareTo(Position other) {
+            return ORDER.compare(this, other);
+        }
+
+        static Position parse(String key) {
+            String[] parts = key.split("\\|");
+            return new Position(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        }
+
+        String key() {
+            return startTime + "|" + id;
+        }
+    }
+
+    private record PageKey(EventCatalogFilter filter, Position after, int limit) {
+    }
+
+    // A cached page covers the positions in (after, last]; the final page is open-ended
+    private record CachedPage(EventCatalogPage page, Position last) {
+    }
+
+    private final CacheInvalidationChannel invalidationChannel;
+
+    @Value("${ems.cache.catalog.max-pages:1000}")
+    private int maxPages;
+
+    @Value("${ems.cache.catalog.ttl-seconds:60}")
+    private long pageTtlSeconds;
+
+    @Value("${ems.cache.events.max-size:10000}")
+    private int maxEvents;
+
+    @Value("${ems.cache.events.ttl-seconds:300}")
+    private long eventTtlSeconds;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    // Bumped by every eviction; backs the ETag of the catalog
+    private final AtomicLong version = new AtomicLong();
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private BoundedCache<PageKey, CachedPage> pages;
+    private BoundedCache<Long, EventResponse> events;
+
+    @PostConstruct
+    void init() {
+        pages = new BoundedCache<>("catalog-pages", maxPages, pageTtlSeconds * 1000);
+        events = new BoundedCache<>("events", maxEvents, eventTtlSeconds * 1000);
+        invalidationChannel.subscribe(this::onInvalidation);
+    }
+
+    public EventCatalogPage getPage(EventCatalogFilter filter, Position after, int limit,
+            Supplier<EventCatalogPage> loader) {
+        return pages.get(new PageKey(filter, after, limit), key -> {
+            EventCatalogPage page = loader.get();
+            List<EventSummaryResponse> items = page.getItems();
+            EventSummaryResponse last = page.getNextCursor() != null && !items.isEmpty()
+                    ? items.get(items.size() - 1)
+                    : null;
+            return new CachedPage(page, last != null ? new Position(last.getStartTime(), last.getId()) : null);
+        }).page();
+    }
+
+    public EventResponse getEvent(Long eventId, Supplier<EventResponse> loader) {
+        return events.get(eventId, id -> loader.get());
+    }
+
+    /**
+     * Evicts an event once the current transaction commits (immediately if
+     * there is none), on this node and, through the channel, on the others.
+     * {@code startTimes} are the event's start times before and after the change.
+     */
+    public void evictAfterCommit(Long eventId, LocalDateTime... startTimes) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (LocalDateTime startTime : startTimes) {
+            if (startTime != null) {
+                keys.add(new Position(startTime, eventId).key());
+            }
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+        List<String> positions = new ArrayList<>(keys);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(positions);
+                }
+            });
+        } else {
+            evict(positions);
+        }
+    }
+
+    /*
+        Read before loading a page: the body is then at least as new as the tag
+    */
+    public String catalogEtag() {
+        return "\"catalog-" + epoch + "-" + version.get() + "\"";
+    }
+
+    public List<BoundedCache.Stats> stats() {
+        return List.of(pages.stats(), events.stats());
+    }
+
+    // ====== Auxiliares ======
+
+    private void evict(List<String> positions) {
+        evictLocally(positions);
+        invalidationChannel.publish(new CacheInvalidation(nodeId, REGION, positions));
+    }
+
+    private void onInvalidation(CacheInvalidation invalidation) {
+        // Our own broadcasts were already applied before publishing
+        if (REGION.equals(invalidation.region()) && !nodeId.equals(invalidation.origin())) {
+            evictLocally(invalidation.keys());
+        }
+    }
+
+    private void evictLocally(List<String> keys) {
+        List<Position> positions = keys.stream().map(Position::parse).toList();
+        positions.stream().map(Position::id).distinct().forEach(events::invalidate);
+        int evictedPages = pages.invalidateIf((key, page) -> positions.stream().anyMatch(
+                position -> (key.after() == null || position.compareTo(key.after()) > 0)
+                        && (page.last() == null || position.compareTo(page.last()) <= 0)));
+        // Only after the eviction: a reader holding the new tag cannot get an old page
+        version.incrementAndGet();
+        log.debug("Evicted event {} and {} catalog pages", positions.get(0).id(), evictedPages);
+    }
+}
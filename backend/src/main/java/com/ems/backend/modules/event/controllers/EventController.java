@@ -1,24 +1,41 @@
 package com.ems.backend.modules.event.controllers;
 
 import java.security.Principal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.ems.backend.modules.booking.changes.SeatChangeLog;
+import com.ems.backend.modules.booking.encoding.BinarySeatMap;
 import com.ems.backend.modules.booking.entities.Seat;
+import com.ems.backend.modules.booking.queue.QueueAdmissionException;
+import com.ems.backend.modules.booking.queue.WaitingRoomService;
+import com.ems.backend.modules.event.cache.EventCatalogCache;
 import com.ems.backend.modules.event.dtos.CreateEventRequest;
+import com.ems.backend.modules.event.dtos.EventCatalogFilter;
 import com.ems.backend.modules.event.dtos.EventResponse;
 import com.ems.backend.modules.event.dtos.EventStatsResponse;
 import com.ems.backend.modules.event.dtos.OrganizerDashboardStats;
-import com.ems.backend.modules.event.dtos.ParticipantResponse;
+import com.ems.backend.modules.event.export.ParticipantExporter;
 import com.ems.backend.modules.event.services.EventService;
 import com.ems.backend.modules.notification.OrganizerNotificationService;
 
@@ -33,6 +50,9 @@ public class EventController {
 
     private final EventService eventService;
     private final OrganizerNotificationService notificationService;
+    private final WaitingRoomService waitingRoomService;
+    private final SeatChangeLog seatChangeLog;
+    private final EventCatalogCache catalogCache;
 
     /*
         Creates a new event (draft)
@@ -111,31 +131,192 @@ public class EventController {
     }
 
     /*
-        Gets the list of participants for an event
+        Gets a page of the participants of an event (cursor from the previous page)
     */
     @GetMapping("/{eventId}/participants")
     @PreAuthorize("hasAnyRole('ORGANIZER', 'ADMIN')")
-    public ResponseEntity<List<ParticipantResponse>> getEventParticipants(
+    public ResponseEntity<?> getEventParticipants(
             @PathVariable Long eventId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "50") int size,
             Principal principal) {
-        return ResponseEntity.ok(eventService.getEventParticipants(eventId, principal.getName()));
+        try {
+            return ResponseEntity.ok(eventService.getEventParticipants(eventId, principal.getName(), cursor, size));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     /*
-        Gets the seats of an event
+        Streams every participant of an event as CSV or NDJSON (?format=csv|ndjson)
+    */
+    @GetMapping("/{eventId}/participants/export")
+    @PreAuthorize("hasAnyRole('ORGANIZER', 'ADMIN')")
+    public ResponseEntity<?> exportEventParticipants(
+            @PathVariable Long eventId,
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            Principal principal) {
+        ParticipantExporter.Format exportFormat;
+        try {
+            exportFormat = ParticipantExporter.Format.of(format);
+            // Checked up front: once the body streams the status is already sent
+            eventService.checkOrganizerAccess(eventId, principal.getName());
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        StreamingResponseBody body = out -> eventService.exportParticipants(eventId, exportFormat, out);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(exportFormat.mediaType() + ";charset=UTF-8"))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("participants-" + eventId + "." + exportFormat.extension())
+                .build().toString())
+            .body(body);
+    }
+
+    /*
+        Gets the seats of an event (304 from memory if the client's ETag is current).
+        With ?since=<sequence> only the seats changed after that position
     */
     @GetMapping("/{eventId}/seats")
-    public ResponseEntity<List<Seat>> getEventSeats(
-            @PathVariable Long eventId) {
-        return ResponseEntity.ok(eventService.getEventSeats(eventId));
+    public ResponseEntity<?> getEventSeats(
+            @PathVariable Long eventId,
+            @RequestParam(value = "since", required = false) Long since,
+            @RequestHeader(value = "X-Queue-Token", required = false) String queueToken,
+            WebRequest request) {
+        try {
+            // While the on-sale is queued only admitted visitors load the seat map
+            waitingRoomService.checkAdmission(eventId, queueToken, null);
+        } catch (QueueAdmissionException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        }
+        if (since != null) {
+            return ResponseEntity.ok(eventService.getEventSeatsSince(eventId, since));
+        }
+        String etag = seatChangeLog.etag(eventId);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        List<Seat> seats = eventService.getEventSeats(eventId);
+        // Same URL also serves the binary map
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).varyBy("Accept").body(seats);
     }
 
     /*
-        Gets all published events
+        Same seats as the compact binary map (Accept: application/vnd.ems.seatmap)
+    */
+    @GetMapping(value = "/{eventId}/seats", produces = BinarySeatMap.MEDIA_TYPE)
+    public ResponseEntity<?> getEventSeatsBinary(
+            @PathVariable Long eventId,
+            @RequestHeader(value = "X-Queue-Token", required = false) String queueToken,
+            WebRequest request,
+            Principal principal) {
+        try {
+            waitingRoomService.checkAdmission(eventId, queueToken, null);
+        } catch (QueueAdmissionException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).contentType(MediaType.TEXT_PLAIN).body(e.getMessage());
+        }
+        // The viewer's own locks are part of the body, so the tag is per viewer
+        String viewer = principal != null ? principal.getName() : null;
+        String etag = seatChangeLog.etag(eventId, viewer != null ? "bin-" + Integer.toHexString(viewer.hashCode()) : "bin");
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        try {
+            byte[] body = eventService.getEventSeatsBinary(eventId, viewer);
+            return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .varyBy("Accept")
+                .contentType(MediaType.parseMediaType(BinarySeatMap.MEDIA_TYPE))
+                .body(body);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).contentType(MediaType.TEXT_PLAIN).body(e.getMessage());
+        }
+    }
+
+    /*
+        Opens or closes the waiting room of an event
+    */
+    @PostMapping("/{eventId}/queue/{action:open|close}")
+    @PreAuthorize("hasAnyRole('ORGANIZER', 'ADMIN')")
+    public ResponseEntity<?> setWaitingRoom(
+            @PathVariable Long eventId,
+            @PathVariable String action,
+            Principal principal) {
+        boolean open = eventService.setWaitingRoom(eventId, "open".equals(action), principal.getName());
+        return ResponseEntity.ok(Map.of("eventId", eventId, "open", open));
+    }
+
+    /*
+        Full-text search over published events (title, description, category, location)
+    */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchEvents(
+            @RequestParam("q") String text,
+            @RequestParam(value = "category", required = false) String category,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "free", required = false) Boolean free,
+            @RequestParam(value = "hasSeating", required = false) Boolean hasSeating,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        EventCatalogFilter filter = EventCatalogFilter.builder()
+            .category(category)
+            .from(from)
+            .to(to)
+            .free(free)
+            .hasSeating(hasSeating)
+            .build();
+        try {
+            return ResponseEntity.ok(eventService.searchEvents(text, filter, cursor, size));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /*
+        Gets a page of published events (filters + cursor from the previous page)
     */
     @GetMapping
-    public ResponseEntity<List<EventResponse>> getPublishedEvents() {
-        return ResponseEntity.ok(eventService.getPublishedEvents());
+    public ResponseEntity<?> getPublishedEvents(
+            @RequestParam(value = "category", required = false) String category,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "free", required = false) Boolean free,
+            @RequestParam(value = "hasSeating", required = false) Boolean hasSeating,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            WebRequest request) {
+        // The catalog version covers every page and filter
+        String etag = catalogCache.catalogEtag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        EventCatalogFilter filter = EventCatalogFilter.builder()
+            .category(category)
+            .from(from)
+            .to(to)
+            .free(free)
+            .hasSeating(hasSeating)
+            .build();
+        try {
+            return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache())
+                .body(eventService.getCatalogPage(filter, cursor, size));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /*
+        Gets a published event by ID
+    */
+    @GetMapping("/{eventId}")
+    public ResponseEntity<?> getEvent(@PathVariable Long eventId) {
+        try {
+            return ResponseEntity.ok(eventService.getPublishedEvent(eventId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
     }
 
     /*
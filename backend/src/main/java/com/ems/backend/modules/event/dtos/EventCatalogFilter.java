@@ -0,0 +1,23 @@
+package com.ems.backend.modules.event.dtos;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+    Optional catalog filters; null = not filtered
+*/
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventCatalogFilter {
+    private String category;
+    private LocalDateTime from;  // startTime >= from
+    private LocalDateTime to;    // startTime < to
+    private Boolean free;        // true = ticketPrice 0, false = paid
+    private Boolean hasSeating;
+}
@@ -0,0 +1,18 @@
+package com.ems.backend.modules.event.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventSearchHit {
+    private EventSummaryResponse event;
+    private Float rank;
+    // HTML-escaped text with the matched terms wrapped in <mark>...</mark>
+    private String highlightedTitle;
+    private String highlightedDescription;
+}
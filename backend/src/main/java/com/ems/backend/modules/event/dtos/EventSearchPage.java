@@ -0,0 +1,17 @@
+package com.ems.backend.modules.event.dtos;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventSearchPage {
+    private List<EventSearchHit> items; // most relevant first
+    private String nextCursor;          // null on the last page
+}
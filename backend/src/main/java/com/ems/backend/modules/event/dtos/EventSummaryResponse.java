@@ -0,0 +1,35 @@
+package com.ems.backend.modules.event.dtos;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+    List-view columns of an event (catalog). Built directly by the catalog
+    query, so the field order must match its constructor expression
+*/
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventSummaryResponse {
+    private Long id;
+    private String title;
+    private String description; // first characters only
+    private String category;
+    private String coverImage;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private String location;
+    private String onlineLink;
+    private Boolean hasSeating;
+    private Integer capacity;
+    private Integer seatRows;
+    private Integer seatColumns;
+    private BigDecimal ticketPrice;
+    private String organizerName;
+}
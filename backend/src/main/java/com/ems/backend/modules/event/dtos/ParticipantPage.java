@@ -0,0 +1,18 @@
+package com.ems.backend.modules.event.dtos;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParticipantPage {
+    private List<ParticipantResponse> items;
+    private long total;         // booked seats of the event, all pages
+    private String nextCursor;  // null on the last page
+}
@@ -12,6 +12,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
@@ -23,7 +24,13 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "events")
+// Catalog keyset indexes: published events ordered by (start_time, id), one per filter
+@Table(name = "events", indexes = {
+    @Index(name = "idx_events_status_start", columnList = "status, start_time, id"),
+    @Index(name = "idx_events_status_category_start", columnList = "status, category, start_time, id"),
+    @Index(name = "idx_events_status_seating_start", columnList = "status, has_seating, start_time, id"),
+    @Index(name = "idx_events_status_price_start", columnList = "status, ticket_price, start_time, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -81,6 +88,12 @@ public class Event {
     private Integer seatRows;
     private Integer seatColumns;
 
+    // How the seat grid is stored (see SeatMaterializer)
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private SeatStorage seatStorage = SeatStorage.EAGER;
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -0,0 +1,7 @@
+package com.ems.backend.modules.event.entities;
+
+// EAGER: one seats row per seat from creation; LAZY: rows only for seats that were ever touched
+public enum SeatStorage {
+    EAGER,
+    LAZY
+}
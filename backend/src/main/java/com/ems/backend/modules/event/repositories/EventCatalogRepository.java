@@ -0,0 +1,25 @@
+package com.ems.backend.modules.event.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.ems.backend.modules.event.dtos.EventCatalogFilter;
+import com.ems.backend.modules.event.dtos.EventSearchHit;
+import com.ems.backend.modules.event.dtos.EventSummaryResponse;
+
+public interface EventCatalogRepository {
+
+    /*
+        Published events after the (afterStartTime, afterId) keyset position,
+        ordered by startTime then id; null position = first page
+    */
+    List<EventSummaryResponse> findCatalogPage(EventCatalogFilter filter,
+            LocalDateTime afterStartTime, Long afterId, int limit);
+
+    /*
+        Published events matching the full-text query, most relevant first
+        (rank desc, id), after the (afterRank, afterId) keyset position
+    */
+    List<EventSearchHit> searchPage(String text, EventCatalogFilter filter,
+            Float afterRank, Long afterId, int limit);
+}
@@ -0,0 +1,188 @@
+package com.ems.backend.modules.event.repositories;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.web.util.HtmlUtils;
+
+import com.ems.backend.modules.event.dtos.EventCatalogFilter;
+import com.ems.backend.modules.event.dtos.EventSearchHit;
+import com.ems.backend.modules.event.dtos.EventSummaryResponse;
+import com.ems.backend.modules.event.entities.EventStatus;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+
+/*
+    The query only contains the predicates of the filters in use, so each
+    combination gets its own plan on the matching (status, ..., start_time, id)
+    index instead of one generic plan full of "param IS NULL OR ..." branches
+*/
+public class EventCatalogRepositoryImpl implements EventCatalogRepository {
+
+    private static final int DESCRIPTION_PREVIEW = 200;
+
+    // Same text search configuration as the search_vector column (V2__event_search.sql)
+    private static final String TS_CONFIG = "'portuguese'";
+    private static final String RANK = "ts_rank_cd(e.search_vector, q.query)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<EventSummaryResponse> findCatalogPage(EventCatalogFilter filter,
+            LocalDateTime afterStartTime, Long afterId, int limit) {
+        StringBuilder jpql = new StringBuilder(
+                "SELECT new com.ems.backend.modules.event.dtos.EventSummaryResponse("
+                        + "e.id, e.title, SUBSTRING(e.description, 1, " + DESCRIPTION_PREVIEW + "), e.category, "
+                        + "e.coverImage, e.startTime, e.endTime, e.location, e.onlineLink, e.hasSeating, "
+                        + "e.capacity, e.seatRows, e.seatColumns, e.ticketPrice, o.fullName) "
+                        + "FROM Event e LEFT JOIN e.organizer o WHERE e.status = :status");
+        Map<String, Object> params = new HashMap<>();
+        params.put("status", EventStatus.PUBLISHED);
+
+        if (filter.getCategory() != null) {
+            jpql.append(" AND e.category = :category");
+            params.put("category", filter.getCategory());
+        }
+        if (filter.getHasSeating() != null) {
+            jpql.append(" AND e.hasSeating = :hasSeating");
+            params.put("hasSeating", filter.getHasSeating());
+        }
+        if (filter.getFree() != null) {
+            jpql.append(filter.getFree()
+                    ? " AND (e.ticketPrice IS NULL OR e.ticketPrice = :zero)"
+                    : " AND e.ticketPrice > :zero");
+            params.put("zero", BigDecimal.ZERO);
+        }
+        if (filter.getFrom() != null) {
+            jpql.append(" AND e.startTime >= :from");
+            params.put("from", filter.getFrom());
+        }
+        if (filter.getTo() != null) {
+            jpql.append(" AND e.startTime < :to");
+            params.put("to", filter.getTo());
+        }
+        if (afterStartTime != null && afterId != null) {
+            jpql.append(" AND (e.startTime > :afterStart OR (e.startTime = :afterStart AND e.id > :afterId))");
+            params.put("afterStart", afterStartTime);
+            params.put("afterId", afterId);
+        }
+        jpql.append(" ORDER BY e.startTime, e.id");
+
+        TypedQuery<EventSummaryResponse> query = entityManager.createQuery(jpql.toString(), EventSummaryResponse.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    /*
+        Matching rows come from the GIN index; ranking sorts the matches and
+        ts_headline only runs on the rows of the returned page
+    */
+    @Override
+    public List<EventSearchHit> searchPage(String text, EventCatalogFilter filter,
+            Float afterRank, Long afterId, int limit) {
+        StringBuilder where = new StringBuilder("e.status = 'PUBLISHED' AND e.search_vector @@ q.query");
+        Map<String, Object> params = new HashMap<>();
+        params.put("text", text);
+
+        if (filter.getCategory() != null) {
+            where.append(" AND e.category = :category");
+            params.put("category", filter.getCategory());
+        }
+        if (filter.getHasSeating() != null) {
+            where.append(" AND e.has_seating = :hasSeating");
+            params.put("hasSeating", filter.getHasSeating());
+        }
+        if (filter.getFree() != null) {
+            where.append(filter.getFree()
+                    ? " AND (e.ticket_price IS NULL OR e.ticket_price = 0)"
+                    : " AND e.ticket_price > 0");
+        }
+        if (filter.getFrom() != null) {
+            where.append(" AND e.start_time >= :from");
+            params.put("from", Timestamp.valueOf(filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            where.append(" AND e.start_time < :to");
+            params.put("to", Timestamp.valueOf(filter.getTo()));
+        }
+        if (afterRank != null && afterId != null) {
+            where.append(" AND (" + RANK + " < CAST(:afterRank AS real) OR (" + RANK
+                    + " = CAST(:afterRank AS real) AND e.id > :afterId))");
+            params.put("afterRank", afterRank);
+            params.put("afterId", afterId);
+        }
+
+        String sql = "WITH q AS (SELECT websearch_to_tsquery(" + TS_CONFIG + ", :text) AS query) "
+                + "SELECT p.id, p.title, left(p.description, " + DESCRIPTION_PREVIEW + "), p.category, p.cover_image, "
+                + "p.start_time, p.end_time, p.location, p.online_link, p.has_seating, p.capacity, p.seat_rows, "
+                + "p.seat_columns, p.ticket_price, p.organizer_name, p.rank, "
+                + "ts_headline(" + TS_CONFIG + ", p.title, q.query, 'StartSel=<mark>, StopSel=</mark>, HighlightAll=true'), "
+                + "ts_headline(" + TS_CONFIG + ", coalesce(p.description, ''), q.query, "
+                + "'StartSel=<mark>, StopSel=</mark>, MinWords=15, MaxWords=35, MaxFragments=2') "
+                + "FROM (SELECT e.id, e.title, e.description, e.category, e.cover_image, e.start_time, e.end_time, "
+                + "e.location, e.online_link, e.has_seating, e.capacity, e.seat_rows, e.seat_columns, e.ticket_price, "
+                + "u.full_name AS organizer_name, " + RANK + " AS rank "
+                + "FROM events e CROSS JOIN q LEFT JOIN users u ON u.id = e.organizer_id "
+                + "WHERE " + where + " ORDER BY rank DESC, e.id LIMIT :limit) p "
+                + "CROSS JOIN q ORDER BY p.rank DESC, p.id";
+
+        Query query = entityManager.createNativeQuery(sql);
+        params.forEach(query::setParameter);
+        query.setParameter("limit", limit);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        return rows.stream().map(EventCatalogRepositoryImpl::toHit).toList();
+    }
+
+    private static EventSearchHit toHit(Object[] row) {
+        EventSummaryResponse event = EventSummaryResponse.builder()
+                .id(((Number) row[0]).longValue())
+                .title((String) row[1])
+                .description((String) row[2])
+                .category((String) row[3])
+                .coverImage((String) row[4])
+                .startTime(toLocalDateTime(row[5]))
+                .endTime(toLocalDateTime(row[6]))
+                .location((String) row[7])
+                .onlineLink((String) row[8])
+                .hasSeating((Boolean) row[9])
+                .capacity(row[10] != null ? ((Number) row[10]).intValue() : null)
+                .seatRows(row[11] != null ? ((Number) row[11]).intValue() : null)
+                .seatColumns(row[12] != null ? ((Number) row[12]).intValue() : null)
+                .ticketPrice((BigDecimal) row[13])
+                .organizerName((String) row[14])
+                .build();
+        return EventSearchHit.builder()
+                .event(event)
+                .rank(((Number) row[15]).floatValue())
+                .highlightedTitle(highlight((String) row[16]))
+                .highlightedDescription(highlight((String) row[17]))
+                .build();
+    }
+
+    // Escapes the event text and keeps only the <mark> tags added by ts_headline
+    private static String highlight(String headline) {
+        if (headline == null) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(headline)
+                .replace("&lt;mark&gt;", "<mark>")
+                .replace("&lt;/mark&gt;", "</mark>");
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+}
@@ -2,15 +2,17 @@ package com.ems.backend.modules.event.repositories;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.ems.backend.modules.event.entities.Event;
 import com.ems.backend.modules.event.entities.EventStatus;
 
-public interface EventRepository extends JpaRepository<Event, Long> {
+public interface EventRepository extends JpaRepository<Event, Long>, EventCatalogRepository {
     // Find events by organizer
     List<Event> findByOrganizerId(Long organizerId);
 
@@ -23,6 +25,10 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     // Find published events
     List<Event> findByStatus(EventStatus status);
 
+    // Event with its organizer, only if it has the given status (public event page)
+    @Query("SELECT e FROM Event e LEFT JOIN FETCH e.organizer WHERE e.id = :id AND e.status = :status")
+    Optional<Event> findWithOrganizerByIdAndStatus(@Param("id") Long id, @Param("status") EventStatus status);
+
     // Admin queries
     @Query("SELECT e.status, COUNT(e) FROM Event e GROUP BY e.status")
     List<Object[]> countGroupedByStatus();
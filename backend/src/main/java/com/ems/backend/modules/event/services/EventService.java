@@ -1,29 +1,57 @@
 package com.ems.backend.modules.event.services;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import com.ems.backend.core.cluster.ClusterBus;
 import com.ems.backend.modules.auth.entities.User;
 import com.ems.backend.modules.auth.repositories.UserRepository;
+import com.ems.backend.modules.booking.changes.SeatChangeLog;
+import com.ems.backend.modules.booking.counters.SeatCounterService;
+import com.ems.backend.modules.booking.counters.SeatCounters;
+import com.ems.backend.modules.booking.dtos.SeatMapDeltaResponse;
+import com.ems.backend.modules.booking.encoding.BinarySeatMap;
+import com.ems.backend.modules.booking.entities.Booking;
 import com.ems.backend.modules.booking.entities.Seat;
-import com.ems.backend.modules.booking.entities.SeatStatus;
-import com.ems.backend.modules.booking.repositories.SeatRepository;
+import com.ems.backend.modules.booking.ga.GaTicketService;
+import com.ems.backend.modules.booking.queue.WaitingRoomService;
+import com.ems.backend.modules.booking.repositories.BookingRepository;
+import com.ems.backend.modules.booking.services.SeatBulkWriter;
+import com.ems.backend.modules.booking.services.SeatMaterializer;
+import com.ems.backend.modules.booking.services.SeatTransitions;
+import com.ems.backend.modules.event.cache.EventCatalogCache;
 import com.ems.backend.modules.event.dtos.CreateEventRequest;
+import com.ems.backend.modules.event.dtos.EventCatalogFilter;
+import com.ems.backend.modules.event.dtos.EventCatalogPage;
+import com.ems.backend.modules.event.dtos.EventSearchHit;
+import com.ems.backend.modules.event.dtos.EventSearchPage;
 import com.ems.backend.modules.event.dtos.EventResponse;
 import com.ems.backend.modules.event.dtos.EventStatsResponse;
+import com.ems.backend.modules.event.dtos.EventSummaryResponse;
 import com.ems.backend.modules.event.dtos.OrganizerDashboardStats;
+import com.ems.backend.modules.event.dtos.ParticipantPage;
 import com.ems.backend.modules.event.dtos.ParticipantResponse;
 import com.ems.backend.modules.event.entities.Event;
 import com.ems.backend.modules.event.entities.EventStatus;
+import com.ems.backend.modules.event.entities.SeatStorage;
+import com.ems.backend.modules.event.export.ParticipantExporter;
 import com.ems.backend.modules.event.repositories.EventRepository;
 import com.ems.backend.modules.notification.OrganizerNotificationService;
 
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -32,10 +60,26 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class EventService {
 
+    // Event id of a cancelled event, on every node (per-event seat state can be dropped)
+    public static final String CLOSED_TOPIC = "event-closed";
+
     private final EventRepository eventRepository;
-    private final SeatRepository seatRepository;
+    private final SeatBulkWriter seatBulkWriter;
+    private final SeatMaterializer seatMaterializer;
+    private final BookingRepository bookingRepository;
+    private final SeatTransitions seatTransitions;
+    private final WaitingRoomService waitingRoomService;
+    private final SeatCounterService seatCounterService;
     private final UserRepository userRepository;
     private final OrganizerNotificationService notificationService;
+    private final EventCatalogCache catalogCache;
+    private final SeatChangeLog seatChangeLog;
+    private final GaTicketService gaTicketService;
+    private final ParticipantExporter participantExporter;
+    private final ClusterBus clusterBus;
+
+    private static final int MAX_CATALOG_PAGE_SIZE = 100;
+    private static final int MAX_PARTICIPANT_PAGE_SIZE = 200;
 
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
 
@@ -47,6 +91,8 @@ public class EventService {
         User organizer = userRepository.findByUsername(organizerUsername)
                 .orElseThrow(() -> new RuntimeException("Organizer not found"));
 
+        boolean seated = !Boolean.FALSE.equals(request.getHasSeating())
+                && request.getSeatRows() != null && request.getSeatColumns() != null;
         Event event = Event.builder()
                 .title(request.getTitle())
                 .description(request.getDescription())
@@ -60,6 +106,7 @@ public class EventService {
                 .capacity(request.getCapacity())
                 .seatRows(request.getSeatRows())
                 .seatColumns(request.getSeatColumns())
+                .seatStorage(seated ? seatMaterializer.storageForNewEvent() : SeatStorage.EAGER)
                 .ticketPrice(request.getTicketPrice() != null ? request.getTicketPrice() : BigDecimal.ZERO)
                 .status(EventStatus.DRAFT)
                 .organizer(organizer)
@@ -67,34 +114,47 @@ public class EventService {
         Event savedEvent = eventRepository.save(event);
 
         // Generate seats if the event has booked seatings
-        if(Boolean.TRUE.equals(event.getHasSeating()) &&
-            request.getSeatRows() != null && request.getSeatColumns() != null) {
+        if (seated) {
             generateSeats(savedEvent, request.getSeatRows(), request.getSeatColumns());
+        } else if (Boolean.FALSE.equals(event.getHasSeating()) && request.getCapacity() != null && request.getCapacity() > 0) {
+            // Free entry: the capacity is split into the GA inventory shards
+            gaTicketService.initialize(savedEvent.getId(), request.getCapacity());
         }
         log.info("✅ Event created with ID: {} by organizer: {}", savedEvent.getId(), organizerUsername);
         return toResponse(savedEvent);
    }
 
    /*
-        Generate seats automatically
+        Generate seats automatically: one COPY for the whole grid, or
+        nothing at all for lazily stored seats (rows appear on first hold)
    */
     private void generateSeats(Event event, int rows, int columns) {
-        // Implementation for seat generation
-        List<Seat> seats = new ArrayList<>();
-        for (int r = 0; r < rows && r < 26; r++) {
-            char rowLetter = (char) ('A' + r);
-            for (int col = 1; col <= columns; col++) {
-                String seatNumber = "" + rowLetter + col;
-                Seat seat = Seat.builder()
-                        .event(event)
-                        .seatNumber(seatNumber)
-                        .status(SeatStatus.AVAILABLE)
-                        .build();
-                seats.add(seat);
-            }
+        int seats;
+        if (event.getSeatStorage() == SeatStorage.LAZY) {
+            seatBulkWriter.checkGrid(rows, columns);
+            seats = rows * columns;
+        } else {
+            seats = seatBulkWriter.insertGrid(event.getId(), rows, columns);
+        }
+        initializeCountersAfterCommit(event.getId(), seats);
+        log.info("✅ Generated {} seats ({}) for event ID {}", seats, event.getSeatStorage(), event.getId());
+    }
+
+    /*
+        The counters (memory + stored row) only exist once the event and its seats
+        are committed: a rolled-back creation leaves nothing behind
+    */
+    private void initializeCountersAfterCommit(Long eventId, int seats) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    seatCounterService.initialize(eventId, seats);
+                }
+            });
+        } else {
+            seatCounterService.initialize(eventId, seats);
         }
-        seatRepository.saveAll(seats);
-        log.info("✅ Generated {} seats for event ID {}", seats.size(), event.getId());
     }
 
     /*
@@ -109,6 +169,8 @@ public class EventService {
         event.setStatus(EventStatus.PUBLISHED);
         Event saved = eventRepository.save(event);
         log.info("✅ Event ID: {} published by organizer: {}", eventId, organizerUsername);
+        waitingRoomService.onEventPublished(eventId, saved.getCapacity());
+        catalogCache.evictAfterCommit(eventId, saved.getStartTime());
         return toResponse(saved);
     }
 
@@ -122,9 +184,25 @@ public class EventService {
         Event saved = eventRepository.save(event);
 
         log.info("✅ Event ID: {} cancelled by organizer: {}", eventId, organizerUsername);
+        waitingRoomService.close(eventId);
+        clusterBus.publish(CLOSED_TOPIC, eventId);
+        catalogCache.evictAfterCommit(eventId, saved.getStartTime());
         return toResponse(saved);
     }
 
+    /*
+        Opens or closes the waiting room of an event (high-demand on-sales)
+    */
+    public boolean setWaitingRoom(Long eventId, boolean open, String organizerUsername) {
+        Event event = getEventForOrganizer(eventId, organizerUsername);
+        if (open) {
+            waitingRoomService.open(event.getId());
+        } else {
+            waitingRoomService.close(event.getId());
+        }
+        return waitingRoomService.isOpen(event.getId());
+    }
+
     /*
         Update event details
     */
@@ -158,6 +236,8 @@ public class EventService {
         if(request.getTicketPrice() != null) event.setTicketPrice(request.getTicketPrice());
 
         Event saved = eventRepository.save(event);
+        // Old and new position in the catalog order
+        catalogCache.evictAfterCommit(eventId, oldStartTime, saved.getStartTime());
 
         // Notify participants if schedule changed
         if(isScheduleChanged){
@@ -183,7 +263,7 @@ public class EventService {
             .orElseThrow(() -> new RuntimeException("Organizer not found"));
         return eventRepository.findByOrganizerId(organizer.getId())
             .stream()
-            .map(this::toResponse)
+            .map(EventService::toResponse)
             .collect(Collectors.toList());
     }
 
@@ -194,16 +274,12 @@ public class EventService {
     public EventStatsResponse getEventStats(Long eventId, String organizerUsername) {
         Event event = getEventForOrganizer(eventId, organizerUsername);
 
-        Long totalSeats = seatRepository.countByEventId(eventId);
-        Long bookedSeats = seatRepository.countByEventIdAndStatus(eventId, SeatStatus.BOOKED);
-        Long lockedSeats = seatRepository.countByEventIdAndStatus(eventId, SeatStatus.LOCKED);
-        Long availableSeats = seatRepository.countByEventIdAndStatus(eventId, SeatStatus.AVAILABLE);
-
-        //null protection
-        long total = totalSeats != null ? totalSeats : 0L;
-        long booked = bookedSeats != null ? bookedSeats : 0L;
-        long locked = lockedSeats != null ? lockedSeats : 0L;
-        long available = availableSeats != null ? availableSeats : 0L;
+        // Contadores mantidos a cada transição, sem COUNT na tabela seats
+        SeatCounters.Snapshot counts = seatCounterService.snapshot(eventId);
+        long total = counts.total();
+        long booked = counts.booked();
+        long locked = counts.locked();
+        long available = counts.available();
 
         double occupancyRate = total > 0 ? ((double) booked / total) * 100 : 0;
         BigDecimal ticketPrice = event.getTicketPrice() != null ? event.getTicketPrice() : BigDecimal.ZERO;
@@ -237,12 +313,9 @@ public class EventService {
         BigDecimal totalRevenue = BigDecimal.ZERO;
 
         for (Event event : events){
-            Long booked = seatRepository.countByEventIdAndStatus(event.getId(), SeatStatus.BOOKED);
-            Long seats = seatRepository.countByEventId(event.getId());
-            
-            //null protection
-            long bookedCount = booked != null ? booked : 0L;
-            long seatsCount = seats != null ? seats : 0L;
+            SeatCounters.Snapshot counts = seatCounterService.snapshot(event.getId());
+            long bookedCount = counts.booked();
+            long seatsCount = counts.total();
             
             totalBookings += bookedCount;
             totalSeats += seatsCount;
@@ -264,46 +337,205 @@ public class EventService {
 
 
     /*
-        List of the participant's of an event
+        Page of the participants of an event, in booking order (cursor from the previous page)
     */
     @Transactional(readOnly = true)
-    public List<ParticipantResponse> getEventParticipants(Long eventId, String organizerUsername) {
+    public ParticipantPage getEventParticipants(Long eventId, String organizerUsername, String cursor, int size) {
         getEventForOrganizer(eventId, organizerUsername); // validate access
+        int limit = Math.max(1, Math.min(size, MAX_PARTICIPANT_PAGE_SIZE));
+        long afterId = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                afterId = Long.parseLong(decodeCursor(cursor)[1]);
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+        }
 
-        List<Seat> bookedSeats = seatRepository.findBookedSeatsByEventId(eventId);
-        return bookedSeats.stream()
-            .map(seat -> {
-                User user = userRepository.findByUsername(seat.getLockedBy()).orElse(null);
+        // Users and seats come joined from the ledger; one extra row tells whether there is a next page
+        List<Booking> bookings = bookingRepository.findParticipantPage(eventId, afterId, PageRequest.of(0, limit + 1));
+        String nextCursor = null;
+        if (bookings.size() > limit) {
+            bookings = bookings.subList(0, limit);
+            nextCursor = encodeCursor("b|" + bookings.get(limit - 1).getId());
+        }
+        List<ParticipantResponse> items = bookings.stream()
+            .map(booking -> {
+                User user = booking.getUser();
                 return ParticipantResponse.builder()
-                    .id(user != null ? user.getId() : null)
-                    .username(seat.getLockedBy())
-                    .fullName(user != null ? user.getFullName() : "N/A")
-                    .email(user != null ? user.getEmail() : "N/A")
-                    .seatNumber(seat.getSeatNumber())
+                    .id(user.getId())
+                    .username(user.getUsername())
+                    .fullName(user.getFullName())
+                    .email(user.getEmail())
+                    .seatNumber(booking.getSeat().getSeatNumber())
+                    .bookedAt(booking.getBookedAt())
                     .build();
             })
             .collect(Collectors.toList());
+        return ParticipantPage.builder()
+            .items(items)
+            .total(bookingRepository.countByEventId(eventId))
+            .nextCursor(nextCursor)
+            .build();
+    }
+
+    @Transactional(readOnly = true)
+    public void checkOrganizerAccess(Long eventId, String organizerUsername) {
+        getEventForOrganizer(eventId, organizerUsername);
     }
 
     /*
-        seats of an event
+        Every participant of an event written to `out` from a server-side cursor
+        (access checked by the caller first: this runs after the response started)
     */
     @Transactional(readOnly = true)
+    public long exportParticipants(Long eventId, ParticipantExporter.Format format, OutputStream out) throws IOException {
+        try (Stream<ParticipantResponse> participants = bookingRepository.streamParticipants(eventId)) {
+            long count = participantExporter.write(participants, format, out);
+            log.info("Exported {} participants of event {} as {}", count, eventId, format);
+            return count;
+        }
+    }
+
+    /*
+        seats of an event
+    */
     public List<Seat> getEventSeats(Long eventId){
-        return seatRepository.findByEventId(eventId);
+        return seatTransitions.findEventSeats(eventId);
     }
 
     /*
-        Gets all published events(public)
+        Seat map in the compact binary form (grid + 2-bit statuses). Only the
+        viewer's own locks are marked, never who holds the others
     */
     @Transactional(readOnly = true)
-    public List<EventResponse> getPublishedEvents() {
-        return eventRepository.findByStatus(EventStatus.PUBLISHED)
-            .stream()
-            .map(this::toResponse)
-            .collect(Collectors.toList());
+    public byte[] getEventSeatsBinary(Long eventId, String viewer) {
+        Event event = eventRepository.findById(eventId)
+            .orElseThrow(() -> new RuntimeException("Event not found"));
+        // Read before loading: the snapshot is at least as new as this position
+        long sequence = seatChangeLog.sequence(eventId);
+        List<Seat> seats = getEventSeats(eventId);
+
+        int rows = event.getSeatRows() != null ? event.getSeatRows() : 0;
+        int columns = event.getSeatColumns() != null ? event.getSeatColumns() : 0;
+        for (Seat seat : seats) {
+            // Grids without dimensions on the event: grow to fit the seats
+            if (seat.getRowIndex() != null && seat.getColumnIndex() != null) {
+                rows = Math.max(rows, seat.getRowIndex() + 1);
+                columns = Math.max(columns, seat.getColumnIndex() + 1);
+            }
+        }
+        return BinarySeatMap.encode(eventId, sequence, rows, columns, seats, viewer, true);
+    }
+
+    /*
+        Seats changed after `since` (ring buffer of recent changes), or the
+        full map if that position has already left the buffer
+    */
+    public SeatMapDeltaResponse getEventSeatsSince(Long eventId, long since) {
+        SeatChangeLog.Delta delta = seatChangeLog.since(eventId, since);
+        if (delta != null) {
+            return SeatMapDeltaResponse.builder()
+                .eventId(eventId)
+                .sequence(delta.sequence())
+                .full(false)
+                .changes(delta.changes())
+                .build();
+        }
+        // Read before loading: the snapshot is at least as new as this position
+        long sequence = seatChangeLog.sequence(eventId);
+        return SeatMapDeltaResponse.builder()
+            .eventId(eventId)
+            .sequence(sequence)
+            .full(true)
+            .seats(getEventSeats(eventId))
+            .build();
+    }
+
+    /*
+        A published event (public page); cached until it changes
+    */
+    public EventResponse getPublishedEvent(Long eventId) {
+        EventResponse event = catalogCache.getEvent(eventId, () -> eventRepository
+            .findWithOrganizerByIdAndStatus(eventId, EventStatus.PUBLISHED)
+            .map(EventService::toResponse)
+            .orElse(null));
+        if (event == null) {
+            throw new RuntimeException("Event not found");
+        }
+        return event;
+    }
+
+    /*
+        One page of the public catalog (keyset pagination on startTime, id).
+        Not transactional: cache hits must not take a database connection
+    */
+    public EventCatalogPage getCatalogPage(EventCatalogFilter filter, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_CATALOG_PAGE_SIZE));
+        EventCatalogCache.Position after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] position = decodeCursor(cursor);
+            try {
+                after = new EventCatalogCache.Position(LocalDateTime.parse(position[0]), Long.parseLong(position[1]));
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+        }
+        EventCatalogCache.Position start = after;
+        return catalogCache.getPage(filter, after, limit, () -> loadCatalogPage(filter, start, limit));
+    }
+
+    private EventCatalogPage loadCatalogPage(EventCatalogFilter filter, EventCatalogCache.Position after, int limit) {
+        // One extra row tells whether there is a next page
+        List<EventSummaryResponse> items = new ArrayList<>(eventRepository.findCatalogPage(filter,
+            after != null ? after.startTime() : null, after != null ? after.id() : null, limit + 1));
+        String nextCursor = null;
+        if (items.size() > limit) {
+            items = items.subList(0, limit);
+            EventSummaryResponse last = items.get(limit - 1);
+            nextCursor = encodeCursor(last.getStartTime() + "|" + last.getId());
+        }
+        return EventCatalogPage.builder()
+            .items(items)
+            .nextCursor(nextCursor)
+            .build();
     }
     
+    /*
+        Full-text search over the published events, most relevant first
+    */
+    @Transactional(readOnly = true)
+    public EventSearchPage searchEvents(String text, EventCatalogFilter filter, String cursor, int size) {
+        if (text == null || text.isBlank()) {
+            throw new RuntimeException("Search text is required");
+        }
+        int limit = Math.max(1, Math.min(size, MAX_CATALOG_PAGE_SIZE));
+        Float afterRank = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] position = decodeCursor(cursor);
+            try {
+                afterRank = Float.parseFloat(position[0]);
+                afterId = Long.parseLong(position[1]);
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+        }
+
+        List<EventSearchHit> items = new ArrayList<>(
+            eventRepository.searchPage(text.trim(), filter, afterRank, afterId, limit + 1));
+        String nextCursor = null;
+        if (items.size() > limit) {
+            items = items.subList(0, limit);
+            EventSearchHit last = items.get(limit - 1);
+            nextCursor = encodeCursor(last.getRank() + "|" + last.getEvent().getId());
+        }
+        return EventSearchPage.builder()
+            .items(items)
+            .nextCursor(nextCursor)
+            .build();
+    }
+
     /*
       === Auxiliar methods ===
     */
@@ -316,7 +548,24 @@ public class EventService {
         return event;
     }
 
-    private EventResponse toResponse(Event event){
+    // Opaque page token: the keyset position of the last row of the page
+    private String encodeCursor(String position) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (position.length != 2) {
+                throw new IllegalArgumentException();
+            }
+            return position;
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    static EventResponse toResponse(Event event){
         return EventResponse.builder()
             .id(event.getId())
             .title(event.getTitle())
@@ -1,16 +1,13 @@
 package com.ems.backend.modules.notification;
 
+import java.util.ArrayList;
 import java.util.Map;
-import java.util.Set;
-import java.util.HashSet;
 import java.util.List;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
+import com.ems.backend.core.cluster.ClusterMessagingTemplate;
 import com.ems.backend.modules.auth.entities.User;
-import com.ems.backend.modules.auth.repositories.UserRepository;
-import com.ems.backend.modules.booking.entities.Seat;
-import com.ems.backend.modules.booking.repositories.SeatRepository;
+import com.ems.backend.modules.booking.repositories.BookingRepository;
 import com.ems.backend.modules.event.entities.Event;
 import com.ems.backend.modules.event.repositories.EventRepository;
 import com.ems.backend.modules.notification.entities.UserNotification;
@@ -25,10 +22,10 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class OrganizerNotificationService {
 
-    private final SimpMessagingTemplate messagingTemplate;
-    private final SeatRepository seatRepository;
+    // Relayed to every node: the organizer may be connected to any of them
+    private final ClusterMessagingTemplate messagingTemplate;
+    private final BookingRepository bookingRepository;
     private final EventRepository eventRepository;
-    private final UserRepository userRepository;
     private final UserNotificationRepository userNotificationRepository;
 
     /*
@@ -71,41 +68,24 @@ public class OrganizerNotificationService {
         Event event = eventRepository.findById(eventId)
             .orElseThrow(() -> new RuntimeException("Event not found"));
         
-        // Get all booked seats (participants) for this event
-        List<Seat> bookedSeats = seatRepository.findBookedSeatsByEventId(eventId);
+        // Each participant once, straight from the bookings ledger
+        List<User> participants = bookingRepository.findParticipantsByEventId(eventId);
         
-        log.info("📧 Sending message to {} seats of event '{}'", bookedSeats.size(), event.getTitle());
+        log.info("📧 Sending message to {} participants of event '{}'", participants.size(), event.getTitle());
         
-        // Collect unique usernames (a user might have multiple seats)
-        Set<String> notifiedUsernames = new HashSet<>();
-        int notificationCount = 0;
-        
-        for (Seat seat : bookedSeats) {
-            String username = seat.getLockedBy();
-            
-            // Skip if already notified this user or username is null
-            if (username == null || notifiedUsernames.contains(username)) {
-                continue;
-            }
-            
-            // Find the user
-            User participant = userRepository.findByUsername(username).orElse(null);
-            if (participant != null) {
-                UserNotification notification = UserNotification.builder()
-                    .user(participant)
-                    .event(event)
-                    .type("ORGANIZER_MESSAGE")
-                    .title("Mensagem do Organizador: " + event.getTitle())
-                    .message(message)
-                    .isRead(false)
-                    .build();
-                
-                userNotificationRepository.save(notification);
-                notifiedUsernames.add(username);
-                notificationCount++;
-                log.debug("📬 Notification saved for user {}", username);
-            }
+        List<UserNotification> notifications = new ArrayList<>(participants.size());
+        for (User participant : participants) {
+            notifications.add(UserNotification.builder()
+                .user(participant)
+                .event(event)
+                .type("ORGANIZER_MESSAGE")
+                .title("Mensagem do Organizador: " + event.getTitle())
+                .message(message)
+                .isRead(false)
+                .build());
         }
+        userNotificationRepository.saveAll(notifications);
+        int notificationCount = notifications.size();
         
         // Also send via WebSocket for real-time delivery
         Map<String, Object> wsNotification = Map.of(
@@ -127,12 +107,9 @@ public class OrganizerNotificationService {
         Event event = eventRepository.findById(eventId)
             .orElseThrow(() -> new RuntimeException("Event not found"));
         
-        List<Seat> bookedSeats = seatRepository.findBookedSeatsByEventId(eventId);
-        
-        log.info("📧 Notifying schedule change to {} seats of event '{}'", bookedSeats.size(), event.getTitle());
+        List<User> participants = bookingRepository.findParticipantsByEventId(eventId);
         
-        Set<String> notifiedUsernames = new HashSet<>();
-        int notificationCount = 0;
+        log.info("📧 Notifying schedule change to {} participants of event '{}'", participants.size(), event.getTitle());
         
         // Build the message
         StringBuilder messageBuilder = new StringBuilder();
@@ -144,30 +121,19 @@ public class OrganizerNotificationService {
             messageBuilder.append("Fim: de ").append(oldEndTime).append(" para ").append(newEndTime).append("\n");
         }
         String message = messageBuilder.toString().trim();
-        for (Seat seat : bookedSeats) {
-            String username = seat.getLockedBy();
-            
-            if (username == null || notifiedUsernames.contains(username)) {
-                continue;
-            }
-            
-            User participant = userRepository.findByUsername(username).orElse(null);
-            if (participant != null) {
-                UserNotification notification = UserNotification.builder()
-                    .user(participant)
-                    .event(event)
-                    .type("EVENT_UPDATE")
-                    .title("Alteração de Horário: " + event.getTitle())
-                    .message(message)
-                    .isRead(false)
-                    .build();
-                
-                userNotificationRepository.save(notification);
-                notifiedUsernames.add(username);
-                notificationCount++;
-            }
+        List<UserNotification> notifications = new ArrayList<>(participants.size());
+        for (User participant : participants) {
+            notifications.add(UserNotification.builder()
+                .user(participant)
+                .event(event)
+                .type("EVENT_UPDATE")
+                .title("Alteração de Horário: " + event.getTitle())
+                .message(message)
+                .isRead(false)
+                .build());
         }
-        
+        userNotificationRepository.saveAll(notifications);
+        int notificationCount = notifications.size();
         
         log.info("✅ Schedule change notifications sent to {} unique participants", notificationCount);
     }
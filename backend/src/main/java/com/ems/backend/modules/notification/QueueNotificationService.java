@@ -0,0 +1,26 @@
+package com.ems.backend.modules.notification;
+
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import com.ems.backend.modules.booking.dtos.QueueStatusMessage;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class QueueNotificationService {
+    private final SimpMessagingTemplate messagingTemplate;
+
+    /*
+        One broadcast per event and tick: clients derive their own position
+        from the admitted watermark, so no per-visitor messages are needed
+    */
+    public void notifyQueueStatus(QueueStatusMessage status) {
+        log.debug("Queue status for event {}: admitted up to {}, {} waiting",
+                status.getEventId(), status.getAdmittedUpTo(), status.getWaiting());
+        messagingTemplate.convertAndSend("/topic/queue/" + status.getEventId(), status);
+    }
+}
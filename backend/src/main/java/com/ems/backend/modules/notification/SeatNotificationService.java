@@ -1,11 +1,15 @@
 package com.ems.backend.modules.notification;
 
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import java.util.List;
+
 import org.springframework.stereotype.Service;
 
+import com.ems.backend.core.cluster.ClusterBus;
+import com.ems.backend.modules.booking.dtos.SeatBatchUpdateMessage;
 import com.ems.backend.modules.booking.dtos.SeatUpdateMessage;
 import com.ems.backend.modules.booking.entities.Seat;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -13,26 +17,61 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 @Slf4j
 public class SeatNotificationService {
-    private final SimpMessagingTemplate messagingTemplate;
+    public static final String TOPIC = "seats";
+
+    private final SeatUpdateStream seatUpdateStream;
+    private final ClusterBus clusterBus;
+
+    // Every node streams the changes to its own subscribers, wherever they were committed
+    @PostConstruct
+    void init() {
+        clusterBus.subscribe(TOPIC, SeatBatchUpdateMessage.class,
+                batch -> seatUpdateStream.publish(batch.getEventId(), batch.getUpdates(), batch.getMessage()));
+    }
 
     public void notifySeatUpdate(Seat seat, String message) {
-        SeatUpdateMessage update = SeatUpdateMessage.builder()
+        log.debug("Notifying seat update: {} {}", seat.getSeatNumber(), seat.getStatus());
+        publish(seat.getEventId(), List.of(seat), message);
+    }
+
+    // One message for a multi-seat transition instead of one per seat
+    public void notifySeatsUpdate(List<Seat> seats, String message) {
+        log.debug("Notifying batch update of {} seats", seats.size());
+        publish(seats.get(0).getEventId(), seats, message);
+    }
+
+    // Expired holds: only the released seats of one event, never a blanket refresh
+    public void notifySeatsReleased(Long eventId, List<Seat> seats) {
+        log.info("Released {} expired seat locks for event {}", seats.size(), eventId);
+        publish(eventId, seats, "Lock expirado");
+    }
+
+    // Goes out on /topic/events/{id}/seats of every node with the rest of the coalescing window
+    private void publish(Long eventId, List<Seat> seats, String message) {
+        if (eventId == null) {
+            return; // seat without an event: nobody can be watching it
+        }
+        clusterBus.publish(TOPIC, toBatch(eventId, seats, message));
+    }
+
+    // Package-private for the JMH benchmarks
+    static SeatBatchUpdateMessage toBatch(Long eventId, List<Seat> seats, String message) {
+        return SeatBatchUpdateMessage.builder()
+                .eventId(eventId)
+                .updates(seats.stream().map(seat -> toUpdate(seat, null)).toList())
+                .message(message)
+                .build();
+    }
+
+    private static SeatUpdateMessage toUpdate(Seat seat, String message) {
+        return SeatUpdateMessage.builder()
                 .seatId(seat.getId())
                 .seatNumber(seat.getSeatNumber())
                 .status(seat.getStatus())
                 .lockedBy(seat.getLockedBy())
                 .message(message)
+                .sequence(seat.getChangeSequence())
+                .version(seat.getVersion())
                 .build();
-
-        log.info("Notifying seat update: {}", update);
-        messagingTemplate.convertAndSend("/topic/seats", update);
-    }
-
-    public void notifySeatsReleased(int count){
-        if(count > 0){
-            log.info("Released {} expired seat locks", count);
-            // Notifies that there have been changes (client should refetch)
-            messagingTemplate.convertAndSend("/topic/seats/refresh", count);
-        }
     }
 }
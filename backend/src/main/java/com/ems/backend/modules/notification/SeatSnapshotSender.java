@@ -0,0 +1,48 @@
+package com.ems.backend.modules.notification;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+import com.ems.backend.modules.booking.queue.QueueAdmissionException;
+import com.ems.backend.modules.booking.queue.WaitingRoomService;
+import com.ems.backend.modules.event.services.EventService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Subscribing to {@code /topic/events/{id}/seats} with the STOMP header
+ * {@code snapshot:binary} first delivers the current seat map in the binary
+ * encoding (same gate as the HTTP seat map: {@code queue-token} header while
+ * the waiting room is open).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SeatSnapshotSender {
+
+    private final EventService eventService;
+    private final WaitingRoomService waitingRoomService;
+    private final SeatUpdateStream seatUpdateStream;
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        Long eventId = SeatUpdateStream.eventIdOf(headers.getDestination());
+        if (eventId == null || !"binary".equals(headers.getFirstNativeHeader("snapshot"))) {
+            return;
+        }
+        try {
+            waitingRoomService.checkAdmission(eventId, headers.getFirstNativeHeader("queue-token"), null);
+            String viewer = event.getUser() != null ? event.getUser().getName() : null;
+            seatUpdateStream.sendSnapshot(headers.getSessionId(), headers.getSubscriptionId(), eventId,
+                    eventService.getEventSeatsBinary(eventId, viewer));
+        } catch (QueueAdmissionException e) {
+            log.debug("No seat snapshot for session {}: {}", headers.getSessionId(), e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("Failed to send the seat snapshot of event {} to session {}", eventId, headers.getSessionId(), e);
+        }
+    }
+}
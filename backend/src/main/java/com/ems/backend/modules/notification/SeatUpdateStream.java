@@ -0,0 +1,322 @@
+package com.ems.backend.modules.notification;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import com.ems.backend.modules.booking.dtos.SeatBatchUpdateMessage;
+import com.ems.backend.modules.booking.dtos.SeatUpdateMessage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Seat updates per event on {@code /topic/events/{id}/seats}.
+ * Changes are coalesced for a short window (latest state per seat wins) and
+ * sent as one batch per event. Delivery to each subscriber goes through its
+ * own mailbox: while a session still has a seat frame on the wire, newer
+ * batches are merged into the mailbox instead of queued behind it, so a
+ * lagging browser gets the latest state rather than a growing backlog.
+ */
+@Component
+@Slf4j
+public class SeatUpdateStream {
+
+    public static final String DESTINATION_PREFIX = "/topic/events/";
+    public static final String DESTINATION_SUFFIX = "/seats";
+
+    private static final Pattern DESTINATION = Pattern.compile("^/topic/events/(\\d+)/seats$");
+
+    // Binary snapshots travel base64-encoded: SockJS transports only carry text
+    public static final MimeType SNAPSHOT_TYPE = new MimeType("application", "vnd.ems.seatmap", Map.of("encoding", "base64"));
+
+    private final MessageChannel clientOutboundChannel;
+    private final ObjectMapper objectMapper;
+
+    @Value("${ems.websocket.seats.max-in-flight:1}")
+    private int maxInFlight;
+
+    // Changes of the current window, per event (seatId -> latest update)
+    private final ConcurrentHashMap<Long, Pending> pending = new ConcurrentHashMap<>();
+    // Subscribers per event, and every subscriber by session
+    private final ConcurrentHashMap<Long, Map<String, Subscriber>> subscribersByEvent = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Map<String, Subscriber>> subscribersBySession = new ConcurrentHashMap<>();
+
+    public SeatUpdateStream(@Qualifier("clientOutboundChannel") MessageChannel clientOutboundChannel,
+            ObjectMapper objectMapper) {
+        this.clientOutboundChannel = clientOutboundChannel;
+        this.objectMapper = objectMapper;
+    }
+
+    /*
+        Queues the changes of one event for the next window
+    */
+    public void publish(Long eventId, Iterable<SeatUpdateMessage> updates, String message) {
+        pending.compute(eventId, (id, window) -> {
+            Pending next = window != null ? window : new Pending();
+            for (SeatUpdateMessage update : updates) {
+                merge(next.updates, update);
+            }
+            next.message = message;
+            return next;
+        });
+    }
+
+    /*
+        Closes the window: one batch per changed event, to every subscriber
+    */
+    @Scheduled(fixedDelayString = "${ems.websocket.seats.coalesce-ms:75}")
+    public void flush() {
+        for (Long eventId : pending.keySet()) {
+            Pending window = pending.remove(eventId);
+            if (window == null) {
+                continue;
+            }
+            Map<String, Subscriber> subscribers = subscribersByEvent.get(eventId);
+            if (subscribers == null || subscribers.isEmpty()) {
+                continue;
+            }
+            for (Subscriber subscriber : subscribers.values()) {
+                subscriber.offer(window);
+                trySend(subscriber);
+            }
+        }
+    }
+
+    // ====== Subscrições ======
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        Long eventId = eventIdOf(headers.getDestination());
+        if (eventId == null || headers.getSessionId() == null || headers.getSubscriptionId() == null) {
+            return;
+        }
+        Subscriber subscriber = new Subscriber(eventId, headers.getSessionId(), headers.getSubscriptionId());
+        subscribersByEvent.computeIfAbsent(eventId, id -> new ConcurrentHashMap<>()).put(subscriber.key(), subscriber);
+        subscribersBySession.computeIfAbsent(subscriber.sessionId, id -> new ConcurrentHashMap<>())
+                .put(subscriber.subscriptionId, subscriber);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        Map<String, Subscriber> subscriptions = subscribersBySession.get(headers.getSessionId());
+        if (subscriptions != null && headers.getSubscriptionId() != null) {
+            remove(subscriptions.remove(headers.getSubscriptionId()));
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, Subscriber> subscriptions = subscribersBySession.remove(event.getSessionId());
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::remove);
+        }
+    }
+
+    /**
+     * Wraps a raw WebSocket session to learn when its seat frames have been
+     * written, which is what frees the mailbox for the next batch.
+     */
+    public WebSocketSession track(WebSocketSession session) {
+        return new WebSocketSessionDecorator(session) {
+            @Override
+            public void sendMessage(WebSocketMessage<?> message) throws IOException {
+                try {
+                    super.sendMessage(message);
+                } finally {
+                    if (message instanceof TextMessage text) {
+                        String subscriptionId = seatFrameSubscription(text.getPayload());
+                        if (subscriptionId != null) {
+                            onFrameWritten(getId(), subscriptionId);
+                        }
+                    }
+                }
+            }
+        };
+    }
+
+    // ====== Auxiliares ======
+
+    private void onFrameWritten(String sessionId, String subscriptionId) {
+        Map<String, Subscriber> subscriptions = subscribersBySession.get(sessionId);
+        Subscriber subscriber = subscriptions != null ? subscriptions.get(subscriptionId) : null;
+        if (subscriber != null) {
+            subscriber.frameWritten();
+            // Whatever was merged meanwhile goes out as one batch
+            trySend(subscriber);
+        }
+    }
+
+    /**
+     * Sends the binary seat map to one new subscription, ahead of its updates
+     * (which carry sequences, so the client can drop those the snapshot already includes).
+     */
+    public void sendSnapshot(String sessionId, String subscriptionId, Long eventId, byte[] seatMap) {
+        send(sessionId, subscriptionId, eventId, SNAPSHOT_TYPE, Base64.getEncoder().encode(seatMap));
+    }
+
+    private void trySend(Subscriber subscriber) {
+        SeatBatchUpdateMessage batch = subscriber.take(maxInFlight);
+        if (batch == null) {
+            return;
+        }
+        try {
+            send(subscriber.sessionId, subscriber.subscriptionId, subscriber.eventId,
+                    MimeTypeUtils.APPLICATION_JSON, objectMapper.writeValueAsBytes(batch));
+        } catch (JsonProcessingException | RuntimeException e) {
+            subscriber.frameWritten();
+            log.error("Failed to send seat updates of event {} to session {}", subscriber.eventId, subscriber.sessionId, e);
+        }
+    }
+
+    private void send(String sessionId, String subscriptionId, Long eventId, MimeType contentType, byte[] payload) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setSessionId(sessionId);
+        headers.setSubscriptionId(subscriptionId);
+        headers.setDestination(destination(eventId));
+        headers.setContentType(contentType);
+        headers.setLeaveMutable(true);
+        clientOutboundChannel.send(MessageBuilder.createMessage(payload, headers.getMessageHeaders()));
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (subscriber == null) {
+            return;
+        }
+        subscribersByEvent.computeIfPresent(subscriber.eventId, (id, subscribers) -> {
+            subscribers.remove(subscriber.key());
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    public static String destination(Long eventId) {
+        return DESTINATION_PREFIX + eventId + DESTINATION_SUFFIX;
+    }
+
+    static Long eventIdOf(String destination) {
+        if (destination == null) {
+            return null;
+        }
+        Matcher matcher = DESTINATION.matcher(destination);
+        return matcher.matches() ? Long.valueOf(matcher.group(1)) : null;
+    }
+
+    /*
+        Subscription of a seat-topic MESSAGE frame, null for any other frame.
+        STOMP frame: command line, then headers up to the first empty line
+    */
+    private static String seatFrameSubscription(String frame) {
+        if (!frame.startsWith("MESSAGE\n")) {
+            return null;
+        }
+        int end = frame.indexOf("\n\n");
+        boolean seatTopic = false;
+        boolean snapshot = false;
+        String subscriptionId = null;
+        for (String header : frame.substring(0, end > 0 ? end : frame.length()).split("\n")) {
+            if (header.startsWith("destination:")) {
+                seatTopic = eventIdOf(header.substring("destination:".length())) != null;
+            } else if (header.startsWith("subscription:")) {
+                subscriptionId = header.substring("subscription:".length());
+            } else if (header.startsWith("content-type:")) {
+                // Snapshots are not counted as in flight
+                snapshot = header.contains(SNAPSHOT_TYPE.getSubtype());
+            }
+        }
+        return seatTopic && !snapshot ? subscriptionId : null;
+    }
+
+    // Latest state per seat; notifications of concurrent transitions (and other nodes') can arrive out of order
+    private static void merge(Map<Long, SeatUpdateMessage> updates, SeatUpdateMessage update) {
+        updates.merge(update.getSeatId(), update, (current, incoming) -> incoming.precedes(current) ? current : incoming);
+    }
+
+    private static final class Pending {
+        private final Map<Long, SeatUpdateMessage> updates = new LinkedHashMap<>();
+        private String message;
+    }
+
+    /*
+        One subscription of one session, with its mailbox of unsent updates
+    */
+    private static final class Subscriber {
+        private final Long eventId;
+        private final String sessionId;
+        private final String subscriptionId;
+
+        private final Map<Long, SeatUpdateMessage> mailbox = new LinkedHashMap<>();
+        private String message;
+        private int inFlight;
+
+        Subscriber(Long eventId, String sessionId, String subscriptionId) {
+            this.eventId = eventId;
+            this.sessionId = sessionId;
+            this.subscriptionId = subscriptionId;
+        }
+
+        String key() {
+            return sessionId + "/" + subscriptionId;
+        }
+
+        synchronized void offer(Pending window) {
+            window.updates.values().forEach(update -> merge(mailbox, update));
+            message = window.message;
+        }
+
+        // The whole mailbox as one batch, unless the session is still busy with earlier frames
+        synchronized SeatBatchUpdateMessage take(int maxInFlight) {
+            if (mailbox.isEmpty() || inFlight >= maxInFlight) {
+                return null;
+            }
+            inFlight++;
+            SeatBatchUpdateMessage batch = SeatBatchUpdateMessage.builder()
+                    .eventId(eventId)
+                    .updates(new ArrayList<>(mailbox.values()))
+                    .message(message)
+                    .sequence(mailbox.values().stream()
+                            .map(SeatUpdateMessage::getSequence)
+                            .filter(Objects::nonNull)
+                            .max(Long::compare)
+                            .orElse(null))
+                    .build();
+            mailbox.clear();
+            return batch;
+        }
+
+        synchronized boolean frameWritten() {
+            if (inFlight == 0) {
+                return false;
+            }
+            inFlight--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+-- Places in a waiting room come from the room's own sequence
+-- (waiting_room_seq_<event_id>, created when the room opens) instead of an
+-- UPDATE of its waiting_rooms row per join; last_issued is now only the
+-- leader's persisted copy. Rooms open during the upgrade continue numbering
+-- after their last issued place.
+DO $$
+DECLARE
+    room RECORD;
+BEGIN
+    FOR room IN SELECT event_id, last_issued FROM waiting_rooms WHERE open LOOP
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I START WITH %s',
+                'waiting_room_seq_' || room.event_id, room.last_issued + 1);
+    END LOOP;
+END $$;
@@ -0,0 +1,5 @@
+-- Admin log filter by level, newest first, and the per-level counts of the
+-- dashboard (SystemLogRepository: level [+ created_at]); the plan is checked
+-- by SchemaIndexPlanTest. A new migration rather than an edit of V5, whose
+-- checksum is already recorded by deployed databases.
+CREATE INDEX IF NOT EXISTS idx_system_logs_level_created ON system_logs (level, created_at);
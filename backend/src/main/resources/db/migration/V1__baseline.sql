@@ -0,0 +1,186 @@
+-- Schema of the JPA entities as it stood when Flyway took it over from
+-- hibernate.ddl-auto=update. Every statement is IF NOT EXISTS, so on a
+-- database that ddl-auto already built this only fills in what is missing;
+-- foreign keys keep the names Hibernate generated for the same reason.
+
+CREATE TABLE IF NOT EXISTS users (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username   VARCHAR(255) NOT NULL UNIQUE,
+    email      VARCHAR(255) NOT NULL UNIQUE,
+    password   VARCHAR(255) NOT NULL,
+    full_name  VARCHAR(255),
+    phone      VARCHAR(255),
+    role       VARCHAR(255) NOT NULL CHECK (role IN ('ADMIN','ORGANIZER','PARTICIPANT','SYSTEM')),
+    enabled    BOOLEAN      NOT NULL,
+    created_at TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS event_categories (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL UNIQUE,
+    description VARCHAR(255),
+    icon        VARCHAR(255),
+    active      BOOLEAN      NOT NULL,
+    created_at  TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS events (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title        VARCHAR(255)   NOT NULL,
+    description  TEXT,
+    category     VARCHAR(255)   NOT NULL,
+    location     VARCHAR(255),
+    online_link  VARCHAR(255),
+    cover_image  VARCHAR(255),
+    start_time   TIMESTAMP(6)   NOT NULL,
+    end_time     TIMESTAMP(6),
+    capacity     INTEGER,
+    ticket_price NUMERIC(38,2),
+    has_seating  BOOLEAN        NOT NULL,
+    seat_rows    INTEGER,
+    seat_columns INTEGER,
+    status       VARCHAR(255)   NOT NULL CHECK (status IN ('DRAFT','PUBLISHED','CANCELLED','COMPLETED')),
+    organizer_id BIGINT,
+    created_at   TIMESTAMP(6),
+    updated_at   TIMESTAMP(6),
+    CONSTRAINT FKdocju8m76a3f8o6ljh2jrn2ra FOREIGN KEY (organizer_id) REFERENCES users
+);
+
+CREATE TABLE IF NOT EXISTS seats (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_id        BIGINT,
+    seat_number     VARCHAR(255) NOT NULL,
+    row_index       INTEGER,
+    column_index    INTEGER,
+    status          VARCHAR(255) NOT NULL CHECK (status IN ('AVAILABLE','LOCKED','BOOKED')),
+    locked_by       VARCHAR(255),
+    lock_expires_at TIMESTAMP(6),
+    booked_at       TIMESTAMP(6),
+    version         BIGINT,
+    CONSTRAINT FKn8dwqflg9k82ygrbsseghd7ca FOREIGN KEY (event_id) REFERENCES events
+);
+
+CREATE TABLE IF NOT EXISTS bookings (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id    BIGINT       NOT NULL,
+    event_id   BIGINT       NOT NULL,
+    seat_id    BIGINT       NOT NULL,
+    booked_at  TIMESTAMP(6) NOT NULL,
+    price_paid NUMERIC(38,2),
+    CONSTRAINT uk_bookings_seat UNIQUE (seat_id),
+    CONSTRAINT FKeyog2oic85xg7hsu2je2lx3s6 FOREIGN KEY (user_id) REFERENCES users,
+    CONSTRAINT FK2ww82bk3npaiyu9oeehwtt2q3 FOREIGN KEY (event_id) REFERENCES events,
+    CONSTRAINT FKhmf8yyefriw5ski3jibaua6n FOREIGN KEY (seat_id) REFERENCES seats
+);
+
+CREATE TABLE IF NOT EXISTS event_seat_counters (
+    event_id   BIGINT PRIMARY KEY,
+    available  BIGINT NOT NULL,
+    locked     BIGINT NOT NULL,
+    booked     BIGINT NOT NULL,
+    updated_at TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS event_feedbacks (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_id   BIGINT  NOT NULL,
+    user_id    BIGINT  NOT NULL,
+    rating     INTEGER NOT NULL,
+    comment    TEXT,
+    created_at TIMESTAMP(6),
+    CONSTRAINT FK9i56rwpqjp127iyl9g7dx9ygj FOREIGN KEY (event_id) REFERENCES events,
+    CONSTRAINT FK6xj6q8lnmektqo0u843tc35eg FOREIGN KEY (user_id) REFERENCES users
+);
+
+CREATE TABLE IF NOT EXISTS ga_inventory_shards (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_id  BIGINT  NOT NULL,
+    shard     INTEGER NOT NULL,
+    remaining BIGINT  NOT NULL CHECK (remaining >= 0),
+    CONSTRAINT uk_ga_inventory_shards_event_shard UNIQUE (event_id, shard)
+);
+
+CREATE TABLE IF NOT EXISTS ga_tickets (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_id        BIGINT       NOT NULL,
+    username        VARCHAR(255) NOT NULL,
+    quantity        INTEGER      NOT NULL,
+    shard           INTEGER      NOT NULL,
+    status          VARCHAR(255) NOT NULL CHECK (status IN ('HELD','CONFIRMED','RELEASED','EXPIRED')),
+    hold_expires_at TIMESTAMP(6),
+    confirmed_at    TIMESTAMP(6),
+    created_at      TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS waitlist_entries (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_id    BIGINT       NOT NULL,
+    username    VARCHAR(255) NOT NULL,
+    status      VARCHAR(255) NOT NULL CHECK (status IN ('WAITING','PROMOTED','LEFT')),
+    seat_id     BIGINT,
+    created_at  TIMESTAMP(6),
+    promoted_at TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS user_notifications (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id    BIGINT       NOT NULL,
+    event_id   BIGINT,
+    type       VARCHAR(255) NOT NULL,
+    title      VARCHAR(255) NOT NULL,
+    message    TEXT,
+    is_read    BOOLEAN,
+    created_at TIMESTAMP(6),
+    CONSTRAINT FK9f86wonnl11hos1cuf5fibutl FOREIGN KEY (user_id) REFERENCES users,
+    CONSTRAINT FKak1vjo14iwr3j4wlxltirn3k6 FOREIGN KEY (event_id) REFERENCES events
+);
+
+CREATE TABLE IF NOT EXISTS content_reports (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    type        VARCHAR(255) NOT NULL CHECK (type IN ('REVIEW','EVENT','USER')),
+    target_id   BIGINT,
+    reason      TEXT         NOT NULL,
+    status      VARCHAR(255) NOT NULL CHECK (status IN ('PENDING','REVIEWING','RESOLVED','DISMISSED')),
+    reporter_id BIGINT       NOT NULL,
+    resolved_by BIGINT,
+    admin_notes VARCHAR(255),
+    created_at  TIMESTAMP(6),
+    resolved_at TIMESTAMP(6),
+    CONSTRAINT FK40bn3nq9t2qk66fkm6c3qwvjq FOREIGN KEY (reporter_id) REFERENCES users,
+    CONSTRAINT FK2ugfvkmro6ufi33wl1a8dknem FOREIGN KEY (resolved_by) REFERENCES users
+);
+
+CREATE TABLE IF NOT EXISTS system_configs (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    config_key   VARCHAR(255) NOT NULL UNIQUE,
+    config_value VARCHAR(255) NOT NULL,
+    description  VARCHAR(255),
+    created_at   TIMESTAMP(6),
+    updated_at   TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS system_logs (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    level        VARCHAR(255) NOT NULL CHECK (level IN ('INFO','WARNING','ERROR','CRITICAL')),
+    source       VARCHAR(255) NOT NULL,
+    message      TEXT         NOT NULL,
+    stack_trace  TEXT,
+    user_id      VARCHAR(255),
+    request_path VARCHAR(255),
+    created_at   TIMESTAMP(6)
+);
+
+CREATE INDEX IF NOT EXISTS idx_events_status_start ON events (status, start_time, id);
+CREATE INDEX IF NOT EXISTS idx_events_status_category_start ON events (status, category, start_time, id);
+CREATE INDEX IF NOT EXISTS idx_events_status_seating_start ON events (status, has_seating, start_time, id);
+CREATE INDEX IF NOT EXISTS idx_events_status_price_start ON events (status, ticket_price, start_time, id);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_user_booked_at ON bookings (user_id, booked_at);
+CREATE INDEX IF NOT EXISTS idx_bookings_event ON bookings (event_id);
+CREATE INDEX IF NOT EXISTS idx_bookings_booked_at ON bookings (booked_at);
+
+CREATE INDEX IF NOT EXISTS idx_ga_tickets_status_expires ON ga_tickets (status, hold_expires_at);
+CREATE INDEX IF NOT EXISTS idx_ga_tickets_event ON ga_tickets (event_id);
+
+CREATE INDEX IF NOT EXISTS idx_waitlist_event_status_id ON waitlist_entries (event_id, status, id);
+CREATE INDEX IF NOT EXISTS idx_waitlist_username ON waitlist_entries (username);
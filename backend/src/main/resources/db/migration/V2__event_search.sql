@@ -0,0 +1,12 @@
+-- Full-text search over the event catalog.
+-- search_vector is a generated column, so PostgreSQL recomputes it on every
+-- INSERT/UPDATE of the source columns (createEvent / updateEvent included).
+ALTER TABLE events ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('portuguese', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('portuguese', coalesce(category, '')), 'B') ||
+        setweight(to_tsvector('portuguese', coalesce(location, '')), 'B') ||
+        setweight(to_tsvector('portuguese', coalesce(description, '')), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_events_search_vector ON events USING GIN (search_vector);
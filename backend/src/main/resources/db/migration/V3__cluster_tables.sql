@@ -0,0 +1,19 @@
+-- Batches of the cluster bus too large for a NOTIFY payload (PostgresClusterBus).
+-- Read right after their notification and deleted after a few minutes; UNLOGGED
+-- because losing them in a crash only loses broadcasts that are already stale.
+CREATE UNLOGGED TABLE IF NOT EXISTS cluster_broadcast_spill (
+    id         BIGSERIAL PRIMARY KEY,
+    payload    TEXT      NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_cluster_broadcast_spill_created_at ON cluster_broadcast_spill (created_at);
+
+-- Current holder of each cluster-wide role (LeaderElection). The role itself is
+-- the advisory lock; this row only records who holds it and its last heartbeat.
+CREATE TABLE IF NOT EXISTS cluster_leader (
+    name         VARCHAR(64) PRIMARY KEY,
+    node_id      VARCHAR(64) NOT NULL,
+    acquired_at  TIMESTAMPTZ NOT NULL,
+    heartbeat_at TIMESTAMPTZ NOT NULL
+);
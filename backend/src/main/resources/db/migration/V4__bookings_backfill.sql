@@ -0,0 +1,12 @@
+-- Backfill of the bookings ledger from seats booked before it existed.
+-- Confirmations write their own rows, so ON CONFLICT skips any seat that
+-- already has one. Seats never recorded a booking time:
+-- the event's creation time stands in for it.
+INSERT INTO bookings (user_id, event_id, seat_id, booked_at, price_paid)
+SELECT u.id, s.event_id, s.id, COALESCE(s.booked_at, e.created_at, now()), e.ticket_price
+FROM seats s
+JOIN events e ON e.id = s.event_id
+JOIN users u ON u.username = s.locked_by
+WHERE s.status = 'BOOKED'
+  AND NOT EXISTS (SELECT 1 FROM bookings b WHERE b.seat_id = s.id)
+ON CONFLICT (seat_id) DO NOTHING;
@@ -0,0 +1,18 @@
+-- Indexes for the queries on the booking and notification hot paths; the
+-- plans they should get are checked by SchemaIndexPlanTest.
+
+-- Seat map, availability counts and counter reconciliation (SeatRepository: event_id [+ status])
+CREATE INDEX IF NOT EXISTS idx_seats_event_status ON seats (event_id, status);
+
+-- Expiry sweep and startup reload of the locks: only LOCKED rows are ever a
+-- handful of the table, so the index stays small however large the venue
+CREATE INDEX IF NOT EXISTS idx_seats_locked_expires ON seats (lock_expires_at) WHERE status = 'LOCKED';
+
+-- Organizer dashboard (EventRepository: organizer_id [+ status])
+CREATE INDEX IF NOT EXISTS idx_events_organizer_status ON events (organizer_id, status);
+
+-- Notification list, newest first (UserNotificationRepository)
+CREATE INDEX IF NOT EXISTS idx_user_notifications_user_created ON user_notifications (user_id, created_at);
+
+-- Unread badge, unread list and mark-all-as-read
+CREATE INDEX IF NOT EXISTS idx_user_notifications_user_unread ON user_notifications (user_id, created_at) WHERE is_read = false;
@@ -0,0 +1,9 @@
+-- Lazy seat storage (SeatMaterializer): LAZY events keep rows only for the
+-- seats that were ever held or booked, and derive the rest from the grid.
+ALTER TABLE events ADD COLUMN IF NOT EXISTS seat_storage VARCHAR(255) NOT NULL DEFAULT 'EAGER'
+    CHECK (seat_storage IN ('EAGER','LAZY'));
+
+-- One row per grid position, so concurrent first touches of a seat insert it
+-- once (INSERT ... ON CONFLICT DO NOTHING). Seats without a position are
+-- not constrained: NULLs never collide.
+CREATE UNIQUE INDEX IF NOT EXISTS uk_seats_event_row_column ON seats (event_id, row_index, column_index);
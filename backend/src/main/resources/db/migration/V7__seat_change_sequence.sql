@@ -0,0 +1,6 @@
+-- Cluster-wide order of seat transitions (SeatChangeLog). The node that
+-- commits a transition takes the next value right after the commit, so a
+-- seat map read at position N already holds every change numbered up to N,
+-- whichever node it was read from. No CACHE: cached ranges per connection
+-- would hand values out of commit order.
+CREATE SEQUENCE IF NOT EXISTS seat_change_seq;
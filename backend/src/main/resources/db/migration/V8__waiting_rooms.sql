@@ -0,0 +1,23 @@
+-- Waiting rooms (WaitingRoomService), shared by every node. Tickets are signed
+-- with the room's secret, so any node checks a token without a query; only
+-- joining touches these tables. The leader moves the watermarks and relays
+-- them on the cluster bus. A closed room keeps its row so that startup does
+-- not re-open it.
+CREATE TABLE IF NOT EXISTS waiting_rooms (
+    event_id       BIGINT      PRIMARY KEY,
+    secret         VARCHAR(64) NOT NULL,
+    open           BOOLEAN     NOT NULL,
+    last_issued    BIGINT      NOT NULL DEFAULT 0,
+    admitted_up_to BIGINT      NOT NULL DEFAULT 0,
+    expired_up_to  BIGINT      NOT NULL DEFAULT 0,
+    opened_at      TIMESTAMP   NOT NULL DEFAULT now()
+);
+
+-- Current ticket of each visitor (one per user and room); rows whose session
+-- ended are deleted by the leader
+CREATE TABLE IF NOT EXISTS waiting_room_tickets (
+    event_id BIGINT       NOT NULL,
+    username VARCHAR(255) NOT NULL,
+    sequence BIGINT       NOT NULL,
+    PRIMARY KEY (event_id, username)
+);
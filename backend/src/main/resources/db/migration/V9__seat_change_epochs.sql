@@ -0,0 +1,6 @@
+-- Seat change positions are numbered by each node on arrival (SeatChangeLog),
+-- prefixed with an epoch taken here once per node start: positions and ETags
+-- from another node or an earlier run are told apart without a database round
+-- trip per transition. Replaces the per-transition seat_change_seq (V7).
+CREATE SEQUENCE IF NOT EXISTS seat_change_epoch_seq;
+DROP SEQUENCE IF EXISTS seat_change_seq;
@@ -0,0 +1,100 @@
+package com.ems.backend;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Plans of the hot repository queries against the schema the migrations
+ * build. Sequential scans are priced out for the test's transaction, so the
+ * planner only falls back to one when no index can serve the query: a
+ * "Seq Scan" on the queried table means an index in db/migration is
+ * missing or no longer matches the query, and fails the build.
+ */
+@SpringBootTest
+@Transactional
+class SchemaIndexPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void disableSeqScans() {
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+    }
+
+    // ====== SeatRepository ======
+
+    @Test
+    void seatMapOfAnEventUsesIndex() {
+        assertIndexed("seats", "SELECT * FROM seats WHERE event_id = 1");
+    }
+
+    @Test
+    void seatCountsByStatusUseIndex() {
+        assertIndexed("seats", "SELECT status, COUNT(*) FROM seats WHERE event_id = 1 GROUP BY status");
+        assertIndexed("seats", "SELECT COUNT(*) FROM seats WHERE event_id = 1 AND status = 'AVAILABLE'");
+    }
+
+    @Test
+    void expirySweepUsesPartialIndex() {
+        assertIndexed("seats", "SELECT id FROM seats WHERE status = 'LOCKED' AND lock_expires_at < LOCALTIMESTAMP "
+                + "ORDER BY id LIMIT 500 FOR UPDATE SKIP LOCKED");
+        assertIndexed("seats", "SELECT * FROM seats WHERE status = 'LOCKED'");
+    }
+
+    // ====== EventRepository ======
+
+    @Test
+    void organizerEventsUseIndex() {
+        assertIndexed("events", "SELECT * FROM events WHERE organizer_id = 1");
+        assertIndexed("events", "SELECT * FROM events WHERE organizer_id = 1 AND status = 'PUBLISHED'");
+        assertIndexed("events", "SELECT COUNT(*) FROM events WHERE organizer_id = 1");
+    }
+
+    @Test
+    void publishedCatalogUsesIndex() {
+        assertIndexed("events", "SELECT * FROM events WHERE status = 'PUBLISHED' "
+                + "ORDER BY start_time, id LIMIT 20");
+    }
+
+    // ====== UserNotificationRepository ======
+
+    @Test
+    void notificationListUsesIndex() {
+        assertIndexed("user_notifications", "SELECT * FROM user_notifications WHERE user_id = 1 "
+                + "ORDER BY created_at DESC");
+    }
+
+    @Test
+    void unreadNotificationsUsePartialIndex() {
+        assertIndexed("user_notifications", "SELECT * FROM user_notifications WHERE user_id = 1 AND is_read = false "
+                + "ORDER BY created_at DESC");
+        assertIndexed("user_notifications", "SELECT COUNT(*) FROM user_notifications WHERE user_id = 1 AND is_read = false");
+    }
+
+    // ====== SystemLogRepository ======
+
+    @Test
+    void logsByLevelUseIndex() {
+        assertIndexed("system_logs", "SELECT * FROM system_logs WHERE level = 'ERROR' "
+                + "ORDER BY created_at DESC LIMIT 20");
+        assertIndexed("system_logs", "SELECT COUNT(*) FROM system_logs WHERE level = 'ERROR' "
+                + "AND created_at >= LOCALTIMESTAMP - INTERVAL '1 day'");
+    }
+
+    // ====== Auxiliares ======
+
+    private void assertIndexed(String table, String sql) {
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+        boolean seqScan = plan.stream().anyMatch(line -> line.contains("Seq Scan on " + table));
+        assertFalse(seqScan, () -> "Sequential scan on " + table + " for: " + sql + "\n" + String.join("\n", plan));
+    }
+}
@@ -0,0 +1,113 @@
+package com.ems.backend.core.cluster;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ems.backend.modules.booking.dtos.SeatBatchUpdateMessage;
+import com.ems.backend.modules.booking.dtos.SeatUpdateMessage;
+import com.ems.backend.modules.booking.entities.SeatStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A bus whose transport hands every batch, through JSON, to a second bus
+ * stands in for two nodes.
+ */
+class ClusterBusTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<List<ClusterMessage>> sent = new ArrayList<>();
+
+    private final AbstractClusterBus nodeB = new AbstractClusterBus(objectMapper) {
+        @Override
+        protected void send(List<ClusterMessage> batch) {
+        }
+    };
+
+    private final AbstractClusterBus nodeA = new AbstractClusterBus(objectMapper) {
+        @Override
+        protected void send(List<ClusterMessage> batch) {
+            sent.add(batch);
+            try {
+                String json = objectMapper.writeValueAsString(batch);
+                for (ClusterMessage message : objectMapper.readValue(json, ClusterMessage[].class)) {
+                    nodeB.deliver(message);
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    };
+
+    @AfterEach
+    void endTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void deliversTypedPayloadsOnEveryNode() {
+        List<SeatBatchUpdateMessage> onA = new ArrayList<>();
+        List<SeatBatchUpdateMessage> onB = new ArrayList<>();
+        nodeA.subscribe("seats", SeatBatchUpdateMessage.class, onA::add);
+        nodeB.subscribe("seats", SeatBatchUpdateMessage.class, onB::add);
+
+        nodeA.publish("seats", batch(1L));
+
+        assertEquals(1, onA.size());
+        assertEquals(1, onB.size());
+        assertEquals(SeatStatus.LOCKED, onB.get(0).getUpdates().get(0).getStatus());
+        assertEquals(7L, onB.get(0).getUpdates().get(0).getSequence());
+    }
+
+    @Test
+    void sendsOneBatchPerCommittedTransaction() {
+        List<SeatBatchUpdateMessage> onB = new ArrayList<>();
+        nodeB.subscribe("seats", SeatBatchUpdateMessage.class, onB::add);
+
+        TransactionSynchronizationManager.initSynchronization();
+        nodeA.publish("seats", batch(1L));
+        nodeA.publish("seats", batch(2L));
+        assertTrue(onB.isEmpty());
+        complete(true);
+
+        assertEquals(1, sent.size());
+        assertEquals(2, onB.size());
+
+        TransactionSynchronizationManager.initSynchronization();
+        nodeA.publish("seats", batch(3L));
+        complete(false);
+
+        assertEquals(1, sent.size());
+        assertEquals(2, onB.size());
+    }
+
+    // ====== Auxiliares ======
+
+    private static SeatBatchUpdateMessage batch(Long eventId) {
+        return SeatBatchUpdateMessage.builder()
+                .eventId(eventId)
+                .updates(List.of(SeatUpdateMessage.builder().seatId(10L).status(SeatStatus.LOCKED).sequence(7L).build()))
+                .message("Assento bloqueado")
+                .build();
+    }
+
+    private static void complete(boolean commit) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (commit) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(s -> s.afterCompletion(commit
+                ? TransactionSynchronization.STATUS_COMMITTED
+                : TransactionSynchronization.STATUS_ROLLED_BACK));
+    }
+}
@@ -0,0 +1,322 @@
+package com.ems.backend.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.ems.backend.BackendApplication;
+import com.ems.backend.modules.auth.entities.User;
+import com.ems.backend.modules.auth.repositories.UserRepository;
+import com.ems.backend.modules.booking.encoding.BinarySeatMap;
+import com.ems.backend.modules.booking.engine.SeatStateEngine;
+import com.ems.backend.modules.booking.services.SeatBulkWriter;
+import com.ems.backend.modules.event.entities.Event;
+import com.ems.backend.modules.event.entities.EventStatus;
+import com.ems.backend.modules.event.repositories.EventRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * On-sale load test of the booking flow through the real controllers.
+ * Boots the application on a random port against a scratch schema of a
+ * local PostgreSQL ({@code ems_loadtest}, dropped and recreated on every
+ * run so the real tables are untouched), generates the users and one large
+ * seated event, then lets every user run on its own virtual thread:
+ * login, binary seat map, lock, confirm. A lost lock is retried on
+ * another seat of the client's map, up to {@code load.attempts} times.
+ *
+ * Seat choice is skewed towards the front of the venue with
+ * {@code load.skew}: the picked rank among the available seats is
+ * {@code size * u^skew}, so 1 is uniform and larger values pile the
+ * clients onto the first rows.
+ *
+ * Reports throughput, latency percentiles per step, the lock-conflict rate
+ * and double-booking violations: two successful confirmations of one seat,
+ * or a booked row that does not belong to its confirmed buyer. Violations
+ * must be zero.
+ *
+ * Run with:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.ems.backend.loadtest.BookingLoadBenchmark \
+ *     -Dbench.jdbc.url=jdbc:postgresql://localhost:5432/ems_db \
+ *     -Dload.rows=100 -Dload.columns=200 -Dload.users=5000 -Dload.skew=3
+ *
+ * Add -Dload.mode=conditional (or memory) to load another transition mode.
+ */
+public class BookingLoadBenchmark {
+
+    private static final int ROWS = Integer.getInteger("load.rows", 100);
+    private static final int COLUMNS = Integer.getInteger("load.columns", 200);
+    private static final int USERS = Integer.getInteger("load.users", 5000);
+    private static final double SKEW = Double.parseDouble(System.getProperty("load.skew", "3"));
+    private static final int ATTEMPTS = Integer.getInteger("load.attempts", 3);
+    private static final String MODE = System.getProperty("load.mode", "pessimistic");
+
+    private static final String SCHEMA = "ems_loadtest";
+    private static final String PASSWORD = "load123";
+
+    private static final String[] STEPS = { "login", "seat-map", "lock", "confirm" };
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final long eventId;
+
+    private final Map<String, LatencyRecorder> latencies = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong lockConflicts = new AtomicLong();
+    private final AtomicLong locksWon = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong gaveUp = new AtomicLong();
+    // seatId -> buyer of every 200 from confirm; a second buyer is a double booking
+    private final ConcurrentHashMap<Long, String> confirmed = new ConcurrentHashMap<>();
+    private final AtomicLong doubleBookings = new AtomicLong();
+
+    BookingLoadBenchmark(String baseUrl, long eventId) {
+        this.baseUrl = baseUrl;
+        this.eventId = eventId;
+        for (String step : STEPS) {
+            latencies.put(step, new LatencyRecorder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("bench.jdbc.url");
+        if (url == null) {
+            System.out.println("Set -Dbench.jdbc.url to a PostgreSQL database");
+            return;
+        }
+        String user = System.getProperty("bench.jdbc.user", "admin");
+        String password = System.getProperty("bench.jdbc.password", "password123");
+        try (Connection c = DriverManager.getConnection(url, user, password); Statement st = c.createStatement()) {
+            st.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            st.execute("CREATE SCHEMA " + SCHEMA);
+        }
+
+        ConfigurableApplicationContext context = SpringApplication.run(BackendApplication.class,
+                "--server.port=0",
+                "--spring.datasource.url=" + url + (url.contains("?") ? "&" : "?") + "currentSchema=" + SCHEMA,
+                "--spring.datasource.username=" + user,
+                "--spring.datasource.password=" + password,
+                "--spring.datasource.hikari.maximum-pool-size=" + Integer.getInteger("load.pool", 50),
+                "--spring.jpa.show-sql=false",
+                "--ems.booking.transition-mode=" + MODE,
+                // Measures the booking flow itself, not the waiting room
+                "--ems.queue.auto-open-capacity=" + Integer.MAX_VALUE,
+                "--logging.level.com.ems=WARN");
+        try {
+            long eventId = generate(context);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            System.out.printf("mode=%s venue=%dx%d (%d seats) users=%d skew=%.1f attempts=%d%n",
+                    MODE, ROWS, COLUMNS, ROWS * COLUMNS, USERS, SKEW, ATTEMPTS);
+            BookingLoadBenchmark benchmark = new BookingLoadBenchmark("http://localhost:" + port, eventId);
+            benchmark.run();
+            // memory mode writes behind: the rows are only checked once the engine wrote them
+            context.getBeanProvider(SeatStateEngine.class).ifAvailable(SeatStateEngine::flush);
+            benchmark.verify(context.getBean(JdbcTemplate.class));
+        } finally {
+            context.close();
+        }
+    }
+
+    // ====== Dados ======
+
+    private static long generate(ConfigurableApplicationContext context) {
+        long start = System.nanoTime();
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        EventRepository eventRepository = context.getBean(EventRepository.class);
+        // One hash for every user: BCrypt per user would dominate the setup
+        String hash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+
+        List<User> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(User.builder()
+                    .username(username(i))
+                    .password(hash)
+                    .email(username(i) + "@load.test")
+                    .fullName("Load User " + i)
+                    .role(User.Role.PARTICIPANT)
+                    .enabled(true)
+                    .build());
+        }
+        userRepository.saveAll(users);
+
+        Event event = eventRepository.save(Event.builder()
+                .title("Load Test On-Sale")
+                .startTime(LocalDateTime.now().plusDays(30))
+                .category("Música")
+                .hasSeating(true)
+                .capacity(ROWS * COLUMNS)
+                .status(EventStatus.PUBLISHED)
+                .organizer(userRepository.findByUsername("organizer").orElseThrow())
+                .seatRows(ROWS)
+                .seatColumns(COLUMNS)
+                .build());
+
+        int seats = context.getBean(SeatBulkWriter.class).insertGrid(event.getId(), ROWS, COLUMNS);
+
+        System.out.printf("generated %d users and %d seats in %.1fs%n",
+                USERS, seats, (System.nanoTime() - start) / 1e9);
+        return event.getId();
+    }
+
+    // ====== Carga ======
+
+    void run() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(USERS);
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < USERS; i++) {
+                String username = username(i);
+                clients.submit(() -> {
+                    try {
+                        book(username);
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long lockAttempts = locksWon.get() + lockConflicts.get();
+        System.out.printf("%nwall %.1fs, %d requests (%.0f req/s), %d bookings (%.0f bookings/s)%n",
+                seconds, requests.get(), requests.get() / seconds, confirmed.size(), confirmed.size() / seconds);
+        System.out.printf("lock conflicts %d of %d attempts (%.1f%%), clients without a seat %d, errors %d%n",
+                lockConflicts.get(), lockAttempts, lockAttempts > 0 ? 100.0 * lockConflicts.get() / lockAttempts : 0,
+                gaveUp.get(), errors.get());
+        System.out.printf("%-10s %8s %10s %10s %10s %10s%n", "step", "count", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (String step : STEPS) {
+            latencies.get(step).report(step);
+        }
+    }
+
+    private void book(String username) throws Exception {
+        JsonNode login = json(send("login", HttpRequest.newBuilder(uri("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(
+                        Map.of("username", username, "password", PASSWORD))))));
+        String authorization = "Bearer " + login.get("token").asText();
+
+        HttpResponse<byte[]> map = send("seat-map", HttpRequest.newBuilder(uri("/api/events/" + eventId + "/seats"))
+                .header("Authorization", authorization)
+                .header("Accept", BinarySeatMap.MEDIA_TYPE)
+                .GET());
+        BinarySeatMap.Decoded seatMap = BinarySeatMap.decode(map.body());
+        List<Long> available = new ArrayList<>();
+        for (int cell = 0; cell < seatMap.statuses().length; cell++) {
+            if (seatMap.statuses()[cell] == BinarySeatMap.AVAILABLE) {
+                available.add(seatMap.seatIds()[cell]);
+            }
+        }
+
+        Set<Long> tried = new HashSet<>();
+        for (int attempt = 0; attempt < ATTEMPTS && tried.size() < available.size(); attempt++) {
+            Long seatId = pick(available, tried);
+            HttpResponse<byte[]> lock = send("lock", post("/api/bookings/seats/" + seatId + "/lock", authorization));
+            if (lock.statusCode() != 200) {
+                lockConflicts.incrementAndGet();
+                continue;
+            }
+            locksWon.incrementAndGet();
+            HttpResponse<byte[]> confirm = send("confirm", post("/api/bookings/seats/" + seatId + "/confirm", authorization));
+            if (confirm.statusCode() == 200) {
+                String previous = confirmed.putIfAbsent(seatId, username);
+                if (previous != null) {
+                    doubleBookings.incrementAndGet();
+                    System.out.printf("DOUBLE BOOKING: seat %d confirmed for %s and %s%n", seatId, previous, username);
+                }
+            } else {
+                errors.incrementAndGet();
+            }
+            return;
+        }
+        gaveUp.incrementAndGet();
+    }
+
+    // Rank size * u^skew among the seats not tried yet (front of the venue first)
+    private static Long pick(List<Long> available, Set<Long> tried) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            Long seatId = available.get((int) (available.size() * Math.pow(random.nextDouble(), SKEW)));
+            if (tried.add(seatId)) {
+                return seatId;
+            }
+        }
+    }
+
+    // ====== Verificação ======
+
+    void verify(JdbcTemplate jdbcTemplate) {
+        List<Map<String, Object>> booked = jdbcTemplate.queryForList(
+                "SELECT id, locked_by FROM seats WHERE event_id = ? AND status = 'BOOKED'", eventId);
+        long mismatched = booked.stream()
+                .filter(row -> !((String) row.get("locked_by")).equals(confirmed.get(((Number) row.get("id")).longValue())))
+                .count();
+        long violations = doubleBookings.get() + mismatched + Math.abs(booked.size() - confirmed.size());
+        System.out.printf("%nbooked rows %d, confirmed responses %d, buyer mismatches %d, double bookings %d%n",
+                booked.size(), confirmed.size(), mismatched, doubleBookings.get());
+        System.out.println(violations == 0 ? "OK: no double bookings" : "FAILED: " + violations + " double-booking violations");
+    }
+
+    // ====== Auxiliares ======
+
+    private HttpResponse<byte[]> send(String step, HttpRequest.Builder request) throws Exception {
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response = http.send(request.timeout(Duration.ofSeconds(60)).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        latencies.get(step).record(System.nanoTime() - start);
+        requests.incrementAndGet();
+        return response;
+    }
+
+    private JsonNode json(HttpResponse<byte[]> response) throws Exception {
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("HTTP " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpRequest.Builder post(String path, String authorization) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Authorization", authorization)
+                .POST(HttpRequest.BodyPublishers.noBody());
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static String username(int i) {
+        return "load" + i;
+    }
+}
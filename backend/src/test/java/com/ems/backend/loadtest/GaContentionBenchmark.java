@@ -0,0 +1,229 @@
+package com.ems.backend.loadtest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contention benchmark of the general-admission inventory: the same sale
+ * (one event, {@code ga.capacity} tickets, 1 to {@code ga.max-quantity} per
+ * buyer) run against one counter row and against 4, 16, 64... shards.
+ * Every buyer thread has its own connection and repeats the statements of
+ * {@code GaInventory}: a conditional UPDATE on up to two random shards and,
+ * when both are dry, the locked rebalance of all shards.
+ *
+ * Works in a scratch schema ({@code ems_ga_bench}), dropped and recreated
+ * on every run. Reports purchases per second, latency percentiles, the
+ * share of purchases that needed a rebalance, and checks that nothing was
+ * oversold: tickets sold plus what is left must equal the capacity, and no
+ * shard may end below zero.
+ *
+ * Run with:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.ems.backend.loadtest.GaContentionBenchmark \
+ *     -Dbench.jdbc.url=jdbc:postgresql://localhost:5432/ems_db \
+ *     -Dga.capacity=50000 -Dga.threads=64 -Dga.shards=1,4,16,64
+ */
+public class GaContentionBenchmark {
+
+    private static final long CAPACITY = Long.getLong("ga.capacity", 50_000);
+    private static final int THREADS = Integer.getInteger("ga.threads", 64);
+    private static final int MAX_QUANTITY = Integer.getInteger("ga.max-quantity", 4);
+    private static final String SHARDS = System.getProperty("ga.shards", "1,4,16,64");
+
+    private static final String SCHEMA = "ems_ga_bench";
+    private static final long EVENT_ID = 1;
+
+    private static String url;
+    private static String user;
+    private static String password;
+
+    public static void main(String[] args) throws Exception {
+        url = System.getProperty("bench.jdbc.url");
+        if (url == null) {
+            System.out.println("Set -Dbench.jdbc.url to a PostgreSQL database");
+            return;
+        }
+        user = System.getProperty("bench.jdbc.user", "admin");
+        password = System.getProperty("bench.jdbc.password", "password123");
+        url = url + (url.contains("?") ? "&" : "?") + "currentSchema=" + SCHEMA;
+
+        System.out.printf("capacity=%d threads=%d max-quantity=%d%n%n", CAPACITY, THREADS, MAX_QUANTITY);
+        System.out.printf("%-7s %10s %10s %10s %10s %10s %11s %s%n",
+                "shards", "buys/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "rebalance%", "oversold");
+        boolean violations = false;
+        for (String shards : SHARDS.split(",")) {
+            violations |= !run(Integer.parseInt(shards.trim()));
+        }
+        if (violations) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean run(int shards) throws Exception {
+        try (Connection c = connect(); Statement st = c.createStatement()) {
+            st.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            st.execute("CREATE SCHEMA " + SCHEMA);
+            st.execute("CREATE TABLE " + SCHEMA + ".ga_inventory_shards (id bigserial PRIMARY KEY, "
+                    + "event_id bigint NOT NULL, shard int NOT NULL, remaining bigint NOT NULL CHECK (remaining >= 0), "
+                    + "UNIQUE (event_id, shard))");
+            long[] slices = split(CAPACITY, shards);
+            for (int shard = 0; shard < shards; shard++) {
+                st.execute("INSERT INTO " + SCHEMA + ".ga_inventory_shards (event_id, shard, remaining) VALUES ("
+                        + EVENT_ID + ", " + shard + ", " + slices[shard] + ")");
+            }
+        }
+
+        LatencyRecorder latencies = new LatencyRecorder();
+        AtomicLong sold = new AtomicLong();
+        AtomicLong purchases = new AtomicLong();
+        AtomicLong rebalances = new AtomicLong();
+        AtomicBoolean soldOut = new AtomicBoolean();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> buyers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            buyers.add(Thread.ofPlatform().start(() -> {
+                try (Connection c = connect()) {
+                    c.setAutoCommit(false);
+                    Buyer buyer = new Buyer(c, shards);
+                    start.await();
+                    while (!soldOut.get()) {
+                        int quantity = ThreadLocalRandom.current().nextInt(1, MAX_QUANTITY + 1);
+                        long begin = System.nanoTime();
+                        int outcome = buyer.buy(quantity);
+                        latencies.record(System.nanoTime() - begin);
+                        if (outcome == Buyer.SOLD_OUT) {
+                            // A larger request can fail while smaller ones still fit
+                            if (quantity == 1) {
+                                soldOut.set(true);
+                            }
+                            continue;
+                        }
+                        sold.addAndGet(quantity);
+                        purchases.incrementAndGet();
+                        if (outcome == Buyer.REBALANCED) {
+                            rebalances.incrementAndGet();
+                        }
+                    }
+                } catch (SQLException | InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread buyer : buyers) {
+            buyer.join();
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+
+        long remaining;
+        long negative;
+        try (Connection c = connect(); Statement st = c.createStatement();
+                ResultSet rs = st.executeQuery("SELECT COALESCE(SUM(remaining), 0), COUNT(*) FILTER (WHERE remaining < 0) "
+                        + "FROM ga_inventory_shards")) {
+            rs.next();
+            remaining = rs.getLong(1);
+            negative = rs.getLong(2);
+        }
+        long oversold = sold.get() + remaining - CAPACITY;
+        boolean ok = oversold == 0 && negative == 0;
+        System.out.printf("%-7d %10.0f %s %10.1f %s%n", shards, purchases.get() / seconds,
+                latencies.summary(), 100.0 * rebalances.get() / Math.max(1, purchases.get()),
+                ok ? "0" : oversold + " (" + negative + " negative shards) VIOLATION");
+        return ok;
+    }
+
+    /*
+        The statements of GaInventory.hold, on one connection
+    */
+    private static final class Buyer {
+        static final int TAKEN = 0;
+        static final int REBALANCED = 1;
+        static final int SOLD_OUT = 2;
+
+        private final Connection connection;
+        private final int shards;
+        private final PreparedStatement take;
+        private final PreparedStatement lockAll;
+        private final PreparedStatement set;
+
+        Buyer(Connection connection, int shards) throws SQLException {
+            this.connection = connection;
+            this.shards = shards;
+            take = connection.prepareStatement("UPDATE ga_inventory_shards SET remaining = remaining - ? "
+                    + "WHERE event_id = ? AND shard = ? AND remaining >= ?");
+            lockAll = connection.prepareStatement("SELECT id, remaining FROM ga_inventory_shards "
+                    + "WHERE event_id = ? ORDER BY shard FOR UPDATE");
+            set = connection.prepareStatement("UPDATE ga_inventory_shards SET remaining = ? WHERE id = ?");
+        }
+
+        int buy(int quantity) throws SQLException {
+            try {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int first = random.nextInt(shards);
+                for (int probe = 0; probe < Math.min(2, shards); probe++) {
+                    int shard = (first + probe * (1 + random.nextInt(Math.max(1, shards - 1)))) % shards;
+                    take.setLong(1, quantity);
+                    take.setLong(2, EVENT_ID);
+                    take.setInt(3, shard);
+                    take.setLong(4, quantity);
+                    if (take.executeUpdate() == 1) {
+                        connection.commit();
+                        return TAKEN;
+                    }
+                }
+                int outcome = rebalance(quantity);
+                connection.commit();
+                return outcome;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+
+        private int rebalance(int quantity) throws SQLException {
+            List<long[]> rows = new ArrayList<>();
+            long total = 0;
+            lockAll.setLong(1, EVENT_ID);
+            try (ResultSet rs = lockAll.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(new long[] { rs.getLong(1), rs.getLong(2) });
+                    total += rs.getLong(2);
+                }
+            }
+            if (total < quantity) {
+                return SOLD_OUT;
+            }
+            long[] slices = split(total - quantity, rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                set.setLong(1, slices[i]);
+                set.setLong(2, rows.get(i)[0]);
+                set.addBatch();
+            }
+            set.executeBatch();
+            return REBALANCED;
+        }
+    }
+
+    private static long[] split(long total, int parts) {
+        long[] slices = new long[parts];
+        for (int i = 0; i < parts; i++) {
+            slices[i] = total / parts + (i < total % parts ? 1 : 0);
+        }
+        return slices;
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(url, user, password);
+    }
+}
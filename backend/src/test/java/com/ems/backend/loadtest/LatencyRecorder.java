@@ -0,0 +1,43 @@
+package com.ems.backend.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latencies of one step of the load test, kept raw for exact percentiles.
+ */
+class LatencyRecorder {
+
+    private long[] nanos = new long[1024];
+    private int count;
+
+    synchronized void record(long elapsedNanos) {
+        if (count == nanos.length) {
+            nanos = Arrays.copyOf(nanos, count * 2);
+        }
+        nanos[count++] = elapsedNanos;
+    }
+
+    synchronized void report(String step) {
+        if (count == 0) {
+            System.out.printf("%-10s %8d%n", step, 0);
+            return;
+        }
+        System.out.printf("%-10s %8d %s%n", step, count, summary());
+    }
+
+    // p50, p95, p99 and max in milliseconds, as report columns
+    synchronized String summary() {
+        if (count == 0) {
+            return String.format("%10s %10s %10s %10s", "-", "-", "-", "-");
+        }
+        long[] sorted = Arrays.copyOf(nanos, count);
+        Arrays.sort(sorted);
+        return String.format("%10.2f %10.2f %10.2f %10.2f",
+                percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                sorted[sorted.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1e6;
+    }
+}
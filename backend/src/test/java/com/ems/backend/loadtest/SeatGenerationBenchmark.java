@@ -0,0 +1,198 @@
+package com.ems.backend.loadtest;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import com.ems.backend.modules.booking.entities.Seat;
+import com.ems.backend.modules.booking.services.SeatBulkWriter;
+
+/**
+ * Time to create the seat grid of a new event, committed, three ways:
+ * {@code insert} is one INSERT ... RETURNING id per seat, which is what
+ * {@code saveAll} did with IDENTITY ids; {@code batch} is a JDBC batch with
+ * rewritten multi-row INSERTs, what a pooled sequence would allow;
+ * {@code copy} is the COPY of {@code SeatBulkWriter} that createEvent uses.
+ *
+ * Works in a scratch schema ({@code ems_seatgen_bench}) with the seats
+ * table, its foreign key and the indexes of the migrations, dropped and
+ * recreated on every run. Checks the row count and the last seat's label
+ * after each run, and flags a COPY of 100k seats or more that takes a
+ * second or longer.
+ *
+ * Run with:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.ems.backend.loadtest.SeatGenerationBenchmark \
+ *     -Dbench.jdbc.url=jdbc:postgresql://localhost:5432/ems_db \
+ *     -Dseatgen.grids=200x100,200x500 -Dseatgen.modes=insert,batch,copy
+ */
+public class SeatGenerationBenchmark {
+
+    private static final String GRIDS = System.getProperty("seatgen.grids", "200x100,200x500");
+    private static final String MODES = System.getProperty("seatgen.modes", "insert,batch,copy");
+    private static final int ITERATIONS = Integer.getInteger("seatgen.iterations", 3);
+    private static final long TARGET_MILLIS = 1000;
+
+    private static final String SCHEMA = "ems_seatgen_bench";
+    private static final long EVENT_ID = 1;
+
+    private static String url;
+    private static String user;
+    private static String password;
+
+    public static void main(String[] args) throws Exception {
+        url = System.getProperty("bench.jdbc.url");
+        if (url == null) {
+            System.out.println("Set -Dbench.jdbc.url to a PostgreSQL database");
+            return;
+        }
+        user = System.getProperty("bench.jdbc.user", "admin");
+        password = System.getProperty("bench.jdbc.password", "password123");
+        url = url + (url.contains("?") ? "&" : "?") + "currentSchema=" + SCHEMA + "&reWriteBatchedInserts=true";
+        createSchema();
+
+        System.out.printf("%-10s %-7s %8s %10s %10s %12s %s%n",
+                "grid", "mode", "seats", "best ms", "mean ms", "seats/s", "");
+        boolean slow = false;
+        for (String grid : GRIDS.split(",")) {
+            String[] size = grid.trim().split("x");
+            int rows = Integer.parseInt(size[0]);
+            int columns = Integer.parseInt(size[1]);
+            for (String mode : MODES.split(",")) {
+                slow |= !run(mode.trim(), rows, columns);
+            }
+        }
+        if (slow) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean run(String mode, int rows, int columns) throws Exception {
+        int seats = rows * columns;
+        long best = Long.MAX_VALUE;
+        long total = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            truncate();
+            try (Connection c = connect()) {
+                c.setAutoCommit(false);
+                long begin = System.nanoTime();
+                switch (mode) {
+                    case "insert" -> insertEach(c, rows, columns);
+                    case "batch" -> insertBatched(c, rows, columns);
+                    case "copy" -> copy(c, rows, columns);
+                    default -> throw new IllegalArgumentException("Unknown mode " + mode);
+                }
+                c.commit();
+                long elapsed = System.nanoTime() - begin;
+                best = Math.min(best, elapsed);
+                total += elapsed;
+            }
+            verify(rows, columns);
+        }
+        double bestMillis = best / 1e6;
+        boolean ok = !"copy".equals(mode) || seats < 100_000 || bestMillis < TARGET_MILLIS;
+        System.out.printf("%-10s %-7s %8d %10.1f %10.1f %12.0f %s%n", rows + "x" + columns, mode, seats,
+                bestMillis, total / 1e6 / ITERATIONS, seats / (best / 1e9),
+                ok ? "" : "SLOW (target < " + TARGET_MILLIS + " ms)");
+        return ok;
+    }
+
+    // ====== Modos ======
+
+    private static void insertEach(Connection c, int rows, int columns) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement("INSERT INTO seats (event_id, seat_number, row_index, "
+                + "column_index, status, version) VALUES (?, ?, ?, ?, 'AVAILABLE', 0) RETURNING id")) {
+            for (int r = 0; r < rows; r++) {
+                String label = Seat.rowLabel(r);
+                for (int col = 0; col < columns; col++) {
+                    bind(ps, label, r, col);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        rs.next();
+                    }
+                }
+            }
+        }
+    }
+
+    private static void insertBatched(Connection c, int rows, int columns) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement("INSERT INTO seats (event_id, seat_number, row_index, "
+                + "column_index, status, version) VALUES (?, ?, ?, ?, 'AVAILABLE', 0)")) {
+            int pending = 0;
+            for (int r = 0; r < rows; r++) {
+                String label = Seat.rowLabel(r);
+                for (int col = 0; col < columns; col++) {
+                    bind(ps, label, r, col);
+                    ps.addBatch();
+                    if (++pending == 1000) {
+                        ps.executeBatch();
+                        pending = 0;
+                    }
+                }
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private static void copy(Connection c, int rows, int columns) throws SQLException, IOException {
+        CopyIn copyIn = c.unwrap(PGConnection.class).getCopyAPI().copyIn(
+                "COPY seats (event_id, seat_number, row_index, column_index, status, version) FROM STDIN");
+        PGCopyOutputStream out = new PGCopyOutputStream(copyIn, 64 * 1024);
+        SeatBulkWriter.writeRows(EVENT_ID, rows, columns, out);
+        out.endCopy();
+    }
+
+    private static void bind(PreparedStatement ps, String label, int row, int col) throws SQLException {
+        ps.setLong(1, EVENT_ID);
+        ps.setString(2, label + (col + 1));
+        ps.setInt(3, row);
+        ps.setInt(4, col);
+    }
+
+    // ====== Esquema ======
+
+    private static void createSchema() throws SQLException {
+        try (Connection c = connect(); Statement st = c.createStatement()) {
+            st.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            st.execute("CREATE SCHEMA " + SCHEMA);
+            st.execute("CREATE TABLE " + SCHEMA + ".events (id bigint PRIMARY KEY)");
+            st.execute("INSERT INTO " + SCHEMA + ".events VALUES (" + EVENT_ID + ")");
+            st.execute("CREATE TABLE " + SCHEMA + ".seats (id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                    + "event_id bigint REFERENCES " + SCHEMA + ".events, seat_number varchar(255) NOT NULL, "
+                    + "row_index int, column_index int, status varchar(255) NOT NULL, locked_by varchar(255), "
+                    + "lock_expires_at timestamp(6), booked_at timestamp(6), version bigint)");
+            st.execute("CREATE INDEX ON " + SCHEMA + ".seats (event_id, status)");
+            st.execute("CREATE INDEX ON " + SCHEMA + ".seats (lock_expires_at) WHERE status = 'LOCKED'");
+        }
+    }
+
+    private static void truncate() throws SQLException {
+        try (Connection c = connect(); Statement st = c.createStatement()) {
+            st.execute("TRUNCATE seats RESTART IDENTITY");
+        }
+    }
+
+    private static void verify(int rows, int columns) throws SQLException {
+        try (Connection c = connect(); Statement st = c.createStatement();
+                ResultSet rs = st.executeQuery("SELECT COUNT(*), (SELECT seat_number FROM seats ORDER BY id DESC LIMIT 1) "
+                        + "FROM seats")) {
+            rs.next();
+            String last = Seat.rowLabel(rows - 1) + columns;
+            if (rs.getLong(1) != (long) rows * columns || !last.equals(rs.getString(2))) {
+                throw new IllegalStateException("Expected " + rows * columns + " seats ending at " + last
+                        + ", found " + rs.getLong(1) + " ending at " + rs.getString(2));
+            }
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(url, user, password);
+    }
+}
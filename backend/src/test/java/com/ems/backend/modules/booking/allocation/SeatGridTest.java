@@ -0,0 +1,46 @@
+package com.ems.backend.modules.booking.allocation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.ems.backend.modules.booking.entities.Seat;
+import com.ems.backend.modules.booking.entities.SeatStatus;
+
+class SeatGridTest {
+
+    @Test
+    void ignoresTransitionsOlderThanTheGrid() {
+        // Snapshot read after the seat was locked and released again (version 3)
+        SeatGrid grid = SeatGrid.of(1, 2, List.of(seat(1L, 0, SeatStatus.AVAILABLE, 3L), seat(2L, 1, SeatStatus.AVAILABLE, 0L)));
+
+        // The lock (version 2) only arrives now
+        grid.update(seat(1L, 0, SeatStatus.LOCKED, 2L), false);
+        assertEquals(2, grid.freeCount());
+
+        grid.update(seat(1L, 0, SeatStatus.LOCKED, 4L), false);
+        assertEquals(1, grid.freeCount());
+        assertEquals(1, grid.longestRun());
+    }
+
+    @Test
+    void restoresTheSeatsOfAFailedHold() {
+        SeatGrid grid = SeatGrid.of(1, 3, List.of(seat(1L, 0, SeatStatus.AVAILABLE, 0L),
+                seat(2L, 1, SeatStatus.AVAILABLE, 0L), seat(3L, 2, SeatStatus.AVAILABLE, 0L)));
+
+        SeatGrid.Block block = grid.findBest(2, 0, 1);
+        assertEquals(2, grid.take(block).size());
+        assertEquals(1, grid.freeCount());
+
+        grid.restore(block);
+        assertEquals(3, grid.freeCount());
+        assertEquals(3, grid.longestRun());
+    }
+
+    private static Seat seat(Long id, int column, SeatStatus status, Long version) {
+        return Seat.builder().id(id).eventId(1L).seatNumber("A" + (column + 1)).rowIndex(0).columnIndex(column)
+                .status(status).version(version).build();
+    }
+}
@@ -0,0 +1,121 @@
+package com.ems.backend.modules.booking.changes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ems.backend.modules.booking.dtos.SeatUpdateMessage;
+import com.ems.backend.modules.booking.entities.Seat;
+import com.ems.backend.modules.booking.entities.SeatStatus;
+import com.ems.backend.modules.booking.services.SeatsChangedEvent;
+
+class SeatChangeLogTest {
+
+    private static final Long EVENT = 1L;
+    private static final long EPOCH = 7;
+    private static final long BASE = EPOCH << SeatChangeLog.COUNTER_BITS;
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SeatChangeLog log = new SeatChangeLog(jdbcTemplate);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(log, "bufferSize", 4);
+        when(jdbcTemplate.queryForObject("SELECT nextval('seat_change_epoch_seq')", Long.class)).thenReturn(EPOCH);
+        log.init();
+    }
+
+    @Test
+    void returnsTheLatestStateOfEachSeatChangedAfterThePosition() {
+        change(SeatStatus.LOCKED, 10L, 11L);
+        change(SeatStatus.BOOKED, 10L);
+
+        SeatChangeLog.Delta delta = log.since(EVENT, BASE);
+        assertEquals(BASE + 2, delta.sequence());
+        assertEquals(List.of(11L, 10L), delta.changes().stream().map(SeatUpdateMessage::getSeatId).toList());
+        assertEquals(SeatStatus.BOOKED, delta.changes().get(1).getStatus());
+
+        assertEquals(List.of(10L), ids(log.since(EVENT, BASE + 1)));
+        assertEquals(List.of(), log.since(EVENT, log.sequence(EVENT)).changes());
+    }
+
+    @Test
+    void numbersTransitionsOnArrivalWithoutTheDatabase() {
+        change(SeatStatus.LOCKED, 10L);
+        change(SeatStatus.LOCKED, 20L); // another event takes a number in between
+        change(SeatStatus.AVAILABLE, 10L);
+
+        assertEquals(BASE + 3, log.sequence(EVENT));
+        assertEquals(List.of(10L), ids(log.since(EVENT, BASE + 1)));
+        // The epoch was the only query
+        verify(jdbcTemplate).queryForObject("SELECT nextval('seat_change_epoch_seq')", Long.class);
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void positionsOfAnotherNodeOrRunGetTheFullMap() {
+        change(SeatStatus.LOCKED, 10L);
+
+        long otherEpoch = (EPOCH + 1) << SeatChangeLog.COUNTER_BITS;
+        assertNull(log.since(EVENT, otherEpoch + 1));
+        assertNull(log.since(EVENT, otherEpoch));
+        assertNull(log.since(2L, otherEpoch));
+        assertNull(log.since(EVENT, BASE - 1));
+    }
+
+    @Test
+    void keepsTheNewestStateOfASeatByVersion() {
+        // Relayed from two nodes in the opposite order of their commits
+        change(4L, SeatStatus.BOOKED, 10L);
+        change(3L, SeatStatus.LOCKED, 10L);
+
+        SeatChangeLog.Delta delta = log.since(EVENT, BASE);
+        assertEquals(1, delta.changes().size());
+        assertEquals(SeatStatus.BOOKED, delta.changes().get(0).getStatus());
+    }
+
+    @Test
+    void fallsBackToSnapshotWhenThePositionLeftTheBuffer() {
+        change(SeatStatus.LOCKED, 10L, 11L);
+        change(SeatStatus.LOCKED, 12L, 13L);
+        change(SeatStatus.LOCKED, 14L); // overwrites the first transition
+
+        assertNull(log.since(EVENT, BASE));
+        assertEquals(List.of(14L), ids(log.since(EVENT, BASE + 2)));
+        assertNull(log.since(EVENT, log.sequence(EVENT) + 1));
+    }
+
+    @Test
+    void eventsWithoutChangesAreAtTheStartPosition() {
+        assertEquals(BASE, log.sequence(2L));
+        assertEquals(List.of(), ids(log.since(2L, BASE)));
+        assertNull(log.since(2L, BASE - 1));
+    }
+
+    private List<Long> ids(SeatChangeLog.Delta delta) {
+        return delta.changes().stream().map(SeatUpdateMessage::getSeatId).toList();
+    }
+
+    private void change(SeatStatus status, Long... seatIds) {
+        change(null, status, seatIds);
+    }
+
+    private void change(Long version, SeatStatus status, Long... seatIds) {
+        List<Seat> seats = Arrays.stream(seatIds)
+                .map(id -> Seat.builder().id(id).eventId(id >= 20 ? 2L : EVENT).seatNumber("A" + id).status(status)
+                        .version(version).build())
+                .toList();
+        log.onSeatsChanged(new SeatsChangedEvent(seats.get(0).getEventId(), seats));
+    }
+}
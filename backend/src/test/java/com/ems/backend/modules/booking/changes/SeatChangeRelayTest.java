@@ -0,0 +1,131 @@
+package com.ems.backend.modules.booking.changes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ems.backend.core.cluster.AbstractClusterBus;
+import com.ems.backend.core.cluster.ClusterMessage;
+import com.ems.backend.modules.booking.dtos.SeatUpdateMessage;
+import com.ems.backend.modules.booking.entities.Seat;
+import com.ems.backend.modules.booking.entities.SeatStatus;
+import com.ems.backend.modules.booking.services.SeatsChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Two nodes whose buses are joined through JSON: a transition made on one
+ * reaches the change log of the other, which numbers it in its own epoch.
+ */
+class SeatChangeRelayTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    private final List<SeatsChangedEvent> onA = new ArrayList<>();
+    private final List<SeatsChangedEvent> onB = new ArrayList<>();
+
+    private final AbstractClusterBus busB = new AbstractClusterBus(objectMapper) {
+        @Override
+        protected void send(List<ClusterMessage> batch) {
+        }
+    };
+
+    private final AbstractClusterBus busA = new AbstractClusterBus(objectMapper) {
+        @Override
+        protected void send(List<ClusterMessage> batch) {
+            try {
+                String json = objectMapper.writeValueAsString(batch);
+                for (ClusterMessage message : objectMapper.readValue(json, ClusterMessage[].class)) {
+                    ReflectionTestUtils.invokeMethod(busB, "deliver", message);
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    };
+
+    private final SeatChangeLog logA = new SeatChangeLog(jdbcTemplate);
+    private final SeatChangeLog logB = new SeatChangeLog(jdbcTemplate);
+    private final SeatChangeRelay relayA = new SeatChangeRelay(busA, event -> {
+        onA.add((SeatsChangedEvent) event);
+        logA.onSeatsChanged((SeatsChangedEvent) event);
+    });
+    private final SeatChangeRelay relayB = new SeatChangeRelay(busB, event -> {
+        onB.add((SeatsChangedEvent) event);
+        logB.onSeatsChanged((SeatsChangedEvent) event);
+    });
+
+    private long baseA;
+    private long baseB;
+
+    @BeforeEach
+    void setUp() {
+        when(jdbcTemplate.queryForObject("SELECT nextval('seat_change_epoch_seq')", Long.class)).thenReturn(1L, 2L);
+        for (SeatChangeLog log : List.of(logA, logB)) {
+            ReflectionTestUtils.setField(log, "bufferSize", 16);
+            log.init();
+        }
+        baseA = 1L << SeatChangeLog.COUNTER_BITS;
+        baseB = 2L << SeatChangeLog.COUNTER_BITS;
+        ReflectionTestUtils.invokeMethod(relayA, "init");
+        ReflectionTestUtils.invokeMethod(relayB, "init");
+    }
+
+    @Test
+    void aTransitionOnOneNodeReachesTheOther() {
+        LocalDateTime expiry = LocalDateTime.of(2026, 5, 1, 20, 0);
+        Seat seat = Seat.builder().id(10L).eventId(1L).seatNumber("A1").rowIndex(0).columnIndex(0)
+                .status(SeatStatus.LOCKED).previousStatus(SeatStatus.AVAILABLE)
+                .lockedBy("ana").lockExpiresAt(expiry).version(3L).build();
+
+        relayA.publish(1L, List.of(seat));
+
+        assertFalse(onA.get(0).isRemote());
+        SeatsChangedEvent remote = onB.get(0);
+        assertTrue(remote.isRemote());
+        Seat relayed = remote.getSeats().get(0);
+        assertEquals(SeatStatus.AVAILABLE, relayed.getPreviousStatus());
+        assertEquals(expiry, relayed.getLockExpiresAt());
+        assertEquals(3L, relayed.getVersion());
+
+        // Each node numbers it in its own epoch
+        assertEquals(baseA + 1, logA.sequence(1L));
+        assertEquals(baseB + 1, logB.sequence(1L));
+        assertEquals(baseB + 1, relayed.getChangeSequence());
+        assertEquals(List.of(10L), ids(logB.since(1L, baseB)));
+        assertNull(logB.since(1L, baseA)); // a position from A: B answers with the full map
+        assertNotEquals(logA.etag(1L), logB.etag(1L));
+    }
+
+    @Test
+    void changesFromTheOtherNodeMoveThisNodesPosition() {
+        relayB.publish(1L, List.of(Seat.builder().id(11L).eventId(1L).seatNumber("A2")
+                .status(SeatStatus.BOOKED).previousStatus(SeatStatus.LOCKED).build()));
+        relayA.publish(1L, List.of(Seat.builder().id(10L).eventId(1L).seatNumber("A1")
+                .status(SeatStatus.LOCKED).previousStatus(SeatStatus.AVAILABLE).build()));
+
+        // B's own transition stays on B (its bus has no peers here); A's reaches it
+        assertEquals(baseB + 2, logB.sequence(1L));
+        assertEquals(List.of(11L, 10L), ids(logB.since(1L, baseB)));
+        assertEquals(List.of(10L), ids(logB.since(1L, baseB + 1)));
+    }
+
+    private static List<Long> ids(SeatChangeLog.Delta delta) {
+        return delta.changes().stream().map(SeatUpdateMessage::getSeatId).toList();
+    }
+}
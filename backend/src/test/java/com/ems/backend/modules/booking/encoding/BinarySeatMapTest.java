@@ -0,0 +1,75 @@
+package com.ems.backend.modules.booking.encoding;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.ems.backend.modules.booking.entities.Seat;
+import com.ems.backend.modules.booking.entities.SeatStatus;
+
+class BinarySeatMapTest {
+
+    @Test
+    void roundTripsStatusesIdsAndOnlyTheViewersOwnLocks() {
+        List<Seat> seats = new ArrayList<>();
+        seats.add(seat(100, 0, 0, SeatStatus.AVAILABLE, null));
+        seats.add(seat(101, 0, 1, SeatStatus.LOCKED, "alice"));
+        seats.add(seat(102, 0, 2, SeatStatus.LOCKED, "bob"));
+        seats.add(seat(90, 1, 0, SeatStatus.BOOKED, "carol")); // ids need not be increasing
+        // (1, 1) and (1, 2) have no seat
+
+        for (boolean compress : new boolean[] { false, true }) {
+            byte[] encoded = BinarySeatMap.encode(7, 42, 2, 3, seats, "alice", compress);
+            BinarySeatMap.Decoded map = BinarySeatMap.decode(encoded);
+
+            assertEquals(7, map.eventId());
+            assertEquals(42, map.sequence());
+            assertArrayEquals(new int[] { BinarySeatMap.AVAILABLE, BinarySeatMap.LOCKED, BinarySeatMap.LOCKED,
+                    BinarySeatMap.BOOKED, BinarySeatMap.NO_SEAT, BinarySeatMap.NO_SEAT }, map.statuses());
+            assertArrayEquals(new long[] { 100, 101, 102, 90, 0, 0 }, map.seatIds());
+            assertArrayEquals(new int[] { 1 }, map.ownLocks());
+            assertFalse(new String(encoded, StandardCharsets.ISO_8859_1).contains("bob"));
+        }
+    }
+
+    @Test
+    void deflatesLargeGrids() {
+        List<Seat> seats = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            seats.add(seat(1_000 + i, i / 200, i % 200, SeatStatus.AVAILABLE, null));
+        }
+        byte[] raw = BinarySeatMap.encode(1, 1, 100, 200, seats, null, false);
+        byte[] deflated = BinarySeatMap.encode(1, 1, 100, 200, seats, null, true);
+
+        // 2 bits per seat plus a 1-byte id delta per seat, before compression
+        assertEquals(4 + 24 + 5_000 + 20_000 + 1 + 1, raw.length);
+        assertEquals(1_000 + 19_999, BinarySeatMap.decode(deflated).seatIds()[19_999]);
+        assertEquals(true, deflated.length < raw.length / 20);
+    }
+
+    @Test
+    void seatsWithoutARowKeepTheIdsAroundThem() {
+        List<Seat> seats = new ArrayList<>();
+        seats.add(seat(500, 0, 0, SeatStatus.BOOKED, "alice"));
+        seats.add(Seat.builder().rowIndex(0).columnIndex(1).status(SeatStatus.AVAILABLE).build());
+        seats.add(Seat.builder().rowIndex(0).columnIndex(2).status(SeatStatus.AVAILABLE).build());
+        seats.add(seat(501, 1, 0, SeatStatus.LOCKED, "bob"));
+
+        BinarySeatMap.Decoded map = BinarySeatMap.decode(BinarySeatMap.encode(3, 1, 2, 3, seats, "bob", false));
+
+        assertArrayEquals(new long[] { 500, 0, 0, 501, 0, 0 }, map.seatIds());
+        assertArrayEquals(new int[] { BinarySeatMap.BOOKED, BinarySeatMap.AVAILABLE, BinarySeatMap.AVAILABLE,
+                BinarySeatMap.LOCKED, BinarySeatMap.NO_SEAT, BinarySeatMap.NO_SEAT }, map.statuses());
+        assertArrayEquals(new int[] { 3 }, map.ownLocks());
+    }
+
+    private static Seat seat(long id, int row, int column, SeatStatus status, String lockedBy) {
+        return Seat.builder().id(id).rowIndex(row).columnIndex(column).status(status).lockedBy(lockedBy).build();
+    }
+}
@@ -0,0 +1,117 @@
+package com.ems.backend.modules.booking.encoding;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import com.ems.backend.modules.booking.entities.Seat;
+import com.ems.backend.modules.booking.entities.SeatStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Size and serialisation time of the seat map as JSON (what getEventSeats
+ * returns today) vs BinarySeatMap, for small to arena-sized venues.
+ * JSON is also shown gzipped, as a compressing proxy would send it.
+ *
+ * Run with:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.ems.backend.modules.booking.encoding.SeatMapEncodingBenchmark \
+ *     -Dbench.runs=200
+ */
+public class SeatMapEncodingBenchmark {
+
+    private static final int RUNS = Integer.getInteger("bench.runs", 200);
+    private static final int[][] VENUES = { { 20, 50 }, { 100, 200 }, { 200, 300 } };
+
+    private static final ObjectMapper JSON = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("runs=%d (status mix: 60%% available, 5%% locked, 35%% booked)%n", RUNS);
+        System.out.printf("%-8s %-14s %12s %12s %12s%n", "seats", "format", "bytes", "p50 ms", "p99 ms");
+        for (int[] venue : VENUES) {
+            int rows = venue[0];
+            int columns = venue[1];
+            List<Seat> seats = venue(rows, columns);
+            int count = seats.size();
+
+            byte[] json = JSON.writeValueAsBytes(seats);
+            report(count, "json", json.length, time(() -> JSON.writeValueAsBytes(seats)));
+            report(count, "json+gzip", gzip(json).length, time(() -> gzip(JSON.writeValueAsBytes(seats))));
+
+            byte[] raw = BinarySeatMap.encode(1, 1, rows, columns, seats, "user7", false);
+            report(count, "binary", raw.length,
+                    time(() -> BinarySeatMap.encode(1, 1, rows, columns, seats, "user7", false)));
+            byte[] deflated = BinarySeatMap.encode(1, 1, rows, columns, seats, "user7", true);
+            report(count, "binary+deflate", deflated.length,
+                    time(() -> BinarySeatMap.encode(1, 1, rows, columns, seats, "user7", true)));
+
+            // Round trip sanity check
+            BinarySeatMap.Decoded decoded = BinarySeatMap.decode(deflated);
+            if (decoded.rows() != rows || decoded.seatIds()[count - 1] != seats.get(count - 1).getId()) {
+                throw new IllegalStateException("Round trip mismatch");
+            }
+        }
+    }
+
+    private static List<Seat> venue(int rows, int columns) {
+        Random random = new Random(42);
+        List<Seat> seats = new ArrayList<>(rows * columns);
+        long id = 1_000_000;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                double p = random.nextDouble();
+                SeatStatus status = p < 0.60 ? SeatStatus.AVAILABLE : p < 0.65 ? SeatStatus.LOCKED : SeatStatus.BOOKED;
+                seats.add(Seat.builder()
+                        .id(id++)
+                        .seatNumber("R" + r + "-" + (c + 1))
+                        .rowIndex(r)
+                        .columnIndex(c)
+                        .status(status)
+                        .lockedBy(status == SeatStatus.AVAILABLE ? null : "user" + random.nextInt(5000))
+                        .lockExpiresAt(status == SeatStatus.LOCKED ? LocalDateTime.now().plusMinutes(10) : null)
+                        .version((long) random.nextInt(10))
+                        .build());
+            }
+        }
+        return seats;
+    }
+
+    private interface Encoding {
+        Object run() throws Exception;
+    }
+
+    private static long[] time(Encoding encoding) throws Exception {
+        for (int i = 0; i < RUNS / 4; i++) {
+            encoding.run(); // warm-up
+        }
+        long[] nanos = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            encoding.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    private static byte[] gzip(byte[] data) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    private static void report(int seats, String format, int bytes, long[] sortedNanos) {
+        System.out.printf("%-8d %-14s %12d %12.3f %12.3f%n", seats, format, bytes,
+                sortedNanos[sortedNanos.length / 2] / 1e6,
+                sortedNanos[(int) Math.min(sortedNanos.length - 1, Math.ceil(0.99 * sortedNanos.length) - 1)] / 1e6);
+    }
+}
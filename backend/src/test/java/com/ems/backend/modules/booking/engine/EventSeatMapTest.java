@@ -0,0 +1,132 @@
+package com.ems.backend.modules.booking.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.ems.backend.modules.booking.entities.Seat;
+import com.ems.backend.modules.booking.entities.SeatStatus;
+import com.ems.backend.modules.booking.services.SeatConflictException;
+
+class EventSeatMapTest {
+
+    private static final long NOW = 1_000_000;
+
+    // Out of order on purpose: the map sorts by id
+    private final EventSeatMap map = EventSeatMap.of(1L, List.of(seat(12L, "A3"), seat(10L, "A1"), seat(11L, "A2")));
+
+    @Test
+    void locksAllOrNothing() {
+        map.lock(List.of(10L), "ana", NOW, NOW + 100);
+
+        assertThrows(SeatConflictException.class, () -> map.lock(List.of(11L, 10L), "rui", NOW, NOW + 100));
+        assertEquals(SeatStatus.AVAILABLE, seatOf(11L).getStatus());
+
+        List<Seat> renewed = map.lock(List.of(10L, 11L), "ana", NOW + 50, NOW + 200);
+        assertEquals(SeatStatus.LOCKED, renewed.get(0).getPreviousStatus());
+        assertEquals(SeatStatus.AVAILABLE, renewed.get(1).getPreviousStatus());
+        assertEquals(Map.of(SeatStatus.LOCKED, 2L, SeatStatus.AVAILABLE, 1L), map.countByStatus());
+    }
+
+    @Test
+    void anExpiredHoldCanBeTakenOver() {
+        map.lock(List.of(10L), "ana", NOW, NOW + 100);
+
+        map.lock(List.of(10L), "rui", NOW + 101, NOW + 300);
+
+        assertEquals("rui", seatOf(10L).getLockedBy());
+    }
+
+    @Test
+    void confirmsOnlyLiveHoldsOfTheCaller() {
+        map.lock(List.of(10L, 11L), "ana", NOW, NOW + 100);
+
+        assertThrows(RuntimeException.class, () -> map.confirm(List.of(10L), "rui", NOW));
+        assertThrows(RuntimeException.class, () -> map.confirm(List.of(10L, 12L), "ana", NOW));
+        assertThrows(RuntimeException.class, () -> map.confirm(List.of(10L), "ana", NOW + 101));
+        assertEquals(SeatStatus.LOCKED, seatOf(10L).getStatus());
+
+        map.confirm(List.of(10L, 11L), "ana", NOW + 50);
+        Seat booked = seatOf(10L);
+        assertEquals(SeatStatus.BOOKED, booked.getStatus());
+        assertEquals("ana", booked.getLockedBy());
+        assertNull(booked.getLockExpiresAt());
+        assertThrows(SeatConflictException.class, () -> map.lock(List.of(11L), "rui", NOW + 60, NOW + 200));
+    }
+
+    @Test
+    void releasesOnlyTheHoldsOfTheCaller() {
+        map.lock(List.of(10L), "ana", NOW, NOW + 100);
+
+        assertThrows(RuntimeException.class, () -> map.release(List.of(10L), "rui"));
+        assertThrows(RuntimeException.class, () -> map.release(List.of(11L), "ana"));
+
+        map.release(List.of(10L), "ana");
+        assertEquals(SeatStatus.AVAILABLE, seatOf(10L).getStatus());
+        assertNull(seatOf(10L).getLockedBy());
+    }
+
+    @Test
+    void releasesExpiredHoldsOnly() {
+        map.lock(List.of(10L), "ana", NOW, NOW + 100);
+        map.lock(List.of(11L), "rui", NOW, NOW + 500);
+
+        assertTrue(map.releaseExpired(List.of(10L, 11L, 99L), NOW + 100).isEmpty());
+        assertEquals(List.of(10L), ids(map.releaseExpired(List.of(10L, 11L, 99L), NOW + 101)));
+        assertEquals(List.of(11L), ids(map.releaseExpired(NOW + 501)));
+        assertEquals(Map.of(SeatStatus.AVAILABLE, 3L), map.countByStatus());
+    }
+
+    @Test
+    void drainsEachChangedSeatOnceAndRestoresFailedRows() {
+        map.lock(List.of(10L), "ana", NOW, NOW + 100);
+        map.lock(List.of(10L, 12L), "ana", NOW, NOW + 200);
+
+        List<Object[]> rows = map.drainDirty();
+        assertEquals(List.of(10L, 12L), rows.stream().map(row -> row[4]).toList());
+        assertEquals("LOCKED", rows.get(0)[0]);
+        assertEquals("ana", rows.get(0)[1]);
+        assertEquals(2L, rows.get(0)[3]); // one version step per transition
+        assertTrue(map.drainDirty().isEmpty());
+
+        map.markDirty(rows.subList(1, 2));
+        assertEquals(List.of(12L), map.drainDirty().stream().map(row -> row[4]).toList());
+    }
+
+    @Test
+    void aRetiredMapTakesNoTransitionsUntilReopened() {
+        map.lock(List.of(10L), "ana", NOW, NOW + 100);
+        map.retire();
+
+        assertThrows(EventSeatMap.RetiredException.class, () -> map.lock(List.of(11L), "rui", NOW, NOW + 100));
+        assertThrows(EventSeatMap.RetiredException.class, () -> map.release(List.of(10L), "ana"));
+        assertTrue(map.releaseExpired(NOW + 101).isEmpty());
+
+        map.reopen();
+        map.release(List.of(10L), "ana");
+        assertEquals(Map.of(SeatStatus.AVAILABLE, 3L), map.countByStatus());
+    }
+
+    @Test
+    void unknownSeatsAreRejected() {
+        assertThrows(RuntimeException.class, () -> map.lock(List.of(99L), "ana", NOW, NOW + 100));
+    }
+
+    private Seat seatOf(Long seatId) {
+        return map.snapshot().stream().filter(seat -> seat.getId().equals(seatId)).findFirst().orElseThrow();
+    }
+
+    private static List<Long> ids(List<Seat> seats) {
+        return seats.stream().map(Seat::getId).toList();
+    }
+
+    private static Seat seat(Long id, String number) {
+        return Seat.builder().id(id).eventId(1L).seatNumber(number).status(SeatStatus.AVAILABLE).build();
+    }
+}
@@ -0,0 +1,179 @@
+package com.ems.backend.modules.booking.engine;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.ems.backend.modules.booking.entities.Seat;
+import com.ems.backend.modules.booking.entities.SeatStatus;
+
+/**
+ * Seat transition throughput of the in-memory engine vs the pessimistic-lock path.
+ * Each operation is a hold followed by its release (two transitions), so the
+ * venue never sells out during the run; confirm costs the same as release.
+ *
+ * Run with:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.ems.backend.modules.booking.engine.SeatEngineBenchmark \
+ *     -Dbench.seats=20000 -Dbench.threads=64 -Dbench.seconds=10 \
+ *     -Dbench.jdbc.url=jdbc:postgresql://localhost:5432/ems_db
+ *
+ * The pessimistic run is skipped when bench.jdbc.url is not set. It replays the
+ * SELECT ... FOR UPDATE + UPDATE pattern of PessimisticSeatTransitions on a
+ * scratch table so the real seats table is left untouched.
+ */
+public class SeatEngineBenchmark {
+
+    private static final int SEATS = Integer.getInteger("bench.seats", 20_000);
+    private static final int THREADS = Integer.getInteger("bench.threads", 64);
+    private static final int SECONDS = Integer.getInteger("bench.seconds", 10);
+    // Fraction of operations that target the first 1% of seats (front rows)
+    private static final double HOT_RATIO = Double.parseDouble(System.getProperty("bench.hot-ratio", "0.5"));
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("seats=%d threads=%d duration=%ds hotRatio=%.2f%n", SEATS, THREADS, SECONDS, HOT_RATIO);
+        report("memory", runMemory());
+
+        String url = System.getProperty("bench.jdbc.url");
+        if (url == null) {
+            System.out.println("pessimistic: skipped (set -Dbench.jdbc.url)");
+            return;
+        }
+        report("pessimistic", runPessimistic(url,
+                System.getProperty("bench.jdbc.user", "admin"),
+                System.getProperty("bench.jdbc.password", "password123")));
+    }
+
+    private static long[] runMemory() throws InterruptedException {
+        List<Seat> seats = new ArrayList<>(SEATS);
+        for (long id = 1; id <= SEATS; id++) {
+            seats.add(Seat.builder().id(id).seatNumber("S" + id).status(SeatStatus.AVAILABLE).build());
+        }
+        EventSeatMap map = EventSeatMap.of(1L, seats);
+
+        return drive(worker -> {
+            List<Long> seat = List.of(pickSeat());
+            String user = "user" + worker;
+            long now = System.currentTimeMillis();
+            try {
+                map.lock(seat, user, now, now + 600_000);
+            } catch (RuntimeException conflict) {
+                return false;
+            }
+            map.release(seat, user);
+            return true;
+        });
+    }
+
+    private static long[] runPessimistic(String url, String user, String password) throws Exception {
+        try (Connection setup = DriverManager.getConnection(url, user, password);
+             Statement st = setup.createStatement()) {
+            st.execute("DROP TABLE IF EXISTS bench_seats");
+            st.execute("CREATE TABLE bench_seats (id BIGINT PRIMARY KEY, status VARCHAR(16) NOT NULL, "
+                    + "locked_by VARCHAR(255), lock_expires_at TIMESTAMP, version BIGINT NOT NULL DEFAULT 0)");
+            st.execute("INSERT INTO bench_seats (id, status) SELECT g, 'AVAILABLE' FROM generate_series(1, " + SEATS + ") g");
+        }
+
+        // One connection per worker, as with a Hikari pool sized to the thread count
+        ThreadLocal<Connection> connections = ThreadLocal.withInitial(() -> {
+            try {
+                Connection c = DriverManager.getConnection(url, user, password);
+                c.setAutoCommit(false);
+                return c;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        return drive(worker -> {
+            Connection c = connections.get();
+            long seatId = pickSeat();
+            String holder = "user" + worker;
+            try {
+                boolean locked = transition(c, seatId, "AVAILABLE", "LOCKED", holder);
+                if (!locked) {
+                    return false;
+                }
+                transition(c, seatId, "LOCKED", "AVAILABLE", holder);
+                return true;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private static boolean transition(Connection c, long seatId, String expected, String next, String holder)
+            throws Exception {
+        try (PreparedStatement select = c.prepareStatement(
+                "SELECT status, version FROM bench_seats WHERE id = ? FOR UPDATE")) {
+            select.setLong(1, seatId);
+            try (ResultSet rs = select.executeQuery()) {
+                rs.next();
+                if (!expected.equals(rs.getString(1))) {
+                    c.rollback();
+                    return false;
+                }
+            }
+        }
+        try (PreparedStatement update = c.prepareStatement(
+                "UPDATE bench_seats SET status = ?, locked_by = ?, lock_expires_at = ?, version = version + 1 WHERE id = ?")) {
+            update.setString(1, next);
+            update.setString(2, "LOCKED".equals(next) ? holder : null);
+            update.setTimestamp(3, "LOCKED".equals(next) ? new Timestamp(System.currentTimeMillis() + 600_000) : null);
+            update.setLong(4, seatId);
+            update.executeUpdate();
+        }
+        c.commit();
+        return true;
+    }
+
+    // ====== Harness ======
+
+    interface Operation {
+        boolean run(int worker);
+    }
+
+    private static long[] drive(Operation op) throws InterruptedException {
+        AtomicLong ok = new AtomicLong();
+        AtomicLong conflicts = new AtomicLong();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SECONDS);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            int worker = t;
+            pool.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    if (op.run(worker)) {
+                        ok.incrementAndGet();
+                    } else {
+                        conflicts.incrementAndGet();
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(SECONDS + 30L, TimeUnit.SECONDS);
+        return new long[] { ok.get(), conflicts.get() };
+    }
+
+    private static long pickSeat() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int hot = Math.max(1, SEATS / 100);
+        return random.nextDouble() < HOT_RATIO ? 1 + random.nextInt(hot) : 1 + random.nextInt(SEATS);
+    }
+
+    private static void report(String name, long[] result) {
+        System.out.printf("%-12s %,12.0f holds/s  (%,d completed, %,d conflicts)%n",
+                name, (double) result[0] / SECONDS, result[0], result[1]);
+    }
+}
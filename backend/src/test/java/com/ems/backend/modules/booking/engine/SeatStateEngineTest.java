@@ -0,0 +1,154 @@
+package com.ems.backend.modules.booking.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ems.backend.core.cluster.ClusterBus;
+import com.ems.backend.modules.booking.entities.Seat;
+import com.ems.backend.modules.booking.entities.SeatStatus;
+import com.ems.backend.modules.booking.ledger.BookingLedger;
+import com.ems.backend.modules.booking.repositories.SeatRepository;
+import com.ems.backend.modules.booking.services.SeatMaterializer;
+import com.ems.backend.modules.event.entities.Event;
+import com.ems.backend.modules.event.entities.EventStatus;
+import com.ems.backend.modules.event.repositories.EventRepository;
+
+class SeatStateEngineTest {
+
+    private final SeatRepository seatRepository = mock(SeatRepository.class);
+    private final EventRepository eventRepository = mock(EventRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final BookingLedger bookingLedger = mock(BookingLedger.class);
+    private final SeatStateEngine engine = new SeatStateEngine(seatRepository, eventRepository, jdbcTemplate,
+            bookingLedger, mock(SeatMaterializer.class), mock(ClusterBus.class));
+
+    @BeforeEach
+    void setUp() {
+        when(seatRepository.findByEventId(1L)).thenReturn(List.of(seat(10L, "A1"), seat(11L, "A2")));
+        engine.findEventSeats(1L);
+    }
+
+    @Test
+    void flushWritesEachChangeOnceAndBookingsToTheLedger() {
+        LocalDateTime until = LocalDateTime.now().plusMinutes(5);
+        engine.lock(List.of(10L, 11L), "ana", until);
+        engine.confirm(List.of(10L), "ana");
+
+        engine.flush();
+        engine.flush();
+
+        List<Object[]> rows = flushedRows(1).get(0);
+        assertEquals(List.of("BOOKED", "LOCKED"), rows.stream().map(row -> row[0]).toList());
+        verify(bookingLedger).record(eq(List.of(new BookingLedger.Entry("ana", 10L))), any(LocalDateTime.class));
+    }
+
+    @Test
+    void aFailedFlushIsRetriedWithItsBookings() {
+        engine.lock(List.of(10L), "ana", LocalDateTime.now().plusMinutes(5));
+        engine.confirm(List.of(10L), "ana");
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(new int[] { 1 });
+
+        engine.flush();
+        verify(bookingLedger, never()).record(anyList(), any(LocalDateTime.class));
+        engine.flush();
+
+        assertEquals(2, flushedRows(2).size());
+        verify(bookingLedger).record(eq(List.of(new BookingLedger.Entry("ana", 10L))), any(LocalDateTime.class));
+    }
+
+    @Test
+    void evictingAnEventWritesItsChangesAndReloadsItOnDemand() {
+        engine.lock(List.of(10L), "ana", LocalDateTime.now().plusMinutes(5));
+
+        engine.evict(1L);
+
+        assertEquals(1, flushedRows(1).get(0).size());
+        engine.findEventSeats(1L);
+        verify(seatRepository, times(2)).findByEventId(1L);
+    }
+
+    @Test
+    void anEventWhoseWritesFailIsKeptUntilTheyLand() {
+        engine.lock(List.of(10L), "ana", LocalDateTime.now().plusMinutes(5));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(new int[] { 1, 1 });
+
+        engine.evict(1L);
+        engine.release(List.of(10L), "ana"); // still served by the same map
+        engine.evict(1L);
+
+        List<List<Object[]>> batches = flushedRows(2);
+        assertEquals("AVAILABLE", batches.get(1).get(0)[0]);
+        engine.findEventSeats(1L);
+        verify(seatRepository, times(2)).findByEventId(1L);
+    }
+
+    @Test
+    void evictsEventsThatStartedOrAreNoLongerOnSale() {
+        when(seatRepository.findByEventId(2L)).thenReturn(List.of(seat(20L, "A1")));
+        when(seatRepository.findByEventId(3L)).thenReturn(List.of(seat(30L, "A1")));
+        engine.findEventSeats(2L);
+        engine.findEventSeats(3L);
+        when(eventRepository.findAllById(anyList())).thenReturn(List.of(
+                event(1L, EventStatus.PUBLISHED, LocalDateTime.now().plusDays(1)),
+                event(2L, EventStatus.PUBLISHED, LocalDateTime.now().minusHours(1)),
+                event(3L, EventStatus.CANCELLED, LocalDateTime.now().plusDays(1))));
+
+        engine.evictPastEvents();
+
+        engine.findEventSeats(1L);
+        engine.findEventSeats(2L);
+        engine.findEventSeats(3L);
+        verify(seatRepository).findByEventId(1L);
+        verify(seatRepository, times(2)).findByEventId(2L);
+        verify(seatRepository, times(2)).findByEventId(3L);
+    }
+
+    @Test
+    void refusesToRunWithMoreThanOneNode() {
+        ReflectionTestUtils.setField(engine, "clusterBusMode", "postgres");
+
+        assertThrows(IllegalStateException.class, engine::init);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Object[]>> flushedRows(int batches) {
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(batches)).batchUpdate(anyString(), rows.capture());
+        return rows.getAllValues();
+    }
+
+    private static Event event(Long id, EventStatus status, LocalDateTime startTime) {
+        Event event = new Event();
+        event.setId(id);
+        event.setStatus(status);
+        event.setStartTime(startTime);
+        return event;
+    }
+
+    private static Seat seat(Long id, String number) {
+        return Seat.builder().id(id).eventId(1L).seatNumber(number).status(SeatStatus.AVAILABLE).build();
+    }
+}
@@ -0,0 +1,114 @@
+package com.ems.backend.modules.booking.ga;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import com.ems.backend.modules.booking.entities.GaInventoryShard;
+import com.ems.backend.modules.booking.entities.GaTicket;
+import com.ems.backend.modules.booking.entities.GaTicketStatus;
+import com.ems.backend.modules.booking.repositories.GaInventoryShardRepository;
+import com.ems.backend.modules.booking.repositories.GaTicketRepository;
+
+class GaInventoryTest {
+
+    private static final LocalDateTime EXPIRES = LocalDateTime.of(2026, 5, 1, 20, 0);
+
+    private final GaInventoryShardRepository shardRepository = mock(GaInventoryShardRepository.class);
+    private final GaTicketRepository ticketRepository = mock(GaTicketRepository.class);
+    private final GaInventory inventory = new GaInventory(shardRepository, ticketRepository);
+
+    @BeforeEach
+    void setUp() {
+        when(ticketRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void splitsIntoEqualPartsWithTheRemainderFirst() {
+        assertArrayEquals(new long[] { 4, 3, 3 }, GaInventory.split(10, 3));
+        assertArrayEquals(new long[] { 1, 1, 0, 0 }, GaInventory.split(2, 4));
+        assertArrayEquals(new long[] { 0, 0 }, GaInventory.split(0, 2));
+        assertEquals(1_000_003, LongStream.of(GaInventory.split(1_000_003, 16)).sum());
+    }
+
+    @Test
+    void neverCreatesMoreShardsThanTickets() {
+        assertEquals(16, GaInventory.shardCount(1000, 16));
+        assertEquals(5, GaInventory.shardCount(5, 16));
+        assertEquals(1, GaInventory.shardCount(0, 16));
+        assertEquals(1, GaInventory.shardCount(1000, 0));
+    }
+
+    @Test
+    void takesFromAProbedShardWithoutLockingTheOthers() {
+        when(shardRepository.take(eq(1L), anyInt(), eq(2L))).thenReturn(1);
+
+        GaTicket ticket = inventory.hold(1L, 4, 2, "ana", EXPIRES);
+
+        assertTrue(ticket.getShard() >= 0 && ticket.getShard() < 4);
+        assertEquals(GaTicketStatus.HELD, ticket.getStatus());
+        verify(shardRepository, never()).findByEventIdForUpdate(any());
+    }
+
+    @Test
+    void rebalancesWhenTheProbedShardsAreDry() {
+        List<GaInventoryShard> shards = List.of(shard(0, 5), shard(1, 0), shard(2, 1));
+        when(shardRepository.findByEventIdForUpdate(1L)).thenReturn(shards);
+
+        inventory.hold(1L, 3, 4, "ana", EXPIRES);
+
+        // 6 left, 4 taken: the other 2 spread again
+        assertEquals(List.of(1L, 1L, 0L), shards.stream().map(GaInventoryShard::getRemaining).toList());
+        verify(shardRepository).saveAll(shards);
+    }
+
+    @Test
+    void rejectsWhenTheShardsTogetherAreShort() {
+        when(shardRepository.findByEventIdForUpdate(1L)).thenReturn(List.of(shard(0, 1), shard(1, 1)));
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> inventory.hold(1L, 2, 3, "ana", EXPIRES));
+        assertEquals("Só restam 2 bilhetes para este evento", e.getMessage());
+        verify(ticketRepository, never()).save(any());
+    }
+
+    @Test
+    void expiredHoldsGoBackInShardOrder() {
+        when(ticketRepository.findExpiredHoldsForUpdateSkipLocked(10)).thenReturn(List.of(
+                ticket(2L, 1, 2), ticket(1L, 3, 1), ticket(1L, 0, 4), ticket(2L, 1, 3)));
+
+        inventory.releaseExpiredChunk(10);
+
+        InOrder order = inOrder(shardRepository);
+        order.verify(shardRepository).giveBack(1L, 0, 4);
+        order.verify(shardRepository).giveBack(1L, 3, 1);
+        order.verify(shardRepository).giveBack(2L, 1, 5);
+        order.verify(shardRepository, never()).giveBack(anyLong(), anyInt(), anyLong());
+    }
+
+    private static GaInventoryShard shard(int shard, long remaining) {
+        return GaInventoryShard.builder().eventId(1L).shard(shard).remaining(remaining).build();
+    }
+
+    private static GaTicket ticket(Long eventId, int shard, int quantity) {
+        return GaTicket.builder().eventId(eventId).shard(shard).quantity(quantity).username("ana")
+                .status(GaTicketStatus.HELD).holdExpiresAt(EXPIRES).build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.ems.backend.modules.booking.queue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ems.backend.core.cluster.ClusterBus;
+import com.ems.backend.core.cluster.LeaderElection;
+import com.ems.backend.modules.booking.dtos.QueueTicketResponse;
+import com.ems.backend.modules.booking.repositories.SeatRepository;
+import com.ems.backend.modules.notification.QueueNotificationService;
+
+class WaitingRoomServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private WaitingRoomService service;
+    private WaitingRoom room;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        service = new WaitingRoomService(mock(SeatRepository.class), mock(QueueNotificationService.class),
+                jdbcTemplate, mock(ClusterBus.class), mock(LeaderElection.class));
+        room = new WaitingRoom(42L, "secret");
+        room.apply(10, 4, 2);
+        ReflectionTestUtils.setField(service, "rooms", new ConcurrentHashMap<>(Map.of(42L, room)));
+    }
+
+    @Test
+    void joiningIsOneStatementOnTheRoomSequence() {
+        when(jdbcTemplate.queryForObject(contains("nextval"), eq(Long.class), any(Object[].class))).thenReturn(11L);
+
+        QueueTicketResponse response = service.join(42L, "ana.silva");
+
+        // No UPDATE of the shared waiting_rooms row: the place comes from waiting_room_seq_42
+        verify(jdbcTemplate).queryForObject(anyString(), eq(Long.class),
+                eq(42L), eq("ana.silva"), eq(2L), eq(42L), eq("ana.silva"), eq("waiting_room_seq_42"), eq(2L));
+        verifyNoMoreInteractions(jdbcTemplate);
+        assertFalse(response.getAdmitted());
+        assertEquals(11, room.lastIssued());
+        assertEquals(room.ticket("ana.silva", 11).token(), response.getToken());
+    }
+
+    @Test
+    void aValidTicketIsReturnedAgain() {
+        // The statement returns the current place instead of drawing a new one
+        when(jdbcTemplate.queryForObject(contains("nextval"), eq(Long.class), any(Object[].class))).thenReturn(3L);
+
+        QueueTicketResponse response = service.join(42L, "ana.silva");
+
+        assertTrue(response.getAdmitted());
+        assertEquals(10, room.lastIssued());
+        assertEquals(room.ticket("ana.silva", 3).token(), response.getToken());
+    }
+}
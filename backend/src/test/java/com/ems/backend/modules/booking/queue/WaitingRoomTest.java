@@ -0,0 +1,67 @@
+package com.ems.backend.modules.booking.queue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class WaitingRoomTest {
+
+    private static final long SESSION = 1000;
+
+    @Test
+    void tokensAreCheckedByAnyNodeWithTheSecret() {
+        WaitingRoom issuing = new WaitingRoom(1L, "secret");
+        WaitingRoom checking = new WaitingRoom(1L, "secret");
+
+        WaitingRoom.Ticket ticket = issuing.ticket("ana.silva", 7);
+        WaitingRoom.Ticket found = checking.find(ticket.token());
+        assertEquals("ana.silva", found.username());
+        assertEquals(7, found.sequence());
+        assertEquals(ticket.token(), issuing.ticket("ana.silva", 7).token());
+
+        // Another room, another place or another user: the signature no longer matches
+        assertNull(new WaitingRoom(1L, "other").find(ticket.token()));
+        assertNull(checking.find(ticket.token().replaceFirst("^7\\.", "1.")));
+        assertNull(checking.find("7.cnVp." + ticket.token().substring(ticket.token().lastIndexOf('.') + 1)));
+        assertNull(checking.find("garbage"));
+        assertNull(checking.find(null));
+    }
+
+    @Test
+    void admitsAtTheRateAndEndsSessionsInOrder() {
+        WaitingRoom room = new WaitingRoom(1L, "secret");
+        room.issued(5);
+
+        assertTrue(room.tick(0, 2, 3, SESSION));
+        assertEquals(2, room.admittedUpTo());
+        assertTrue(room.tick(100, 2, 3, SESSION));
+        assertEquals(3, room.admittedUpTo()); // max active
+        assertFalse(room.tick(200, 2, 3, SESSION));
+
+        WaitingRoom.Ticket first = room.ticket("ana", 1);
+        assertTrue(room.isAdmitted(first));
+        assertTrue(room.tick(SESSION, 2, 3, SESSION));
+        assertEquals(2, room.expiredUpTo());
+        assertNull(room.find(first.token()));
+        assertEquals(5, room.admittedUpTo());
+        assertEquals(0, room.position(room.ticket("rui", 5)));
+    }
+
+    @Test
+    void aNewTickerExpiresSessionsAdmittedElsewhere() {
+        WaitingRoom room = new WaitingRoom(1L, "secret");
+        // Watermarks relayed by the previous leader
+        room.apply(10, 4, 0);
+        room.apply(8, 2, 0);
+        assertEquals(10, room.lastIssued());
+        assertEquals(4, room.admittedUpTo());
+
+        room.tick(0, 0, 4, SESSION);
+        assertEquals(0, room.expiredUpTo());
+        room.tick(SESSION, 0, 4, SESSION);
+        assertEquals(4, room.expiredUpTo());
+    }
+}
@@ -0,0 +1,76 @@
+package com.ems.backend.modules.booking.scheduler;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ems.backend.core.cluster.LeaderElection;
+import com.ems.backend.modules.booking.entities.Seat;
+import com.ems.backend.modules.booking.entities.SeatStatus;
+import com.ems.backend.modules.booking.ga.GaTicketService;
+import com.ems.backend.modules.booking.repositories.SeatRepository;
+import com.ems.backend.modules.booking.services.BookingService;
+import com.ems.backend.modules.booking.services.SeatsChangedEvent;
+
+class LockExpirationSchedulerTest {
+
+    private final BookingService bookingService = mock(BookingService.class);
+    private final LockExpirationScheduler scheduler = new LockExpirationScheduler(bookingService,
+            mock(SeatRepository.class), mock(LeaderElection.class), mock(GaTicketService.class));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(scheduler, "tickMillis", 1L);
+        ReflectionTestUtils.setField(scheduler, "wheelSize", 16);
+        ReflectionTestUtils.setField(scheduler, "retryMillis", 0L);
+        scheduler.init();
+        Seat seat = Seat.builder().id(10L).eventId(1L).seatNumber("A1").status(SeatStatus.LOCKED)
+                .lockExpiresAt(LocalDateTime.now().minusSeconds(5)).build();
+        scheduler.onSeatsChanged(new SeatsChangedEvent(1L, List.of(seat)));
+    }
+
+    @Test
+    void aFailedReleaseIsRetried() throws InterruptedException {
+        when(bookingService.releaseExpiredSeats(anyList()))
+                .thenThrow(new IllegalStateException("connection reset"))
+                .thenReturn(1);
+
+        scheduler.releaseDueLocks();
+        Thread.sleep(5); // past the retry deadline
+        scheduler.releaseDueLocks();
+
+        verify(bookingService, times(2)).releaseExpiredSeats(List.of(10L));
+    }
+
+    @Test
+    void aReleasedHoldIsNotReleasedAgain() throws InterruptedException {
+        when(bookingService.releaseExpiredSeats(anyList())).thenReturn(1);
+
+        scheduler.releaseDueLocks();
+        Thread.sleep(5);
+        scheduler.releaseDueLocks();
+
+        verify(bookingService).releaseExpiredSeats(List.of(10L));
+    }
+
+    @Test
+    void aRenewedHoldIsNotReleased() {
+        Seat renewed = Seat.builder().id(10L).eventId(1L).seatNumber("A1").status(SeatStatus.LOCKED)
+                .lockExpiresAt(LocalDateTime.now().plusMinutes(5)).build();
+        scheduler.onSeatsChanged(new SeatsChangedEvent(1L, List.of(renewed)));
+
+        scheduler.releaseDueLocks();
+
+        verify(bookingService, never()).releaseExpiredSeats(anyList());
+    }
+}
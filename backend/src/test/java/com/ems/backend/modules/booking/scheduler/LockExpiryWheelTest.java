@@ -0,0 +1,68 @@
+package com.ems.backend.modules.booking.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class LockExpiryWheelTest {
+
+    private static final long TICK = 10;
+    private static final long START = 1_000;
+
+    // 4 slots of 10 ms: one revolution is 40 ms
+    private final LockExpiryWheel wheel = new LockExpiryWheel(TICK, 4, START);
+
+    @Test
+    void firesOnTheFirstTickAfterTheDeadline() {
+        wheel.schedule(1L, 10L, START + 25);
+
+        assertTrue(wheel.advance(START + 29).isEmpty());
+        assertEquals(List.of(new LockExpiryWheel.Expiry(1L, 10L, START + 25)), wheel.advance(START + 30));
+        assertTrue(wheel.advance(START + 100).isEmpty());
+    }
+
+    @Test
+    void deadlinesBeyondOneRevolutionWaitForTheirRound() {
+        // Same slot (tick 2), zero and two revolutions ahead
+        wheel.schedule(1L, 10L, START + 15);
+        wheel.schedule(1L, 11L, START + 95);
+
+        assertEquals(List.of(10L), seatIds(wheel.advance(START + 20)));
+        // The slot comes round at ticks 6 and 10: only the second is the due one
+        assertTrue(wheel.advance(START + 60).isEmpty());
+        assertTrue(wheel.advance(START + 99).isEmpty());
+        assertEquals(List.of(11L), seatIds(wheel.advance(START + 100)));
+    }
+
+    @Test
+    void scheduledAfterTheWheelWrappedRoundsCountFromTheCurrentTick() {
+        wheel.advance(START + 130); // three revolutions and a bit
+        wheel.schedule(1L, 10L, START + 175); // tick 18: same slot as tick 14, one round ahead
+        wheel.schedule(1L, 11L, START + 135); // tick 14: next pass of that slot
+
+        assertEquals(List.of(11L), seatIds(wheel.advance(START + 140)));
+        assertTrue(wheel.advance(START + 179).isEmpty());
+        assertEquals(List.of(10L), seatIds(wheel.advance(START + 180)));
+    }
+
+    @Test
+    void pastDeadlinesFireOnTheNextTick() {
+        wheel.advance(START + 500);
+        wheel.schedule(1L, 10L, START + 50);
+
+        assertEquals(List.of(10L), seatIds(wheel.advance(START + 510)));
+    }
+
+    @Test
+    void wheelSizeMustBeAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new LockExpiryWheel(TICK, 6, START));
+    }
+
+    private static List<Long> seatIds(List<LockExpiryWheel.Expiry> due) {
+        return due.stream().map(LockExpiryWheel.Expiry::seatId).toList();
+    }
+}
@@ -0,0 +1,40 @@
+package com.ems.backend.modules.booking.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import com.ems.backend.modules.booking.entities.Seat;
+
+class SeatBulkWriterTest {
+
+    @Test
+    void rowLabelsGoPastZ() {
+        assertEquals("A", Seat.rowLabel(0));
+        assertEquals("Z", Seat.rowLabel(25));
+        assertEquals("AA", Seat.rowLabel(26));
+        assertEquals("AZ", Seat.rowLabel(51));
+        assertEquals("BA", Seat.rowLabel(52));
+        assertEquals("ZZ", Seat.rowLabel(701));
+        assertEquals("AAA", Seat.rowLabel(702));
+    }
+
+    @Test
+    void writesOneCopyLinePerSeatRowByRow() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        int seats = SeatBulkWriter.writeRows(42, 28, 10, out);
+
+        String[] lines = out.toString(StandardCharsets.US_ASCII).split("\n");
+        assertEquals(280, seats);
+        assertEquals(280, lines.length);
+        assertEquals("42\tA1\t0\t0\tAVAILABLE\t0", lines[0]);
+        assertEquals("42\tA10\t0\t9\tAVAILABLE\t0", lines[9]);
+        assertEquals("42\tZ1\t25\t0\tAVAILABLE\t0", lines[250]);
+        assertEquals("42\tAB10\t27\t9\tAVAILABLE\t0", lines[279]);
+    }
+}
@@ -0,0 +1,208 @@
+package com.ems.backend.modules.booking.services;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Contention benchmark of the pessimistic vs the conditional (compare-and-set)
+ * transition modes: many concurrent lockers competing for a small set of seats
+ * through a bounded connection pool, as in an on-sale rush.
+ *
+ * Each operation tries to hold one seat and, when it wins, releases it again,
+ * replaying the SQL of PessimisticSeatTransitions (SELECT ... FOR UPDATE, then
+ * UPDATE) and of ConditionalSeatTransitions (one conditional UPDATE) on a
+ * scratch table so the real seats table is left untouched.
+ *
+ * Run with:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.ems.backend.modules.booking.services.SeatContentionBenchmark \
+ *     -Dbench.jdbc.url=jdbc:postgresql://localhost:5432/ems_db \
+ *     -Dbench.lockers=1000 -Dbench.seats=500 -Dbench.pool=50 -Dbench.seconds=15
+ */
+public class SeatContentionBenchmark {
+
+    private static final int LOCKERS = Integer.getInteger("bench.lockers", 1000);
+    private static final int SEATS = Integer.getInteger("bench.seats", 500);
+    private static final int POOL = Integer.getInteger("bench.pool", 50);
+    private static final int SECONDS = Integer.getInteger("bench.seconds", 15);
+
+    interface Attempt {
+        // true if the hold was won (and released again), false on conflict
+        boolean run(Connection c, long seatId, String holder) throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("bench.jdbc.url");
+        if (url == null) {
+            System.out.println("Set -Dbench.jdbc.url to a PostgreSQL database");
+            return;
+        }
+        System.out.printf("lockers=%d seats=%d pool=%d duration=%ds%n", LOCKERS, SEATS, POOL, SECONDS);
+
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setUsername(System.getProperty("bench.jdbc.user", "admin"));
+        config.setPassword(System.getProperty("bench.jdbc.password", "password123"));
+        config.setMaximumPoolSize(POOL);
+        config.setAutoCommit(false);
+        config.setConnectionTimeout(60_000);
+
+        try (HikariDataSource dataSource = new HikariDataSource(config)) {
+            resetTable(dataSource);
+            run("pessimistic", dataSource, SeatContentionBenchmark::pessimistic);
+            resetTable(dataSource);
+            run("conditional", dataSource, SeatContentionBenchmark::conditional);
+        }
+    }
+
+    // ====== Modes ======
+
+    private static boolean pessimistic(Connection c, long seatId, String holder) throws Exception {
+        try (PreparedStatement select = c.prepareStatement(
+                "SELECT status, lock_expires_at FROM bench_seats WHERE id = ? FOR UPDATE")) {
+            select.setLong(1, seatId);
+            try (ResultSet rs = select.executeQuery()) {
+                rs.next();
+                Timestamp expires = rs.getTimestamp(2);
+                boolean free = "AVAILABLE".equals(rs.getString(1))
+                        || (expires != null && expires.getTime() < System.currentTimeMillis());
+                if (!free) {
+                    c.rollback();
+                    return false;
+                }
+            }
+        }
+        try (PreparedStatement update = c.prepareStatement(
+                "UPDATE bench_seats SET status = 'LOCKED', locked_by = ?, lock_expires_at = ?, version = version + 1 WHERE id = ?")) {
+            update.setString(1, holder);
+            update.setTimestamp(2, new Timestamp(System.currentTimeMillis() + 600_000));
+            update.setLong(3, seatId);
+            update.executeUpdate();
+        }
+        c.commit();
+
+        try (PreparedStatement select = c.prepareStatement(
+                "SELECT status, locked_by FROM bench_seats WHERE id = ? FOR UPDATE")) {
+            select.setLong(1, seatId);
+            select.executeQuery().close();
+        }
+        try (PreparedStatement update = c.prepareStatement(
+                "UPDATE bench_seats SET status = 'AVAILABLE', locked_by = NULL, lock_expires_at = NULL, version = version + 1 WHERE id = ?")) {
+            update.setLong(1, seatId);
+            update.executeUpdate();
+        }
+        c.commit();
+        return true;
+    }
+
+    private static boolean conditional(Connection c, long seatId, String holder) throws Exception {
+        int won;
+        try (PreparedStatement update = c.prepareStatement(
+                "UPDATE bench_seats SET status = 'LOCKED', locked_by = ?, lock_expires_at = ?, version = version + 1 "
+                        + "WHERE id = ? AND (status = 'AVAILABLE' OR (status = 'LOCKED' AND lock_expires_at < ?))")) {
+            long now = System.currentTimeMillis();
+            update.setString(1, holder);
+            update.setTimestamp(2, new Timestamp(now + 600_000));
+            update.setLong(3, seatId);
+            update.setTimestamp(4, new Timestamp(now));
+            won = update.executeUpdate();
+        }
+        c.commit();
+        if (won == 0) {
+            return false;
+        }
+
+        try (PreparedStatement update = c.prepareStatement(
+                "UPDATE bench_seats SET status = 'AVAILABLE', locked_by = NULL, lock_expires_at = NULL, version = version + 1 "
+                        + "WHERE id = ? AND status = 'LOCKED' AND locked_by = ?")) {
+            update.setLong(1, seatId);
+            update.setString(2, holder);
+            update.executeUpdate();
+        }
+        c.commit();
+        return true;
+    }
+
+    // ====== Harness ======
+
+    private static void run(String name, HikariDataSource dataSource, Attempt attempt) throws InterruptedException {
+        AtomicLong wins = new AtomicLong();
+        AtomicLong conflicts = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        // Latency histogram in 100µs buckets, last bucket = overflow
+        AtomicLongArray histogram = new AtomicLongArray(10_001);
+        CountDownLatch start = new CountDownLatch(1);
+        long[] deadline = new long[1];
+
+        try (ExecutorService lockers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < LOCKERS; i++) {
+                String holder = "user" + i;
+                lockers.submit(() -> {
+                    start.await();
+                    while (System.nanoTime() < deadline[0]) {
+                        long seatId = 1 + ThreadLocalRandom.current().nextInt(SEATS);
+                        long began = System.nanoTime();
+                        try (Connection c = dataSource.getConnection()) {
+                            if (attempt.run(c, seatId, holder)) {
+                                wins.incrementAndGet();
+                            } else {
+                                conflicts.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - began);
+                        histogram.incrementAndGet((int) Math.min(micros / 100, histogram.length() - 1));
+                    }
+                    return null;
+                });
+            }
+            deadline[0] = System.nanoTime() + TimeUnit.SECONDS.toNanos(SECONDS);
+            start.countDown();
+        }
+
+        System.out.printf("%-12s %,10.0f holds/s  conflicts=%,d errors=%,d  p50=%.1fms p99=%.1fms p999=%.1fms%n",
+                name, (double) wins.get() / SECONDS, conflicts.get(), errors.get(),
+                percentile(histogram, 0.50), percentile(histogram, 0.99), percentile(histogram, 0.999));
+    }
+
+    private static double percentile(AtomicLongArray histogram, double p) {
+        long[] counts = new long[histogram.length()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = histogram.get(i);
+        }
+        long total = Arrays.stream(counts).sum();
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= total * p) {
+                return (i + 1) / 10.0;
+            }
+        }
+        return counts.length / 10.0;
+    }
+
+    private static void resetTable(HikariDataSource dataSource) throws Exception {
+        try (Connection c = dataSource.getConnection(); Statement st = c.createStatement()) {
+            st.execute("DROP TABLE IF EXISTS bench_seats");
+            st.execute("CREATE TABLE bench_seats (id BIGINT PRIMARY KEY, status VARCHAR(16) NOT NULL, "
+                    + "locked_by VARCHAR(255), lock_expires_at TIMESTAMP, version BIGINT NOT NULL DEFAULT 0)");
+            st.execute("INSERT INTO bench_seats (id, status) SELECT g, 'AVAILABLE' FROM generate_series(1, " + SEATS + ") g");
+            c.commit();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.ems.backend.modules.booking.waitlist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.ems.backend.core.cluster.ClusterMessagingTemplate;
+import com.ems.backend.modules.auth.repositories.UserRepository;
+import com.ems.backend.modules.booking.entities.Seat;
+import com.ems.backend.modules.booking.entities.SeatStatus;
+import com.ems.backend.modules.booking.entities.WaitlistEntry;
+import com.ems.backend.modules.booking.entities.WaitlistStatus;
+import com.ems.backend.modules.booking.repositories.WaitlistEntryRepository;
+import com.ems.backend.modules.booking.services.SeatConflictException;
+import com.ems.backend.modules.booking.services.SeatTransitions;
+import com.ems.backend.modules.event.repositories.EventRepository;
+import com.ems.backend.modules.notification.repositories.UserNotificationRepository;
+
+class WaitlistPromoterTest {
+
+    private static final LocalDateTime UNTIL = LocalDateTime.of(2030, 1, 1, 20, 5);
+
+    private final WaitlistEntryRepository waitlistRepository = mock(WaitlistEntryRepository.class);
+    private final SeatTransitions seatTransitions = mock(SeatTransitions.class);
+    private final ClusterMessagingTemplate messagingTemplate = mock(ClusterMessagingTemplate.class);
+    private final WaitlistPromoter promoter = new WaitlistPromoter(waitlistRepository, seatTransitions,
+            mock(UserRepository.class), mock(EventRepository.class), mock(UserNotificationRepository.class),
+            messagingTemplate);
+
+    private final WaitlistEntry head = WaitlistEntry.builder().id(5L).eventId(1L).username("ana")
+            .status(WaitlistStatus.WAITING).build();
+
+    @Test
+    void holdsTheSeatForTheHeadOfTheQueue() {
+        when(waitlistRepository.findHeadForUpdateSkipLocked(1L)).thenReturn(Optional.of(head));
+        when(seatTransitions.lock(List.of(10L), "ana", UNTIL)).thenReturn(List.of(Seat.builder().id(10L)
+                .eventId(1L).seatNumber("A1").status(SeatStatus.LOCKED).lockedBy("ana").lockExpiresAt(UNTIL).build()));
+
+        WaitlistPromoter.Promotion promotion = promoter.promote(1L, 10L, UNTIL);
+
+        assertEquals(WaitlistStatus.PROMOTED, promotion.entry().getStatus());
+        assertEquals(10L, promotion.entry().getSeatId());
+        verify(waitlistRepository).save(head);
+        verify(messagingTemplate).convertAndSendToUser(anyString(), anyString(), anyMap());
+    }
+
+    @Test
+    void aSeatTakenFirstLeavesTheHeadWaiting() {
+        when(waitlistRepository.findHeadForUpdateSkipLocked(1L)).thenReturn(Optional.of(head));
+        when(seatTransitions.lock(List.of(10L), "ana", UNTIL))
+                .thenThrow(new SeatConflictException("Assento A1 já está bloqueado por outro utilizador"));
+
+        assertThrows(SeatConflictException.class, () -> promoter.promote(1L, 10L, UNTIL));
+
+        // The transaction rolls back: nothing was written and the entry is still at the head
+        assertEquals(WaitlistStatus.WAITING, head.getStatus());
+        verify(waitlistRepository, never()).save(any());
+        verify(messagingTemplate, never()).convertAndSendToUser(anyString(), anyString(), anyMap());
+    }
+
+    @Test
+    void anEmptyQueuePromotesNobody() {
+        when(waitlistRepository.findHeadForUpdateSkipLocked(1L)).thenReturn(Optional.empty());
+
+        assertNull(promoter.promote(1L, 10L, UNTIL));
+        verify(seatTransitions, never()).lock(any(), any(), any());
+    }
+}
@@ -0,0 +1,123 @@
+package com.ems.backend.modules.booking.waitlist;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.ems.backend.core.cluster.ClusterBus;
+import com.ems.backend.core.cluster.LeaderElection;
+import com.ems.backend.modules.booking.changes.SeatChangeRelay;
+import com.ems.backend.modules.booking.counters.SeatCounterService;
+import com.ems.backend.modules.booking.entities.Seat;
+import com.ems.backend.modules.booking.entities.SeatStatus;
+import com.ems.backend.modules.booking.entities.WaitlistEntry;
+import com.ems.backend.modules.booking.entities.WaitlistStatus;
+import com.ems.backend.modules.booking.repositories.SeatRepository;
+import com.ems.backend.modules.booking.repositories.WaitlistEntryRepository;
+import com.ems.backend.modules.booking.services.SeatConflictException;
+import com.ems.backend.modules.booking.services.SeatsChangedEvent;
+import com.ems.backend.modules.event.repositories.EventRepository;
+import com.ems.backend.modules.notification.SeatNotificationService;
+
+class WaitlistServiceTest {
+
+    private final WaitlistEntryRepository waitlistRepository = mock(WaitlistEntryRepository.class);
+    private final WaitlistPromoter promoter = mock(WaitlistPromoter.class);
+    private final SeatRepository seatRepository = mock(SeatRepository.class);
+    private final LeaderElection leaderElection = mock(LeaderElection.class);
+    private final WaitlistService service = new WaitlistService(waitlistRepository, promoter,
+            mock(SeatCounterService.class), mock(EventRepository.class), mock(SeatNotificationService.class),
+            mock(SeatChangeRelay.class), mock(ClusterBus.class), seatRepository, leaderElection);
+
+    @BeforeEach
+    void setUp() {
+        when(waitlistRepository.findEventIdsWithWaiting()).thenReturn(List.of(1L));
+        service.loadWaitlists();
+    }
+
+    @Test
+    void seatsFreedDuringAPromotionAreStillPromoted() {
+        when(promoter.promote(eq(1L), eq(10L), any(LocalDateTime.class))).thenAnswer(invocation -> {
+            // Another request frees a seat of the same event while the promotion runs
+            service.onSeatsChanged(freed(11L));
+            return promotion(10L, "ana");
+        });
+        when(promoter.promote(eq(1L), eq(11L), any(LocalDateTime.class))).thenReturn(promotion(11L, "rui"));
+
+        service.onSeatsChanged(freed(10L));
+        service.promoteFreedSeats();
+
+        verify(promoter).promote(eq(1L), eq(11L), any(LocalDateTime.class));
+    }
+
+    @Test
+    void aSeatTakenFirstLeavesTheQueueForTheNextSeat() {
+        when(promoter.promote(eq(1L), eq(10L), any(LocalDateTime.class)))
+                .thenThrow(new SeatConflictException("Assento A1 já está bloqueado por outro utilizador"));
+        when(promoter.promote(eq(1L), eq(11L), any(LocalDateTime.class))).thenReturn(promotion(11L, "ana"));
+
+        service.onSeatsChanged(freed(10L));
+        service.promoteFreedSeats();
+        service.onSeatsChanged(freed(11L));
+        service.promoteFreedSeats();
+
+        verify(promoter).promote(eq(1L), eq(11L), any(LocalDateTime.class));
+    }
+
+    @Test
+    void anEmptyQueueKeepsCollectingUntilTheTableSaysOtherwise() {
+        when(promoter.promote(anyLong(), anyLong(), any(LocalDateTime.class))).thenReturn(null);
+
+        service.onSeatsChanged(freed(10L));
+        service.promoteFreedSeats();
+        service.onSeatsChanged(freed(11L));
+        service.promoteFreedSeats();
+        verify(promoter).promote(eq(1L), eq(11L), any(LocalDateTime.class));
+
+        when(waitlistRepository.findEventIdsWithWaiting()).thenReturn(List.of());
+        service.reconcile();
+        service.onSeatsChanged(freed(12L));
+        service.promoteFreedSeats();
+        verify(promoter, never()).promote(eq(1L), eq(12L), any(LocalDateTime.class));
+    }
+
+    @Test
+    void theLeaderQueuesSeatsFreedWhileNobodyWasListening() {
+        when(leaderElection.isLeader()).thenReturn(true);
+        when(waitlistRepository.countByEventIdAndStatus(1L, WaitlistStatus.WAITING)).thenReturn(2L);
+        when(seatRepository.findAvailableIds(1L, 2)).thenReturn(List.of(10L, 11L));
+        when(promoter.promote(anyLong(), anyLong(), any(LocalDateTime.class))).thenReturn(promotion(10L, "ana"));
+
+        service.reconcile();
+        service.onSeatsChanged(freed(10L)); // already queued
+        service.promoteFreedSeats();
+
+        verify(promoter, times(1)).promote(eq(1L), eq(10L), any(LocalDateTime.class));
+        verify(promoter, times(1)).promote(eq(1L), eq(11L), any(LocalDateTime.class));
+    }
+
+    private static SeatsChangedEvent freed(Long seatId) {
+        return new SeatsChangedEvent(1L, List.of(seat(seatId, SeatStatus.AVAILABLE, null)));
+    }
+
+    private static WaitlistPromoter.Promotion promotion(Long seatId, String username) {
+        WaitlistEntry entry = WaitlistEntry.builder().id(seatId * 100).eventId(1L).username(username)
+                .status(WaitlistStatus.PROMOTED).seatId(seatId).build();
+        return new WaitlistPromoter.Promotion(entry, seat(seatId, SeatStatus.LOCKED, username));
+    }
+
+    private static Seat seat(Long id, SeatStatus status, String holder) {
+        return Seat.builder().id(id).eventId(1L).seatNumber("A" + id).status(status).lockedBy(holder).build();
+    }
+}
@@ -0,0 +1,151 @@
+package com.ems.backend.modules.event;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Latency of the full-text catalog search on a generated dataset.
+ * Builds a scratch {@code bench_events} table with the same generated
+ * search_vector column and GIN index as V2__event_search.sql, then runs the
+ * search query of EventCatalogRepositoryImpl (first page and a keyset
+ * page further down) for rare, common and multi-word queries.
+ *
+ * Run with:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.ems.backend.modules.event.EventSearchBenchmark \
+ *     -Dbench.jdbc.url=jdbc:postgresql://localhost:5432/ems_db \
+ *     -Dbench.events=1000000 -Dbench.runs=50
+ *
+ * Add -Dbench.reuse=true to skip regenerating the table on later runs.
+ */
+public class EventSearchBenchmark {
+
+    private static final int EVENTS = Integer.getInteger("bench.events", 1_000_000);
+    private static final int RUNS = Integer.getInteger("bench.runs", 50);
+    private static final int PAGE = 20;
+
+    private static final String[] QUERIES = {
+        "fado",                    // rare
+        "concerto",                // common
+        "concerto jazz lisboa",    // multi-word AND
+        "teatro OR dança",         // OR
+        "\"festival de verão\"",   // phrase
+    };
+
+    private static final String SEARCH_SQL =
+            "WITH q AS (SELECT websearch_to_tsquery('portuguese', ?) AS query) "
+            + "SELECT p.id, p.rank, "
+            + "ts_headline('portuguese', p.title, q.query, 'StartSel=<mark>, StopSel=</mark>, HighlightAll=true'), "
+            + "ts_headline('portuguese', coalesce(p.description, ''), q.query, "
+            + "'StartSel=<mark>, StopSel=</mark>, MinWords=15, MaxWords=35, MaxFragments=2') "
+            + "FROM (SELECT e.id, e.title, e.description, ts_rank_cd(e.search_vector, q.query) AS rank "
+            + "FROM bench_events e CROSS JOIN q "
+            + "WHERE e.status = 'PUBLISHED' AND e.search_vector @@ q.query "
+            + "AND (ts_rank_cd(e.search_vector, q.query) < ? "
+            + "OR (ts_rank_cd(e.search_vector, q.query) = ? AND e.id > ?)) "
+            + "ORDER BY rank DESC, e.id LIMIT ?) p CROSS JOIN q ORDER BY p.rank DESC, p.id";
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("bench.jdbc.url");
+        if (url == null) {
+            System.out.println("Set -Dbench.jdbc.url to a PostgreSQL database");
+            return;
+        }
+        try (Connection c = DriverManager.getConnection(url,
+                System.getProperty("bench.jdbc.user", "admin"),
+                System.getProperty("bench.jdbc.password", "password123"))) {
+            if (!Boolean.getBoolean("bench.reuse")) {
+                generate(c);
+            }
+            System.out.printf("events=%d runs=%d page=%d%n", EVENTS, RUNS, PAGE);
+            System.out.printf("%-26s %8s %10s %10s %10s %10s%n", "query", "page", "p50 ms", "p95 ms", "p99 ms", "rows");
+            for (String text : QUERIES) {
+                measure(c, text);
+            }
+        }
+    }
+
+    private static void generate(Connection c) throws Exception {
+        long start = System.nanoTime();
+        try (Statement st = c.createStatement()) {
+            st.execute("DROP TABLE IF EXISTS bench_events");
+            st.execute("CREATE TABLE bench_events (id BIGINT PRIMARY KEY, title VARCHAR(255) NOT NULL, description TEXT, "
+                    + "category VARCHAR(255) NOT NULL, location VARCHAR(255), status VARCHAR(32) NOT NULL)");
+            // Titles and descriptions drawn from a small vocabulary with a skewed distribution,
+            // so some terms match most rows and others only a few
+            st.execute("INSERT INTO bench_events (id, title, description, category, location, status) "
+                    + "SELECT g, "
+                    + "(ARRAY['Concerto','Festival','Teatro','Workshop','Conferência','Exposição','Dança','Cinema'])[1 + (g % 8)] "
+                    + "|| ' ' || CASE WHEN g % 997 = 0 THEN 'de Fado' "
+                    + "ELSE (ARRAY['de Verão','de Jazz','Clássico','Rock','Infantil','Digital','Popular'])[1 + ((g / 8) % 7)] END "
+                    + "|| ' ' || g, "
+                    + "repeat('Uma noite com artistas convidados, música ao vivo e muita animação para toda a família. ', 1 + (g % 4)) "
+                    + "|| (ARRAY['Lisboa','Porto','Coimbra','Braga','Faro','Aveiro'])[1 + (g % 6)], "
+                    + "(ARRAY['Música','Teatro','Tecnologia','Arte','Desporto'])[1 + (g % 5)], "
+                    + "(ARRAY['Lisboa','Porto','Coimbra','Braga','Faro','Aveiro'])[1 + ((g / 3) % 6)], "
+                    + "CASE WHEN g % 10 = 0 THEN 'DRAFT' ELSE 'PUBLISHED' END "
+                    + "FROM generate_series(1, " + EVENTS + ") g");
+            st.execute("ALTER TABLE bench_events ADD COLUMN search_vector tsvector GENERATED ALWAYS AS ("
+                    + "setweight(to_tsvector('portuguese', coalesce(title, '')), 'A') || "
+                    + "setweight(to_tsvector('portuguese', coalesce(category, '')), 'B') || "
+                    + "setweight(to_tsvector('portuguese', coalesce(location, '')), 'B') || "
+                    + "setweight(to_tsvector('portuguese', coalesce(description, '')), 'C')) STORED");
+            st.execute("CREATE INDEX idx_bench_events_search ON bench_events USING GIN (search_vector)");
+            st.execute("ANALYZE bench_events");
+        }
+        System.out.printf("generated %d events in %.1fs%n", EVENTS, (System.nanoTime() - start) / 1e9);
+    }
+
+    private static void measure(Connection c, String text) throws Exception {
+        try (PreparedStatement ps = c.prepareStatement(SEARCH_SQL)) {
+            // Page 1, then follow the keyset cursor to page 5
+            for (int targetPage : new int[] { 1, 5 }) {
+                long[] nanos = new long[RUNS];
+                int rows = 0;
+                for (int run = 0; run < RUNS; run++) {
+                    float afterRank = Float.MAX_VALUE;
+                    long afterId = 0;
+                    long start = 0;
+                    for (int page = 1; page <= targetPage; page++) {
+                        if (page == targetPage) {
+                            start = System.nanoTime();
+                        }
+                        ps.setString(1, text);
+                        ps.setFloat(2, afterRank);
+                        ps.setFloat(3, afterRank);
+                        ps.setLong(4, afterId);
+                        ps.setInt(5, PAGE);
+                        rows = 0;
+                        try (ResultSet rs = ps.executeQuery()) {
+                            while (rs.next()) {
+                                afterId = rs.getLong(1);
+                                afterRank = rs.getFloat(2);
+                                rs.getString(3);
+                                rs.getString(4);
+                                rows++;
+                            }
+                        }
+                    }
+                    nanos[run] = System.nanoTime() - start;
+                }
+                report(text, targetPage, nanos, rows);
+            }
+        }
+    }
+
+    private static void report(String text, int page, long[] nanos, int rows) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        List<String> cols = new ArrayList<>();
+        for (double p : new double[] { 0.50, 0.95, 0.99 }) {
+            cols.add(String.format("%10.2f", sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1e6));
+        }
+        System.out.printf("%-26s %8d %s %10d%n", text, page, String.join(" ", cols), rows);
+    }
+}
@@ -0,0 +1,120 @@
+package com.ems.backend.modules.event.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ems.backend.core.cache.InProcessCacheInvalidationChannel;
+import com.ems.backend.modules.event.dtos.EventCatalogFilter;
+import com.ems.backend.modules.event.dtos.EventCatalogPage;
+import com.ems.backend.modules.event.dtos.EventResponse;
+import com.ems.backend.modules.event.dtos.EventSummaryResponse;
+
+/**
+ * Two caches sharing the in-process channel stand in for two nodes.
+ */
+class EventCatalogCacheTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2030, 1, 1, 20, 0);
+
+    private final InProcessCacheInvalidationChannel channel = new InProcessCacheInvalidationChannel();
+    private final EventCatalogCache nodeA = node(channel);
+    private final EventCatalogCache nodeB = node(channel);
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void startTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void endTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void evictsOnAllNodesOnlyAfterCommit() {
+        getEvent(nodeA, 1L);
+        getEvent(nodeB, 1L);
+        assertEquals(2, loads.get());
+
+        nodeA.evictAfterCommit(1L, T0);
+        // Not committed yet: both nodes still serve the cached event
+        getEvent(nodeA, 1L);
+        getEvent(nodeB, 1L);
+        assertEquals(2, loads.get());
+
+        commit();
+        getEvent(nodeA, 1L);
+        getEvent(nodeB, 1L);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void evictsOnlyThePagesCoveringTheEventPosition() {
+        EventCatalogFilter filter = new EventCatalogFilter();
+        EventCatalogCache.Position endOfFirstPage = new EventCatalogCache.Position(T0.plusDays(1), 2L);
+        getPage(nodeA, filter, null, List.of(summary(1L, T0), summary(2L, T0.plusDays(1))), "next");
+        getPage(nodeA, filter, endOfFirstPage, List.of(summary(3L, T0.plusDays(2))), null);
+        assertEquals(2, loads.get());
+
+        // Event 3 moves further into the last page: the first page keeps the same rows
+        nodeB.evictAfterCommit(3L, T0.plusDays(2), T0.plusDays(3));
+        commit();
+        getPage(nodeA, filter, null, List.of(), "next");
+        getPage(nodeA, filter, endOfFirstPage, List.of(), null);
+        assertEquals(3, loads.get());
+    }
+
+    // ====== Auxiliares ======
+
+    private static EventCatalogCache node(InProcessCacheInvalidationChannel channel) {
+        EventCatalogCache cache = new EventCatalogCache(channel);
+        ReflectionTestUtils.setField(cache, "maxPages", 100);
+        ReflectionTestUtils.setField(cache, "pageTtlSeconds", 60L);
+        ReflectionTestUtils.setField(cache, "maxEvents", 100);
+        ReflectionTestUtils.setField(cache, "eventTtlSeconds", 60L);
+        cache.init();
+        return cache;
+    }
+
+    private void getEvent(EventCatalogCache cache, Long eventId) {
+        cache.getEvent(eventId, () -> {
+            loads.incrementAndGet();
+            return EventResponse.builder().id(eventId).startTime(T0).build();
+        });
+    }
+
+    private void getPage(EventCatalogCache cache, EventCatalogFilter filter, EventCatalogCache.Position after,
+            List<EventSummaryResponse> items, String nextCursor) {
+        cache.getPage(filter, after, 2, () -> {
+            loads.incrementAndGet();
+            return EventCatalogPage.builder().items(items).nextCursor(nextCursor).build();
+        });
+    }
+
+    private static EventSummaryResponse summary(Long id, LocalDateTime startTime) {
+        EventSummaryResponse summary = new EventSummaryResponse();
+        summary.setId(id);
+        summary.setStartTime(startTime);
+        return summary;
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+}
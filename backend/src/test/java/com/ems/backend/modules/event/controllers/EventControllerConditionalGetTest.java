@@ -0,0 +1,103 @@
+package com.ems.backend.modules.event.controllers;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.ems.backend.core.cache.InProcessCacheInvalidationChannel;
+import com.ems.backend.modules.booking.changes.SeatChangeLog;
+import com.ems.backend.modules.booking.entities.Seat;
+import com.ems.backend.modules.booking.entities.SeatStatus;
+import com.ems.backend.modules.booking.queue.WaitingRoomService;
+import com.ems.backend.modules.booking.services.SeatsChangedEvent;
+import com.ems.backend.modules.event.cache.EventCatalogCache;
+import com.ems.backend.modules.event.dtos.EventCatalogPage;
+import com.ems.backend.modules.event.services.EventService;
+import com.ems.backend.modules.notification.OrganizerNotificationService;
+
+/**
+ * A 304 is answered from the in-memory versions: EventService (and with it
+ * every repository and SQL statement) is never reached.
+ */
+class EventControllerConditionalGetTest {
+
+    private final EventService eventService = mock(EventService.class);
+    private final SeatChangeLog seatChangeLog = new SeatChangeLog(mock(JdbcTemplate.class));
+    private final EventCatalogCache catalogCache = new EventCatalogCache(new InProcessCacheInvalidationChannel());
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(seatChangeLog, "bufferSize", 16);
+        ReflectionTestUtils.setField(catalogCache, "maxPages", 10);
+        ReflectionTestUtils.setField(catalogCache, "maxEvents", 10);
+        ReflectionTestUtils.invokeMethod(catalogCache, "init");
+        EventController controller = new EventController(eventService, mock(OrganizerNotificationService.class),
+                mock(WaitingRoomService.class), seatChangeLog, catalogCache);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void unchangedSeatMapIsNotModifiedWithoutLoadingSeats() throws Exception {
+        Seat seat = Seat.builder().id(10L).eventId(1L).seatNumber("A1").status(SeatStatus.AVAILABLE).build();
+        when(eventService.getEventSeats(1L)).thenReturn(List.of(seat));
+
+        String etag = mockMvc.perform(get("/api/events/1/seats"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/events/1/seats").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+        verify(eventService, times(1)).getEventSeats(1L);
+
+        // A transition bumps the version: the old tag no longer matches
+        seat.setPreviousStatus(SeatStatus.AVAILABLE);
+        seat.setStatus(SeatStatus.LOCKED);
+        seatChangeLog.onSeatsChanged(new SeatsChangedEvent(1L, List.of(seat)));
+        mockMvc.perform(get("/api/events/1/seats").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+        verify(eventService, times(2)).getEventSeats(1L);
+        verifyNoMoreInteractions(eventService);
+    }
+
+    @Test
+    void unchangedCatalogIsNotModifiedWithoutQuerying() throws Exception {
+        when(eventService.getCatalogPage(any(), isNull(), anyInt()))
+                .thenReturn(EventCatalogPage.builder().items(List.of()).build());
+
+        String etag = mockMvc.perform(get("/api/events"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/events").param("category", "Música").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        verify(eventService, times(1)).getCatalogPage(any(), isNull(), anyInt());
+
+        catalogCache.evictAfterCommit(5L, LocalDateTime.now());
+        mockMvc.perform(get("/api/events").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+        verify(eventService, times(2)).getCatalogPage(any(), isNull(), anyInt());
+        verifyNoMoreInteractions(eventService);
+    }
+}
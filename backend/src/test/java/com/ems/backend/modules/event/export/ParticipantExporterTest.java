@@ -0,0 +1,86 @@
+package com.ems.backend.modules.event.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import com.ems.backend.modules.event.dtos.ParticipantResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+class ParticipantExporterTest {
+
+    private final ParticipantExporter exporter = new ParticipantExporter(
+        new ObjectMapper().findAndRegisterModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+
+    private static final LocalDateTime BOOKED_AT = LocalDateTime.of(2026, 3, 1, 20, 15);
+
+    @Test
+    void csvQuotesFieldsAndDefusesFormulas() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = exporter.write(Stream.of(
+            new ParticipantResponse(1L, "ana", "Silva, Ana", "ana@ems.pt", "A1", BOOKED_AT),
+            new ParticipantResponse(2L, "rui", "Rui \"RJ\"", "=HYPERLINK(\"x\")", "AB10", null)),
+            ParticipantExporter.Format.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(2, count);
+        assertEquals(3, lines.length);
+        assertEquals("id,username,fullName,email,seatNumber,bookedAt", lines[0]);
+        assertEquals("1,ana,\"Silva, Ana\",ana@ems.pt,A1,2026-03-01T20:15", lines[1]);
+        assertEquals("2,rui,\"Rui \"\"RJ\"\"\",\"'=HYPERLINK(\"\"x\"\")\",AB10,", lines[2]);
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLine() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exporter.write(Stream.of(
+            new ParticipantResponse(1L, "ana", "Ana", "ana@ems.pt", "A1", BOOKED_AT),
+            new ParticipantResponse(2L, "rui", null, "rui@ems.pt", "B2", BOOKED_AT)),
+            ParticipantExporter.Format.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"id\":1,\"username\":\"ana\",\"fullName\":\"Ana\",\"email\":\"ana@ems.pt\","
+            + "\"seatNumber\":\"A1\",\"bookedAt\":\"2026-03-01T20:15:00\"}", lines[0]);
+    }
+
+    @Test
+    void flushesWhileStreaming() throws IOException {
+        int[] flushes = { 0 };
+        OutputStream out = new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void flush() {
+                flushes[0]++;
+            }
+        };
+
+        long count = exporter.write(LongStream.range(0, 2 * ParticipantExporter.FLUSH_EVERY)
+            .mapToObj(i -> new ParticipantResponse(i, "u" + i, null, null, "A" + i, null)),
+            ParticipantExporter.Format.CSV, out);
+
+        assertEquals(2 * ParticipantExporter.FLUSH_EVERY, count);
+        assertEquals(3, flushes[0]);
+    }
+
+    @Test
+    void rejectsUnknownFormats() {
+        assertEquals(ParticipantExporter.Format.NDJSON, ParticipantExporter.Format.of("NDJSON"));
+        assertThrows(RuntimeException.class, () -> ParticipantExporter.Format.of("xlsx"));
+    }
+}
@@ -0,0 +1,62 @@
+import { useEffect, useRef } from "react";
+import SockJS from "sockjs-client";
+import { getToken } from "../services/auth";
+
+const WS_URL = import.meta.env.VITE_API_URL ?? "http://localhost:8080";
+
+// Progresso da fila de espera de um evento (/topic/queue/{id}): um aviso por tick com o admittedUpTo,
+// a posição de cada um calcula-se no cliente. onConnect corre a cada (re)ligação: é aí que se pede
+// o estado do ticket, para não ficar à espera de um tick que já passou
+export function useQueueWebSocket(eventId, onStatus, onConnect) {
+  const callbacksRef = useRef({ onStatus, onConnect });
+  callbacksRef.current = { onStatus, onConnect };
+
+  useEffect(() => {
+    if (!eventId) return;
+    let client = null;
+    let mounted = true;
+
+    async function connect() {
+      try {
+        const { Client } = await import("@stomp/stompjs");
+
+        if (!mounted) return;
+
+        client = new Client({
+          webSocketFactory: () => new SockJS(`${WS_URL}/ws`),
+          beforeConnect: () => {
+            const token = getToken();
+            client.connectHeaders = token ? { Authorization: `Bearer ${token}` } : {};
+          },
+          reconnectDelay: 5000,
+          heartbeatIncoming: 4000,
+          heartbeatOutgoing: 4000,
+          onConnect: () => {
+            client.subscribe(`/topic/queue/${eventId}`, (message) => {
+              try {
+                callbacksRef.current.onStatus?.(JSON.parse(message.body));
+              } catch (e) {
+                console.error("Error parsing queue status:", e);
+              }
+            });
+            callbacksRef.current.onConnect?.();
+          },
+          onStompError: (frame) => {
+            console.error("STOMP error:", frame.headers?.message || frame);
+          },
+        });
+
+        client.activate();
+      } catch (error) {
+        console.error("Failed to initialize queue WebSocket:", error);
+      }
+    }
+
+    connect();
+
+    return () => {
+      mounted = false;
+      if (client) client.deactivate();
+    };
+  }, [eventId]);
+}
@@ -1,16 +1,22 @@
 import { useEffect, useRef } from "react";
 import SockJS from "sockjs-client";
+import { getToken } from "../services/auth";
 
 const WS_URL = import.meta.env.VITE_API_URL ?? "http://localhost:8080";
 
-export function useSeatWebSocket(onSeatUpdate, onRefresh) {
+// Atualizações dos lugares de um evento (/topic/events/{id}/seats), em lotes agregados pelo servidor.
+// onConnect corre a cada (re)ligação: é aí que se recupera o que se perdeu (GET ...?since=)
+// onWaitlist recebe os avisos pessoais da lista de espera deste evento (/user/queue/waitlist)
+// queueToken: ticket admitido da fila de espera, enviado na subscrição (cabeçalho queue-token)
+export function useSeatWebSocket(eventId, onSeatUpdate, onConnect, onWaitlist, queueToken) {
   const clientRef = useRef(null);
   const connectedRef = useRef(false);
   
-  const callbacksRef = useRef({ onSeatUpdate, onRefresh });
-  callbacksRef.current = { onSeatUpdate, onRefresh };
+  const callbacksRef = useRef({ onSeatUpdate, onConnect, onWaitlist });
+  callbacksRef.current = { onSeatUpdate, onConnect, onWaitlist };
 
   useEffect(() => {
+    if (!eventId) return;
     let client = null;
     let mounted = true;
 
@@ -23,6 +29,11 @@ export function useSeatWebSocket(onSeatUpdate, onRefresh) {
         client = new Client({
           // Usar SockJS como factory de WebSocket
           webSocketFactory: () => new SockJS(`${WS_URL}/ws`),
+          // O mesmo token da API: sem ele a sessão é anónima e não recebe mensagens pessoais
+          beforeConnect: () => {
+            const token = getToken();
+            client.connectHeaders = token ? { Authorization: `Bearer ${token}` } : {};
+          },
           reconnectDelay: 5000,
           heartbeatIncoming: 4000,
           heartbeatOutgoing: 4000,
@@ -33,25 +44,26 @@ export function useSeatWebSocket(onSeatUpdate, onRefresh) {
             console.log("✅ WebSocket connected");
             connectedRef.current = true;
 
-            client.subscribe("/topic/seats", (message) => {
+            client.subscribe(`/topic/events/${eventId}/seats`, (message) => {
               try {
-                const update = JSON.parse(message.body);
-                console.log("📨 Seat update:", update);
-                callbacksRef.current.onSeatUpdate?.(update);
+                const batch = JSON.parse(message.body);
+                console.log("📨 Seat batch update:", batch);
+                batch.updates?.forEach((update) => callbacksRef.current.onSeatUpdate?.(update));
               } catch (e) {
-                console.error("Error parsing seat update:", e);
+                console.error("Error parsing seat batch update:", e);
               }
-            });
+            }, queueToken ? { "queue-token": queueToken } : {});
 
-            client.subscribe("/topic/seats/refresh", (message) => {
+            client.subscribe("/user/queue/waitlist", (message) => {
               try {
-                const count = JSON.parse(message.body);
-                console.log("🔄 Seats released:", count);
-                callbacksRef.current.onRefresh?.();
+                const notice = JSON.parse(message.body);
+                if (notice.eventId === eventId) callbacksRef.current.onWaitlist?.(notice);
               } catch (e) {
-                console.error("Error parsing refresh:", e);
+                console.error("Error parsing waitlist notice:", e);
               }
             });
+
+            callbacksRef.current.onConnect?.();
           },
           onDisconnect: () => {
             console.log("❌ WebSocket disconnected");
@@ -83,7 +95,8 @@ export function useSeatWebSocket(onSeatUpdate, onRefresh) {
       mounted = false;
       if (clientRef.current) {
         clientRef.current.deactivate();
+        clientRef.current = null;
       }
     };
-  }, []);
+  }, [eventId, queueToken]);
 }
\ No newline at end of file
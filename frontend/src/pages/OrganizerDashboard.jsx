@@ -2,6 +2,7 @@ import { useState, useEffect, useCallback } from "react";
 import { useAuth } from "../context/AuthContext";
 import { apiFetch } from "../services/api";
 import { useSeatWebSocket } from "../hooks/useSeatWebSocket";
+import { compareRowLabels, rowLabel, seatColumnNumber } from "../services/seatMap";
 import "./OrganizerDashboard.css";
 import EventMap from '../components/EventMap';
 
@@ -270,14 +271,14 @@ function EventWizard({ onClose, onEventCreated }) {
                   <h4>🎭 Configuração do Mapa de Assentos</h4>
                   <div className="form-row">
                     <div className="form-group">
-                      <label>Número de Filas (A-Z)</label>
+                      <label>Número de Filas (A, B, ..., Z, AA, ...)</label>
                       <input
                         type="number"
                         name="seatRows"
                         value={formData.seatRows}
                         onChange={handleChange}
                         min={1}
-                        max={26}
+                        max={1000}
                       />
                     </div>
                     <div className="form-group">
@@ -288,13 +289,13 @@ function EventWizard({ onClose, onEventCreated }) {
                         value={formData.seatColumns}
                         onChange={handleChange}
                         min={1}
-                        max={50}
+                        max={1000}
                       />
                     </div>
                   </div>
                   <p className="seat-preview">
                     🎟️ Total: <strong>{formData.seatRows * formData.seatColumns}</strong> lugares
-                    (Fila A até {String.fromCharCode(64 + Math.min(Number(formData.seatRows) || 1, 26))}, 
+                    (Fila A até {rowLabel((Number(formData.seatRows) || 1) - 1)}, 
                     Lugares 1-{formData.seatColumns})
                   </p>
                 </div>
@@ -372,7 +373,8 @@ function SeatMap({ seats }) {
   }
 
   const seatsByRow = seats.reduce((acc, seat) => {
-    const row = seat.seatNumber.charAt(0);
+    // Letras da fila (A, ..., Z, AA, AB, ...)
+    const row = seat.seatNumber.replace(/\d+$/, "");
     if (!acc[row]) acc[row] = [];
     acc[row].push(seat);
     return acc;
@@ -395,19 +397,19 @@ function SeatMap({ seats }) {
         <span><span className="legend-dot" style={{ background: "#ef4444" }} /> Reservado</span>
       </div>
       <div className="seat-grid">
-        {Object.entries(seatsByRow).sort().map(([row, rowSeats]) => (
+        {Object.entries(seatsByRow).sort(([a], [b]) => compareRowLabels(a, b)).map(([row, rowSeats]) => (
           <div key={row} className="seat-row">
             <span className="row-label">{row}</span>
             {rowSeats
-              .sort((a, b) => parseInt(a.seatNumber.slice(1)) - parseInt(b.seatNumber.slice(1)))
+              .sort((a, b) => seatColumnNumber(a) - seatColumnNumber(b))
               .map((seat) => (
                 <div
-                  key={seat.id}
+                  key={seat.seatNumber}
                   className="seat"
                   style={{ backgroundColor: getStatusColor(seat.status) }}
                   title={`${seat.seatNumber} - ${seat.status}${seat.lockedBy ? ` (${seat.lockedBy})` : ""}`}
                 >
-                  {seat.seatNumber.slice(1)}
+                  {seatColumnNumber(seat)}
                 </div>
               ))}
           </div>
@@ -428,6 +430,8 @@ export default function OrganizerDashboard() {
   const [eventStats, setEventStats] = useState(null);
   const [eventSeats, setEventSeats] = useState([]);
   const [participants, setParticipants] = useState([]);
+  const [participantsTotal, setParticipantsTotal] = useState(0);
+  const [participantsCursor, setParticipantsCursor] = useState(null);
   const [notifications, setNotifications] = useState([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
@@ -439,17 +443,18 @@ export default function OrganizerDashboard() {
 
   const handleSeatUpdate = useCallback((update) => {
     setNotifications((prev) => [
-      { id: Date.now(), ...update, timestamp: new Date() },
+      { id: `${Date.now()}-${update.seatId}`, ...update, timestamp: new Date() },
       ...prev.slice(0, 9),
     ]);
-    if (selectedEvent) {
-      fetchEventSeats(selectedEvent.id);
-    }
-  }, [selectedEvent]);
+    // Lugares sem id (ainda sem linha na BD) são encontrados pelo número
+    setEventSeats((prev) => prev.map((s) =>
+      (s.id ? s.id === update.seatId : s.seatNumber === update.seatNumber)
+        ? { ...s, id: update.seatId, status: update.status, lockedBy: update.lockedBy }
+        : s
+    ));
+  }, []);
 
-  useSeatWebSocket(handleSeatUpdate, () => {
-    if (selectedEvent) fetchEventSeats(selectedEvent.id);
-  });
+  useSeatWebSocket(selectedEvent?.id, handleSeatUpdate);
 
   useEffect(() => {
     fetchDashboardData();
@@ -506,10 +511,15 @@ export default function OrganizerDashboard() {
     }
   };
 
-  const fetchParticipants = async (eventId) => {
+  const fetchParticipants = async (eventId, cursor = null) => {
     try {
-      const res = await apiFetch(`/api/events/${eventId}/participants`);
-      if (res.ok) setParticipants(await res.json());
+      const res = await apiFetch(`/api/events/${eventId}/participants${cursor ? `?cursor=${encodeURIComponent(cursor)}` : ""}`);
+      if (res.ok) {
+        const page = await res.json();
+        setParticipants((prev) => (cursor ? [...prev, ...page.items] : page.items));
+        setParticipantsTotal(page.total);
+        setParticipantsCursor(page.nextCursor);
+      }
     } catch (err) {
       console.error("Erro ao carregar participantes:", err);
     }
@@ -552,19 +562,18 @@ export default function OrganizerDashboard() {
     }
   };
 
-  const exportParticipants = () => {
-    if (participants.length === 0) {
+  // O CSV é gerado no servidor (todas as páginas, em streaming)
+  const exportParticipants = async () => {
+    if (participantsTotal === 0) {
       alert("Não há participantes para exportar.");
       return;
     }
-    const csv = [
-      ["Nome", "Email", "Username", "Lugar"].join(","),
-      ...participants.map((p) =>
-        [p.fullName || "", p.email || "", p.username || "", p.seatNumber || ""].join(",")
-      ),
-    ].join("\n");
-
-    const blob = new Blob([csv], { type: "text/csv;charset=utf-8;" });
+    const res = await apiFetch(`/api/events/${selectedEvent.id}/participants/export?format=csv`);
+    if (!res.ok) {
+      alert("Erro ao exportar participantes: " + (await res.text()));
+      return;
+    }
+    const blob = await res.blob();
     const url = URL.createObjectURL(blob);
     const a = document.createElement("a");
     a.href = url;
@@ -905,8 +914,8 @@ export default function OrganizerDashboard() {
                   <button 
                     className="btn-action" 
                     onClick={() => setShowMessageModal(true)}
-                    disabled={participants.length === 0}
-                    title={participants.length === 0 ? "Sem participantes para notificar" : ""}
+                    disabled={participantsTotal === 0}
+                    title={participantsTotal === 0 ? "Sem participantes para notificar" : ""}
                   >
                     📧 Enviar Mensagem
                   </button>
@@ -922,7 +931,7 @@ export default function OrganizerDashboard() {
               </div>
 
               <div className="participants-section">
-                <h3>👥 Participantes ({participants.length})</h3>
+                <h3>👥 Participantes ({participantsTotal})</h3>
                 {participants.length === 0 ? (
                   <p className="empty-message">Ainda não há participantes inscritos.</p>
                 ) : (
@@ -945,6 +954,11 @@ export default function OrganizerDashboard() {
                     </tbody>
                   </table>
                 )}
+                {participantsCursor && (
+                  <button className="btn-secondary" onClick={() => fetchParticipants(selectedEvent.id, participantsCursor)}>
+                    Carregar mais participantes
+                  </button>
+                )}
               </div>
             </div>
           ) : activeTab === "notifications" ? (
@@ -1041,7 +1055,7 @@ export default function OrganizerDashboard() {
                 fontSize: "0.9rem",
                 marginBottom: "1.5rem"
               }}>
-                👥 {participants.length} participante{participants.length !== 1 ? "s" : ""} será{participants.length !== 1 ? "ão" : ""} notificado{participants.length !== 1 ? "s" : ""}
+                👥 {participantsTotal} participante{participantsTotal !== 1 ? "s" : ""} será{participantsTotal !== 1 ? "ão" : ""} notificado{participantsTotal !== 1 ? "s" : ""}
               </p>
               <div className="form-group">
                 <label>Mensagem *</label>
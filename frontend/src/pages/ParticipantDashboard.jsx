@@ -1,7 +1,9 @@
-import { useState, useEffect, useCallback } from "react";
+import { useState, useEffect, useCallback, useRef } from "react";
 import { useAuth } from "../context/AuthContext";
 import { apiFetch } from "../services/api";
 import { useSeatWebSocket } from "../hooks/useSeatWebSocket";
+import { useQueueWebSocket } from "../hooks/useQueueWebSocket";
+import { SEAT_MAP_TYPE, compareRowLabels, decodeSeatMap, isOlderUpdate, seatColumnNumber } from "../services/seatMap";
 import "./ParticipantDashboard.css";
 import EventMap from '../components/EventMap';
 
@@ -125,11 +127,128 @@ function SeatMapModal({ event, onClose, onBookingComplete }) {
   const [lockTimer, setLockTimer] = useState(null);
   const [timeLeft, setTimeLeft] = useState(0);
   const [error, setError] = useState(null);
+  const [waitlist, setWaitlist] = useState(null);
+  // Ticket da fila de espera (on-sales de grande procura); sem fila aberta o servidor admite logo
+  const [queue, setQueue] = useState(null);
+  const admitted = queue?.admitted === true;
+  const queueToken = queue?.token ?? null;
+  const queueHeaders = queueToken ? { "X-Queue-Token": queueToken } : {};
 
   useEffect(() => {
+    joinQueue();
+    fetchWaitlist();
+  }, [event.id]);
+
+  useEffect(() => {
+    if (!admitted) return;
     console.log("🔄 useEffect triggered, calling fetchSeats..."); // DEBUG
     fetchSeats();
-  }, [event.id]);
+  }, [admitted]);
+
+  const joinQueue = async () => {
+    setQueue(null);
+    try {
+      const res = await apiFetch(`/api/queue/events/${event.id}/join`, { method: "POST" });
+      if (res.ok) {
+        setQueue(await res.json());
+      } else {
+        setError("Erro ao entrar na fila: " + res.status);
+        setLoading(false);
+      }
+    } catch (err) {
+      setError("Erro de conexão: " + err.message);
+      setLoading(false);
+    }
+  };
+
+  // Posição = sequence - admittedUpTo; com a fila fechada entra toda a gente
+  const handleQueueStatus = useCallback((status) => {
+    setQueue((q) => {
+      if (!q || q.admitted) return q;
+      const position = status.open ? Math.max(0, q.sequence - status.admittedUpTo) : 0;
+      return { ...q, position, admitted: position === 0 };
+    });
+  }, []);
+
+  const refreshQueue = useCallback(async () => {
+    if (!queueToken) return;
+    try {
+      const res = await apiFetch(`/api/queue/events/${event.id}?token=${encodeURIComponent(queueToken)}`);
+      if (res.ok) setQueue(await res.json());
+    } catch (err) {
+      console.error("Erro ao obter posição na fila:", err);
+    }
+  }, [event.id, queueToken]);
+
+  useQueueWebSocket(queue && !admitted ? event.id : null, handleQueueStatus, refreshQueue);
+
+  // Aplica as alterações recebidas sem voltar a pedir o mapa todo (ignora estados mais antigos que o atual).
+  // Um lugar sem id (ainda sem linha na BD) é encontrado pelo número e fica com o id que recebeu
+  const applySeatUpdate = useCallback((update) => {
+    setSeats((prev) => prev.map((s) =>
+      (s.id ? s.id === update.seatId : s.seatNumber === update.seatNumber) && !isOlderUpdate(update, s)
+        ? { ...s, id: update.seatId, status: update.status, lockedBy: update.lockedBy,
+            sequence: update.sequence, version: update.version }
+        : s
+    ));
+  }, []);
+
+  // Posição do último GET; depois de uma religação pede-se só o que mudou desde aí
+  const sequenceRef = useRef(null);
+  const syncSeats = useCallback(async () => {
+    if (sequenceRef.current === null) return;
+    try {
+      const res = await apiFetch(`/api/events/${event.id}/seats?since=${sequenceRef.current}`, {
+        headers: queueToken ? { "X-Queue-Token": queueToken } : {},
+      });
+      if (!res.ok) return;
+      const delta = await res.json();
+      if (delta.full) {
+        setSeats(delta.seats);
+      } else {
+        delta.changes.forEach(applySeatUpdate);
+      }
+      sequenceRef.current = delta.sequence;
+    } catch (err) {
+      console.error("Erro ao sincronizar lugares:", err);
+    }
+  }, [event.id, queueToken, applySeatUpdate]);
+
+  // Um lugar libertado foi reservado para nós pela lista de espera: segue o fluxo normal de confirmação
+  const handleWaitlistPromotion = useCallback((notice) => {
+    setWaitlist(null);
+    setSelectedSeat({ id: notice.seatId, seatNumber: notice.seatNumber, status: "LOCKED" });
+    setLockTimer(Date.now());
+    setTimeLeft(Math.max(0, Math.round((new Date(notice.lockExpiresAt) - Date.now()) / 1000)));
+    alert(notice.message);
+  }, []);
+
+  useSeatWebSocket(admitted ? event.id : null, applySeatUpdate, syncSeats, handleWaitlistPromotion, queueToken);
+
+  const fetchWaitlist = async () => {
+    try {
+      const res = await apiFetch(`/api/bookings/events/${event.id}/waitlist`);
+      if (res.ok) setWaitlist(await res.json());
+    } catch (err) {
+      console.error("Erro ao obter lista de espera:", err);
+    }
+  };
+
+  const toggleWaitlist = async () => {
+    const waiting = waitlist?.status === "WAITING";
+    try {
+      const res = await apiFetch(`/api/bookings/events/${event.id}/waitlist`, { method: waiting ? "DELETE" : "POST" });
+      if (res.ok) {
+        setWaitlist(await res.json());
+      } else {
+        alert((await res.text()) || "Não foi possível atualizar a lista de espera");
+      }
+    } catch (err) {
+      console.error("Erro na lista de espera:", err);
+    }
+  };
+
+  const soldOut = seats.length > 0 && !selectedSeat && !seats.some((s) => s.status === "AVAILABLE");
 
   useEffect(() => {
     if (timeLeft > 0) {
@@ -147,19 +266,24 @@ function SeatMapModal({ event, onClose, onBookingComplete }) {
     setLoading(true);
     setError(null);
     try {
+      // Mapa binário compacto, com a posição a partir da qual pedir só as alterações
       const url = `/api/events/${event.id}/seats`;
       console.log("🌐 Fetching URL:", url); // DEBUG
       
-      const res = await apiFetch(url);
+      const res = await apiFetch(url, { headers: { Accept: SEAT_MAP_TYPE, ...queueHeaders } });
       console.log("📥 Response received:", res.status, res.statusText); // DEBUG
       
       if (res.ok) {
-        const data = await res.json();
+        const data = await decodeSeatMap(await res.arrayBuffer());
         console.log("✅ Seats data:", data); // DEBUG
-        setSeats(data);
-        if (data.length === 0) {
+        setSeats(data.seats);
+        sequenceRef.current = data.sequence;
+        if (data.seats.length === 0) {
           setError("Este evento não tem lugares configurados.");
         }
+      } else if (res.status === 403 && queueToken) {
+        // Sessão da fila terminou: volta a entrar
+        joinQueue();
       } else {
         const errorText = await res.text();
         console.error("❌ API Error:", res.status, errorText); // DEBUG
@@ -182,7 +306,11 @@ function SeatMapModal({ event, onClose, onBookingComplete }) {
     }
 
     try {
-      const res = await apiFetch(`/api/bookings/seats/${seat.id}/lock`, { method: "POST" });
+      // Lugares ainda sem id são bloqueados pela posição na grelha
+      const path = seat.id
+        ? `/api/bookings/seats/${seat.id}/lock`
+        : `/api/bookings/events/${event.id}/seats/${seat.rowIndex}/${seat.columnIndex}/lock`;
+      const res = await apiFetch(path, { method: "POST", headers: queueHeaders });
       if (res.ok) {
         const lockedSeat = await res.json();
         setSelectedSeat(lockedSeat);
@@ -242,7 +370,8 @@ function SeatMapModal({ event, onClose, onBookingComplete }) {
   };
 
   const seatsByRow = seats.reduce((acc, seat) => {
-    const row = seat.seatNumber.charAt(0);
+    // Letras da fila (A, ..., Z, AA, AB, ...)
+    const row = seat.seatNumber.replace(/\d+$/, "");
     if (!acc[row]) acc[row] = [];
     acc[row].push(seat);
     return acc;
@@ -251,7 +380,7 @@ function SeatMapModal({ event, onClose, onBookingComplete }) {
   const getSeatClass = (seat) => {
     if (seat.status === "BOOKED") return "seat booked";
     if (seat.status === "LOCKED") {
-      return selectedSeat?.id === seat.id ? "seat selected" : "seat locked";
+      return seat.id && selectedSeat?.id === seat.id ? "seat selected" : "seat locked";
     }
     return "seat available";
   };
@@ -288,7 +417,13 @@ function SeatMapModal({ event, onClose, onBookingComplete }) {
           </div>
         )}
 
-        {loading ? (
+        {queue && !admitted ? (
+          <div className="loading-state">
+            <div className="loading-spinner" />
+            <p>Estás na fila de espera: {queue.position} {queue.position === 1 ? "pessoa" : "pessoas"} à tua frente.</p>
+            <p>Não feches esta janela, entras automaticamente quando chegar a tua vez.</p>
+          </div>
+        ) : loading ? (
           <div className="loading-state">
             <div className="loading-spinner" />
             <p>A carregar lugares...</p>
@@ -322,31 +457,40 @@ function SeatMapModal({ event, onClose, onBookingComplete }) {
 
             <div className="seat-grid">
               {Object.entries(seatsByRow)
-                .sort(([a], [b]) => a.localeCompare(b))
+                .sort(([a], [b]) => compareRowLabels(a, b))
                 .map(([row, rowSeats]) => (
                   <div key={row} className="seat-row">
                     <span className="row-label">{row}</span>
                     {rowSeats
-                      .sort((a, b) => {
-                        const numA = parseInt(a.seatNumber.slice(1));
-                        const numB = parseInt(b.seatNumber.slice(1));
-                        return numA - numB;
-                      })
+                      .sort((a, b) => seatColumnNumber(a) - seatColumnNumber(b))
                       .map((seat) => (
                         <button
-                          key={seat.id}
+                          key={seat.seatNumber}
                           className={getSeatClass(seat)}
                           onClick={() => handleSeatClick(seat)}
-                          disabled={seat.status !== "AVAILABLE" && selectedSeat?.id !== seat.id}
+                          disabled={seat.status !== "AVAILABLE" && !(seat.id && selectedSeat?.id === seat.id)}
                           title={seat.seatNumber}
                         >
-                          {seat.seatNumber.slice(1)}
+                          {seatColumnNumber(seat)}
                         </button>
                       ))}
                   </div>
                 ))}
             </div>
 
+            {(soldOut || waitlist?.status === "WAITING") && !selectedSeat && (
+              <div className="booking-confirmation">
+                <div className="selected-seat-info">
+                  {waitlist?.status === "WAITING"
+                    ? <span>Estás na lista de espera: posição <strong>{waitlist.position}</strong> de {waitlist.waiting}. Avisamos-te quando um lugar ficar reservado para ti.</span>
+                    : <span>Evento esgotado{waitlist?.waiting ? ` (${waitlist.waiting} à espera)` : ""}.</span>}
+                </div>
+                <button className="btn-secondary" onClick={toggleWaitlist}>
+                  {waitlist?.status === "WAITING" ? "Sair da lista de espera" : "Entrar na lista de espera"}
+                </button>
+              </div>
+            )}
+
             {selectedSeat && (
               <div className="booking-confirmation">
                 <div className="selected-seat-info">
@@ -385,17 +529,11 @@ export default function ParticipantDashboard() {
   
   // Novos estados para explorar eventos
   const [publicEvents, setPublicEvents] = useState([]);
+  const [eventsCursor, setEventsCursor] = useState(null);
   const [selectedEventForBooking, setSelectedEventForBooking] = useState(null);
   const [eventSearch, setEventSearch] = useState("");
   const [eventCategory, setEventCategory] = useState("all");
 
-  // WebSocket
-  const handleUpdate = useCallback(() => {
-    fetchBookings();
-  }, []);
-
-  useSeatWebSocket(handleUpdate, handleUpdate);
-
   useEffect(() => {
     fetchDashboardData();
   }, []);
@@ -418,10 +556,22 @@ export default function ParticipantDashboard() {
     }
   };
 
-  const fetchPublicEvents = async () => {
+  const fetchPublicEvents = async (cursor = null, search = eventSearch.trim()) => {
     try {
-      const res = await apiFetch("/api/events");
-      if (res.ok) setPublicEvents(await res.json());
+      const params = new URLSearchParams();
+      if (search) params.set("q", search);
+      if (cursor) params.set("cursor", cursor);
+      const query = params.toString();
+      const res = await apiFetch(`${search ? "/api/events/search" : "/api/events"}${query ? `?${query}` : ""}`);
+      if (res.ok) {
+        const page = await res.json();
+        // A pesquisa devolve hits com o evento e o título destacado
+        const items = search
+          ? page.items.map((hit) => ({ ...hit.event, highlightedTitle: hit.highlightedTitle }))
+          : page.items;
+        setPublicEvents((prev) => (cursor ? [...prev, ...items] : items));
+        setEventsCursor(page.nextCursor);
+      }
     } catch (error) {
       console.error("Erro ao carregar eventos:", error);
     }
@@ -521,14 +671,23 @@ export default function ParticipantDashboard() {
     fetchPublicEvents();
   };
 
+  // Pesquisa no servidor, depois de uma pausa na escrita (a primeira página já vem do fetchDashboardData)
+  const searchMounted = useRef(false);
+  useEffect(() => {
+    if (!searchMounted.current) {
+      searchMounted.current = true;
+      return;
+    }
+    const timer = setTimeout(() => fetchPublicEvents(null, eventSearch.trim()), 300);
+    return () => clearTimeout(timer);
+  }, [eventSearch]);
+
   // Filtrar eventos públicos
   const filteredPublicEvents = publicEvents.filter((event) => {
-    const matchesSearch = event.title.toLowerCase().includes(eventSearch.toLowerCase()) ||
-                         (event.description || "").toLowerCase().includes(eventSearch.toLowerCase());
     const matchesCategory = eventCategory === "all" || event.category === eventCategory;
     // Não mostrar eventos já reservados
     const notBooked = !bookings.some(b => b.eventId === event.id);
-    return matchesSearch && matchesCategory && notBooked;
+    return matchesCategory && notBooked;
   });
 
   const filteredBookings = bookings.filter((b) => {
@@ -676,7 +835,12 @@ export default function ParticipantDashboard() {
                       )}
                       <div className="event-content">
                         <span className="event-category">{event.category}</span>
-                        <h3 className="event-title">{event.title}</h3>
+                        {event.highlightedTitle ? (
+                          // O servidor escapa o texto e só deixa as tags <mark>
+                          <h3 className="event-title" dangerouslySetInnerHTML={{ __html: event.highlightedTitle }} />
+                        ) : (
+                          <h3 className="event-title">{event.title}</h3>
+                        )}
                         <p className="event-description">
                           {event.description?.slice(0, 100)}
                           {event.description?.length > 100 ? "..." : ""}
@@ -718,6 +882,12 @@ export default function ParticipantDashboard() {
                   ))}
                 </div>
               )}
+
+              {eventsCursor && (
+                <button className="btn-secondary" onClick={() => fetchPublicEvents(eventsCursor)}>
+                  Carregar mais eventos
+                </button>
+              )}
             </>
           ) : activeTab === "bookings" ? (
             <>
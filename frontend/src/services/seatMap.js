@@ -0,0 +1,107 @@
+// Mapa de lugares binário (Accept: application/vnd.ems.seatmap), ver BinarySeatMap no backend:
+// grelha com 2 bits de estado por lugar, ids em varint delta e os locks do próprio utilizador
+export const SEAT_MAP_TYPE = "application/vnd.ems.seatmap";
+
+const STATUS = ["AVAILABLE", "LOCKED", "BOOKED"];
+const NO_SEAT = 3;
+
+// A..Z, AA..AZ, BA...
+export function rowLabel(index) {
+  let label = "";
+  for (let n = index + 1; n > 0; n = Math.floor((n - 1) / 26)) {
+    label = String.fromCharCode(65 + ((n - 1) % 26)) + label;
+  }
+  return label;
+}
+
+// Ordem das filas: A..Z antes de AA..AZ
+export function compareRowLabels(a, b) {
+  return a.length - b.length || a.localeCompare(b);
+}
+
+// Número do lugar dentro da fila ("AB12" -> 12)
+export function seatColumnNumber(seat) {
+  return parseInt(seat.seatNumber.replace(/^\D+/, ""), 10);
+}
+
+// Estado recebido mais antigo que o que o lugar já tem? A versão da linha ordena as
+// transições de um lugar; a sequência (posição no nó que a enviou) só serve quando falta a versão
+export function isOlderUpdate(update, seat) {
+  if (update.version != null && seat.version != null && update.version !== seat.version) {
+    return update.version < seat.version;
+  }
+  return Boolean(update.sequence && seat.sequence && update.sequence < seat.sequence);
+}
+
+async function inflate(bytes) {
+  const stream = new Blob([bytes]).stream().pipeThrough(new DecompressionStream("deflate"));
+  return new Uint8Array(await new Response(stream).arrayBuffer());
+}
+
+export async function decodeSeatMap(buffer) {
+  const data = new Uint8Array(buffer);
+  if (data[0] !== 0x53 || data[1] !== 0x4d || data[2] !== 1) {
+    throw new Error("Formato de mapa de lugares desconhecido");
+  }
+  let body = data.subarray(4);
+  if (data[3] & 1) body = await inflate(body);
+
+  const view = new DataView(body.buffer, body.byteOffset, body.byteLength);
+  const eventId = Number(view.getBigInt64(0));
+  const sequence = Number(view.getBigInt64(8));
+  const rows = view.getInt32(16);
+  const columns = view.getInt32(20);
+  const cells = rows * columns;
+
+  let offset = 24;
+  const statusOffset = offset;
+  offset += Math.ceil(cells / 4);
+
+  // Aritmética normal (os ids podem passar dos 32 bits)
+  const readVarint = () => {
+    let value = 0;
+    let factor = 1;
+    for (;;) {
+      const b = body[offset++];
+      value += (b & 0x7f) * factor;
+      if ((b & 0x80) === 0) return value;
+      factor *= 128;
+    }
+  };
+
+  const seats = [];
+  let previousId = 0;
+  for (let cell = 0; cell < cells; cell++) {
+    const code = (body[statusOffset + (cell >> 2)] >> (6 - 2 * (cell & 3))) & 3;
+    if (code === NO_SEAT) continue;
+    const zigzag = readVarint();
+    // Delta 0: lugar ainda sem linha na BD (armazenamento lazy), reserva-se pela posição
+    if (zigzag !== 0) {
+      previousId += zigzag % 2 === 0 ? zigzag / 2 : -(zigzag + 1) / 2;
+    }
+    const rowIndex = Math.floor(cell / columns);
+    const columnIndex = cell % columns;
+    seats.push({
+      id: zigzag !== 0 ? previousId : null,
+      seatNumber: `${rowLabel(rowIndex)}${columnIndex + 1}`,
+      rowIndex,
+      columnIndex,
+      status: STATUS[code],
+      mine: false,
+      // Alterações anteriores ao mapa já estão incluídas
+      sequence,
+      cell,
+    });
+  }
+
+  const byCell = new Map(seats.map((s) => [s.cell, s]));
+  const ownCount = readVarint();
+  let previousOwn = 0;
+  for (let i = 0; i < ownCount; i++) {
+    previousOwn += readVarint();
+    const seat = byCell.get(previousOwn);
+    if (seat) seat.mine = true;
+  }
+
+  return { eventId, sequence, rows, columns, seats };
+}